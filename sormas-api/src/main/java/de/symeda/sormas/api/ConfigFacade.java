@@ -36,6 +36,8 @@ public interface ConfigFacade {
 
 	boolean isFeatureAutomaticCaseClassification();
 
+	boolean isFeatureCaseAccessIndex();
+
 	String getEmailSenderAddress();
 
 	String getEmailSenderName();
@@ -52,8 +54,6 @@ public interface ConfigFacade {
 
 	String getCustomFilesPath();
 
-	String getRScriptExecutable();
-
 	char getCsvSeparator();
 
 	String getAppLegacyUrl();
@@ -78,6 +78,12 @@ public interface ConfigFacade {
 
 	int getInfrastructureSyncThreshold();
 
+	int getSyncPageSize();
+
+	int getExportBatchSize();
+
+	int getImportThreadCount();
+
 	int getDaysAfterCaseGetsArchived();
 
 	int getDaysAfterEventGetsArchived();
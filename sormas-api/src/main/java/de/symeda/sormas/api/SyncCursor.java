@@ -0,0 +1,73 @@
+package de.symeda.sormas.api;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Position of a synchronization run, pointing behind the last delivered element.
+ * Elements are ordered by {@code (changeDate, id)}, so the cursor stays valid even if
+ * several elements share the same change date.
+ * <p>
+ * The {@link #toToken() token} is opaque to clients; they only pass it back unchanged to fetch the next page.
+ */
+public class SyncCursor implements Serializable {
+
+	private static final long serialVersionUID = 4417357216893581235L;
+
+	private static final String TOKEN_SEPARATOR = "_";
+
+	private final Timestamp changeDate;
+	private final long id;
+
+	public SyncCursor(Date changeDate, long id) {
+
+		// keep the sub-millisecond precision of the database timestamp, otherwise elements would be skipped or delivered twice
+		this.changeDate = changeDate instanceof Timestamp ? (Timestamp) changeDate : new Timestamp(changeDate.getTime());
+		this.id = id;
+	}
+
+	public Timestamp getChangeDate() {
+		return changeDate;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String toToken() {
+		return changeDate.getTime() + TOKEN_SEPARATOR + changeDate.getNanos() + TOKEN_SEPARATOR + id;
+	}
+
+	/**
+	 * @return {@code null} if {@code token} is empty.
+	 * @throws IllegalArgumentException
+	 *             if {@code token} was not created by {@link #toToken()}.
+	 */
+	public static SyncCursor fromToken(String token) {
+
+		if (StringUtils.isBlank(token)) {
+			return null;
+		}
+
+		String[] parts = token.split(TOKEN_SEPARATOR);
+		if (parts.length != 3) {
+			throw new IllegalArgumentException("Invalid sync continuation token: " + token);
+		}
+
+		try {
+			Timestamp changeDate = new Timestamp(Long.parseLong(parts[0]));
+			changeDate.setNanos(Integer.parseInt(parts[1]));
+			return new SyncCursor(changeDate, Long.parseLong(parts[2]));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid sync continuation token: " + token, e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return toToken();
+	}
+}
@@ -0,0 +1,48 @@
+package de.symeda.sormas.api;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated synchronization run.
+ *
+ * @see SyncCursor
+ */
+public class SyncPage<T extends Serializable> implements Serializable {
+
+	private static final long serialVersionUID = -1816093540126487562L;
+
+	private List<T> elements;
+	private String continuationToken;
+
+	public SyncPage() {
+	}
+
+	public SyncPage(List<T> elements, String continuationToken) {
+		this.elements = elements;
+		this.continuationToken = continuationToken;
+	}
+
+	public List<T> getElements() {
+		return elements;
+	}
+
+	public void setElements(List<T> elements) {
+		this.elements = elements;
+	}
+
+	/**
+	 * @return Token to request the next page with, {@code null} if this is the last page.
+	 */
+	public String getContinuationToken() {
+		return continuationToken;
+	}
+
+	public void setContinuationToken(String continuationToken) {
+		this.continuationToken = continuationToken;
+	}
+
+	public boolean hasNext() {
+		return continuationToken != null;
+	}
+}
@@ -27,9 +27,11 @@ import javax.ejb.Remote;
 import de.symeda.sormas.api.CaseMeasure;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.event.EventParticipantReferenceDto;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.region.DistrictDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
@@ -48,6 +50,14 @@ public interface CaseFacade {
 	 */
 	List<CaseDataDto> getAllActiveCasesAfter(Date date, boolean includeExtendedChangeDateFilters);
 
+	/**
+	 * Keyset-paginated variant of {@link #getAllActiveCasesAfter(Date)}.
+	 * 
+	 * @param continuationToken
+	 *            Token of the previous page; {@code null} to start with the first page.
+	 */
+	SyncPage<CaseDataDto> getAllActiveCasesAfter(Date date, String continuationToken, int pageSize);
+
 	long count(CaseCriteria caseCriteria);
 
 	List<CaseIndexDto> getIndexList(CaseCriteria caseCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
@@ -62,6 +72,20 @@ public interface CaseFacade {
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage);
 
+	/**
+	 * Keyset-paginated variant of the export list, see {@link ExportCursor}.
+	 * 
+	 * @param after
+	 *            Cursor of the last row of the previous batch; {@code null} to start with the first batch.
+	 */
+	List<CaseExportDto> getExportList(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		ExportCursor after,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage);
+
 	CaseDataDto getCaseDataByUuid(String uuid);
 
 	CaseDataDto saveCase(CaseDataDto dto) throws ValidationRuntimeException;
@@ -138,6 +162,8 @@ public interface CaseFacade {
 
 	void archiveAllArchivableCases(int daysAfterCaseGetsArchived);
 
+	int reclassifyCases(CaseCriteria caseCriteria);
+
 	List<CaseReferenceDto> getRandomCaseReferences(CaseCriteria criteria, int count);
 
 	Boolean isCaseEditAllowed(String caseUuid);
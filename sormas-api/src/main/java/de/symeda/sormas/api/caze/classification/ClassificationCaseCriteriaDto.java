@@ -43,6 +43,8 @@ public class ClassificationCaseCriteriaDto extends ClassificationCriteriaDto {
 	protected String propertyId;
 	protected List<Object> propertyValues;
 
+	private transient Method getter;
+
 	public ClassificationCaseCriteriaDto() {
 
 	}
@@ -60,14 +62,37 @@ public class ClassificationCaseCriteriaDto extends ClassificationCriteriaDto {
 		return caze;
 	}
 
+	/**
+	 * @return The getter of the property in the invoke class. Looked up on the first evaluation and reused afterwards,
+	 *         because the criteria are built once and evaluated for every case that is saved.
+	 */
+	protected Method getGetter() {
+
+		Method method = getter;
+		if (method == null) {
+			String capitalizedPropertyId = propertyId.substring(0, 1).toUpperCase() + propertyId.substring(1);
+			try {
+				method = getInvokeClass().getMethod("get" + capitalizedPropertyId);
+			} catch (NoSuchMethodException e) {
+				try {
+					method = getInvokeClass().getMethod("is" + capitalizedPropertyId);
+				} catch (NoSuchMethodException newE) {
+					throw new RuntimeException(newE);
+				}
+			}
+			getter = method;
+		}
+
+		return method;
+	}
+
 	@Override
 	public boolean eval(CaseDataDto caze, PersonDto person, List<PathogenTestDto> sampleTests) {
 
 		try {
-			Method method = getInvokeClass().getMethod("get" + propertyId.substring(0, 1).toUpperCase() + propertyId.substring(1));
-			Object value = method.invoke(getInvokeObject(caze));
+			Object value = getGetter().invoke(getInvokeObject(caze));
 			return propertyValues.contains(value);
-		} catch (NoSuchMethodException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 			throw new RuntimeException(e);
 		}
 	}
@@ -105,6 +130,7 @@ public class ClassificationCaseCriteriaDto extends ClassificationCriteriaDto {
 
 	public void setPropertyId(String propertyId) {
 		this.propertyId = propertyId;
+		this.getter = null;
 	}
 
 	public List<Object> getPropertyValues() {
@@ -18,7 +18,6 @@
 package de.symeda.sormas.api.caze.classification;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Date;
 import java.util.List;
 
@@ -56,8 +55,7 @@ public class ClassificationNotInStartDateRangeCriteriaDto extends Classification
 	public boolean eval(CaseDataDto caze, PersonDto person, List<PathogenTestDto> sampleTests) {
 
 		try {
-			Method method = getInvokeClass().getMethod("get" + propertyId.substring(0, 1).toUpperCase() + propertyId.substring(1));
-			Object value = method.invoke(getInvokeObject(caze));
+			Object value = getGetter().invoke(getInvokeObject(caze));
 			if (value instanceof Date) {
 				Date startDate = CaseLogic.getStartDate(caze.getSymptoms().getOnsetDate(), caze.getReportDate());
 				Date lowerThresholdDate = DateHelper.subtractDays(startDate, daysBeforeStartDate);
@@ -68,7 +66,7 @@ public class ClassificationNotInStartDateRangeCriteriaDto extends Classification
 			} else {
 				return true;
 			}
-		} catch (NoSuchMethodException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | SecurityException e) {
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 			throw new RuntimeException(e);
 		}
 	}
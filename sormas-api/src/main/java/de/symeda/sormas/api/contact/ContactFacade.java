@@ -25,7 +25,9 @@ import javax.ejb.Remote;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.MapCaseDto;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.utils.SortProperty;
@@ -36,6 +38,14 @@ public interface ContactFacade {
 
 	List<ContactDto> getAllActiveContactsAfter(Date date);
 
+	/**
+	 * Keyset-paginated variant of {@link #getAllActiveContactsAfter(Date)}.
+	 * 
+	 * @param continuationToken
+	 *            Token of the previous page; {@code null} to start with the first page.
+	 */
+	SyncPage<ContactDto> getAllActiveContactsAfter(Date date, String continuationToken, int pageSize);
+
 	ContactDto getContactByUuid(String uuid);
 
 	Boolean isValidContactUuid(String uuid);
@@ -72,6 +82,14 @@ public interface ContactFacade {
 
 	List<ContactExportDto> getExportList(ContactCriteria contactCriteria, int first, int max, Language userLanguage);
 
+	/**
+	 * Keyset-paginated variant of the export list, see {@link ExportCursor}.
+	 * 
+	 * @param after
+	 *            Cursor of the last row of the previous batch; {@code null} to start with the first batch.
+	 */
+	List<ContactExportDto> getExportList(ContactCriteria contactCriteria, ExportCursor after, int max, Language userLanguage);
+
 	List<VisitSummaryExportDto> getVisitSummaryExportList(ContactCriteria contactCriteria, int first, int max, Language userLanguage);
 
 	long countMaximumFollowUpDays(ContactCriteria contactCriteria);
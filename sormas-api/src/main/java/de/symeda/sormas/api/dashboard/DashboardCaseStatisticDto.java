@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.sample.PathogenTestResultType;
+
+/**
+ * Counters shown on the surveillance dashboard for the cases of the current period, compared to the previous period
+ */
+public class DashboardCaseStatisticDto implements Serializable {
+
+	private static final long serialVersionUID = 2734938502146392210L;
+
+	private long caseCount;
+	private long previousCaseCount;
+	private Map<CaseClassification, Long> caseClassificationCount;
+	private long fatalCount;
+	private long previousFatalCount;
+	private float fatalityRate;
+	private Map<PathogenTestResultType, Long> testResultCountByResultType;
+
+	public DashboardCaseStatisticDto(
+		long caseCount,
+		long previousCaseCount,
+		Map<CaseClassification, Long> caseClassificationCount,
+		long fatalCount,
+		long previousFatalCount,
+		float fatalityRate,
+		Map<PathogenTestResultType, Long> testResultCountByResultType) {
+
+		this.caseCount = caseCount;
+		this.previousCaseCount = previousCaseCount;
+		this.caseClassificationCount = caseClassificationCount;
+		this.fatalCount = fatalCount;
+		this.previousFatalCount = previousFatalCount;
+		this.fatalityRate = fatalityRate;
+		this.testResultCountByResultType = testResultCountByResultType;
+	}
+
+	public long getCaseCount() {
+		return caseCount;
+	}
+
+	public long getPreviousCaseCount() {
+		return previousCaseCount;
+	}
+
+	public Map<CaseClassification, Long> getCaseClassificationCount() {
+		return caseClassificationCount;
+	}
+
+	public long getFatalCount() {
+		return fatalCount;
+	}
+
+	public long getPreviousFatalCount() {
+		return previousFatalCount;
+	}
+
+	/**
+	 * @return the percentage of fatal cases among the cases of the current period, rounded to two decimal places
+	 */
+	public float getFatalityRate() {
+		return fatalityRate;
+	}
+
+	public Map<PathogenTestResultType, Long> getTestResultCountByResultType() {
+		return testResultCountByResultType;
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.dashboard;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import de.symeda.sormas.api.BaseCriteria;
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+
+public class DashboardCriteria extends BaseCriteria implements Serializable {
+
+	private static final long serialVersionUID = -3403937416497916305L;
+
+	private RegionReferenceDto region;
+	private DistrictReferenceDto district;
+	private Disease disease;
+	private NewCaseDateType newCaseDateType;
+	private Date dateFrom;
+	private Date dateTo;
+	private Date previousDateFrom;
+	private Date previousDateTo;
+	private EpiCurveGrouping epiCurveGrouping;
+
+	public RegionReferenceDto getRegion() {
+		return region;
+	}
+
+	public DashboardCriteria region(RegionReferenceDto region) {
+		this.region = region;
+		return this;
+	}
+
+	public DistrictReferenceDto getDistrict() {
+		return district;
+	}
+
+	public DashboardCriteria district(DistrictReferenceDto district) {
+		this.district = district;
+		return this;
+	}
+
+	public Disease getDisease() {
+		return disease;
+	}
+
+	public DashboardCriteria disease(Disease disease) {
+		this.disease = disease;
+		return this;
+	}
+
+	public NewCaseDateType getNewCaseDateType() {
+		return newCaseDateType;
+	}
+
+	public DashboardCriteria newCaseDateType(NewCaseDateType newCaseDateType) {
+		this.newCaseDateType = newCaseDateType;
+		return this;
+	}
+
+	public Date getDateFrom() {
+		return dateFrom;
+	}
+
+	public Date getDateTo() {
+		return dateTo;
+	}
+
+	public DashboardCriteria dateBetween(Date dateFrom, Date dateTo) {
+		this.dateFrom = dateFrom;
+		this.dateTo = dateTo;
+		return this;
+	}
+
+	public Date getPreviousDateFrom() {
+		return previousDateFrom;
+	}
+
+	public Date getPreviousDateTo() {
+		return previousDateTo;
+	}
+
+	/**
+	 * The period the current period is compared with, e.g. to calculate the growth of the number of fatalities
+	 */
+	public DashboardCriteria previousDateBetween(Date previousDateFrom, Date previousDateTo) {
+		this.previousDateFrom = previousDateFrom;
+		this.previousDateTo = previousDateTo;
+		return this;
+	}
+
+	public EpiCurveGrouping getEpiCurveGrouping() {
+		return epiCurveGrouping;
+	}
+
+	public DashboardCriteria epiCurveGrouping(EpiCurveGrouping epiCurveGrouping) {
+		this.epiCurveGrouping = epiCurveGrouping;
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		DashboardCriteria that = (DashboardCriteria) o;
+		return Objects.equals(region, that.region)
+			&& Objects.equals(district, that.district)
+			&& disease == that.disease
+			&& newCaseDateType == that.newCaseDateType
+			&& Objects.equals(dateFrom, that.dateFrom)
+			&& Objects.equals(dateTo, that.dateTo)
+			&& Objects.equals(previousDateFrom, that.previousDateFrom)
+			&& Objects.equals(previousDateTo, that.previousDateTo)
+			&& epiCurveGrouping == that.epiCurveGrouping;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects
+			.hash(region, district, disease, newCaseDateType, dateFrom, dateTo, previousDateFrom, previousDateTo, epiCurveGrouping);
+	}
+}
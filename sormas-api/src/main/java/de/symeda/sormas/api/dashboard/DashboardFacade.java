@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.api.dashboard;
+
+import java.util.Date;
+import java.util.Map;
+
+import javax.ejb.Remote;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.person.PresentCondition;
+
+/**
+ * Provides the aggregated numbers shown on the dashboards, so the UI does not need to load and count the individual entities
+ */
+@Remote
+public interface DashboardFacade {
+
+	DashboardCaseStatisticDto getCaseStatistics(DashboardCriteria dashboardCriteria);
+
+	/**
+	 * @return the number of cases per case classification for each day, week or month (depending on the epi curve grouping) of the
+	 *         criteria's date range; the keys are the start of the respective day, week or month
+	 */
+	Map<Date, Map<CaseClassification, Long>> getEpiCurveSeriesElementsPerCaseClassification(DashboardCriteria dashboardCriteria);
+
+	/**
+	 * @return the number of cases per present condition of the case person for each day, week or month (depending on the epi curve
+	 *         grouping) of the criteria's date range; the keys are the start of the respective day, week or month
+	 */
+	Map<Date, Map<PresentCondition, Long>> getEpiCurveSeriesElementsPerPresentCondition(DashboardCriteria dashboardCriteria);
+
+	/**
+	 * @return the number of cases of the criteria's date range at index 0 and the number of these cases that did not result from a
+	 *         contact (new source cases) at index 1
+	 */
+	long[] getCaseAndSourceCaseCount(DashboardCriteria dashboardCriteria);
+}
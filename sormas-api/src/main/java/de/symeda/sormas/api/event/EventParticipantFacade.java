@@ -23,6 +23,7 @@ import java.util.List;
 import javax.ejb.Remote;
 
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.utils.SortProperty;
 
 @Remote
@@ -64,4 +65,16 @@ public interface EventParticipantFacade {
 
 	List<EventParticipantExportDto> getExportList(EventParticipantCriteria eventParticipantCriteria, int first, int max, Language userLanguage);
 
+	/**
+	 * Keyset-paginated variant of the export list, see {@link ExportCursor}; event participants are only sorted by id.
+	 * 
+	 * @param after
+	 *            Cursor of the last row of the previous batch; {@code null} to start with the first batch.
+	 */
+	List<EventParticipantExportDto> getExportList(
+		EventParticipantCriteria eventParticipantCriteria,
+		ExportCursor after,
+		int max,
+		Language userLanguage);
+
 }
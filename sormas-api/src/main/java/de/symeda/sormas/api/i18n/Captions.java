@@ -891,6 +891,7 @@ public interface Captions {
 	String importLineListing = "importLineListing";
 	String importProcessed = "importProcessed";
 	String importSkips = "importSkips";
+	String importThroughput = "importThroughput";
 	String inaccessibleValue = "inaccessibleValue";
 	String info = "info";
 	String lastName = "lastName";
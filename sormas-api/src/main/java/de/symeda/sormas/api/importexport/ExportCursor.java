@@ -0,0 +1,35 @@
+package de.symeda.sormas.api.importexport;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * Position behind the last row of an export batch.
+ * <p>
+ * Detailed exports are sorted by a report date and the id, both descending. Passing the cursor of the previous batch
+ * lets the database seek to the next batch instead of sorting and skipping all rows that have already been exported.
+ */
+public class ExportCursor implements Serializable {
+
+	private static final long serialVersionUID = -2407413795926393428L;
+
+	private final Date sortDate;
+	private final long id;
+
+	/**
+	 * @param sortDate
+	 *            {@code null} if the export is only sorted by id.
+	 */
+	public ExportCursor(Date sortDate, long id) {
+		this.sortDate = sortDate;
+		this.id = id;
+	}
+
+	public Date getSortDate() {
+		return sortDate;
+	}
+
+	public long getId() {
+		return id;
+	}
+}
@@ -22,6 +22,10 @@ import java.util.List;
 
 import javax.ejb.Remote;
 
+import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.CaseExportDto;
+import de.symeda.sormas.api.caze.CaseExportType;
 import de.symeda.sormas.api.utils.ExportErrorException;
 
 @Remote
@@ -34,6 +38,19 @@ public interface ExportFacade {
 	 */
 	String generateDatabaseExportArchive(List<DatabaseTable> databaseTables) throws ExportErrorException, IOException;
 
+	/**
+	 * Copies the given properties of all cases matching the criteria directly from the database to a .csv file and returns the path
+	 * to it. This is much faster than the regular case export, but only works for properties that are accepted by
+	 * {@link #isCaseCopyExportSupported(List)}. The file does not contain a header row.
+	 * 
+	 * @param properties
+	 *            field names of {@link CaseExportDto} in the order of the columns
+	 */
+	String generateCaseCopyExport(CaseCriteria criteria, CaseExportType exportType, List<String> properties, Language userLanguage)
+		throws ExportErrorException, IOException;
+
+	boolean isCaseCopyExportSupported(List<String> properties);
+
 	String generateZipArchive(String date, int randomNumber);
 
 	List<ExportConfigurationDto> getExportConfigurations();
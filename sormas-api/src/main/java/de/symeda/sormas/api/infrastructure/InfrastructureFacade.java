@@ -6,4 +6,20 @@ import javax.ejb.Remote;
 public interface InfrastructureFacade {
 
 	InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates);
+
+	/**
+	 * @return The version of the current infrastructure snapshot or null if it has not been built yet.
+	 */
+	String getInfrastructureSnapshotVersion();
+
+	/**
+	 * @return The current infrastructure snapshot or null if it has not been built yet.
+	 */
+	InfrastructureSnapshotDto getInfrastructureSnapshot();
+
+	/**
+	 * @return The infrastructure data changed since the given snapshot version, labeled with the current version, or null if
+	 *         the given version is not valid or no snapshot has been built yet.
+	 */
+	InfrastructureSnapshotDto getInfrastructureSnapshotDiff(String sinceVersion);
 }
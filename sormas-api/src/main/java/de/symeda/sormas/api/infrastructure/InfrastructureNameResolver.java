@@ -0,0 +1,320 @@
+package de.symeda.sormas.api.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.facility.FacilityDto;
+import de.symeda.sormas.api.facility.FacilityReferenceDto;
+import de.symeda.sormas.api.facility.FacilityType;
+import de.symeda.sormas.api.region.AreaReferenceDto;
+import de.symeda.sormas.api.region.CommunityDto;
+import de.symeda.sormas.api.region.CommunityReferenceDto;
+import de.symeda.sormas.api.region.DistrictDto;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+
+/**
+ * Resolves the names of infrastructure data used in import files, as the <code>getByName</code> methods of the
+ * infrastructure facades do, but from hash indexes held in memory instead of one query per cell. The data of each
+ * infrastructure type is loaded once when the first name of that type is resolved, so an instance should only be used for
+ * the duration of one import.
+ * <p>
+ * Names are compared trimmed and case insensitive. Archived entries are ignored, except for points of entry.
+ */
+public class InfrastructureNameResolver {
+
+	private static final String SCOPE_SEPARATOR = "\n";
+
+	private final Loader<AreaReferenceDto> areaSupplier;
+	private final Loader<RegionDto> regionSupplier;
+	private final Loader<DistrictDto> districtSupplier;
+	private final Loader<CommunityDto> communitySupplier;
+	private final Loader<FacilityDto> facilitySupplier;
+	private final Loader<PointOfEntryDto> pointOfEntrySupplier;
+
+	private NameIndex<AreaReferenceDto> areas;
+	private NameIndex<RegionReferenceDto> regions;
+	private NameIndex<DistrictReferenceDto> districts;
+	private NameIndex<CommunityReferenceDto> communities;
+	private NameIndex<FacilityDto> facilitiesByDistrict;
+	private NameIndex<FacilityDto> facilitiesByCommunity;
+	private NameIndex<PointOfEntryReferenceDto> pointsOfEntry;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * @param areaSupplier
+	 *            Loads all active areas
+	 * @param regionSupplier
+	 *            Loads all regions
+	 * @param districtSupplier
+	 *            Loads all districts
+	 * @param communitySupplier
+	 *            Loads all communities
+	 * @param facilitySupplier
+	 *            Loads all facilities
+	 * @param pointOfEntrySupplier
+	 *            Loads all points of entry
+	 */
+	public InfrastructureNameResolver(
+		Loader<AreaReferenceDto> areaSupplier,
+		Loader<RegionDto> regionSupplier,
+		Loader<DistrictDto> districtSupplier,
+		Loader<CommunityDto> communitySupplier,
+		Loader<FacilityDto> facilitySupplier,
+		Loader<PointOfEntryDto> pointOfEntrySupplier) {
+
+		this.areaSupplier = areaSupplier;
+		this.regionSupplier = regionSupplier;
+		this.districtSupplier = districtSupplier;
+		this.communitySupplier = communitySupplier;
+		this.facilitySupplier = facilitySupplier;
+		this.pointOfEntrySupplier = pointOfEntrySupplier;
+	}
+
+	public List<AreaReferenceDto> getAreasByName(String name) {
+
+		synchronized (this) {
+			if (areas == null) {
+				areas = new NameIndex<>();
+				for (AreaReferenceDto area : areaSupplier.load()) {
+					areas.add(area.getCaption(), null, area);
+				}
+			}
+		}
+
+		return count(areas.get(name, null));
+	}
+
+	public List<RegionReferenceDto> getRegionsByName(String name) {
+
+		synchronized (this) {
+			if (regions == null) {
+				regions = new NameIndex<>();
+				for (RegionDto region : regionSupplier.load()) {
+					if (!region.isArchived()) {
+						regions.add(region.getName(), null, region.toReference());
+					}
+				}
+			}
+		}
+
+		return count(regions.get(name, null));
+	}
+
+	/**
+	 * @param region
+	 *            Only districts of this region are returned, unless it is null
+	 */
+	public List<DistrictReferenceDto> getDistrictsByName(String name, RegionReferenceDto region) {
+
+		synchronized (this) {
+			if (districts == null) {
+				districts = new NameIndex<>();
+				for (DistrictDto district : districtSupplier.load()) {
+					if (!district.isArchived()) {
+						districts.add(district.getName(), getUuid(district.getRegion()), district.toReference());
+					}
+				}
+			}
+		}
+
+		return count(districts.get(name, getUuid(region)));
+	}
+
+	/**
+	 * @param district
+	 *            Only communities of this district are returned, unless it is null
+	 */
+	public List<CommunityReferenceDto> getCommunitiesByName(String name, DistrictReferenceDto district) {
+
+		synchronized (this) {
+			if (communities == null) {
+				communities = new NameIndex<>();
+				for (CommunityDto community : communitySupplier.load()) {
+					if (!community.isArchived()) {
+						communities.add(community.getName(), getUuid(community.getDistrict()), community.toReference());
+					}
+				}
+			}
+		}
+
+		return count(communities.get(name, getUuid(district)));
+	}
+
+	/**
+	 * Community, district and type are ignored for the constant facilities {@link FacilityDto#OTHER_FACILITY} and
+	 * {@link FacilityDto#NO_FACILITY}.
+	 *
+	 * @param community
+	 *            Only facilities of this community are returned, unless it is null
+	 * @param district
+	 *            Only facilities of this district are returned, unless it or the community is null
+	 * @param type
+	 *            Only facilities of this type are returned, unless it is null
+	 */
+	public List<FacilityReferenceDto> getFacilitiesByNameAndType(
+		String name,
+		DistrictReferenceDto district,
+		CommunityReferenceDto community,
+		FacilityType type) {
+
+		synchronized (this) {
+			if (facilitiesByDistrict == null) {
+				facilitiesByDistrict = new NameIndex<>();
+				facilitiesByCommunity = new NameIndex<>();
+				for (FacilityDto facility : facilitySupplier.load()) {
+					if (!facility.isArchived()) {
+						facilitiesByDistrict.add(facility.getName(), getUuid(facility.getDistrict()), facility);
+						if (facility.getCommunity() != null) {
+							facilitiesByCommunity.add(facility.getName(), facility.getCommunity().getUuid(), facility);
+						}
+					}
+				}
+			}
+		}
+
+		List<FacilityDto> facilities;
+		String trimmedName = name.trim();
+		boolean isConstantFacility = FacilityDto.OTHER_FACILITY.equals(trimmedName) || FacilityDto.NO_FACILITY.equals(trimmedName);
+		if (isConstantFacility) {
+			facilities = facilitiesByDistrict.get(name, null);
+		} else {
+			if (community != null) {
+				facilities = facilitiesByCommunity.get(name, community.getUuid());
+			} else {
+				facilities = facilitiesByDistrict.get(name, getUuid(district));
+			}
+		}
+
+		List<FacilityReferenceDto> result = new ArrayList<>(facilities.size());
+		for (FacilityDto facility : facilities) {
+			if (type == null || type == facility.getType() || isConstantFacility) {
+				result.add(facility.toReference());
+			}
+		}
+		return count(result);
+	}
+
+	public List<FacilityReferenceDto> getLaboratoriesByName(String name) {
+		return getFacilitiesByNameAndType(name, null, null, FacilityType.LABORATORY);
+	}
+
+	/**
+	 * @param district
+	 *            Only points of entry of this district are returned, except for the constant "other" points of entry
+	 */
+	public List<PointOfEntryReferenceDto> getPointsOfEntryByName(String name, DistrictReferenceDto district) {
+
+		synchronized (this) {
+			if (pointsOfEntry == null) {
+				pointsOfEntry = new NameIndex<>();
+				for (PointOfEntryDto pointOfEntry : pointOfEntrySupplier.load()) {
+					pointsOfEntry.add(
+						pointOfEntry.getName(),
+						getUuid(pointOfEntry.getDistrict()),
+						new PointOfEntryReferenceDto(
+							pointOfEntry.getUuid(),
+							InfrastructureHelper.buildPointOfEntryString(pointOfEntry.getUuid(), pointOfEntry.getName())));
+				}
+			}
+		}
+
+		if (PointOfEntryDto.isNameOtherPointOfEntry(name.trim())) {
+			return count(pointsOfEntry.get(name, null));
+		} else if (district == null) {
+			return count(Collections.<PointOfEntryReferenceDto> emptyList());
+		} else {
+			return count(pointsOfEntry.get(name, district.getUuid()));
+		}
+	}
+
+	/**
+	 * @return The number of names that could be resolved to at least one entry
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return The number of names that could not be resolved
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	private <T> List<T> count(List<T> result) {
+
+		if (result.isEmpty()) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return result;
+	}
+
+	/**
+	 * Loads all entries of an infrastructure type.
+	 */
+	public interface Loader<T> {
+
+		List<T> load();
+	}
+
+	private static String getUuid(ReferenceDto reference) {
+		return reference != null ? reference.getUuid() : null;
+	}
+
+	/**
+	 * Entries by their normalized name, both across all scopes and within the scope of their parent.
+	 */
+	private static class NameIndex<T> {
+
+		private final Map<String, List<T>> entries = new HashMap<>();
+
+		void add(String name, String scopeUuid, T entry) {
+
+			if (name == null) {
+				return;
+			}
+
+			String key = normalize(name);
+			add(key, entry);
+			if (scopeUuid != null) {
+				add(scopeUuid + SCOPE_SEPARATOR + key, entry);
+			}
+		}
+
+		private void add(String key, T entry) {
+
+			List<T> keyEntries = entries.get(key);
+			if (keyEntries == null) {
+				keyEntries = new ArrayList<>(1);
+				entries.put(key, keyEntries);
+			}
+			keyEntries.add(entry);
+		}
+
+		/**
+		 * @param scopeUuid
+		 *            Only entries within this scope are returned, unless it is null
+		 */
+		List<T> get(String name, String scopeUuid) {
+
+			String key = scopeUuid != null ? scopeUuid + SCOPE_SEPARATOR + normalize(name) : normalize(name);
+			List<T> result = entries.get(key);
+			return result != null ? Collections.unmodifiableList(result) : Collections.<T> emptyList();
+		}
+
+		private static String normalize(String name) {
+			return name.trim().toLowerCase();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package de.symeda.sormas.api.infrastructure;
+
+import java.io.Serializable;
+
+/**
+ * A prebuilt package of infrastructure data for the initial sync of mobile devices.
+ * <p>
+ * The data is gzip compressed NDJSON: one JSON object per line with the {@link EntryType} as <code>type</code> and the DTO
+ * as <code>data</code>, e.g. <code>{"type":"REGION","data":{...}}</code>. A full snapshot contains all regions,
+ * districts, communities, facilities, points of entry and users, a diff only those changed since an older version.
+ */
+public class InfrastructureSnapshotDto implements Serializable {
+
+	private static final long serialVersionUID = -3196510713470734870L;
+
+	public enum EntryType {
+		REGION,
+		DISTRICT,
+		COMMUNITY,
+		FACILITY,
+		POINT_OF_ENTRY,
+		USER
+	}
+
+	private final String version;
+	private final byte[] data;
+
+	public InfrastructureSnapshotDto(String version, byte[] data) {
+		this.version = version;
+		this.data = data;
+	}
+
+	/**
+	 * Identifies the state of the infrastructure data. Changes whenever the data changes and stays the same across server
+	 * restarts.
+	 */
+	public String getVersion() {
+		return version;
+	}
+
+	public byte[] getData() {
+		return data;
+	}
+}
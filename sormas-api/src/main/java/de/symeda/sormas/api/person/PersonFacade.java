@@ -24,6 +24,7 @@ import java.util.Map;
 import javax.ejb.Remote;
 
 import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.user.UserReferenceDto;
@@ -33,6 +34,14 @@ public interface PersonFacade {
 
 	List<PersonDto> getPersonsAfter(Date date);
 
+	/**
+	 * Keyset-paginated variant of {@link #getPersonsAfter(Date)}.
+	 * 
+	 * @param continuationToken
+	 *            Token of the previous page; {@code null} to start with the first page.
+	 */
+	SyncPage<PersonDto> getPersonsAfter(Date date, String continuationToken, int pageSize);
+
 	List<PersonDto> getDeathsBetween(Date fromDate, Date toDate, DistrictReferenceDto districtRef, Disease disease);
 
 	PersonReferenceDto getReferenceByUuid(String uuid);
@@ -17,6 +17,8 @@
  *******************************************************************************/
 package de.symeda.sormas.api.region;
 
+import java.util.List;
+
 import javax.ejb.Remote;
 
 @Remote
@@ -37,6 +39,11 @@ public interface GeoShapeProvider {
 
 	DistrictReferenceDto getDistrictByCoord(GeoLatLon latLon);
 
+	/**
+	 * @return the district of each coordinate in the same order; null for coordinates outside of all districts
+	 */
+	List<DistrictReferenceDto> getDistrictsByCoords(List<GeoLatLon> latLons);
+
 	GeoLatLon getCenterOfDistrict(DistrictReferenceDto district);
 
 	GeoLatLon[][] getCountryShape();
@@ -23,7 +23,9 @@ import java.util.Map;
 
 import javax.ejb.Remote;
 
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.utils.SortProperty;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 
@@ -32,12 +34,36 @@ public interface SampleFacade {
 
 	List<SampleDto> getAllActiveSamplesAfter(Date date);
 
+	/**
+	 * Keyset-paginated variant of {@link #getAllActiveSamplesAfter(Date)}.
+	 * 
+	 * @param continuationToken
+	 *            Token of the previous page; {@code null} to start with the first page.
+	 */
+	SyncPage<SampleDto> getAllActiveSamplesAfter(Date date, String continuationToken, int pageSize);
+
 	List<SampleIndexDto> getIndexList(SampleCriteria sampleCriteria, Integer first, Integer max, List<SortProperty> sortProperties);
 
 	List<SampleExportDto> getExportList(SampleCriteria sampleCriteria, int first, int max);
 
 	List<SampleExportDto> getExportList(CaseCriteria caseCriteria, int first, int max);
 
+	/**
+	 * Keyset-paginated variant of the export list, see {@link ExportCursor}.
+	 * 
+	 * @param after
+	 *            Cursor of the last row of the previous batch; {@code null} to start with the first batch.
+	 */
+	List<SampleExportDto> getExportList(SampleCriteria sampleCriteria, ExportCursor after, int max);
+
+	/**
+	 * Keyset-paginated variant of the export list, see {@link ExportCursor}.
+	 * 
+	 * @param after
+	 *            Cursor of the last row of the previous batch; {@code null} to start with the first batch.
+	 */
+	List<SampleExportDto> getExportList(CaseCriteria caseCriteria, ExportCursor after, int max);
+
 	long count(SampleCriteria sampleCriteria);
 
 	SampleDto getSampleByUuid(String uuid);
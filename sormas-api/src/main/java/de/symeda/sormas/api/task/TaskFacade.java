@@ -22,6 +22,7 @@ import java.util.List;
 
 import javax.ejb.Remote;
 
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.event.EventReferenceDto;
@@ -34,6 +35,14 @@ public interface TaskFacade {
 
 	List<TaskDto> getAllActiveTasksAfter(Date date);
 
+	/**
+	 * Keyset-paginated variant of {@link #getAllActiveTasksAfter(Date)}.
+	 * 
+	 * @param continuationToken
+	 *            Token of the previous page; {@code null} to start with the first page.
+	 */
+	SyncPage<TaskDto> getAllActiveTasksAfter(Date date, String continuationToken, int pageSize);
+
 	List<TaskDto> getAllByCase(CaseReferenceDto caseRef);
 
 	List<TaskDto> getAllByContact(ContactReferenceDto contactRef);
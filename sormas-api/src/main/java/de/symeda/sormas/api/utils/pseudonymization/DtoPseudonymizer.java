@@ -19,6 +19,8 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import de.symeda.sormas.api.PseudonymizableDto;
 import de.symeda.sormas.api.user.UserRight;
@@ -29,11 +31,23 @@ import de.symeda.sormas.api.utils.pseudonymization.valuepseudonymizers.DefaultVa
 
 public class DtoPseudonymizer {
 
+	/**
+	 * Fields to pseudonymize and embedded fields per DTO type; independent of the user rights
+	 */
+	private static final ConcurrentMap<Class<?>, TypePlan> TYPE_PLANS = new ConcurrentHashMap<>();
+
 	private final FieldAccessCheckers fieldAccessCheckers;
 	protected final SensitiveDataFieldAccessChecker sensitiveDataFieldAccessChecker;
 
 	private String stringValuePlaceholder = "";
 
+	/**
+	 * Fields that are not accessible with the rights of this pseudonymizer, per DTO type and jurisdiction
+	 */
+	private final ConcurrentMap<Class<?>, List<PseudonymizableField>[]> inaccessibleFields = new ConcurrentHashMap<>();
+	private final ConcurrentMap<Class<? extends ValuePseudonymizer>, ValuePseudonymizer<?>> valuePseudonymizers = new ConcurrentHashMap<>();
+	private ValuePseudonymizer<?> defaultValuePseudonymizer;
+
 	public DtoPseudonymizer(final RightCheck rightCheck) {
 		sensitiveDataFieldAccessChecker = SensitiveDataFieldAccessChecker.create(new SensitiveDataFieldAccessChecker.RightCheck() {
 
@@ -68,15 +82,17 @@ public class DtoPseudonymizer {
 		final CustomCollectionItemPseudonymization<DTO> customPseudonymization,
 		boolean skipEmbeddedFields) {
 
-		List<Field> declaredFields = getPseudonymizableFields(type);
-		List<Field> embeddedFields = getEmbeddedFields(type);
+		TypePlan typePlan = getTypePlan(type);
+		// evaluated once for the whole collection
+		List<PseudonymizableField> inaccessibleInJurisdiction = getInaccessibleFields(type, true);
+		List<PseudonymizableField> inaccessibleOutsideJurisdiction = getInaccessibleFields(type, false);
 
 		for (final DTO dto : dtos) {
 			final boolean isInJurisdiction = jurisdictionValidator.validate(dto);
 			pseudonymizeDto(
 				dto,
-				declaredFields,
-				embeddedFields,
+				isInJurisdiction ? inaccessibleInJurisdiction : inaccessibleOutsideJurisdiction,
+				typePlan.embeddedFields,
 				isInJurisdiction,
 				null,
 				customPseudonymization == null ? null : new CustomPseudonymization<DTO>() {
@@ -91,38 +107,31 @@ public class DtoPseudonymizer {
 	}
 
 	public <DTO> void pseudonymizeDto(Class<DTO> type, DTO dto, boolean isInJurisdiction, CustomPseudonymization<DTO> customPseudonymization) {
-		List<Field> declaredFields = getPseudonymizableFields(type);
-		List<Field> embeddedFields = getEmbeddedFields(type);
-
-		pseudonymizeDto(dto, declaredFields, embeddedFields, isInJurisdiction, null, customPseudonymization, false);
+		pseudonymizeDto(type, dto, isInJurisdiction, null, customPseudonymization, false);
 	}
 
 	public <DTO extends PseudonymizableDto> void restorePseudonymizedValues(Class<DTO> type, DTO dto, DTO originalDto, boolean isInJurisdiction) {
-		List<Field> pseudonymizableFields = getPseudonymizableFields(type);
-		List<Field> embeddedFields = getEmbeddedFields(type);
 
-		for (Field pseudonymizedField : pseudonymizableFields) {
-			if (!fieldAccessCheckers.isAccessible(pseudonymizedField, isInJurisdiction) || dto.isPseudonymized()) {
-				restoreOriginalValue(dto, pseudonymizedField, originalDto);
-			}
+		List<PseudonymizableField> fieldsToRestore =
+			dto.isPseudonymized() ? getTypePlan(type).pseudonymizableFields : getInaccessibleFields(type, isInJurisdiction);
+		for (PseudonymizableField pseudonymizedField : fieldsToRestore) {
+			restoreOriginalValue(dto, pseudonymizedField.field, originalDto);
 		}
-		for (Field embeddedField : embeddedFields) {
-			Class<?> fieldType = embeddedField.getType();
+
+		for (EmbeddedField embeddedField : getTypePlan(type).embeddedFields) {
+			Class<?> fieldType = embeddedField.type;
 
 			if (PseudonymizableDto.class.isAssignableFrom(fieldType)) {
-				boolean isAccessible = embeddedField.isAccessible();
 				try {
-					embeddedField.setAccessible(true);
-
 					restorePseudonymizedValues(
 						(Class<PseudonymizableDto>) fieldType,
-						(PseudonymizableDto) embeddedField.get(dto),
-						(PseudonymizableDto) embeddedField.get(originalDto),
+						(PseudonymizableDto) embeddedField.field.get(dto),
+						(PseudonymizableDto) embeddedField.field.get(originalDto),
 						isInJurisdiction);
 				} catch (IllegalAccessException e) {
-					throw new RuntimeException("Couldn't restore embedded field " + dto.getClass().getName() + "." + embeddedField.getName(), e);
-				} finally {
-					embeddedField.setAccessible(isAccessible);
+					throw new RuntimeException(
+						"Couldn't restore embedded field " + dto.getClass().getName() + "." + embeddedField.field.getName(),
+						e);
 				}
 			}
 		}
@@ -135,16 +144,25 @@ public class DtoPseudonymizer {
 		Class<? extends ValuePseudonymizer> defaultPseudonymizerClass,
 		CustomPseudonymization<DTO> customPseudonymization,
 		boolean skipEmbeddedFields) {
-		List<Field> declaredFields = getPseudonymizableFields(type);
-		List<Field> embeddedFields = getEmbeddedFields(type);
 
-		pseudonymizeDto(dto, declaredFields, embeddedFields, isInJurisdiction, defaultPseudonymizerClass, customPseudonymization, skipEmbeddedFields);
+		if (dto == null) {
+			return;
+		}
+
+		pseudonymizeDto(
+			dto,
+			getInaccessibleFields(type, isInJurisdiction),
+			getTypePlan(type).embeddedFields,
+			isInJurisdiction,
+			defaultPseudonymizerClass,
+			customPseudonymization,
+			skipEmbeddedFields);
 	}
 
 	private <DTO> void pseudonymizeDto(
 		DTO dto,
-		List<Field> pseudonymizableFields,
-		List<Field> embeddedFields,
+		List<PseudonymizableField> inaccessibleFields,
+		List<EmbeddedField> embeddedFields,
 		boolean isInJurisdiction,
 		Class<? extends ValuePseudonymizer> defaultPseudonymizerClass,
 		CustomPseudonymization<DTO> customPseudonymization,
@@ -153,38 +171,28 @@ public class DtoPseudonymizer {
 			return;
 		}
 
-		boolean didPseudonymization = false;
-
-		for (Field field : pseudonymizableFields) {
-			if (!fieldAccessCheckers.isAccessible(field, isInJurisdiction)) {
-				pseudonymizeField(dto, field, defaultPseudonymizerClass);
-				didPseudonymization = true;
-			}
+		for (PseudonymizableField field : inaccessibleFields) {
+			pseudonymizeField(dto, field, defaultPseudonymizerClass);
 		}
+		boolean didPseudonymization = !inaccessibleFields.isEmpty();
 
 		if (!skipEmbeddedFields) {
-			for (Field embeddedField : embeddedFields) {
-				boolean accessible = embeddedField.isAccessible();
+			for (EmbeddedField embeddedField : embeddedFields) {
 				try {
-
-					embeddedField.setAccessible(true);
-					Pseudonymizer pseudonymizerAnnotation = embeddedField.getAnnotation(Pseudonymizer.class);
 					Class<? extends ValuePseudonymizer> psudonomyzerClass =
-						pseudonymizerAnnotation != null ? pseudonymizerAnnotation.value() : defaultPseudonymizerClass;
+						embeddedField.pseudonymizerClass != null ? embeddedField.pseudonymizerClass : defaultPseudonymizerClass;
 
 					pseudonymizeDto(
-						(Class<Object>) embeddedField.getType(),
-						embeddedField.get(dto),
+						(Class<Object>) embeddedField.type,
+						embeddedField.field.get(dto),
 						isInJurisdiction,
 						psudonomyzerClass,
 						null,
 						skipEmbeddedFields);
 				} catch (IllegalAccessException e) {
 					throw new RuntimeException(
-						"Failed to pseudonymize embedded field " + dto.getClass().getName() + "." + embeddedField.getName(),
+						"Failed to pseudonymize embedded field " + dto.getClass().getName() + "." + embeddedField.field.getName(),
 						e);
-				} finally {
-					embeddedField.setAccessible(accessible);
 				}
 			}
 		}
@@ -208,85 +216,114 @@ public class DtoPseudonymizer {
 		}));
 	}
 
-	private <DTO> void pseudonymizeField(DTO dto, Field field, Class<? extends ValuePseudonymizer> pseudonymizerClass) {
+	private <DTO> void pseudonymizeField(DTO dto, PseudonymizableField field, Class<? extends ValuePseudonymizer> defaultPseudonymizerClass) {
 
 		try {
-			field.setAccessible(true);
-
-			ValuePseudonymizer<?> pseudonymizer = getPseudonymizer(field, pseudonymizerClass);
-			Object emptyValue = pseudonymizer.pseudonymize(field.get(dto));
-			field.set(dto, emptyValue);
+			ValuePseudonymizer<?> pseudonymizer = getPseudonymizer(field, defaultPseudonymizerClass);
+			Object emptyValue = pseudonymizer.pseudonymize(field.field.get(dto));
+			field.field.set(dto, emptyValue);
 		} catch (IllegalAccessException | InstantiationException e) {
 			throw new RuntimeException(e);
-		} finally {
-			field.setAccessible(false);
 		}
 	}
 
-	private ValuePseudonymizer<?> getPseudonymizer(Field field, Class<? extends ValuePseudonymizer> defaultPseudonymizerClass)
+	private ValuePseudonymizer<?> getPseudonymizer(PseudonymizableField field, Class<? extends ValuePseudonymizer> defaultPseudonymizerClass)
 		throws IllegalAccessException, InstantiationException {
-		Pseudonymizer pseudonymizerAnnotation = field.getAnnotation(Pseudonymizer.class);
 
-		if (pseudonymizerAnnotation == null) {
-			if (defaultPseudonymizerClass != null) {
-				return defaultPseudonymizerClass.newInstance();
+		Class<? extends ValuePseudonymizer> pseudonymizerClass =
+			field.pseudonymizerClass != null ? field.pseudonymizerClass : defaultPseudonymizerClass;
+		if (pseudonymizerClass == null) {
+			if (defaultValuePseudonymizer == null) {
+				defaultValuePseudonymizer = new DefaultValuePseudonymizer<>(stringValuePlaceholder);
 			}
-
-			return new DefaultValuePseudonymizer<>(stringValuePlaceholder);
+			return defaultValuePseudonymizer;
 		}
 
-		return pseudonymizerAnnotation.value().newInstance();
+		// value pseudonymizers are stateless and can be reused
+		ValuePseudonymizer<?> pseudonymizer = valuePseudonymizers.get(pseudonymizerClass);
+		if (pseudonymizer == null) {
+			pseudonymizer = pseudonymizerClass.newInstance();
+			valuePseudonymizers.put(pseudonymizerClass, pseudonymizer);
+		}
+		return pseudonymizer;
 	}
 
 	private <DTO extends PseudonymizableDto> void restoreOriginalValue(DTO dto, Field field, DTO originalDto) {
 
 		try {
-			field.setAccessible(true);
 			Object originalValue = field.get(originalDto);
 			field.set(dto, originalValue);
 		} catch (IllegalAccessException e) {
 			throw new RuntimeException(e);
-		} finally {
-			field.setAccessible(false);
 		}
 	}
 
-	private List<Field> getPseudonymizableFields(Class<?> type) {
-		return filterFields(type, new FieldFilter() {
-
-			@Override
-			public boolean apply(Field field) {
-				return fieldAccessCheckers.isConfiguredForCheck(field);
+	private List<PseudonymizableField> getInaccessibleFields(Class<?> type, boolean isInJurisdiction) {
+
+		List<PseudonymizableField>[] fieldsByJurisdiction = inaccessibleFields.get(type);
+		if (fieldsByJurisdiction == null) {
+			fieldsByJurisdiction = new List[2];
+			for (int i = 0; i < 2; i++) {
+				boolean inJurisdiction = i == 0;
+				List<PseudonymizableField> fields = new ArrayList<>();
+				for (PseudonymizableField field : getTypePlan(type).pseudonymizableFields) {
+					if (!fieldAccessCheckers.isAccessible(field.field, inJurisdiction)) {
+						fields.add(field);
+					}
+				}
+				fieldsByJurisdiction[i] = fields;
 			}
-		});
+			inaccessibleFields.put(type, fieldsByJurisdiction);
+		}
+
+		return fieldsByJurisdiction[isInJurisdiction ? 0 : 1];
 	}
 
-	private List<Field> getEmbeddedFields(Class<?> type) {
-		return filterFields(type, new FieldFilter() {
+	/**
+	 * Drops the cached type plans, so they are collected again when a type is pseudonymized the next time
+	 */
+	static void clearTypePlans() {
+		TYPE_PLANS.clear();
+	}
 
-			@Override
-			public boolean apply(Field field) {
-				return fieldAccessCheckers.isEmbedded(field);
+	private TypePlan getTypePlan(Class<?> type) {
+
+		TypePlan typePlan = TYPE_PLANS.get(type);
+		if (typePlan == null) {
+			typePlan = new TypePlan();
+			collectFields(type, typePlan);
+			TypePlan existing = TYPE_PLANS.putIfAbsent(type, typePlan);
+			if (existing != null) {
+				typePlan = existing;
 			}
-		});
+		}
+
+		return typePlan;
 	}
 
-	private List<Field> filterFields(Class<?> type, FieldFilter filter) {
-		List<Field> declaredFields = new ArrayList<>();
+	private void collectFields(Class<?> type, TypePlan typePlan) {
 
 		for (Field field : type.getDeclaredFields()) {
-			if (fieldAccessCheckers.isConfiguredForCheck(field) || fieldAccessCheckers.isEmbedded(field)) {
-				if (filter.apply(field)) {
-					declaredFields.add(field);
+			boolean configuredForCheck = fieldAccessCheckers.isConfiguredForCheck(field);
+			boolean embedded = fieldAccessCheckers.isEmbedded(field);
+			if (configuredForCheck || embedded) {
+				// the field instances are only used here, so they can stay accessible
+				field.setAccessible(true);
+				Pseudonymizer pseudonymizerAnnotation = field.getAnnotation(Pseudonymizer.class);
+				Class<? extends ValuePseudonymizer> pseudonymizerClass = pseudonymizerAnnotation != null ? pseudonymizerAnnotation.value() : null;
+
+				if (configuredForCheck) {
+					typePlan.pseudonymizableFields.add(new PseudonymizableField(field, pseudonymizerClass));
+				}
+				if (embedded) {
+					typePlan.embeddedFields.add(new EmbeddedField(field, pseudonymizerClass));
 				}
 			}
 		}
 
 		if (type.getSuperclass() != null) {
-			declaredFields.addAll(filterFields(type.getSuperclass(), filter));
+			collectFields(type.getSuperclass(), typePlan);
 		}
-
-		return declaredFields;
 	}
 
 	public interface RightCheck {
@@ -309,8 +346,33 @@ public class DtoPseudonymizer {
 		void pseudonymize(DTO dto);
 	}
 
-	private interface FieldFilter {
+	private static class TypePlan {
 
-		boolean apply(Field field);
+		private final List<PseudonymizableField> pseudonymizableFields = new ArrayList<>();
+		private final List<EmbeddedField> embeddedFields = new ArrayList<>();
+	}
+
+	private static class PseudonymizableField {
+
+		private final Field field;
+		private final Class<? extends ValuePseudonymizer> pseudonymizerClass;
+
+		PseudonymizableField(Field field, Class<? extends ValuePseudonymizer> pseudonymizerClass) {
+			this.field = field;
+			this.pseudonymizerClass = pseudonymizerClass;
+		}
+	}
+
+	private static class EmbeddedField {
+
+		private final Field field;
+		private final Class<?> type;
+		private final Class<? extends ValuePseudonymizer> pseudonymizerClass;
+
+		EmbeddedField(Field field, Class<? extends ValuePseudonymizer> pseudonymizerClass) {
+			this.field = field;
+			this.type = field.getType();
+			this.pseudonymizerClass = pseudonymizerClass;
+		}
 	}
 }
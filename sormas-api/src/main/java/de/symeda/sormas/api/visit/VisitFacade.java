@@ -22,6 +22,7 @@ import java.util.List;
 
 import javax.ejb.Remote;
 
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
@@ -32,6 +33,14 @@ public interface VisitFacade {
 
 	List<VisitDto> getAllActiveVisitsAfter(Date date);
 
+	/**
+	 * Keyset-paginated variant of {@link #getAllActiveVisitsAfter(Date)}.
+	 * 
+	 * @param continuationToken
+	 *            Token of the previous page; {@code null} to start with the first page.
+	 */
+	SyncPage<VisitDto> getAllActiveVisitsAfter(Date date, String continuationToken, int pageSize);
+
 	VisitDto getVisitByUuid(String uuid);
 
 	VisitDto saveVisit(VisitDto dto);
@@ -0,0 +1,36 @@
+package de.symeda.sormas.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+public class SyncCursorTest {
+
+	@Test
+	public void testTokenRoundTrip() {
+
+		Timestamp changeDate = new Timestamp(1600000000123L);
+		changeDate.setNanos(123456789);
+		SyncCursor cursor = SyncCursor.fromToken(new SyncCursor(changeDate, 42L).toToken());
+
+		assertThat(cursor.getChangeDate(), is(changeDate));
+		assertThat(cursor.getChangeDate().getNanos(), is(123456789));
+		assertThat(cursor.getId(), is(42L));
+	}
+
+	@Test
+	public void testEmptyToken() {
+
+		assertThat(SyncCursor.fromToken(null), is(nullValue()));
+		assertThat(SyncCursor.fromToken(""), is(nullValue()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidToken() {
+		SyncCursor.fromToken("abc_1");
+	}
+}
@@ -0,0 +1,112 @@
+package de.symeda.sormas.api.infrastructure;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.facility.FacilityDto;
+import de.symeda.sormas.api.facility.FacilityType;
+import de.symeda.sormas.api.region.AreaReferenceDto;
+import de.symeda.sormas.api.region.CommunityDto;
+import de.symeda.sormas.api.region.DistrictDto;
+import de.symeda.sormas.api.region.DistrictReferenceDto;
+import de.symeda.sormas.api.region.RegionDto;
+import de.symeda.sormas.api.region.RegionReferenceDto;
+
+public class InfrastructureNameResolverTest {
+
+	@Test
+	public void testResolveNames() {
+
+		final RegionDto region1 = region("Region 1", false);
+		final RegionDto region2 = region("Region 2", false);
+		final RegionDto archivedRegion = region("Archived", true);
+		final DistrictDto district1 = district("District", region1);
+		final DistrictDto district2 = district("District", region2);
+		final FacilityDto hospital = facility("Hospital", district1, FacilityType.HOSPITAL);
+		final FacilityDto lab = facility("Hospital", district1, FacilityType.LABORATORY);
+
+		final AtomicInteger regionLoads = new AtomicInteger();
+		InfrastructureNameResolver resolver = new InfrastructureNameResolver(
+			InfrastructureNameResolverTest.<AreaReferenceDto> load(),
+			new InfrastructureNameResolver.Loader<RegionDto>() {
+
+				@Override
+				public List<RegionDto> load() {
+					regionLoads.incrementAndGet();
+					return Arrays.asList(region1, region2, archivedRegion);
+				}
+			},
+			load(district1, district2),
+			InfrastructureNameResolverTest.<CommunityDto> load(),
+			load(hospital, lab),
+			InfrastructureNameResolverTest.<PointOfEntryDto> load());
+
+		// names are compared trimmed and case insensitive
+		assertThat(resolver.getRegionsByName(" region 1 "), contains(region1.toReference()));
+		assertThat(resolver.getRegionsByName("Archived"), empty());
+
+		// districts are resolved within the given region
+		assertThat(resolver.getDistrictsByName("District", null), hasSize(2));
+		assertThat(resolver.getDistrictsByName("district", region2.toReference()), contains(district2.toReference()));
+		assertThat(resolver.getDistrictsByName("District", new RegionReferenceDto("unknown")), empty());
+
+		assertThat(resolver.getFacilitiesByNameAndType("HOSPITAL", district1.toReference(), null, null), hasSize(2));
+		assertThat(
+			resolver.getFacilitiesByNameAndType("Hospital", district1.toReference(), null, FacilityType.HOSPITAL),
+			contains(hospital.toReference()));
+		assertThat(resolver.getFacilitiesByNameAndType("Hospital", district2.toReference(), null, null), empty());
+		assertThat(resolver.getLaboratoriesByName("Hospital"), contains(lab.toReference()));
+
+		assertThat(resolver.getPointsOfEntryByName("Airport", null), empty());
+
+		assertThat(regionLoads.get(), is(1));
+		assertThat(resolver.getHitCount(), is(6L));
+		assertThat(resolver.getMissCount(), is(4L));
+	}
+
+	@SafeVarargs
+	private static <T> InfrastructureNameResolver.Loader<T> load(final T... entries) {
+
+		return new InfrastructureNameResolver.Loader<T>() {
+
+			@Override
+			public List<T> load() {
+				return Arrays.asList(entries);
+			}
+		};
+	}
+
+	private static RegionDto region(String name, boolean archived) {
+
+		RegionDto region = RegionDto.build();
+		region.setName(name);
+		region.setArchived(archived);
+		return region;
+	}
+
+	private static DistrictDto district(String name, RegionDto region) {
+
+		DistrictDto district = DistrictDto.build();
+		district.setName(name);
+		district.setRegion(region.toReference());
+		return district;
+	}
+
+	private static FacilityDto facility(String name, DistrictDto district, FacilityType type) {
+
+		FacilityDto facility = FacilityDto.build();
+		facility.setName(name);
+		facility.setDistrict(new DistrictReferenceDto(district.getUuid()));
+		facility.setType(type);
+		return facility;
+	}
+}
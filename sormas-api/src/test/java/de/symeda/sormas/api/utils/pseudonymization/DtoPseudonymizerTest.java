@@ -0,0 +1,197 @@
+package de.symeda.sormas.api.utils.pseudonymization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.PseudonymizableDto;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserRight;
+import de.symeda.sormas.api.utils.EmbeddedPersonalData;
+import de.symeda.sormas.api.utils.PersonalData;
+import de.symeda.sormas.api.utils.SensitiveData;
+import de.symeda.sormas.api.utils.pseudonymization.valuepseudonymizers.PostalCodePseudonymizer;
+
+public class DtoPseudonymizerTest {
+
+	@Test
+	public void testPseudonymizeDto() {
+
+		DtoPseudonymizer pseudonymizer =
+			createPseudonymizer(UserRight.SEE_PERSONAL_DATA_IN_JURISDICTION, UserRight.SEE_SENSITIVE_DATA_IN_JURISDICTION);
+
+		TestDto dto = createDto();
+		pseudonymizer.pseudonymizeDto(TestDto.class, dto, true, null);
+		assertFalse(dto.isPseudonymized());
+		assertEquals("John", dto.firstName);
+		assertEquals("Ill", dto.details);
+		assertEquals("12345", dto.address.postalCode);
+
+		dto = createDto();
+		pseudonymizer.pseudonymizeDto(TestDto.class, dto, false, null);
+		assertTrue(dto.isPseudonymized());
+		assertEquals("***", dto.firstName);
+		assertEquals("***", dto.details);
+		assertEquals("123", dto.address.postalCode);
+		assertEquals("***", dto.address.street);
+		assertEquals("Not personal", dto.other);
+	}
+
+	@Test
+	public void testPseudonymizeDtoCollection() {
+
+		DtoPseudonymizer pseudonymizer = createPseudonymizer(UserRight.SEE_PERSONAL_DATA_IN_JURISDICTION);
+
+		TestDto inJurisdiction = createDto();
+		TestDto outsideJurisdiction = createDto();
+		outsideJurisdiction.other = "outside";
+
+		pseudonymizer.pseudonymizeDtoCollection(
+			TestDto.class,
+			Arrays.asList(inJurisdiction, outsideJurisdiction),
+			new DtoPseudonymizer.JurisdictionValidator<TestDto>() {
+
+				@Override
+				public boolean validate(TestDto dto) {
+					return !"outside".equals(dto.other);
+				}
+			},
+			null);
+
+		assertTrue(inJurisdiction.isPseudonymized());
+		assertEquals("John", inJurisdiction.firstName);
+		assertEquals("***", inJurisdiction.details);
+		assertTrue(outsideJurisdiction.isPseudonymized());
+		assertEquals("***", outsideJurisdiction.firstName);
+		assertEquals("123", outsideJurisdiction.address.postalCode);
+	}
+
+	@Test
+	public void testRestorePseudonymizedValues() {
+
+		DtoPseudonymizer pseudonymizer = createPseudonymizer(UserRight.SEE_PERSONAL_DATA_IN_JURISDICTION);
+
+		TestDto original = createDto();
+		TestDto dto = createDto();
+		dto.firstName = "Changed";
+		dto.details = "Changed";
+		dto.other = "Changed";
+		dto.address.postalCode = "Changed";
+
+		pseudonymizer.restorePseudonymizedValues(TestDto.class, dto, original, true);
+		assertEquals("Changed", dto.firstName);
+		assertEquals("Ill", dto.details);
+		assertEquals("Changed", dto.other);
+		assertEquals("Changed", dto.address.postalCode);
+
+		pseudonymizer.restorePseudonymizedValues(TestDto.class, dto, original, false);
+		assertEquals("John", dto.firstName);
+		assertEquals("12345", dto.address.postalCode);
+		assertEquals("Changed", dto.other);
+	}
+
+	@Test
+	public void testCachedTypePlanMatchesUncached() throws IOException {
+
+		PersonDto person = PersonDto.build();
+		person.setFirstName("John");
+		person.setLastName("Doe");
+		person.setNickname("Johnny");
+		person.setMothersName("Jane");
+		person.setBirthdateDD(12);
+		person.getAddress().setStreet("Main street");
+		person.getAddress().setHouseNumber("1");
+		person.getAddress().setPostalCode("12345");
+		person.getAddress().setCity("Springfield");
+		assertCachedTypePlanMatchesUncached(PersonDto.class, person);
+
+		CaseDataDto caze = CaseDataDto.build(person.toReference(), Disease.EVD);
+		caze.setHealthFacilityDetails("Facility details");
+		caze.setClinicianName("Dr. Smith");
+		caze.setClinicianPhone("0123");
+		caze.setReportLat(50.1);
+		caze.setReportLon(8.6);
+		caze.setAdditionalDetails("Additional details");
+		caze.setQuarantineHelpNeeded("Help needed");
+		assertCachedTypePlanMatchesUncached(CaseDataDto.class, caze);
+	}
+
+	/**
+	 * Pseudonymizes copies of the DTO once with freshly collected type plans and once with the cached ones and compares the
+	 * results, inside and outside the jurisdiction.
+	 */
+	private <DTO> void assertCachedTypePlanMatchesUncached(Class<DTO> type, DTO dto) throws IOException {
+
+		ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		String json = mapper.writeValueAsString(dto);
+
+		for (boolean inJurisdiction : new boolean[] {
+			true,
+			false }) {
+			DtoPseudonymizer.clearTypePlans();
+			DTO uncached = mapper.readValue(json, type);
+			createPseudonymizer(UserRight.SEE_PERSONAL_DATA_IN_JURISDICTION).pseudonymizeDto(type, uncached, inJurisdiction, null);
+
+			DTO cached = mapper.readValue(json, type);
+			createPseudonymizer(UserRight.SEE_PERSONAL_DATA_IN_JURISDICTION).pseudonymizeDto(type, cached, inJurisdiction, null);
+
+			assertEquals(mapper.writeValueAsString(uncached), mapper.writeValueAsString(cached));
+			if (!inJurisdiction) {
+				assertFalse(json.equals(mapper.writeValueAsString(cached)));
+			}
+		}
+	}
+
+	private DtoPseudonymizer createPseudonymizer(final UserRight... rights) {
+		return new DtoPseudonymizer(new DtoPseudonymizer.RightCheck() {
+
+			@Override
+			public boolean hasRight(UserRight userRight) {
+				return Arrays.asList(rights).contains(userRight);
+			}
+		}, "***");
+	}
+
+	private TestDto createDto() {
+
+		TestDto dto = new TestDto();
+		dto.firstName = "John";
+		dto.details = "Ill";
+		dto.other = "Not personal";
+		dto.address = new TestAddressDto();
+		dto.address.postalCode = "12345";
+		dto.address.street = "Main street";
+
+		return dto;
+	}
+
+	public static class TestDto extends PseudonymizableDto {
+
+		@PersonalData
+		private String firstName;
+		@SensitiveData
+		private String details;
+		private String other;
+		@EmbeddedPersonalData
+		private TestAddressDto address;
+	}
+
+	public static class TestAddressDto extends PseudonymizableDto {
+
+		@PersonalData
+		@Pseudonymizer(PostalCodePseudonymizer.class)
+		private String postalCode;
+		@PersonalData
+		private String street;
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.auditlog.api;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.symeda.auditlog.api.value.DefaultValueContainer;
+import de.symeda.auditlog.api.value.format.ValueFormatter;
+
+/**
+ * The audited attributes of an entity class together with the getters and formatters to read them. Determined once per
+ * class by the {@link Auditor}, so inspecting an entity does not need any reflection.
+ */
+final class AuditPlan {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private final List<AuditedProperty> properties;
+
+	AuditPlan(List<AuditedProperty> properties) {
+		this.properties = Collections.unmodifiableList(properties);
+	}
+
+	/**
+	 * Puts the formatted values of all audited attributes of {@code entity} into {@code result}.
+	 *
+	 * @param prefix
+	 *            Prefix for the attribute names, used for the attributes of embeddables.
+	 */
+	@SuppressWarnings("unchecked")
+	void inspect(Object entity, String prefix, DefaultValueContainer result) {
+
+		for (AuditedProperty property : properties) {
+			Object value = property.getValue(entity);
+
+			if (property.embeddedPlan != null) {
+				if (value != null) {
+					property.embeddedPlan.inspect(value, property.fieldName, result);
+				}
+			} else {
+				String key = StringUtils.isBlank(prefix) ? property.fieldName : prefix + "." + property.fieldName;
+				result.put(key, value, (ValueFormatter<Object>) property.formatter);
+
+				if (property.anonymizingString != null) {
+					result.configureAnonymizeValue(property.fieldName, property.anonymizingString);
+				}
+			}
+		}
+	}
+
+	/**
+	 * An audited attribute. Either formatted with {@link #formatter} or, for audited embeddables, inspected with
+	 * {@link #embeddedPlan}.
+	 */
+	static final class AuditedProperty {
+
+		private final String fieldName;
+		private final MethodHandle getter;
+		private final ValueFormatter<?> formatter;
+		private final String anonymizingString;
+		private final AuditPlan embeddedPlan;
+
+		private AuditedProperty(String fieldName, Method method, ValueFormatter<?> formatter, String anonymizingString, AuditPlan embeddedPlan) {
+
+			this.fieldName = fieldName;
+			this.formatter = formatter;
+			this.anonymizingString = anonymizingString;
+			this.embeddedPlan = embeddedPlan;
+
+			try {
+				this.getter = MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+			} catch (IllegalAccessException e) {
+				throw new AuditlogException(String.format("Getter %s can not be accessed!", method), e);
+			}
+		}
+
+		static AuditedProperty formatted(String fieldName, Method method, ValueFormatter<?> formatter, String anonymizingString) {
+			return new AuditedProperty(fieldName, method, formatter, anonymizingString, null);
+		}
+
+		static AuditedProperty embedded(String fieldName, Method method, AuditPlan embeddedPlan) {
+			return new AuditedProperty(fieldName, method, null, null, embeddedPlan);
+		}
+
+		Object getValue(Object entity) {
+
+			try {
+				return getter.invokeExact(entity);
+			} catch (Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new AuditlogException(String.format("No changes for entity %s can be detected.", entity.toString()), e);
+			}
+		}
+	}
+}
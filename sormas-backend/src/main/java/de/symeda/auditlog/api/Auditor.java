@@ -18,8 +18,8 @@
 package de.symeda.auditlog.api;
 
 import java.io.Serializable;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -27,15 +27,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.Embedded;
 
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
 
 import de.symeda.auditlog.api.value.DefaultValueContainer;
 import de.symeda.auditlog.api.value.ValueContainer;
-import de.symeda.auditlog.api.value.format.CollectionFormatter;
+import de.symeda.auditlog.api.AuditPlan.AuditedProperty;
 import de.symeda.auditlog.api.value.format.ValueFormatter;
 import de.symeda.auditlog.api.value.format.override.DateFormatOverrideDetector;
 import de.symeda.auditlog.api.value.format.override.OverrideDetector;
@@ -54,6 +54,12 @@ public class Auditor implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * {@link AuditPlan}s of the inspected classes. Building a plan requires reflection on all methods of the class hierarchy,
+	 * so it is only done once per class.
+	 */
+	private static final Map<Class<?>, AuditPlan> AUDIT_PLANS = new ConcurrentHashMap<>();
+
 	/*
 	 * Should the Auditor be serialized, there will be an NPE for changes.
 	 * However, this is very unlikely.
@@ -72,11 +78,7 @@ public class Auditor implements Serializable {
 	public void register(HasUuid entity) {
 
 		if (isAudited(entity)) {
-			final ValueContainer valueContainer = getValueContainerOf(entity);
-
-			if (valueContainer != null) {
-				this.changes.put(EntityId.getOidFromHasUuid(entity), new DefaultValueContainer(valueContainer));
-			}
+			this.changes.put(EntityId.getOidFromHasUuid(entity), getValueContainerOf(entity));
 		}
 	}
 
@@ -97,19 +99,24 @@ public class Auditor implements Serializable {
 			return new ChangeEvent(Collections.emptySortedMap(), ChangeType.UPDATE);
 		} else {
 
-			final ChangeType changeType = detectChangeType(entity);
+			final EntityId oid = EntityId.getOidFromHasUuid(entity);
+			final ValueContainer originalContainer = this.changes.get(oid);
+			final ValueContainer currentContainer = getValueContainerOf(entity);
+
+			final ChangeType changeType;
 			final SortedMap<String, String> entityChanges;
-			if (this.changes.containsKey(EntityId.getOidFromHasUuid(entity))) {
+			if (originalContainer != null) {
 				// Compare attributes because already existing
-				ValueContainer originalContainer = this.changes.get(EntityId.getOidFromHasUuid(entity));
-				entityChanges = getValueContainerOf(entity).compare(originalContainer);
+				changeType = ChangeType.UPDATE;
+				entityChanges = currentContainer.compare(originalContainer);
 			} else {
 				// Entity is new
-				entityChanges = getValueContainerOf(entity).getChanges();
+				changeType = ChangeType.CREATE;
+				entityChanges = currentContainer.getChanges();
 			}
 
 			// Save the current state for the next call within the same TX
-			register(entity);
+			this.changes.put(oid, currentContainer);
 			return new ChangeEvent(entityChanges, changeType);
 		}
 	}
@@ -129,22 +136,6 @@ public class Auditor implements Serializable {
 		}
 	}
 
-	/**
-	 * Checks whether this entity is completely new or has been changed.
-	 * 
-	 * @param entity
-	 *            The entity to inspect.
-	 * @return Returns {@link ChangeType#UPDATE} if the entity has been changed in this transaction or {@link ChangeType#CREATE} otherwise.
-	 */
-	private ChangeType detectChangeType(HasUuid entity) {
-
-		if (this.changes.containsKey(EntityId.getOidFromHasUuid(entity))) {
-			return ChangeType.UPDATE;
-		} else {
-			return ChangeType.CREATE;
-		}
-	}
-
 	/**
 	 * Returns the ValueContainer to an auditable entity.
 	 * 
@@ -173,125 +164,91 @@ public class Auditor implements Serializable {
 	 * @return Returns the {@link ValueContainer} for this entity. The {@link ValueContainer} is empty if no auditable attributes are found.
 	 */
 	ValueContainer inspectEntity(HasUuid entity) {
-		DefaultValueContainer result = new DefaultValueContainer();
-
-		EntityInspector inspector = new EntityInspector(entity);
-		for (Method currentAttribute : inspector.getAuditedAttributes()) {
-
-			try {
-				AuditedAttribute auditedAttribute = currentAttribute.getAnnotation(AuditedAttribute.class);
-				AuditedCollection auditedCollection = currentAttribute.getAnnotation(AuditedCollection.class);
-				boolean isCollection = Collection.class.isAssignableFrom(currentAttribute.getReturnType());
-
-				if (auditedAttribute != null || !isCollection) {
-					logAttributeChange(result, inspector, currentAttribute, auditedAttribute);
-				} else if (auditedCollection != null || isCollection) {
-					logCollectionChange(result, inspector, currentAttribute, auditedCollection);
-				}
-			} catch (InvocationTargetException | IllegalAccessException e) {
-				throw new AuditlogException(String.format("No changes for entity %s can be detected.", entity.toString()), e);
-			}
-		}
 
+		DefaultValueContainer result = new DefaultValueContainer();
+		getAuditPlan(entity.getClass()).inspect(entity, "", result);
 		return result;
 	}
 
-	@SuppressWarnings("unchecked")
-	private void logCollectionChange(DefaultValueContainer result, EntityInspector inspector, Method currentAttribute, AuditedCollection annotation)
-		throws IllegalAccessException, InvocationTargetException {
-		@SuppressWarnings("rawtypes")
-		CollectionFormatter collectionFormatter = EntityInspector.getCollectionFormatter(annotation);
-
-		final Collection<?> fieldValue = (Collection<?>) inspector.getAttributeValue(currentAttribute);
-		final String fieldName = EntityInspector.buildFieldName(currentAttribute);
-
-		result.put(fieldName, fieldValue, collectionFormatter);
+	/**
+	 * Drops the cached {@link AuditPlan}s, so they are built again when a class is inspected the next time.
+	 */
+	static void clearAuditPlans() {
+		AUDIT_PLANS.clear();
 	}
 
-	private void logAttributeChange(DefaultValueContainer result, EntityInspector inspector, Method currentAttribute, AuditedAttribute annotation)
-		throws IllegalAccessException, InvocationTargetException {
-
-		if (isEmbeddedElement(currentAttribute)) {
+	/**
+	 * Returns the {@link AuditPlan} for the given class and builds it when the class is inspected for the first time.
+	 */
+	private AuditPlan getAuditPlan(Class<?> clazz) {
 
-			if (isClassAudited(currentAttribute.getReturnType())) {
-				// Log the attributes of the Embeddable
-				Object embeddable = inspector.getAttributeValue(currentAttribute);
-				EntityInspector embeddableInspector = new EntityInspector(embeddable);
+		AuditPlan plan = AUDIT_PLANS.get(clazz);
+		if (plan == null) {
+			// Not built within computeIfAbsent because building a plan may build the plans of embeddables
+			plan = buildAuditPlan(clazz);
+			AUDIT_PLANS.putIfAbsent(clazz, plan);
+		}
 
-				List<Method> auditedAttributes = embeddableInspector.getAuditedAttributes();
+		return plan;
+	}
 
-				for (Method embeddableAttribute : auditedAttributes) {
-					logSingularAttributeChange(
-						result,
-						EntityInspector.buildFieldName(currentAttribute),
-						embeddableInspector,
-						embeddableAttribute,
-						embeddableAttribute.getDeclaredAnnotation(AuditedAttribute.class));
+	private AuditPlan buildAuditPlan(Class<?> clazz) {
+
+		List<AuditedProperty> properties = new ArrayList<>();
+		for (Method currentAttribute : EntityInspector.getAuditedAttributes(clazz)) {
+
+			AuditedAttribute auditedAttribute = currentAttribute.getAnnotation(AuditedAttribute.class);
+			AuditedCollection auditedCollection = currentAttribute.getAnnotation(AuditedCollection.class);
+			boolean isCollection = Collection.class.isAssignableFrom(currentAttribute.getReturnType());
+			String fieldName = EntityInspector.buildFieldName(currentAttribute);
+
+			if (auditedAttribute != null || !isCollection) {
+				if (isEmbeddedElement(currentAttribute)) {
+					if (isClassAudited(currentAttribute.getReturnType())) {
+						// Log the attributes of the Embeddable
+						properties.add(AuditedProperty.embedded(fieldName, currentAttribute, buildEmbeddableAuditPlan(currentAttribute.getReturnType())));
+					}
+				} else {
+					// Log simple value
+					properties.add(buildSingularAttribute(currentAttribute, auditedAttribute));
 				}
-
+			} else {
+				properties.add(AuditedProperty.formatted(fieldName, currentAttribute, EntityInspector.getCollectionFormatter(auditedCollection), null));
 			}
-		} else {
-			// Log simple value
-			logSingularAttributeChange(result, inspector, currentAttribute, annotation);
 		}
 
+		return new AuditPlan(properties);
 	}
 
-	private boolean isClassAudited(final Class<?> clazz) {
-
-		return clazz.getDeclaredAnnotation(Audited.class) != null;
-	}
+	/**
+	 * All audited attributes of an embeddable are logged as simple values.
+	 */
+	private AuditPlan buildEmbeddableAuditPlan(Class<?> embeddableClass) {
 
-	private boolean isEmbeddedElement(Method currentAttribute) {
+		List<AuditedProperty> properties = new ArrayList<>();
+		for (Method embeddableAttribute : EntityInspector.getAuditedAttributes(embeddableClass)) {
+			properties.add(buildSingularAttribute(embeddableAttribute, embeddableAttribute.getDeclaredAnnotation(AuditedAttribute.class)));
+		}
 
-		return currentAttribute.getDeclaredAnnotation(Embedded.class) != null;
+		return new AuditPlan(properties);
 	}
 
-	private void logSingularAttributeChange(
-		DefaultValueContainer result,
-		EntityInspector inspector,
-		Method currentAttribute,
-		AuditedAttribute annotation)
-		throws IllegalAccessException, InvocationTargetException {
+	private AuditedProperty buildSingularAttribute(Method currentAttribute, AuditedAttribute annotation) {
 
-		this.logSingularAttributeChange(result, "", inspector, currentAttribute, annotation);
+		ValueFormatter<?> formatter = overrideFormatter(EntityInspector.getFormatter(annotation), currentAttribute);
+		String anonymizingString = annotation != null && annotation.anonymous() ? annotation.anonymizingString() : null;
 
+		return AuditedProperty.formatted(EntityInspector.buildFieldName(currentAttribute), currentAttribute, formatter, anonymizingString);
 	}
 
-	@SuppressWarnings("unchecked")
-	private void logSingularAttributeChange(
-		DefaultValueContainer result,
-		String prefix,
-		EntityInspector inspector,
-		Method currentAttribute,
-		AuditedAttribute annotation)
-		throws IllegalAccessException, InvocationTargetException {
-
-		@SuppressWarnings("rawtypes")
-		ValueFormatter formatter = EntityInspector.getFormatter(annotation);
-
-		formatter = overrideFormatter(formatter, currentAttribute);
-
-		final String fieldName = EntityInspector.buildFieldName(currentAttribute);
-		final Object fieldValue = inspector.getAttributeValue(currentAttribute);
-
-		result.put(prefixFieldNameWith(prefix, fieldName), fieldValue, formatter);
+	private boolean isClassAudited(final Class<?> clazz) {
 
-		if (annotation != null) {
-			if (annotation.anonymous()) {
-				result.configureAnonymizeValue(fieldName, annotation.anonymizingString());
-			}
-		}
+		return clazz.getDeclaredAnnotation(Audited.class) != null;
 	}
 
-	private String prefixFieldNameWith(String prefix, final String fieldName) {
-
-		if (StringUtils.isBlank(prefix)) {
-			return fieldName;
-		} else {
-			return prefix + "." + fieldName;
-		}
+	private boolean isEmbeddedElement(Method currentAttribute) {
 
+		return currentAttribute.getDeclaredAnnotation(Embedded.class) != null;
 	}
 
 	/**
@@ -76,7 +76,7 @@ public class EntityInspector {
 	 *            This class and all super classes that are annotated with {@link Audited} are checked for methods to be audited.
 	 * @return All methods to be audited of the given {@code clazz}.
 	 */
-	private List<Method> getAuditedAttributes(Class<?> clazz) {
+	public static List<Method> getAuditedAttributes(Class<?> clazz) {
 
 		List<Method> auditedMethods = new ArrayList<>();
 
@@ -114,7 +114,7 @@ public class EntityInspector {
 	 *            The method to check.
 	 * @return True if the method should be audited, false if not.
 	 */
-	private boolean isAudited(Method method) {
+	private static boolean isAudited(Method method) {
 		if (method.getAnnotation(AuditedIgnore.class) != null) {
 			return false;
 		} else if (method.getAnnotation(AuditedAttribute.class) != null || method.getAnnotation(AuditedCollection.class) != null) {
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.auditlog;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.annotations.Type;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.auditlog.api.ChangeType;
+
+/**
+ * An {@link AuditLogEntry} that has been written with the transaction of the change and is waiting to be moved to the audit
+ * log by the {@link AuditLogWriter}. The attributes are kept as one JSON text, so spooling an entry is a single insert.
+ * The id is taken from the sequence of the audit log and kept by the moved entry.
+ */
+@Entity
+@Table(name = AuditLogSpoolEntry.TABLE_NAME)
+public class AuditLogSpoolEntry implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String TABLE_NAME = "auditlogentry_spool";
+
+	public static final String ID = "id";
+
+	private static final String SEQ_JPA_NAME = "Auditlog_spool_seq";
+	private static final String SEQ_SQL_NAME = "auditlog_seq";
+
+	private static final ObjectMapper ATTRIBUTES_MAPPER = new ObjectMapper();
+	private static final TypeReference<TreeMap<String, String>> ATTRIBUTES_TYPE = new TypeReference<TreeMap<String, String>>() {
+	};
+
+	@Id
+	@SequenceGenerator(name = SEQ_JPA_NAME, allocationSize = 1, sequenceName = SEQ_SQL_NAME)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQ_JPA_NAME)
+	private Long id;
+
+	private String clazz;
+	private String uuid;
+	private String editingUser;
+
+	@Column(name = "transaction_id", nullable = false)
+	private String transactionId;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "detection_ts", nullable = false)
+	private Date detectionTimestamp;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private ChangeType changeType;
+
+	@Lob
+	@Type(type = "org.hibernate.type.TextType")
+	private String attributes;
+
+	public static AuditLogSpoolEntry from(AuditLogEntry entry) {
+
+		AuditLogSpoolEntry spoolEntry = new AuditLogSpoolEntry();
+		spoolEntry.clazz = entry.getClazz();
+		spoolEntry.uuid = entry.getUuid();
+		spoolEntry.editingUser = entry.getEditingUser();
+		spoolEntry.transactionId = entry.getTransactionId();
+		spoolEntry.detectionTimestamp = entry.getDetectionTimestamp();
+		spoolEntry.changeType = entry.getChangeType();
+		if (entry.getAttributes() != null) {
+			try {
+				spoolEntry.attributes = ATTRIBUTES_MAPPER.writeValueAsString(entry.getAttributes());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return spoolEntry;
+	}
+
+	/**
+	 * @return The entry to be written to the audit log, with the id of this spool entry.
+	 */
+	public AuditLogEntry toAuditLogEntry() {
+
+		AuditLogEntry entry = new AuditLogEntry();
+		entry.setId(id);
+		entry.setClazz(clazz);
+		entry.setUuid(uuid);
+		entry.setEditingUser(editingUser);
+		entry.setTransactionId(transactionId);
+		entry.setDetectionTimestamp(detectionTimestamp);
+		entry.setChangeType(changeType);
+		if (attributes != null) {
+			try {
+				Map<String, String> attributeMap = ATTRIBUTES_MAPPER.readValue(attributes, ATTRIBUTES_TYPE);
+				entry.setAttributes(attributeMap);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return entry;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getAttributes() {
+		return attributes;
+	}
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.auditlog;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.SessionContext;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Writes {@link AuditLogEntry}s in two steps: {@link #spool(AuditLogEntry)} stores each entry with a single insert in the
+ * transaction of the change, so the entry is committed or rolled back together with the change and survives a crash of the
+ * server. {@link #flush()} moves the spooled entries to the audit log tables in JDBC batches, one transaction per batch. It
+ * is called periodically by the {@link de.symeda.sormas.backend.common.CronService} and when the server shuts down.
+ * <p>
+ * A batch that could not be moved stays in the spool and is moved first by the next flush. Spooled entries are locked
+ * while they are moved, so several servers sharing the audit log database do not move the same entries.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class AuditLogWriter {
+
+	public static final int FLUSH_INTERVAL_SECONDS = 5;
+
+	private static final int BATCH_SIZE = 500;
+
+	private static final String INSERT_ENTRY =
+		"INSERT INTO auditlogentry (id, detection_ts, changetype, editinguser, clazz, uuid, transaction_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_ATTRIBUTE =
+		"INSERT INTO auditlogentry_attributes (auditlogentry_id, attribute_key, attribute_value) VALUES (?, ?, ?)";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME_AUDITLOG)
+	private EntityManager em;
+
+	@Resource
+	private SessionContext sessionContext;
+
+	private final ReentrantLock flushLock = new ReentrantLock();
+
+	private final AtomicLong writtenCount = new AtomicLong();
+	private final AtomicLong failedFlushCount = new AtomicLong();
+	private volatile long lastFlushDuration;
+	private volatile long maxFlushDuration;
+
+	/**
+	 * Stores the entry in the spool as part of the current transaction.
+	 */
+	@TransactionAttribute(TransactionAttributeType.MANDATORY)
+	public void spool(AuditLogEntry entry) {
+		em.persist(AuditLogSpoolEntry.from(entry));
+	}
+
+	/**
+	 * Moves all spooled entries to the audit log, one transaction per batch. Does nothing if another flush is still running.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void flush() {
+
+		if (!flushLock.tryLock()) {
+			return;
+		}
+
+		try {
+			long start = System.currentTimeMillis();
+			int flushedCount = 0;
+			int movedCount;
+
+			do {
+				try {
+					movedCount = moveInNewTransaction(BATCH_SIZE);
+				} catch (RuntimeException e) {
+					failedFlushCount.incrementAndGet();
+					// the batch stays in the spool and is moved first by the next flush
+					logger.error("Moving spooled audit log entries failed, retrying with the next flush", e);
+					break;
+				}
+				flushedCount += movedCount;
+			}
+			while (movedCount == BATCH_SIZE);
+
+			if (flushedCount > 0) {
+				lastFlushDuration = System.currentTimeMillis() - start;
+				maxFlushDuration = Math.max(maxFlushDuration, lastFlushDuration);
+				writtenCount.addAndGet(flushedCount);
+				logger.debug("Wrote {} audit log entries in {} ms", flushedCount, lastFlushDuration);
+			}
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	/**
+	 * Moves a batch in a new transaction through the business interface of this bean.
+	 * 
+	 * @return The number of moved entries.
+	 */
+	protected int moveInNewTransaction(int maxEntries) {
+		return sessionContext.getBusinessObject(AuditLogWriter.class).moveBatch(maxEntries);
+	}
+
+	/**
+	 * Writes the oldest spooled entries to the audit log and removes them from the spool. Entries that are being moved by
+	 * another transaction are skipped.
+	 * 
+	 * @return The number of moved entries.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public int moveBatch(int maxEntries) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<AuditLogSpoolEntry> cq = cb.createQuery(AuditLogSpoolEntry.class);
+		Root<AuditLogSpoolEntry> root = cq.from(AuditLogSpoolEntry.class);
+		cq.orderBy(cb.asc(root.get(AuditLogSpoolEntry.ID)));
+
+		List<AuditLogSpoolEntry> spoolEntries = em.createQuery(cq)
+			.setMaxResults(maxEntries)
+			.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+			.setHint("javax.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+			.getResultList();
+		if (spoolEntries.isEmpty()) {
+			return 0;
+		}
+
+		List<AuditLogEntry> batch = new ArrayList<>(spoolEntries.size());
+		List<Long> ids = new ArrayList<>(spoolEntries.size());
+		for (AuditLogSpoolEntry spoolEntry : spoolEntries) {
+			batch.add(spoolEntry.toAuditLogEntry());
+			ids.add(spoolEntry.getId());
+		}
+		writeBatch(batch);
+
+		CriteriaDelete<AuditLogSpoolEntry> delete = cb.createCriteriaDelete(AuditLogSpoolEntry.class);
+		delete.where(delete.from(AuditLogSpoolEntry.class).get(AuditLogSpoolEntry.ID).in(ids));
+		em.createQuery(delete).executeUpdate();
+
+		return batch.size();
+	}
+
+	/**
+	 * Inserts the entries with the ids they got when they were spooled.
+	 */
+	private void writeBatch(List<AuditLogEntry> batch) {
+
+		em.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement insertEntry = connection.prepareStatement(INSERT_ENTRY);
+				PreparedStatement insertAttribute = connection.prepareStatement(INSERT_ATTRIBUTE)) {
+
+				for (AuditLogEntry entry : batch) {
+					insertEntry.setLong(1, entry.getId());
+					insertEntry.setTimestamp(2, new Timestamp(entry.getDetectionTimestamp().getTime()));
+					insertEntry.setString(3, entry.getChangeType().name());
+					insertEntry.setString(4, entry.getEditingUser());
+					insertEntry.setString(5, entry.getClazz());
+					insertEntry.setString(6, entry.getUuid());
+					insertEntry.setString(7, entry.getTransactionId());
+					insertEntry.addBatch();
+
+					if (entry.getAttributes() != null) {
+						for (Map.Entry<String, String> attribute : entry.getAttributes().entrySet()) {
+							insertAttribute.setLong(1, entry.getId());
+							insertAttribute.setString(2, attribute.getKey());
+							insertAttribute.setString(3, attribute.getValue());
+							insertAttribute.addBatch();
+						}
+					}
+				}
+
+				insertEntry.executeBatch();
+				insertAttribute.executeBatch();
+			}
+		});
+	}
+
+	/**
+	 * Moves the spooled entries before the server shuts down. Entries that remain are moved after the next start.
+	 */
+	@PreDestroy
+	public void drain() {
+		flush();
+	}
+
+	/**
+	 * @return Number of spooled entries waiting to be moved to the audit log.
+	 */
+	@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+	public int getQueueSize() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		cq.select(cb.count(cq.from(AuditLogSpoolEntry.class)));
+		return em.createQuery(cq).getSingleResult().intValue();
+	}
+
+	public long getWrittenCount() {
+		return writtenCount.get();
+	}
+
+	public long getFailedFlushCount() {
+		return failedFlushCount.get();
+	}
+
+	/**
+	 * @return Duration of the last flush that wrote entries in milliseconds.
+	 */
+	public long getLastFlushDuration() {
+		return lastFlushDuration;
+	}
+
+	public long getMaxFlushDuration() {
+		return maxFlushDuration;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * ******************************************************************************
+ * * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * *
+ * * This program is free software: you can redistribute it and/or modify
+ * * it under the terms of the GNU General Public License as published by
+ * * the Free Software Foundation, either version 3 of the License, or
+ * * (at your option) any later version.
+ * *
+ * * This program is distributed in the hope that it will be useful,
+ * * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * * GNU General Public License for more details.
+ * *
+ * * You should have received a copy of the GNU General Public License
+ * * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ * ******************************************************************************
+ */
+
+package de.symeda.sormas.backend.campaign.data;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramCriteria;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramDataDto;
+import de.symeda.sormas.backend.common.InfrastructureChangeEvent;
+import de.symeda.sormas.backend.region.Area;
+import de.symeda.sormas.backend.region.Community;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+
+/**
+ * Keeps the diagram data of all fields of the campaign forms by campaign and jurisdiction, so the diagrams of a campaign
+ * dashboard are answered by one query. The cache is cleared whenever campaign form data or campaign form meta is saved or
+ * deleted, see {@link #invalidate()}, and when areas, regions, districts or communities have been changed. Diagram data is
+ * reloaded after {@link #TIME_TO_LIVE_MILLIS} at the latest, in case it was changed elsewhere.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CampaignDiagramDataCache {
+
+	public static final long TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+	/**
+	 * Maximum number of campaign and jurisdiction combinations kept
+	 */
+	private static final int MAX_CACHED_CRITERIA = 100;
+
+	private final AtomicLong version = new AtomicLong();
+	/**
+	 * Diagram data by campaign and jurisdiction, least recently used first
+	 */
+	private final Map<String, CachedDiagramData> diagramData =
+		Collections.synchronizedMap(new LinkedHashMap<String, CachedDiagramData>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedDiagramData> eldest) {
+				return size() > MAX_CACHED_CRITERIA;
+			}
+		});
+
+	@Inject
+	private Event<Invalidation> invalidationEvent;
+
+	/**
+	 * @param loader
+	 *            Loads the diagram data for the criteria if it is not cached yet. It is only cached if the cache has not
+	 *            been invalidated while loading.
+	 */
+	public List<CampaignDiagramDataDto> get(CampaignDiagramCriteria criteria, Supplier<List<CampaignDiagramDataDto>> loader) {
+
+		String key = String.join(
+			"/",
+			getUuid(criteria.getCampaign()),
+			getUuid(criteria.getArea()),
+			getUuid(criteria.getRegion()),
+			getUuid(criteria.getDistrict()));
+
+		CachedDiagramData cached = diagramData.get(key);
+		if (cached != null && System.currentTimeMillis() - cached.loadedAt < TIME_TO_LIVE_MILLIS) {
+			return cached.data;
+		}
+
+		long loadedVersion = version.get();
+		cached = new CachedDiagramData(System.currentTimeMillis(), Collections.unmodifiableList(loader.get()));
+		synchronized (diagramData) {
+			if (loadedVersion == version.get()) {
+				diagramData.put(key, cached);
+			}
+		}
+		return cached.data;
+	}
+
+	/**
+	 * Clears the cache right away and once more when the current transaction has been completed, because diagram data loaded
+	 * until then may be based on the data before the change or on a change that is rolled back.
+	 */
+	public void invalidate() {
+		clear();
+		invalidationEvent.fire(new Invalidation());
+	}
+
+	@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+	public void afterInvalidation(@Observes(during = TransactionPhase.AFTER_COMPLETION) Invalidation invalidation) {
+		clear();
+	}
+
+	/**
+	 * Diagram data is grouped by the names of the jurisdictions and filtered by the area of the regions
+	 */
+	@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+	public void afterInfrastructureChange(@Observes(during = TransactionPhase.AFTER_COMPLETION) InfrastructureChangeEvent event) {
+
+		Class<?> infrastructureClass = event.getInfrastructureClass();
+		if (infrastructureClass == Area.class
+			|| infrastructureClass == Region.class
+			|| infrastructureClass == District.class
+			|| infrastructureClass == Community.class) {
+			clear();
+		}
+	}
+
+	private void clear() {
+
+		synchronized (diagramData) {
+			version.incrementAndGet();
+			diagramData.clear();
+		}
+	}
+
+	private static String getUuid(ReferenceDto reference) {
+		return reference != null ? reference.getUuid() : "";
+	}
+
+	public static final class Invalidation {
+	}
+
+	private static final class CachedDiagramData {
+
+		private final long loadedAt;
+		private final List<CampaignDiagramDataDto> data;
+
+		CachedDiagramData(long loadedAt, List<CampaignDiagramDataDto> data) {
+			this.loadedAt = loadedAt;
+			this.data = data;
+		}
+	}
+}
@@ -44,7 +44,6 @@ import javax.validation.constraints.NotNull;
 import de.symeda.sormas.api.campaign.CampaignReferenceDto;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataCriteria;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataDto;
-import de.symeda.sormas.api.campaign.data.CampaignFormDataEntry;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataFacade;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataIndexDto;
 import de.symeda.sormas.api.campaign.data.CampaignFormDataReferenceDto;
@@ -111,6 +110,9 @@ public class CampaignFormDataFacadeEjb implements CampaignFormDataFacade {
 	@EJB
 	private UserService userService;
 
+	@EJB
+	private CampaignDiagramDataCache campaignDiagramDataCache;
+
 	public CampaignFormData fromDto(@NotNull CampaignFormDataDto source) {
 		CampaignFormData target = campaignFormDataService.getByUuid(source.getUuid());
 		if (target == null) {
@@ -290,81 +292,112 @@ public class CampaignFormDataFacadeEjb implements CampaignFormDataFacade {
 		List<CampaignDiagramSeries> diagramSeriesList,
 		CampaignDiagramCriteria campaignDiagramCriteria) {
 
-		List<CampaignDiagramDataDto> resultData = new ArrayList<CampaignDiagramDataDto>();
+		List<CampaignDiagramDataDto> diagramData =
+			campaignDiagramDataCache.get(campaignDiagramCriteria, () -> getAllDiagramData(campaignDiagramCriteria));
 
+		List<CampaignDiagramDataDto> resultData = new ArrayList<CampaignDiagramDataDto>();
 		for (CampaignDiagramSeries diagramSeries : diagramSeriesList) {
-
-			//@formatter:off
-			final AreaReferenceDto area = campaignDiagramCriteria.getArea();
-			final RegionReferenceDto region = campaignDiagramCriteria.getRegion();
-			final DistrictReferenceDto district = campaignDiagramCriteria.getDistrict();
-			final CampaignReferenceDto campaign = campaignDiagramCriteria.getCampaign();
-			
-			final String areaFilter = area != null ? " AND " + Area.TABLE_NAME + "." + Area.UUID + " = '" + area.getUuid() + "'": "";
-			final String regionFilter = region != null ? " AND " + CampaignFormData.REGION + "." + Region.UUID + " = '" + region.getUuid() + "'": "";
-			final String districtFilter = district != null ? " AND " + CampaignFormData.DISTRICT + "." + District.UUID + " = '" + district.getUuid() + "'" : "";
-			final String campaignFilter = campaign != null ? " AND " + Campaign.TABLE_NAME + "." + Campaign.UUID + " = '" + campaign.getUuid() +  "'" : "";
-			final String jurisdictionGrouping =
-					(district != null ? ", " + Community.TABLE_NAME + "." + Community.UUID + ", " + Community.TABLE_NAME + "." + Community.NAME :
-					region != null ? ", " + District.TABLE_NAME + "." + District.UUID + ", " + District.TABLE_NAME + "." + District.NAME : "")
-							+ ", " + Region.TABLE_NAME + "." + Region.UUID + ", " + Region.TABLE_NAME + "." + Region.NAME;
-			
-			Query seriesDataQuery = em.createNativeQuery(
-					"SELECT " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.UUID  + " as formUuid,"
-							+ CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.FORM_ID + " as formId"
-							+ ", jsonData->>'" + CampaignFormDataEntry.ID + "' as fieldId"
-							+ ", jsonMeta->>'" + CampaignFormElement.CAPTION + "' as fieldCaption"
-							+ ", CASE"
-							+ " WHEN (jsonMeta ->> '" + CampaignFormElement.TYPE + "')  = '" + CampaignFormElementType.NUMBER.toString() + "' THEN sum(cast_to_int(jsonData->>'" + CampaignFormDataEntry.VALUE + "', 0))"
-							+ " ELSE count((jsonData->>'" + CampaignFormDataEntry.VALUE + "') = '" + diagramSeries.getFieldValue() + "')"
-		      				+ " END as sumValue"
-							+ ", " + Region.TABLE_NAME + "." + Region.UUID
-							+ ", " + Region.TABLE_NAME + "." + Region.NAME
-							+ " FROM " + CampaignFormData.TABLE_NAME
-							+ " LEFT JOIN " + CampaignFormMeta.TABLE_NAME + " ON " + CampaignFormData.CAMPAIGN_FORM_META + "_id = " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.ID
-							+ " LEFT JOIN " + Region.TABLE_NAME + " ON " + CampaignFormData.REGION + "_id = " + Region.TABLE_NAME + "." + Region.ID
-							+ " LEFT JOIN " + Area.TABLE_NAME + " ON " + Region.AREA + "_id = " + Area.TABLE_NAME + "." + Area.ID
-							+ " LEFT JOIN " + District.TABLE_NAME + " ON " + CampaignFormData.DISTRICT + "_id = " + District.TABLE_NAME + "." + District.ID
-							+ " LEFT JOIN " + Community.TABLE_NAME + " ON " + CampaignFormData.COMMUNITY + "_id = " + Community.TABLE_NAME + "." + Community.ID
-							+ " LEFT JOIN " + Campaign.TABLE_NAME + " ON " + CampaignFormData.CAMPAIGN + "_id = " + Campaign.TABLE_NAME + "." + Campaign.ID
-							+ ", json_array_elements(" + CampaignFormData.FORM_VALUES + ") as jsonData"
-							+ ", json_array_elements(" + CampaignFormMeta.CAMPAIGN_FORM_ELEMENTS + ") as jsonMeta"
-					+ " WHERE " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.FORM_ID + " = '" + diagramSeries.getFormId() + "'"
-							+ " AND jsonData->>'" + CampaignFormDataEntry.ID + "' = '" + diagramSeries.getFieldId() + "'"
-							+ " AND jsonData->>'" + CampaignFormDataEntry.VALUE + "' IS NOT NULL"
-							+ " AND jsonData->>'" + CampaignFormDataEntry.ID + "' = jsonMeta->>'" + CampaignFormElement.ID + "'"
-							+ areaFilter
-							+ regionFilter
-							+ districtFilter
-							+ campaignFilter 
-					+ " GROUP BY " 
-							+ CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.UUID  + "," 
-							+ CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.FORM_ID
-							+ ", jsonData->>'" + CampaignFormDataEntry.ID + "'"
-							+ ", jsonMeta->>'" + CampaignFormElement.CAPTION + "'"
-							+ ", jsonMeta->>'" + CampaignFormElement.TYPE + "'"
-							+ jurisdictionGrouping);
-			//@formatter:on
-
-			@SuppressWarnings("unchecked")
-			List<Object[]> resultList = seriesDataQuery.getResultList();
-
 			resultData.addAll(
-				resultList.stream()
-					.map(
-						(result) -> new CampaignDiagramDataDto(
-							(String) result[0],
-							(String) result[1],
-							(String) result[2],
-							(String) result[3],
-							(Object) result[4],
-							(String) result[5],
-							(String) result[6]))
+				diagramData.stream()
+					.filter(
+						data -> data.getFormId().equals(diagramSeries.getFormId()) && data.getFieldId().equals(diagramSeries.getFieldId()))
 					.collect(Collectors.toList()));
 		}
 		return resultData;
 	}
 
+	/**
+	 * @return The diagram data of all fields of all campaign forms matching the criteria, aggregated in one query over the
+	 *         flattened {@link CampaignFormDataValue}s. Numbers are summed up, other values are counted.
+	 */
+	private List<CampaignDiagramDataDto> getAllDiagramData(CampaignDiagramCriteria campaignDiagramCriteria) {
+
+		//@formatter:off
+		final AreaReferenceDto area = campaignDiagramCriteria.getArea();
+		final RegionReferenceDto region = campaignDiagramCriteria.getRegion();
+		final DistrictReferenceDto district = campaignDiagramCriteria.getDistrict();
+		final CampaignReferenceDto campaign = campaignDiagramCriteria.getCampaign();
+
+		final List<String> filterUuids = new ArrayList<>();
+		final StringBuilder filters = new StringBuilder();
+		if (area != null) {
+			filters.append(" AND " + Area.TABLE_NAME + "." + Area.UUID + " = ?" + (filterUuids.size() + 1));
+			filterUuids.add(area.getUuid());
+		}
+		if (region != null) {
+			filters.append(" AND " + Region.TABLE_NAME + "." + Region.UUID + " = ?" + (filterUuids.size() + 1));
+			filterUuids.add(region.getUuid());
+		}
+		if (district != null) {
+			filters.append(" AND " + District.TABLE_NAME + "." + District.UUID + " = ?" + (filterUuids.size() + 1));
+			filterUuids.add(district.getUuid());
+		}
+		if (campaign != null) {
+			filters.append(" AND " + Campaign.TABLE_NAME + "." + Campaign.UUID + " = ?" + (filterUuids.size() + 1));
+			filterUuids.add(campaign.getUuid());
+		}
+
+		// the diagrams are grouped by the jurisdiction level below the selected one
+		final String jurisdictionTable = district != null ? Community.TABLE_NAME : region != null ? District.TABLE_NAME : Region.TABLE_NAME;
+		final String jurisdictionGrouping = jurisdictionTable + "." + AbstractDomainObject.UUID + ", " + jurisdictionTable + "." + Region.NAME;
+
+		// the form elements are unpacked once per form, not once per form data
+		final String formElements = "SELECT " + CampaignFormMeta.ID + " AS formmeta_id"
+				+ ", jsonMeta->>'" + CampaignFormElement.ID + "' AS fieldid"
+				+ ", jsonMeta->>'" + CampaignFormElement.CAPTION + "' AS caption"
+				+ ", jsonMeta->>'" + CampaignFormElement.TYPE + "' AS type"
+				+ " FROM " + CampaignFormMeta.TABLE_NAME + ", json_array_elements(" + CampaignFormMeta.CAMPAIGN_FORM_ELEMENTS + ") AS jsonMeta";
+
+		Query diagramDataQuery = em.createNativeQuery(
+				"WITH formElements AS (" + formElements + ")"
+				+ " SELECT " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.UUID + " AS formUuid"
+						+ ", " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.FORM_ID + " AS formId"
+						+ ", formValue.fieldid AS fieldId"
+						+ ", formElements.caption AS fieldCaption"
+						+ ", CASE"
+						+ " WHEN formElements.type = '" + CampaignFormElementType.NUMBER.toString() + "' THEN COALESCE(sum(formValue.numericvalue), 0)"
+						+ " ELSE count(formValue.stringvalue)"
+						+ " END AS sumValue"
+						+ ", " + jurisdictionGrouping
+						+ " FROM " + CampaignFormDataValue.TABLE_NAME + " AS formValue"
+						+ " JOIN " + CampaignFormData.TABLE_NAME + " ON formValue.campaignformdata_id = " + CampaignFormData.TABLE_NAME + "." + CampaignFormData.ID
+						+ " JOIN " + CampaignFormMeta.TABLE_NAME + " ON " + CampaignFormData.CAMPAIGN_FORM_META + "_id = " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.ID
+						+ " JOIN formElements ON formElements.formmeta_id = " + CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.ID + " AND formElements.fieldid = formValue.fieldid"
+						+ " LEFT JOIN " + Region.TABLE_NAME + " ON " + CampaignFormData.REGION + "_id = " + Region.TABLE_NAME + "." + Region.ID
+						+ " LEFT JOIN " + Area.TABLE_NAME + " ON " + Region.AREA + "_id = " + Area.TABLE_NAME + "." + Area.ID
+						+ " LEFT JOIN " + District.TABLE_NAME + " ON " + CampaignFormData.DISTRICT + "_id = " + District.TABLE_NAME + "." + District.ID
+						+ " LEFT JOIN " + Community.TABLE_NAME + " ON " + CampaignFormData.COMMUNITY + "_id = " + Community.TABLE_NAME + "." + Community.ID
+						+ " LEFT JOIN " + Campaign.TABLE_NAME + " ON " + CampaignFormData.CAMPAIGN + "_id = " + Campaign.TABLE_NAME + "." + Campaign.ID
+				+ " WHERE TRUE"
+						+ filters
+				+ " GROUP BY "
+						+ CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.UUID + ","
+						+ CampaignFormMeta.TABLE_NAME + "." + CampaignFormMeta.FORM_ID
+						+ ", formValue.fieldid"
+						+ ", formElements.caption"
+						+ ", formElements.type"
+						+ ", " + jurisdictionGrouping);
+		//@formatter:on
+		for (int i = 0; i < filterUuids.size(); i++) {
+			diagramDataQuery.setParameter(i + 1, filterUuids.get(i));
+		}
+
+		@SuppressWarnings("unchecked")
+		List<Object[]> resultList = diagramDataQuery.getResultList();
+
+		return resultList.stream()
+			.map(
+				(result) -> new CampaignDiagramDataDto(
+					(String) result[0],
+					(String) result[1],
+					(String) result[2],
+					(String) result[3],
+					(Object) result[4],
+					(String) result[5],
+					(String) result[6]))
+			.collect(Collectors.toList());
+	}
+
 	@Override
 	public long count(CampaignFormDataCriteria criteria) {
 		CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -21,6 +21,7 @@
 package de.symeda.sormas.backend.campaign.data;
 
 import de.symeda.sormas.api.campaign.data.CampaignFormDataCriteria;
+import de.symeda.sormas.api.campaign.data.CampaignFormDataEntry;
 import de.symeda.sormas.backend.campaign.Campaign;
 import de.symeda.sormas.backend.campaign.form.CampaignFormMeta;
 import de.symeda.sormas.backend.common.AbstractAdoService;
@@ -28,8 +29,10 @@ import de.symeda.sormas.backend.region.Community;
 import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
 
+import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -42,10 +45,54 @@ import javax.persistence.criteria.Root;
 @LocalBean
 public class CampaignFormDataService extends AbstractAdoService<CampaignFormData> {
 
+	@EJB
+	private CampaignDiagramDataCache campaignDiagramDataCache;
+
 	public CampaignFormDataService() {
 		super(CampaignFormData.class);
 	}
 
+	@Override
+	public void ensurePersisted(CampaignFormData campaignFormData) throws EntityExistsException {
+
+		super.ensurePersisted(campaignFormData);
+		updateFormValues(campaignFormData.getId());
+		campaignDiagramDataCache.invalidate();
+	}
+
+	@Override
+	public void delete(CampaignFormData campaignFormData) {
+
+		super.delete(campaignFormData);
+		campaignDiagramDataCache.invalidate();
+	}
+
+	/**
+	 * Replaces the flattened {@link CampaignFormDataValue}s of the campaign form data by its current form values. Values
+	 * that are not integers have no numeric value.
+	 */
+	public void updateFormValues(Long campaignFormDataId) {
+
+		em.createNativeQuery("DELETE FROM " + CampaignFormDataValue.TABLE_NAME + " WHERE campaignformdata_id = ?1")
+			.setParameter(1, campaignFormDataId)
+			.executeUpdate();
+
+		String fieldId = "jsonData->>'" + CampaignFormDataEntry.ID + "'";
+		String value = "jsonData->>'" + CampaignFormDataEntry.VALUE + "'";
+		//@formatter:off
+		em.createNativeQuery(
+				"INSERT INTO " + CampaignFormDataValue.TABLE_NAME + " (campaignformdata_id, fieldid, numericvalue, stringvalue)"
+						+ " SELECT DISTINCT ON (" + fieldId + ") " + CampaignFormData.TABLE_NAME + "." + CampaignFormData.ID
+						+ ", " + fieldId + ", cast_to_int(" + value + ", NULL), " + value
+						+ " FROM " + CampaignFormData.TABLE_NAME + ", json_array_elements(" + CampaignFormData.FORM_VALUES + ") AS jsonData"
+				+ " WHERE " + CampaignFormData.TABLE_NAME + "." + CampaignFormData.ID + " = ?1"
+						+ " AND " + fieldId + " IS NOT NULL"
+						+ " AND " + value + " IS NOT NULL")
+			.setParameter(1, campaignFormDataId)
+			.executeUpdate();
+		//@formatter:on
+	}
+
 	public Predicate createCriteriaFilter(CampaignFormDataCriteria criteria, CriteriaBuilder cb, Root<CampaignFormData> root) {
 		Join<CampaignFormData, Campaign> campaignJoin = root.join(CampaignFormData.CAMPAIGN, JoinType.LEFT);
 		Join<CampaignFormData, CampaignFormMeta> campaignFormJoin = root.join(CampaignFormData.CAMPAIGN_FORM_META, JoinType.LEFT);
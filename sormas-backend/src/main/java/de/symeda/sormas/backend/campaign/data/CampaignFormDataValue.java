@@ -0,0 +1,138 @@
+/*
+ * ******************************************************************************
+ * * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * *
+ * * This program is free software: you can redistribute it and/or modify
+ * * it under the terms of the GNU General Public License as published by
+ * * the Free Software Foundation, either version 3 of the License, or
+ * * (at your option) any later version.
+ * *
+ * * This program is distributed in the hope that it will be useful,
+ * * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * * GNU General Public License for more details.
+ * *
+ * * You should have received a copy of the GNU General Public License
+ * * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ * ******************************************************************************
+ */
+
+package de.symeda.sormas.backend.campaign.data;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+/**
+ * A value of the form values of a {@link CampaignFormData}, flattened into a row of its own so the campaign diagrams can
+ * be aggregated without unpacking the JSON of every form. Maintained by {@link CampaignFormDataService} with native
+ * queries, only read through this entity.
+ */
+@Entity
+@Table(name = CampaignFormDataValue.TABLE_NAME)
+@IdClass(CampaignFormDataValue.CampaignFormDataValueId.class)
+public class CampaignFormDataValue implements Serializable {
+
+	private static final long serialVersionUID = 3870651364862617352L;
+
+	public static final String TABLE_NAME = "campaignformdatavalue";
+
+	public static final String CAMPAIGN_FORM_DATA_ID = "campaignFormDataId";
+	public static final String FIELD_ID = "fieldId";
+	public static final String NUMERIC_VALUE = "numericValue";
+	public static final String STRING_VALUE = "stringValue";
+
+	private Long campaignFormDataId;
+	private String fieldId;
+	private Integer numericValue;
+	private String stringValue;
+
+	@Id
+	@Column(name = "campaignformdata_id", nullable = false)
+	public Long getCampaignFormDataId() {
+		return campaignFormDataId;
+	}
+
+	public void setCampaignFormDataId(Long campaignFormDataId) {
+		this.campaignFormDataId = campaignFormDataId;
+	}
+
+	@Id
+	@Column(name = "fieldid", nullable = false)
+	public String getFieldId() {
+		return fieldId;
+	}
+
+	public void setFieldId(String fieldId) {
+		this.fieldId = fieldId;
+	}
+
+	/**
+	 * @return The value as an integer, null if it is none
+	 */
+	@Column(name = "numericvalue")
+	public Integer getNumericValue() {
+		return numericValue;
+	}
+
+	public void setNumericValue(Integer numericValue) {
+		this.numericValue = numericValue;
+	}
+
+	@Column(name = "stringvalue", columnDefinition = "text")
+	public String getStringValue() {
+		return stringValue;
+	}
+
+	public void setStringValue(String stringValue) {
+		this.stringValue = stringValue;
+	}
+
+	public static class CampaignFormDataValueId implements Serializable {
+
+		private static final long serialVersionUID = -2718459207342980731L;
+
+		private Long campaignFormDataId;
+		private String fieldId;
+
+		public Long getCampaignFormDataId() {
+			return campaignFormDataId;
+		}
+
+		public void setCampaignFormDataId(Long campaignFormDataId) {
+			this.campaignFormDataId = campaignFormDataId;
+		}
+
+		public String getFieldId() {
+			return fieldId;
+		}
+
+		public void setFieldId(String fieldId) {
+			this.fieldId = fieldId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			CampaignFormDataValueId that = (CampaignFormDataValueId) o;
+			return Objects.equals(campaignFormDataId, that.campaignFormDataId) && Objects.equals(fieldId, that.fieldId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(campaignFormDataId, fieldId);
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package de.symeda.sormas.backend.campaign.form;
 
+import de.symeda.sormas.backend.campaign.data.CampaignDiagramDataCache;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 
+import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -13,10 +16,27 @@ import javax.persistence.criteria.Predicate;
 @LocalBean
 public class CampaignFormMetaService extends AbstractAdoService<CampaignFormMeta> {
 
+	@EJB
+	private CampaignDiagramDataCache campaignDiagramDataCache;
+
 	public CampaignFormMetaService() {
 		super(CampaignFormMeta.class);
 	}
 
+	@Override
+	public void ensurePersisted(CampaignFormMeta campaignFormMeta) throws EntityExistsException {
+
+		super.ensurePersisted(campaignFormMeta);
+		campaignDiagramDataCache.invalidate();
+	}
+
+	@Override
+	public void delete(CampaignFormMeta campaignFormMeta) {
+
+		super.delete(campaignFormMeta);
+		campaignDiagramDataCache.invalidate();
+	}
+
 	@Override
 	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<CampaignFormMeta, CampaignFormMeta> from) {
 		return null;
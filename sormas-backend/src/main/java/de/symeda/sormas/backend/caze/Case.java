@@ -70,6 +70,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -91,6 +92,8 @@ public class Case extends CoreAdo {
 	public static final String EPIDEMIOLOGICAL_CONFIRMATION = "epidemiologicalConfirmation";
 	public static final String LABORATORY_DIAGNOSTIC_CONFIRMATION = "laboratoryDiagnosticConfirmation";
 	public static final String SYSTEM_CASE_CLASSIFICATION = "systemCaseClassification";
+	public static final String CLASSIFICATION_USER = "classificationUser";
+	public static final String CLASSIFICATION_DATE = "classificationDate";
 	public static final String INVESTIGATION_STATUS = "investigationStatus";
 	public static final String PERSON = "person";
 	public static final String DISEASE = "disease";
@@ -166,6 +169,7 @@ public class Case extends CoreAdo {
 	public static final String OVERWRITE_FOLLOW_UP_UNTIL = "overwriteFollowUpUntil";
 	public static final String VISITS = "visits";
 	public static final String FACILITY_TYPE = "facilityType";
+	public static final String AGGREGATE_CHANGE_DATE = "aggregateChangeDate";
 
 	private Person person;
 	private String description;
@@ -286,6 +290,7 @@ public class Case extends CoreAdo {
 	private Set<Sample> samples;
 	private Set<Visit> visits = new HashSet<>();
 	private Set<EventParticipant> eventParticipants;
+	private Timestamp aggregateChangeDate;
 
 	@ManyToOne(cascade = {})
 	@JoinColumn(nullable = false)
@@ -1197,4 +1202,18 @@ public class Case extends CoreAdo {
 	public void setFacilityType(FacilityType facilityType) {
 		this.facilityType = facilityType;
 	}
+
+	/**
+	 * The latest change date of the owned parts, like symptoms or hospitalization, if one of them has been changed after the entity itself.
+	 * Maintained by the service with a bulk update, so it is never written by the entity manager.
+	 */
+	@Column(insertable = false, updatable = false)
+	@AuditedIgnore
+	public Timestamp getAggregateChangeDate() {
+		return aggregateChangeDate;
+	}
+
+	public void setAggregateChangeDate(Timestamp aggregateChangeDate) {
+		this.aggregateChangeDate = aggregateChangeDate;
+	}
 }
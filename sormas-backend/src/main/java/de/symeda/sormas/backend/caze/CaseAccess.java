@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+/**
+ * A row of the case access index: the case can be accessed by users having the access key. Maintained by
+ * {@link CaseAccessIndex} with native queries, only read through this entity.
+ */
+@Entity
+@Table(name = CaseAccess.TABLE_NAME)
+@IdClass(CaseAccess.CaseAccessId.class)
+public class CaseAccess implements Serializable {
+
+	private static final long serialVersionUID = -6233409174893416210L;
+
+	public static final String TABLE_NAME = "caseaccess";
+
+	public static final String CASE_ID = "caseId";
+	public static final String ACCESS_KEY = "accessKey";
+
+	private Long caseId;
+	private String accessKey;
+
+	@Id
+	@Column(name = "case_id", nullable = false)
+	public Long getCaseId() {
+		return caseId;
+	}
+
+	public void setCaseId(Long caseId) {
+		this.caseId = caseId;
+	}
+
+	@Id
+	@Column(name = "accesskey", nullable = false, length = 64)
+	public String getAccessKey() {
+		return accessKey;
+	}
+
+	public void setAccessKey(String accessKey) {
+		this.accessKey = accessKey;
+	}
+
+	public static class CaseAccessId implements Serializable {
+
+		private static final long serialVersionUID = 1529458725834521694L;
+
+		private Long caseId;
+		private String accessKey;
+
+		public Long getCaseId() {
+			return caseId;
+		}
+
+		public void setCaseId(Long caseId) {
+			this.caseId = caseId;
+		}
+
+		public String getAccessKey() {
+			return accessKey;
+		}
+
+		public void setAccessKey(String accessKey) {
+			this.accessKey = accessKey;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			CaseAccessId that = (CaseAccessId) o;
+			return Objects.equals(caseId, that.caseId) && Objects.equals(accessKey, that.accessKey);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(caseId, accessKey);
+		}
+	}
+}
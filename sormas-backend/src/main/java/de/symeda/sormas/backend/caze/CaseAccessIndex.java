@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.contact.Contact;
+import de.symeda.sormas.backend.sample.Sample;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Maintains the case access index, a table holding the access keys through which each case can be accessed: the region,
+ * district, community, facility and point of entry of the case, the jurisdiction and the responsible users of its
+ * contacts and the laboratories of its samples. {@link CaseService#createUserFilter} uses it, when it is enabled by
+ * {@link de.symeda.sormas.backend.common.ConfigFacadeEjb#FEATURE_CASE_ACCESS_INDEX}, instead of comparing the
+ * jurisdiction and querying the contacts and samples of each case.
+ * <p>
+ * The keys of a case are updated whenever the case or one of its contacts or samples is persisted. {@link #check()}
+ * repairs the index for changes made by bulk updates. The index is only used once it has been checked after a server
+ * start.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CaseAccessIndex {
+
+	/**
+	 * When more cases than this have to be repaired, the whole index is rebuilt
+	 */
+	private static final int MAX_REPAIRED_CASES = 1000;
+
+	public static final String CASE_REGION = "R:";
+	public static final String CASE_DISTRICT = "D:";
+	public static final String CASE_COMMUNITY = "C:";
+	public static final String CASE_HEALTH_FACILITY = "F:";
+	public static final String CASE_POINT_OF_ENTRY = "P:";
+	public static final String CONTACT_REGION = "CR:";
+	public static final String CONTACT_DISTRICT = "CD:";
+	public static final String CONTACT_COMMUNITY = "CC:";
+	public static final String CONTACT_USER = "CU:";
+	public static final String SAMPLE_LAB = "L:";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+
+	private final AtomicBoolean checking = new AtomicBoolean();
+	private volatile boolean checked;
+
+	public boolean isEnabled() {
+		return configFacade.isFeatureCaseAccessIndex();
+	}
+
+	/**
+	 * @return true if the index is enabled and has been checked since the server was started
+	 */
+	public boolean isAvailable() {
+		return checked && isEnabled();
+	}
+
+	/**
+	 * @param includeCasesFromContacts
+	 *            Whether the keys through which users can access cases because of their contacts are included
+	 * @return The keys of the cases the user can access through their jurisdiction, their contacts or their laboratory.
+	 *         Cases the user is responsible for, shared cases and restrictions by disease or case origin are not covered
+	 *         by the index.
+	 */
+	public List<String> getAccessKeys(User user, boolean includeCasesFromContacts) {
+
+		List<String> keys = new ArrayList<>();
+		switch (user.getJurisdictionLevel()) {
+		case REGION:
+			if (user.getRegion() != null) {
+				keys.add(CASE_REGION + user.getRegion().getId());
+				if (includeCasesFromContacts) {
+					keys.add(CONTACT_REGION + user.getRegion().getId());
+				}
+			}
+			break;
+		case DISTRICT:
+			if (user.getDistrict() != null) {
+				keys.add(CASE_DISTRICT + user.getDistrict().getId());
+				if (includeCasesFromContacts) {
+					keys.add(CONTACT_DISTRICT + user.getDistrict().getId());
+				}
+			}
+			break;
+		case HEALTH_FACILITY:
+			if (user.getHealthFacility() != null) {
+				keys.add(CASE_HEALTH_FACILITY + user.getHealthFacility().getId());
+			}
+			break;
+		case COMMUNITY:
+			if (user.getCommunity() != null) {
+				keys.add(CASE_COMMUNITY + user.getCommunity().getId());
+				if (includeCasesFromContacts) {
+					keys.add(CONTACT_COMMUNITY + user.getCommunity().getId());
+				}
+			}
+			break;
+		case POINT_OF_ENTRY:
+			if (user.getPointOfEntry() != null) {
+				keys.add(CASE_POINT_OF_ENTRY + user.getPointOfEntry().getId());
+			}
+			break;
+		case LABORATORY:
+			if (user.getLaboratory() != null) {
+				keys.add(SAMPLE_LAB + user.getLaboratory().getId());
+			}
+			break;
+		default:
+		}
+
+		if (includeCasesFromContacts) {
+			keys.add(CONTACT_USER + user.getId());
+		}
+
+		return keys;
+	}
+
+	/**
+	 * Replaces the keys of the case by those derived from its current data and that of its contacts and samples. Does
+	 * nothing if the index is disabled.
+	 * <p>
+	 * Only the keys that no longer apply are deleted and keys that already exist are skipped, so transactions updating the
+	 * same case at the same time do not insert the same key twice.
+	 */
+	public void updateCase(Long caseId) {
+
+		if (caseId == null || !isEnabled()) {
+			return;
+		}
+
+		String keyQuery = buildKeyQuery(" = ?1");
+		em.createNativeQuery(
+			"DELETE FROM " + CaseAccess.TABLE_NAME + " WHERE case_id = ?1 AND accesskey NOT IN (SELECT accesskey FROM (" + keyQuery
+				+ ") AS currentkeys)")
+			.setParameter(1, caseId)
+			.executeUpdate();
+		em.createNativeQuery("INSERT INTO " + CaseAccess.TABLE_NAME + " (case_id, accesskey) " + keyQuery + " ON CONFLICT DO NOTHING")
+			.setParameter(1, caseId)
+			.executeUpdate();
+	}
+
+	/**
+	 * Updates the keys of the case and, if the contact or sample referenced another case before, those of the previous case.
+	 *
+	 * @param previousCaseId
+	 *            The case id as returned by {@link #getStoredCaseId(String, String, Long)} before the change was written
+	 */
+	public void updateCases(Long previousCaseId, Long caseId) {
+
+		updateCase(caseId);
+		if (previousCaseId != null && !previousCaseId.equals(caseId)) {
+			updateCase(previousCaseId);
+		}
+	}
+
+	/**
+	 * @return The id of the case that the row of the contact or sample table references in the database, ignoring changes
+	 *         that have not been flushed yet; null if the index is disabled
+	 */
+	public Long getStoredCaseId(String tableName, String caseAttribute, Long id) {
+
+		if (id == null || !isEnabled()) {
+			return null;
+		}
+
+		List<?> caseIds = em.createNativeQuery("SELECT " + caseAttribute.toLowerCase() + "_id FROM " + tableName + " WHERE id = ?1")
+			.setParameter(1, id)
+			.setFlushMode(FlushModeType.COMMIT)
+			.getResultList();
+		return caseIds.isEmpty() || caseIds.get(0) == null ? null : ((Number) caseIds.get(0)).longValue();
+	}
+
+	/**
+	 * Compares the index with the keys derived from the current data and repairs the cases that differ. Does nothing if
+	 * another check is still running.
+	 *
+	 * @return The number of cases that had to be repaired, or -1 if the whole index has been rebuilt
+	 */
+	public int check() {
+
+		if (!isEnabled()) {
+			checked = false;
+			return 0;
+		}
+		if (!checking.compareAndSet(false, true)) {
+			return 0;
+		}
+
+		try {
+			long start = System.currentTimeMillis();
+			String indexQuery = "SELECT case_id, accesskey FROM " + CaseAccess.TABLE_NAME;
+			String keyQuery = buildKeyQuery(" IS NOT NULL");
+			@SuppressWarnings("unchecked")
+			List<Number> caseIds = em
+				.createNativeQuery(
+					"SELECT DISTINCT case_id FROM (((" + keyQuery + ") EXCEPT (" + indexQuery + ")) UNION ((" + indexQuery + ") EXCEPT ("
+						+ keyQuery + "))) AS difference")
+				.setMaxResults(MAX_REPAIRED_CASES + 1)
+				.getResultList();
+
+			int repairedCases;
+			if (caseIds.size() > MAX_REPAIRED_CASES) {
+				em.createNativeQuery("DELETE FROM " + CaseAccess.TABLE_NAME).executeUpdate();
+				em.createNativeQuery("INSERT INTO " + CaseAccess.TABLE_NAME + " (case_id, accesskey) " + keyQuery).executeUpdate();
+				repairedCases = -1;
+				logger.info("Rebuilt the case access index in {} ms", System.currentTimeMillis() - start);
+			} else {
+				caseIds.forEach(caseId -> updateCase(caseId.longValue()));
+				repairedCases = caseIds.size();
+				if (repairedCases > 0) {
+					logger.warn("Repaired the case access index for {} cases in {} ms", repairedCases, System.currentTimeMillis() - start);
+				}
+			}
+
+			checked = true;
+			return repairedCases;
+		} finally {
+			checking.set(false);
+		}
+	}
+
+	/**
+	 * @param caseIdFilter
+	 *            Condition on the id of the cases whose keys are selected
+	 */
+	private static String buildKeyQuery(String caseIdFilter) {
+
+		String contactCaseId = Contact.CAZE.toLowerCase() + "_id";
+		String sampleCaseId = Sample.ASSOCIATED_CASE.toLowerCase() + "_id";
+		return String.join(
+			" UNION ",
+			buildKeyQuery(Case.TABLE_NAME, Case.ID, caseIdFilter, CASE_REGION, Case.REGION),
+			buildKeyQuery(Case.TABLE_NAME, Case.ID, caseIdFilter, CASE_DISTRICT, Case.DISTRICT),
+			buildKeyQuery(Case.TABLE_NAME, Case.ID, caseIdFilter, CASE_COMMUNITY, Case.COMMUNITY),
+			buildKeyQuery(Case.TABLE_NAME, Case.ID, caseIdFilter, CASE_HEALTH_FACILITY, Case.HEALTH_FACILITY),
+			buildKeyQuery(Case.TABLE_NAME, Case.ID, caseIdFilter, CASE_POINT_OF_ENTRY, Case.POINT_OF_ENTRY),
+			buildKeyQuery(Contact.TABLE_NAME, contactCaseId, caseIdFilter, CONTACT_REGION, Contact.REGION),
+			buildKeyQuery(Contact.TABLE_NAME, contactCaseId, caseIdFilter, CONTACT_DISTRICT, Contact.DISTRICT),
+			buildKeyQuery(Contact.TABLE_NAME, contactCaseId, caseIdFilter, CONTACT_COMMUNITY, Contact.COMMUNITY),
+			buildKeyQuery(Contact.TABLE_NAME, contactCaseId, caseIdFilter, CONTACT_USER, Contact.REPORTING_USER),
+			buildKeyQuery(Contact.TABLE_NAME, contactCaseId, caseIdFilter, CONTACT_USER, Contact.CONTACT_OFFICER),
+			buildKeyQuery(Sample.TABLE_NAME, sampleCaseId, caseIdFilter, SAMPLE_LAB, Sample.LAB));
+	}
+
+	private static String buildKeyQuery(String tableName, String caseIdColumn, String caseIdFilter, String keyPrefix, String keyAttribute) {
+
+		String keyColumn = keyAttribute.toLowerCase() + "_id";
+		return "SELECT " + caseIdColumn + " AS case_id, '" + keyPrefix + "' || " + keyColumn + " AS accesskey FROM " + tableName + " WHERE "
+			+ caseIdColumn + caseIdFilter + " AND " + keyColumn + " IS NOT NULL";
+	}
+}
@@ -0,0 +1,342 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.caze;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+
+/**
+ * Finds pairs of potentially duplicate cases in memory instead of joining the cases table with itself.
+ * <p>
+ * Cases are only compared with cases of the same disease and, unless the region is ignored, the same region.
+ * Within such a block, the name similarity of two cases can only exceed the threshold if the rarest trigrams of their names
+ * overlap (prefix filtering), so only those pairs are checked against the remaining rules. The result is the same as comparing
+ * all pairs.
+ */
+public class CaseDuplicateMatcher {
+
+	/**
+	 * Maximum difference of the report and onset dates of two duplicate cases
+	 */
+	public static final long MAX_DATE_DIFFERENCE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+	private final double nameSimilarityThreshold;
+	private final boolean ignoreRegion;
+
+	public CaseDuplicateMatcher(double nameSimilarityThreshold, boolean ignoreRegion) {
+		this.nameSimilarityThreshold = nameSimilarityThreshold;
+		this.ignoreRegion = ignoreRegion;
+	}
+
+	/**
+	 * @param cases
+	 *            the cases to find duplicates for
+	 * @param potentialDuplicates
+	 *            the cases that may be duplicates of {@code cases}; may contain the same cases
+	 * @return pairs of case ids with the earlier created case first, sorted by the creation date of the first case descending
+	 */
+	public List<long[]> findDuplicates(Collection<Candidate> cases, Collection<Candidate> potentialDuplicates) {
+
+		Map<List<Object>, List<Candidate>> blocks = new HashMap<>();
+		for (Candidate potentialDuplicate : potentialDuplicates) {
+			List<Object> blockKey = getBlockKey(potentialDuplicate);
+			if (blockKey != null) {
+				blocks.computeIfAbsent(blockKey, k -> new ArrayList<>()).add(potentialDuplicate);
+			}
+		}
+
+		Map<List<Object>, Block> blockIndexes = new HashMap<>();
+		List<Candidate> sortedCases = new ArrayList<>(cases);
+		sortedCases.sort(Comparator.comparing(Candidate::getCreationDate).reversed());
+
+		List<long[]> duplicates = new ArrayList<>();
+		for (Candidate caze : sortedCases) {
+			List<Object> blockKey = getBlockKey(caze);
+			if (blockKey == null || !blocks.containsKey(blockKey)) {
+				continue;
+			}
+
+			Block block = blockIndexes.computeIfAbsent(blockKey, k -> new Block(blocks.get(k)));
+			Set<Long> comparedIds = new HashSet<>();
+			for (String trigram : block.getPrefix(caze)) {
+				for (Candidate potentialDuplicate : block.getPostings(trigram)) {
+					if (comparedIds.add(potentialDuplicate.getId()) && isDuplicate(caze, potentialDuplicate)) {
+						duplicates.add(
+							new long[] {
+								caze.getId(),
+								potentialDuplicate.getId() });
+					}
+				}
+			}
+		}
+
+		return duplicates;
+	}
+
+	/**
+	 * Applies all rules to a pair of cases, the blocking criteria included.
+	 */
+	public boolean isDuplicate(Candidate caze, Candidate other) {
+
+		if (caze.getId() == other.getId() || !caze.getCreationDate().before(other.getCreationDate())) {
+			return false;
+		}
+
+		if (caze.getDisease() == null || caze.getDisease() != other.getDisease()) {
+			return false;
+		}
+
+		if (!ignoreRegion && (caze.getRegionId() == null || !caze.getRegionId().equals(other.getRegionId()))) {
+			return false;
+		}
+
+		if (caze.getReportDate() == null
+			|| other.getReportDate() == null
+			|| Math.abs(caze.getReportDate().getTime() - other.getReportDate().getTime()) > MAX_DATE_DIFFERENCE_MILLIS) {
+			return false;
+		}
+
+		// only compared when filled in for both cases
+		boolean sameSex = caze.getSex() == null || other.getSex() == null || caze.getSex() == other.getSex();
+		boolean sameBirthDate = !caze.hasCompleteBirthdate()
+			|| !other.hasCompleteBirthdate()
+			|| Objects.equals(caze.getBirthdateDD(), other.getBirthdateDD())
+				&& Objects.equals(caze.getBirthdateMM(), other.getBirthdateMM())
+				&& Objects.equals(caze.getBirthdateYYYY(), other.getBirthdateYYYY());
+		if (!sameSex && !sameBirthDate) {
+			return false;
+		}
+
+		if (caze.getOnsetDate() != null
+			&& other.getOnsetDate() != null
+			&& Math.abs(caze.getOnsetDate().getTime() - other.getOnsetDate().getTime()) > MAX_DATE_DIFFERENCE_MILLIS) {
+			return false;
+		}
+
+		return similarity(caze.getNameTrigrams(), other.getNameTrigrams()) > nameSimilarityThreshold;
+	}
+
+	private List<Object> getBlockKey(Candidate candidate) {
+
+		if (candidate.getDisease() == null || (!ignoreRegion && candidate.getRegionId() == null)) {
+			return null;
+		}
+
+		return Arrays.asList(candidate.getDisease(), ignoreRegion ? null : candidate.getRegionId());
+	}
+
+	/**
+	 * Trigrams of a text the same way as the PostgreSQL pg_trgm extension builds them: Each word is lower-cased and padded with two
+	 * spaces in front and one space at the end.
+	 */
+	public static Set<String> getTrigrams(String text) {
+
+		Set<String> trigrams = new HashSet<>();
+		if (text == null) {
+			return trigrams;
+		}
+
+		for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+			if (word.isEmpty()) {
+				continue;
+			}
+			String paddedWord = "  " + word + " ";
+			for (int i = 0; i + 3 <= paddedWord.length(); i++) {
+				trigrams.add(paddedWord.substring(i, i + 3));
+			}
+		}
+
+		return trigrams;
+	}
+
+	/**
+	 * Same as the similarity function of pg_trgm: The number of shared trigrams divided by the number of distinct trigrams of both.
+	 */
+	public static float similarity(Set<String> trigrams, Set<String> otherTrigrams) {
+
+		if (trigrams.isEmpty() || otherTrigrams.isEmpty()) {
+			return 0;
+		}
+
+		int shared = 0;
+		for (String trigram : trigrams) {
+			if (otherTrigrams.contains(trigram)) {
+				shared++;
+			}
+		}
+
+		return (float) shared / (trigrams.size() + otherTrigrams.size() - shared);
+	}
+
+	/**
+	 * Index of the potential duplicates of one block. Trigrams are ordered by their frequency within the block, rare ones first.
+	 * Two names with a similarity of at least t share one of the first {@code n - ceil(t * n) + 1} trigrams of each name.
+	 */
+	private class Block {
+
+		private final Map<String, Integer> trigramFrequencies = new HashMap<>();
+		private final Map<String, List<Candidate>> postings = new HashMap<>();
+
+		Block(List<Candidate> potentialDuplicates) {
+
+			for (Candidate potentialDuplicate : potentialDuplicates) {
+				for (String trigram : potentialDuplicate.getNameTrigrams()) {
+					trigramFrequencies.merge(trigram, 1, Integer::sum);
+				}
+			}
+
+			for (Candidate potentialDuplicate : potentialDuplicates) {
+				for (String trigram : getPrefix(potentialDuplicate)) {
+					postings.computeIfAbsent(trigram, k -> new ArrayList<>()).add(potentialDuplicate);
+				}
+			}
+		}
+
+		List<String> getPrefix(Candidate candidate) {
+
+			List<String> trigrams = new ArrayList<>(candidate.getNameTrigrams());
+			trigrams.sort(Comparator.<String> comparingInt(t -> trigramFrequencies.getOrDefault(t, 0)).thenComparing(Comparator.naturalOrder()));
+
+			// the small subtraction makes sure that floating point errors never shorten the prefix
+			int requiredOverlap = (int) Math.ceil(nameSimilarityThreshold * trigrams.size() - 0.0001);
+			int prefixLength = Math.max(1, Math.min(trigrams.size(), trigrams.size() - requiredOverlap + 1));
+			return trigrams.subList(0, Math.min(prefixLength, trigrams.size()));
+		}
+
+		List<Candidate> getPostings(String trigram) {
+			return postings.getOrDefault(trigram, Collections.emptyList());
+		}
+	}
+
+	/**
+	 * The case data that is needed to find duplicates.
+	 */
+	public static class Candidate {
+
+		private final long id;
+		private final Date creationDate;
+		private final Disease disease;
+		private final Long regionId;
+		private final Date reportDate;
+		private final Date onsetDate;
+		private final Sex sex;
+		private final Integer birthdateDD;
+		private final Integer birthdateMM;
+		private final Integer birthdateYYYY;
+		private final Set<String> nameTrigrams;
+
+		public Candidate(
+			long id,
+			Date creationDate,
+			Disease disease,
+			Long regionId,
+			Date reportDate,
+			Date onsetDate,
+			String firstName,
+			String lastName,
+			Sex sex,
+			Integer birthdateDD,
+			Integer birthdateMM,
+			Integer birthdateYYYY) {
+
+			this.id = id;
+			this.creationDate = creationDate;
+			this.disease = disease;
+			this.regionId = regionId;
+			this.reportDate = reportDate;
+			this.onsetDate = onsetDate;
+			this.sex = sex;
+			this.birthdateDD = birthdateDD;
+			this.birthdateMM = birthdateMM;
+			this.birthdateYYYY = birthdateYYYY;
+			this.nameTrigrams = getTrigrams(getName(firstName, lastName));
+		}
+
+		/**
+		 * Same as the concatenation of the names in SQL: Null if one of the names is missing, so the case has no trigrams
+		 * and is never similar to another case.
+		 */
+		private static String getName(String firstName, String lastName) {
+
+			if (firstName == null || lastName == null) {
+				return null;
+			}
+
+			return firstName.trim() + " " + lastName.trim();
+		}
+
+		public long getId() {
+			return id;
+		}
+
+		public Date getCreationDate() {
+			return creationDate;
+		}
+
+		public Disease getDisease() {
+			return disease;
+		}
+
+		public Long getRegionId() {
+			return regionId;
+		}
+
+		public Date getReportDate() {
+			return reportDate;
+		}
+
+		public Date getOnsetDate() {
+			return onsetDate;
+		}
+
+		public Sex getSex() {
+			return sex;
+		}
+
+		public Integer getBirthdateDD() {
+			return birthdateDD;
+		}
+
+		public Integer getBirthdateMM() {
+			return birthdateMM;
+		}
+
+		public Integer getBirthdateYYYY() {
+			return birthdateYYYY;
+		}
+
+		public boolean hasCompleteBirthdate() {
+			return birthdateDD != null && birthdateMM != null && birthdateYYYY != null;
+		}
+
+		public Set<String> getNameTrigrams() {
+			return nameTrigrams;
+		}
+	}
+}
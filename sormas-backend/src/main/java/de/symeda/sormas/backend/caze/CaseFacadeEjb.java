@@ -35,10 +35,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.ejb.EJB;
+import javax.ejb.EJBException;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
@@ -46,10 +48,10 @@ import javax.ejb.TransactionAttributeType;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
-import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
@@ -69,6 +71,8 @@ import de.symeda.sormas.api.CaseMeasure;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.DiseaseHelper;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.AgeAndBirthDateDto;
 import de.symeda.sormas.api.caze.BirthDateDto;
 import de.symeda.sormas.api.caze.BurialInfoDto;
@@ -117,6 +121,7 @@ import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Validations;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.infrastructure.InfrastructureHelper;
 import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.person.ApproximateAgeType;
@@ -242,6 +247,7 @@ import de.symeda.sormas.backend.user.User;
 import de.symeda.sormas.backend.user.UserFacadeEjb;
 import de.symeda.sormas.backend.user.UserRoleConfigFacadeEjb.UserRoleConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserService;
+import de.symeda.sormas.backend.util.ArchivingHelper;
 import de.symeda.sormas.backend.util.DtoHelper;
 import de.symeda.sormas.backend.util.JurisdictionHelper;
 import de.symeda.sormas.backend.util.ModelConstants;
@@ -254,6 +260,11 @@ import de.symeda.sormas.backend.visit.VisitService;
 @Stateless(name = "CaseFacade")
 public class CaseFacadeEjb implements CaseFacade {
 
+	/**
+	 * Number of cases reclassified in one transaction by {@link #reclassifyCases(CaseCriteria)}
+	 */
+	private static final int RECLASSIFICATION_CHUNK_SIZE = 500;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
@@ -264,6 +275,8 @@ public class CaseFacadeEjb implements CaseFacade {
 	@EJB
 	private CaseService caseService;
 	@EJB
+	private EpidNumberCounterService epidNumberCounterService;
+	@EJB
 	private CaseListCriteriaBuilder listQueryBuilder;
 	@EJB
 	private PersonService personService;
@@ -367,6 +380,18 @@ public class CaseFacadeEjb implements CaseFacade {
 			.collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPage<CaseDataDto> getAllActiveCasesAfter(Date date, String continuationToken, int pageSize) {
+
+		if (userService.getCurrentUser() == null) {
+			return new SyncPage<>(Collections.emptyList(), null);
+		}
+
+		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
+		List<Case> cases = caseService.getAllActiveCasesAfter(date, false, SyncCursor.fromToken(continuationToken), pageSize);
+		return AbstractAdoService.toSyncPage(cases, pageSize, c -> convertToDto(c, pseudonymizer));
+	}
+
 	@Override
 	public List<CaseDataDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
@@ -457,6 +482,28 @@ public class CaseFacadeEjb implements CaseFacade {
 		int max,
 		ExportConfigurationDto exportConfiguration,
 		Language userLanguage) {
+		return getExportList(caseCriteria, exportType, first, null, max, exportConfiguration, userLanguage);
+	}
+
+	@Override
+	public List<CaseExportDto> getExportList(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		ExportCursor after,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
+		return getExportList(caseCriteria, exportType, null, after, max, exportConfiguration, userLanguage);
+	}
+
+	private List<CaseExportDto> getExportList(
+		CaseCriteria caseCriteria,
+		CaseExportType exportType,
+		Integer first,
+		ExportCursor after,
+		int max,
+		ExportConfigurationDto exportConfiguration,
+		Language userLanguage) {
 
 		Boolean previousCaseManagementDataCriteria = caseCriteria.getMustHaveCaseManagementData();
 		if (CaseExportType.CASE_MANAGEMENT == exportType) {
@@ -525,6 +572,11 @@ public class CaseFacadeEjb implements CaseFacade {
 			filter = AbstractAdoService.and(cb, filter, criteriaFilter);
 		}
 
+		if (after != null) {
+			filter = AbstractAdoService
+				.and(cb, filter, AbstractAdoService.createExportCursorFilter(cb, caseRoot.get(Case.REPORT_DATE), caseRoot.get(Case.ID), after));
+		}
+
 		if (filter != null) {
 			cq.where(filter);
 		}
@@ -535,8 +587,11 @@ public class CaseFacadeEjb implements CaseFacade {
 		 */
 		cq.orderBy(cb.desc(caseRoot.get(Case.REPORT_DATE)), cb.desc(caseRoot.get(Case.ID)));
 
-		List<CaseExportDto> resultList =
-			em.createQuery(cq).setHint(ModelConstants.HINT_HIBERNATE_READ_ONLY, true).setFirstResult(first).setMaxResults(max).getResultList();
+		TypedQuery<CaseExportDto> query = em.createQuery(cq).setHint(ModelConstants.HINT_HIBERNATE_READ_ONLY, true);
+		if (first != null) {
+			query.setFirstResult(first);
+		}
+		List<CaseExportDto> resultList = query.setMaxResults(max).getResultList();
 		List<Long> resultCaseIds = resultList.stream().map(CaseExportDto::getId).collect(Collectors.toList());
 
 		if (!resultList.isEmpty()) {
@@ -1092,104 +1147,23 @@ public class CaseFacadeEjb implements CaseFacade {
 	@Override
 	public List<CaseIndexDto[]> getCasesForDuplicateMerging(CaseCriteria criteria, boolean ignoreRegion) {
 
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
-		Root<Case> root = cq.from(Case.class);
-		Root<Case> root2 = cq.from(Case.class);
-		Join<Case, Person> person = root.join(Case.PERSON, JoinType.LEFT);
-		Join<Case, Person> person2 = root2.join(Case.PERSON, JoinType.LEFT);
-		Join<Case, Region> region = root.join(Case.REGION, JoinType.LEFT);
-		Join<Case, Region> region2 = root2.join(Case.REGION, JoinType.LEFT);
-		Join<Case, Symptoms> symptoms = root.join(Case.SYMPTOMS, JoinType.LEFT);
-		Join<Case, Symptoms> symptoms2 = root2.join(Case.SYMPTOMS, JoinType.LEFT);
-
-		Predicate userFilter = caseService.createUserFilter(cb, cq, root);
-		Predicate criteriaFilter = criteria != null ? caseService.createCriteriaFilter(criteria, cb, cq, root) : null;
-		Expression<String> nameSimilarityExpr = cb.concat(person.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr = cb.concat(nameSimilarityExpr, person.get(Person.LAST_NAME));
-		Expression<String> nameSimilarityExpr2 = cb.concat(person2.get(Person.FIRST_NAME), " ");
-		nameSimilarityExpr2 = cb.concat(nameSimilarityExpr2, person2.get(Person.LAST_NAME));
-		Predicate nameSimilarityFilter =
-			cb.gt(cb.function("similarity", double.class, nameSimilarityExpr, nameSimilarityExpr2), configFacade.getNameSimilarityThreshold());
-		Predicate diseaseFilter = cb.equal(root.get(Case.DISEASE), root2.get(Case.DISEASE));
-		Predicate regionFilter = cb.equal(region.get(Region.ID), region2.get(Region.ID));
-		Predicate reportDateFilter = cb.lessThanOrEqualTo(
-			cb.abs(
-				cb.diff(
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root.get(Case.REPORT_DATE)),
-					cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), root2.get(Case.REPORT_DATE)))),
-			new Long(30 * 24 * 60 * 60) // 30 days
-		);
-		// Sex filter: only when sex is filled in for both cases
-		Predicate sexFilter = cb.or(
-			cb.or(cb.isNull(person.get(Person.SEX)), cb.isNull(person2.get(Person.SEX))),
-			cb.equal(person.get(Person.SEX), person2.get(Person.SEX)));
-		// Birth date filter: only when birth date is filled in for both cases
-		Predicate birthDateFilter = cb.or(
-			cb.or(
-				cb.isNull(person.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person.get(Person.BIRTHDATE_YYYY)),
-				cb.isNull(person2.get(Person.BIRTHDATE_DD)),
-				cb.isNull(person2.get(Person.BIRTHDATE_MM)),
-				cb.isNull(person2.get(Person.BIRTHDATE_YYYY))),
-			cb.and(
-				cb.equal(person.get(Person.BIRTHDATE_DD), person2.get(Person.BIRTHDATE_DD)),
-				cb.equal(person.get(Person.BIRTHDATE_MM), person2.get(Person.BIRTHDATE_MM)),
-				cb.equal(person.get(Person.BIRTHDATE_YYYY), person2.get(Person.BIRTHDATE_YYYY))));
-		// Onset date filter: only when onset date is filled in for both cases
-		Predicate onsetDateFilter = cb.or(
-			cb.or(cb.isNull(symptoms.get(Symptoms.ONSET_DATE)), cb.isNull(symptoms2.get(Symptoms.ONSET_DATE))),
-			cb.lessThanOrEqualTo(
-				cb.abs(
-					cb.diff(
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms.get(Symptoms.ONSET_DATE)),
-						cb.function("date_part", Long.class, cb.parameter(String.class, "date_type"), symptoms2.get(Symptoms.ONSET_DATE)))),
-				new Long(30 * 24 * 60 * 60) // 30 days
-			));
-		Predicate creationDateFilter = cb.lessThan(root.get(Case.CREATION_DATE), root2.get(Case.CREATION_DATE));
-
-		Predicate filter = cb.and(caseService.createDefaultFilter(cb, root), caseService.createDefaultFilter(cb, root2));
-		if (userFilter != null) {
-			filter = cb.and(filter, userFilter);
-		}
-		if (filter != null) {
-			filter = cb.and(filter, criteriaFilter);
-		} else {
-			filter = criteriaFilter;
-		}
-		if (filter != null) {
-			filter = cb.and(filter, nameSimilarityFilter);
-		} else {
-			filter = nameSimilarityFilter;
-		}
-		filter = cb.and(filter, diseaseFilter);
-
-		if (!ignoreRegion) {
-			filter = cb.and(filter, regionFilter);
-		}
-
-		filter = cb.and(filter, reportDateFilter);
-		filter = cb.and(filter, cb.or(sexFilter, birthDateFilter));
-		filter = cb.and(filter, onsetDateFilter);
-		filter = cb.and(filter, creationDateFilter);
-
-		cq.where(filter);
-		cq.multiselect(root.get(Case.ID), root2.get(Case.ID));
-		cq.orderBy(cb.desc(root.get(Case.CREATION_DATE)));
+		List<CaseDuplicateMatcher.Candidate> cases = caseService.getDuplicateCandidates(criteria);
+		List<CaseDuplicateMatcher.Candidate> potentialDuplicates = caseService.getPotentialDuplicateCandidates(cases, ignoreRegion);
+		List<long[]> foundIds =
+			new CaseDuplicateMatcher(configFacade.getNameSimilarityThreshold(), ignoreRegion).findDuplicates(cases, potentialDuplicates);
 
-		List<Object[]> foundIds = em.createQuery(cq).setParameter("date_type", "epoch").getResultList();
 		List<CaseIndexDto[]> resultList = new ArrayList<>();
 
 		if (!foundIds.isEmpty()) {
+			CriteriaBuilder cb = em.getCriteriaBuilder();
 			CriteriaQuery<CaseIndexDto> indexCasesCq = cb.createQuery(CaseIndexDto.class);
 			Root<Case> indexRoot = indexCasesCq.from(Case.class);
 			selectIndexDtoFields(indexCasesCq, indexRoot);
-			indexCasesCq.where(indexRoot.get(Case.ID).in(foundIds.stream().flatMap(Arrays::stream).collect(Collectors.toSet())));
+			indexCasesCq.where(indexRoot.get(Case.ID).in(foundIds.stream().flatMapToLong(Arrays::stream).boxed().collect(Collectors.toSet())));
 			Map<Long, CaseIndexDto> indexCases =
 				em.createQuery(indexCasesCq).getResultStream().collect(Collectors.toMap(c -> c.getId(), Function.identity()));
 
-			for (Object[] idPair : foundIds) {
+			for (long[] idPair : foundIds) {
 				try {
 					// Cloning is necessary here to allow us to add the same CaseIndexDto to the grid multiple times
 					CaseIndexDto parent = (CaseIndexDto) indexCases.get(idPair[0]).clone();
@@ -1567,30 +1541,7 @@ public class CaseFacadeEjb implements CaseFacade {
 		// Send an email to all responsible supervisors when the case classification has
 		// changed
 		if (existingCase != null && existingCase.getCaseClassification() != newCase.getCaseClassification()) {
-			List<User> messageRecipients = userService.getAllByRegionAndUserRoles(
-				newCase.getRegion(),
-				UserRole.SURVEILLANCE_SUPERVISOR,
-				UserRole.CASE_SUPERVISOR,
-				UserRole.CONTACT_SUPERVISOR);
-			for (User recipient : messageRecipients) {
-				try {
-					messagingService.sendMessage(
-						recipient,
-						I18nProperties.getString(MessagingService.SUBJECT_CASE_CLASSIFICATION_CHANGED),
-						String.format(
-							I18nProperties.getString(MessagingService.CONTENT_CASE_CLASSIFICATION_CHANGED),
-							DataHelper.getShortUuid(newCase.getUuid()),
-							newCase.getCaseClassification().toString()),
-						MessageType.EMAIL,
-						MessageType.SMS);
-				} catch (NotificationDeliveryFailedException e) {
-					logger.error(
-						String.format(
-							"NotificationDeliveryFailedException when trying to notify supervisors about the change of a case classification. "
-								+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
-							recipient.getUuid()));
-				}
-			}
+			sendClassificationChangedMessages(newCase);
 		}
 
 		// Send an email to all responsible supervisors when the disease of an
@@ -1624,6 +1575,37 @@ public class CaseFacadeEjb implements CaseFacade {
 		}
 	}
 
+	/**
+	 * Notifies all responsible supervisors that the classification of the case has changed.
+	 */
+	public void sendClassificationChangedMessages(Case caze) {
+
+		List<User> messageRecipients = userService.getAllByRegionAndUserRoles(
+			caze.getRegion(),
+			UserRole.SURVEILLANCE_SUPERVISOR,
+			UserRole.CASE_SUPERVISOR,
+			UserRole.CONTACT_SUPERVISOR);
+		for (User recipient : messageRecipients) {
+			try {
+				messagingService.sendMessage(
+					recipient,
+					I18nProperties.getString(MessagingService.SUBJECT_CASE_CLASSIFICATION_CHANGED),
+					String.format(
+						I18nProperties.getString(MessagingService.CONTENT_CASE_CLASSIFICATION_CHANGED),
+						DataHelper.getShortUuid(caze.getUuid()),
+						caze.getCaseClassification().toString()),
+					MessageType.EMAIL,
+					MessageType.SMS);
+			} catch (NotificationDeliveryFailedException e) {
+				logger.error(
+					String.format(
+						"NotificationDeliveryFailedException when trying to notify supervisors about the change of a case classification. "
+							+ "Failed to send " + e.getMessageType() + " to user with UUID %s.",
+						recipient.getUuid()));
+			}
+		}
+	}
+
 	public void setResponsibleSurveillanceOfficer(Case caze) {
 		if (caze.getReportingUser().getUserRoles().contains(UserRole.SURVEILLANCE_OFFICER)
 			&& caze.getReportingUser().getDistrict().equals(caze.getDistrict())) {
@@ -1710,27 +1692,49 @@ public class CaseFacadeEjb implements CaseFacade {
 			newEpidNumber = districtFacade.getFullEpidCodeForDistrict(caze.getDistrict()) + "-" + year + "-";
 		}
 
-		// Generate a suffix number
-		String highestEpidNumber = caseService.getHighestEpidNumber(newEpidNumber, caze.getUuid(), caze.getDisease());
+		return newEpidNumber + String.format("%03d", allocateEpidNumberSuffix(newEpidNumber, caze));
+	}
+
+	/**
+	 * Allocates the suffix following the highest suffix of the existing cases for the epid number prefix and disease of the
+	 * case. Concurrent allocations for the same prefix and disease wait until the transaction of this case ends.
+	 */
+	private int allocateEpidNumberSuffix(String epidNumberPrefix, Case caze) {
+
+		IntSupplier highestSuffix = () -> getHighestEpidNumberSuffix(epidNumberPrefix, caze);
+		Integer suffix = epidNumberCounterService.allocate(epidNumberPrefix, caze.getDisease(), highestSuffix);
+		if (suffix != null) {
+			return suffix;
+		}
+
+		try {
+			epidNumberCounterService.create(epidNumberPrefix, caze.getDisease());
+		} catch (EJBException | PersistenceException e) {
+			// The counter has been created by a concurrent transaction in the meantime
+			logger.debug("Epid number counter for {} has been created concurrently", epidNumberPrefix);
+		}
+		return epidNumberCounterService.allocate(epidNumberPrefix, caze.getDisease(), highestSuffix);
+	}
+
+	private int getHighestEpidNumberSuffix(String epidNumberPrefix, Case caze) {
+
+		String highestEpidNumber = caseService.getHighestEpidNumber(epidNumberPrefix, caze.getUuid(), caze.getDisease());
 		if (highestEpidNumber == null || highestEpidNumber.endsWith("-")) {
-			// If there is not yet a case with a suffix for this epid number in the database, use 001
-			newEpidNumber = newEpidNumber + "001";
-		} else {
-			// Otherwise, extract the suffix from the highest existing epid number and increase it by 1
-			String suffixString = highestEpidNumber.substring(highestEpidNumber.lastIndexOf('-'));
-			// Remove all non-digits from the suffix to ignore earlier input errors
-			suffixString = suffixString.replaceAll("[^\\d]", "");
-			if (suffixString.isEmpty()) {
-				// If the suffix is empty now, that means there is not yet an epid number with a
-				// suffix containing numbers
-				newEpidNumber = newEpidNumber + "001";
-			} else {
-				int suffix = Integer.valueOf(suffixString) + 1;
-				newEpidNumber += String.format("%03d", suffix);
-			}
+			// There is not yet a case with a suffix for this epid number in the database
+			return 0;
 		}
 
-		return newEpidNumber;
+		// Extract the suffix from the highest existing epid number
+		String suffixString = highestEpidNumber.substring(highestEpidNumber.lastIndexOf('-'));
+		// Remove all non-digits from the suffix to ignore earlier input errors
+		suffixString = suffixString.replaceAll("[^\\d]", "");
+		if (suffixString.isEmpty()) {
+			// If the suffix is empty now, that means there is not yet an epid number with a
+			// suffix containing numbers
+			return 0;
+		}
+
+		return Integer.parseInt(suffixString);
 	}
 
 	private void updatePersonAndCaseByOutcome(CaseDataDto existingCase, Case newCase) {
@@ -2713,6 +2717,35 @@ public class CaseFacadeEjb implements CaseFacade {
 		return getCaseDataByUuid(newCase.getUuid());
 	}
 
+	/**
+	 * Re-evaluates the automatic classification of all cases matching the criteria, e.g. after the classification criteria
+	 * of a disease have changed. The cases are processed in chunks, each in its own transaction.
+	 *
+	 * @return The number of cases with a changed system classification.
+	 */
+	@Override
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public int reclassifyCases(CaseCriteria caseCriteria) {
+
+		if (!userService.hasRight(UserRight.PERFORM_BULK_OPERATIONS)) {
+			throw new UnsupportedOperationException("User " + userService.getCurrentUser().getUuid() + " is not allowed to reclassify cases.");
+		}
+
+		if (!configFacade.isFeatureAutomaticCaseClassification()) {
+			return 0;
+		}
+
+		List<Long> caseIds = caseService.getIdsForReclassification(caseCriteria);
+		int reclassifiedCount = 0;
+		for (int i = 0; i < caseIds.size(); i += RECLASSIFICATION_CHUNK_SIZE) {
+			reclassifiedCount +=
+				caseClassificationFacade.reclassifyCases(caseIds.subList(i, Math.min(i + RECLASSIFICATION_CHUNK_SIZE, caseIds.size())));
+		}
+
+		logger.info("Reclassified {} of {} cases", reclassifiedCount, caseIds.size());
+		return reclassifiedCount;
+	}
+
 	/**
 	 * Archives all cases that have not been changed for a defined amount of days
 	 *
@@ -2720,36 +2753,23 @@ public class CaseFacadeEjb implements CaseFacade {
 	 *            defines the amount of days
 	 */
 	@Override
-	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
 	public void archiveAllArchivableCases(int daysAfterCaseGetsArchived) {
 
 		archiveAllArchivableCases(daysAfterCaseGetsArchived, LocalDate.now());
 	}
 
 	void archiveAllArchivableCases(int daysAfterCaseGetsArchived, LocalDate referenceDate) {
+		archiveAllArchivableCases(daysAfterCaseGetsArchived, referenceDate, ArchivingHelper.CHUNK_SIZE);
+	}
 
-		LocalDate notChangedSince = referenceDate.minusDays(daysAfterCaseGetsArchived);
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<String> cq = cb.createQuery(String.class);
-		Root<Case> from = cq.from(Case.class);
+	void archiveAllArchivableCases(int daysAfterCaseGetsArchived, LocalDate referenceDate, int chunkSize) {
 
+		LocalDate notChangedSince = referenceDate.minusDays(daysAfterCaseGetsArchived);
 		Timestamp notChangedTimestamp = Timestamp.valueOf(notChangedSince.atStartOfDay());
-		cq.where(cb.equal(from.get(Case.ARCHIVED), false), cb.not(caseService.createChangeDateFilter(cb, from, notChangedTimestamp, true)));
-		cq.select(from.get(Case.UUID));
-		List<String> uuids = em.createQuery(cq).getResultList();
-
-		if (!uuids.isEmpty()) {
 
-			CriteriaUpdate<Case> cu = cb.createCriteriaUpdate(Case.class);
-			Root<Case> root = cu.from(Case.class);
-
-			cu.set(root.get(Case.ARCHIVED), true);
-
-			cu.where(root.get(Case.UUID).in(uuids));
-
-			em.createQuery(cu).executeUpdate();
-		}
+		// each chunk is archived in a transaction of its own
+		ArchivingHelper.archiveInChunks("cases", chunkSize, maxCount -> caseService.archiveNotChangedSince(notChangedTimestamp, maxCount));
 	}
 
 	@Override
@@ -18,21 +18,34 @@
 package de.symeda.sormas.backend.caze;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.Stream.Builder;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Fetch;
 import javax.persistence.criteria.From;
@@ -45,8 +58,15 @@ import javax.persistence.criteria.Subquery;
 
 import org.apache.commons.lang3.StringUtils;
 
+import de.symeda.auditlog.api.Auditor;
+import de.symeda.auditlog.api.ChangeEvent;
+import de.symeda.auditlog.api.EntityId;
+import de.symeda.auditlog.api.TransactionId;
+import de.symeda.auditlog.api.UserId;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.EntityRelevanceStatus;
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseOrigin;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
@@ -58,6 +78,7 @@ import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.FollowUpStatus;
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.followup.FollowUpLogic;
+import de.symeda.sormas.api.person.Sex;
 import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.therapy.PrescriptionCriteria;
 import de.symeda.sormas.api.therapy.TherapyReferenceDto;
@@ -91,6 +112,7 @@ import de.symeda.sormas.backend.person.PersonService;
 import de.symeda.sormas.backend.region.Community;
 import de.symeda.sormas.backend.region.District;
 import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.sample.PathogenTest;
 import de.symeda.sormas.backend.sample.Sample;
 import de.symeda.sormas.backend.sample.SampleJoins;
 import de.symeda.sormas.backend.sample.SampleService;
@@ -138,6 +160,10 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 	private FeatureConfigurationFacadeEjbLocal featureConfigurationFacade;
 	@EJB
 	private DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal diseaseConfigurationFacade;
+	@EJB
+	private CaseAccessIndex caseAccessIndex;
+	@Inject
+	private Event<ChangeEvent> changeEvent;
 
 	public CaseService() {
 		super(Case.class);
@@ -169,6 +195,16 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 	}
 
 	public List<Case> getAllActiveCasesAfter(Date date, boolean includeExtendedChangeDateFilters) {
+		return getAllActiveCasesAfter(date, includeExtendedChangeDateFilters, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            Continue behind this position; {@code null} to start with the first page.
+	 * @param pageSize
+	 *            Maximum number of cases to return; {@code null} for all.
+	 */
+	public List<Case> getAllActiveCasesAfter(Date date, boolean includeExtendedChangeDateFilters, SyncCursor cursor, Integer pageSize) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Case> cq = cb.createQuery(getElementClass());
@@ -198,11 +234,19 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 			}
 		}
 
+		if (cursor != null) {
+			filter = cb.and(filter, createSyncCursorFilter(cb, from, cursor));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Case.CHANGE_DATE)));
+		cq.orderBy(orderBySyncCursor(cb, from));
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Case> query = em.createQuery(cq);
+		if (pageSize != null) {
+			query.setMaxResults(pageSize);
+		}
+		return query.getResultList();
 	}
 
 	public List<String> getAllActiveUuids() {
@@ -296,6 +340,218 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		return result;
 	}
 
+	/**
+	 * @return the data needed by {@link CaseDuplicateMatcher} for all cases matching the criteria that the current user has access to
+	 */
+	public List<CaseDuplicateMatcher.Candidate> getDuplicateCandidates(CaseCriteria criteria) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(getElementClass());
+
+		Predicate filter = and(cb, createDefaultFilter(cb, caze), createUserFilter(cb, cq, caze));
+		if (criteria != null) {
+			filter = and(cb, filter, createCriteriaFilter(criteria, cb, cq, caze));
+		}
+
+		cq.where(filter);
+		return getDuplicateCandidates(cq, caze);
+	}
+
+	/**
+	 * @return the data needed by {@link CaseDuplicateMatcher} for all cases that could be a duplicate of one of the given cases,
+	 *         based on disease, region, report date and creation date
+	 */
+	public List<CaseDuplicateMatcher.Candidate> getPotentialDuplicateCandidates(
+		Collection<CaseDuplicateMatcher.Candidate> cases,
+		boolean ignoreRegion) {
+
+		Set<Disease> diseases = new HashSet<>();
+		Set<Long> regionIds = new HashSet<>();
+		Date minReportDate = null;
+		Date maxReportDate = null;
+		Date minCreationDate = null;
+		for (CaseDuplicateMatcher.Candidate candidate : cases) {
+			if (candidate.getDisease() == null || candidate.getReportDate() == null || (!ignoreRegion && candidate.getRegionId() == null)) {
+				continue;
+			}
+			diseases.add(candidate.getDisease());
+			regionIds.add(candidate.getRegionId());
+			minReportDate = minReportDate == null || candidate.getReportDate().before(minReportDate) ? candidate.getReportDate() : minReportDate;
+			maxReportDate = maxReportDate == null || candidate.getReportDate().after(maxReportDate) ? candidate.getReportDate() : maxReportDate;
+			minCreationDate =
+				minCreationDate == null || candidate.getCreationDate().before(minCreationDate) ? candidate.getCreationDate() : minCreationDate;
+		}
+
+		if (diseases.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(getElementClass());
+
+		Predicate filter = createDefaultFilter(cb, caze);
+		filter = and(cb, filter, caze.get(Case.DISEASE).in(diseases));
+		if (!ignoreRegion) {
+			filter = and(cb, filter, caze.get(Case.REGION).get(Region.ID).in(regionIds));
+		}
+		filter = and(
+			cb,
+			filter,
+			cb.between(
+				caze.get(Case.REPORT_DATE),
+				new Date(minReportDate.getTime() - CaseDuplicateMatcher.MAX_DATE_DIFFERENCE_MILLIS),
+				new Date(maxReportDate.getTime() + CaseDuplicateMatcher.MAX_DATE_DIFFERENCE_MILLIS)));
+		filter = and(cb, filter, cb.greaterThan(caze.get(Case.CREATION_DATE), minCreationDate));
+
+		cq.where(filter);
+		return getDuplicateCandidates(cq, caze);
+	}
+
+	private List<CaseDuplicateMatcher.Candidate> getDuplicateCandidates(CriteriaQuery<Object[]> cq, Root<Case> caze) {
+
+		Join<Case, Person> person = caze.join(Case.PERSON, JoinType.LEFT);
+		Join<Case, Region> region = caze.join(Case.REGION, JoinType.LEFT);
+		Join<Case, Symptoms> symptoms = caze.join(Case.SYMPTOMS, JoinType.LEFT);
+
+		cq.multiselect(
+			caze.get(Case.ID),
+			caze.get(Case.CREATION_DATE),
+			caze.get(Case.DISEASE),
+			region.get(Region.ID),
+			caze.get(Case.REPORT_DATE),
+			symptoms.get(Symptoms.ONSET_DATE),
+			person.get(Person.FIRST_NAME),
+			person.get(Person.LAST_NAME),
+			person.get(Person.SEX),
+			person.get(Person.BIRTHDATE_DD),
+			person.get(Person.BIRTHDATE_MM),
+			person.get(Person.BIRTHDATE_YYYY));
+
+		return em.createQuery(cq)
+			.getResultStream()
+			.map(
+				row -> new CaseDuplicateMatcher.Candidate(
+					(Long) row[0],
+					(Date) row[1],
+					(Disease) row[2],
+					(Long) row[3],
+					(Date) row[4],
+					(Date) row[5],
+					(String) row[6],
+					(String) row[7],
+					(Sex) row[8],
+					(Integer) row[9],
+					(Integer) row[10],
+					(Integer) row[11]))
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * @return The ids of the cases matching the criteria whose classification is determined automatically, i.e. all cases
+	 *         that have not been classified as no case.
+	 */
+	public List<Long> getIdsForReclassification(CaseCriteria caseCriteria) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> from = cq.from(Case.class);
+
+		Predicate filter = cb.and(createDefaultFilter(cb, from), cb.notEqual(from.get(Case.CASE_CLASSIFICATION), CaseClassification.NO_CASE));
+		if (caseCriteria != null) {
+			filter = and(cb, filter, createCriteriaFilter(caseCriteria, cb, cq, from));
+		}
+
+		cq.where(filter);
+		cq.select(from.get(Case.ID));
+		cq.orderBy(cb.asc(from.get(Case.ID)));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * @return The cases with the given ids. The symptoms, epi data and hospitalization needed to classify the cases are
+	 *         fetched with the same query.
+	 */
+	public List<Case> getByIdsForClassification(List<Long> ids) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Case> cq = cb.createQuery(Case.class);
+		Root<Case> from = cq.from(Case.class);
+		from.fetch(Case.SYMPTOMS);
+		from.fetch(Case.EPI_DATA);
+		from.fetch(Case.HOSPITALIZATION);
+
+		cq.where(from.get(Case.ID).in(ids));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	/**
+	 * Sets the system classification of the given cases to {@code classification}. Cases that currently have another
+	 * classification are reclassified, like {@link CaseFacadeEjb#onCaseChanged} does when a single case is saved.
+	 * The changes are written with bulk updates, which bypass the entity listeners. The aggregate change date is therefore
+	 * raised here and an audit log entry is fired for each case. The given cases are detached from the persistence context
+	 * and reflect the new classification afterwards.
+	 */
+	public void updateSystemClassification(List<Case> cases, CaseClassification classification) {
+
+		List<Long> ids = cases.stream().map(Case::getId).collect(Collectors.toList());
+		Timestamp now = Timestamp.from(Instant.now());
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+
+		CriteriaUpdate<Case> classificationUpdate = cb.createCriteriaUpdate(Case.class);
+		Root<Case> classificationRoot = classificationUpdate.from(Case.class);
+		classificationUpdate.set(classificationRoot.get(Case.CASE_CLASSIFICATION), classification);
+		classificationUpdate.set(classificationRoot.get(Case.CLASSIFICATION_USER), cb.nullLiteral(User.class));
+		classificationUpdate.set(classificationRoot.get(Case.CLASSIFICATION_DATE), now);
+		classificationUpdate.where(
+			classificationRoot.get(Case.ID).in(ids),
+			cb.notEqual(classificationRoot.get(Case.CASE_CLASSIFICATION), classification));
+		em.createQuery(classificationUpdate).executeUpdate();
+
+		CriteriaUpdate<Case> systemClassificationUpdate = cb.createCriteriaUpdate(Case.class);
+		Root<Case> systemClassificationRoot = systemClassificationUpdate.from(Case.class);
+		systemClassificationUpdate.set(systemClassificationRoot.get(Case.SYSTEM_CASE_CLASSIFICATION), classification);
+		systemClassificationUpdate.set(systemClassificationRoot.get(Case.CHANGE_DATE), now);
+		systemClassificationUpdate.set(systemClassificationRoot.get(Case.AGGREGATE_CHANGE_DATE), now);
+		systemClassificationUpdate.where(systemClassificationRoot.get(Case.ID).in(ids));
+		em.createQuery(systemClassificationUpdate).executeUpdate();
+
+		auditSystemClassification(cases, classification, now);
+	}
+
+	/**
+	 * Applies the changes of {@link #updateSystemClassification} to the detached cases and fires the resulting audit log
+	 * entries, because the bulk updates do not pass the {@link de.symeda.sormas.backend.auditlog.AuditListenerCdiWrapper}.
+	 */
+	private void auditSystemClassification(List<Case> cases, CaseClassification classification, Timestamp now) {
+
+		Auditor auditor = new Auditor();
+		User currentUser = getCurrentUser();
+		UserId userId = new UserId(currentUser != null ? currentUser.getUserName() : "SYSTEM");
+		TransactionId transactionId = new TransactionId();
+
+		for (Case caze : cases) {
+			// the bulk updates did not change the loaded state, so it still is the original state of the case
+			auditor.register(caze);
+			em.detach(caze);
+
+			if (caze.getCaseClassification() != classification) {
+				caze.setCaseClassification(classification);
+				caze.setClassificationUser(null);
+				caze.setClassificationDate(now);
+			}
+			caze.setSystemCaseClassification(classification);
+			caze.setChangeDate(now);
+			caze.setAggregateChangeDate(now);
+
+			ChangeEvent changes = auditor.detectChanges(caze);
+			changeEvent.fire(new ChangeEvent(changes, EntityId.getOidFromHasUuid(caze), LocalDateTime.now(), userId, transactionId));
+		}
+	}
+
 	public String getHighestEpidNumber(String epidNumberPrefix, String caseUuid, Disease caseDisease) {
 
 		try {
@@ -734,6 +990,59 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 		super.delete(caze);
 	}
 
+	@Override
+	public void ensurePersisted(Case caze) throws EntityExistsException {
+
+		boolean isNew = caze.getId() == null;
+		super.ensurePersisted(caze);
+		if (!isNew) {
+			updateAggregateChangeDate(Case.TABLE_NAME, caze, getLoadedParts(caze));
+		}
+		caseAccessIndex.updateCase(caze.getId());
+	}
+
+	/**
+	 * @return The owned parts of the case that have been loaded and may therefore have been changed along with it
+	 */
+	private List<AbstractDomainObject> getLoadedParts(Case caze) {
+
+		List<AbstractDomainObject> parts = new ArrayList<>();
+		addLoadedPart(parts, caze, Case.SYMPTOMS, Case::getSymptoms);
+		Hospitalization hospitalization = addLoadedPart(parts, caze, Case.HOSPITALIZATION, Case::getHospitalization);
+		addLoadedParts(parts, hospitalization, Hospitalization.PREVIOUS_HOSPITALIZATIONS, Hospitalization::getPreviousHospitalizations);
+		if (isLoaded(caze, Case.EPI_DATA)) {
+			epiDataService.addLoadedEpiDataParts(parts, caze.getEpiData());
+		}
+		addLoadedPart(parts, caze, Case.THERAPY, Case::getTherapy);
+		ClinicalCourse clinicalCourse = addLoadedPart(parts, caze, Case.CLINICAL_COURSE, Case::getClinicalCourse);
+		addLoadedPart(parts, clinicalCourse, ClinicalCourse.HEALTH_CONDITIONS, ClinicalCourse::getHealthConditions);
+		addLoadedPart(parts, caze, Case.MATERNAL_HISTORY, Case::getMaternalHistory);
+		addLoadedPart(parts, caze, Case.PORT_HEALTH_INFO, Case::getPortHealthInfo);
+		return parts;
+	}
+
+	/**
+	 * Archives up to maxCount cases that, like their person, address, samples and pathogen tests, have not been changed
+	 * since the given date. Runs in a transaction of its own.
+	 *
+	 * @return The number of archived cases
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public int archiveNotChangedSince(Timestamp notChangedSince, int maxCount) {
+
+		return em
+			.createNativeQuery(
+				"UPDATE " + Case.TABLE_NAME + " SET archived = true WHERE id IN (SELECT c.id FROM " + Case.TABLE_NAME + " c"
+					+ " LEFT JOIN " + Person.TABLE_NAME + " p ON p.id = c.person_id LEFT JOIN " + Location.TABLE_NAME + " l ON l.id = p.address_id"
+					+ " WHERE c.archived = false AND c.changedate <= ?1 AND (c.aggregatechangedate IS NULL OR c.aggregatechangedate <= ?1)"
+					+ " AND (p.changedate IS NULL OR p.changedate <= ?1) AND (l.changedate IS NULL OR l.changedate <= ?1)"
+					+ " AND NOT EXISTS (SELECT 1 FROM " + Sample.TABLE_NAME + " s WHERE s.associatedcase_id = c.id AND (s.changedate > ?1"
+					+ " OR EXISTS (SELECT 1 FROM " + PathogenTest.TABLE_NAME + " t WHERE t.sample_id = s.id AND t.changedate > ?1))) LIMIT ?2)")
+			.setParameter(1, notChangedSince)
+			.setParameter(2, maxCount)
+			.executeUpdate();
+	}
+
 	@Override
 	public Predicate createChangeDateFilter(CriteriaBuilder cb, From<?, Case> casePath, Timestamp date) {
 		return createChangeDateFilter(cb, casePath, date, false);
@@ -752,23 +1061,9 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 
 		Builder<Predicate> filters = Stream.builder();
 
+		// changes of the owned parts (symptoms, hospitalization, epi data, etc.) are reflected by the aggregate change date
 		filters.add(changeDateFilter(cb, date, casePath));
-		filters.add(changeDateFilter(cb, date, casePath, Case.SYMPTOMS));
-
-		Join<Case, Hospitalization> hospitalization = casePath.join(Case.HOSPITALIZATION, JoinType.LEFT);
-		filters.add(changeDateFilter(cb, date, hospitalization));
-		filters.add(changeDateFilter(cb, date, hospitalization, Hospitalization.PREVIOUS_HOSPITALIZATIONS));
-
-		filters.add(epiDataService.createChangeDateFilter(cb, casePath.join(Contact.EPI_DATA, JoinType.LEFT), date));
-
-		filters.add(changeDateFilter(cb, date, casePath, Case.THERAPY));
-
-		Join<Case, ClinicalCourse> clinicalCourse = casePath.join(Case.CLINICAL_COURSE, JoinType.LEFT);
-		filters.add(changeDateFilter(cb, date, clinicalCourse));
-		filters.add(changeDateFilter(cb, date, clinicalCourse, ClinicalCourse.HEALTH_CONDITIONS));
-
-		filters.add(changeDateFilter(cb, date, casePath, Case.MATERNAL_HISTORY));
-		filters.add(changeDateFilter(cb, date, casePath, Case.PORT_HEALTH_INFO));
+		filters.add(greaterThanAndNotNull(cb, casePath.get(Case.AGGREGATE_CHANGE_DATE), date));
 
 		if (includeExtendedChangeDateFilters) {
 			Join<Case, Sample> caseSampleJoin = casePath.join(Case.SAMPLES, JoinType.LEFT);
@@ -809,54 +1104,67 @@ public class CaseService extends AbstractCoreAdoService<Case> {
 			filterResponsible = cb.or(filterResponsible, cb.equal(casePath.get(Case.SURVEILLANCE_OFFICER).get(User.ID), currentUser.getId()));
 			filterResponsible = cb.or(filterResponsible, cb.equal(casePath.get(Case.CASE_OFFICER).get(User.ID), currentUser.getId()));
 
-			switch (jurisdictionLevel) {
-			case REGION:
-				final Region region = currentUser.getRegion();
-				if (region != null) {
-					filter = or(cb, filter, cb.equal(casePath.get(Case.REGION).get(Region.ID), region.getId()));
-				}
-				break;
-			case DISTRICT:
-				final District district = currentUser.getDistrict();
-				if (district != null) {
-					filter = or(cb, filter, cb.equal(casePath.get(Case.DISTRICT).get(District.ID), district.getId()));
+			boolean includeCasesFromContacts = userFilterCriteria == null || !userFilterCriteria.isExcludeCasesFromContacts();
+			if (caseAccessIndex.isAvailable()) {
+				// the jurisdiction, contact and laboratory conditions are materialized in the case access index
+				List<String> accessKeys = caseAccessIndex.getAccessKeys(currentUser, includeCasesFromContacts);
+				if (!accessKeys.isEmpty()) {
+					Subquery<Long> accessSubquery = cq.subquery(Long.class);
+					Root<CaseAccess> accessRoot = accessSubquery.from(CaseAccess.class);
+					accessSubquery.where(accessRoot.get(CaseAccess.ACCESS_KEY).in(accessKeys));
+					accessSubquery.select(accessRoot.get(CaseAccess.CASE_ID));
+					filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(accessSubquery));
 				}
-				break;
-			case HEALTH_FACILITY:
-				final Facility healthFacility = currentUser.getHealthFacility();
-				if (healthFacility != null) {
-					filter = or(cb, filter, cb.equal(casePath.get(Case.HEALTH_FACILITY).get(Facility.ID), healthFacility.getId()));
-				}
-				break;
-			case COMMUNITY:
-				final Community community = currentUser.getCommunity();
-				if (community != null) {
-					filter = or(cb, filter, cb.equal(casePath.get(Case.COMMUNITY).get(Community.ID), community.getId()));
-				}
-				break;
-			case POINT_OF_ENTRY:
-				final PointOfEntry pointOfEntry = currentUser.getPointOfEntry();
-				if (pointOfEntry != null) {
-					filter = or(cb, filter, cb.equal(casePath.get(Case.POINT_OF_ENTRY).get(PointOfEntry.ID), pointOfEntry.getId()));
+			} else {
+				switch (jurisdictionLevel) {
+				case REGION:
+					final Region region = currentUser.getRegion();
+					if (region != null) {
+						filter = or(cb, filter, cb.equal(casePath.get(Case.REGION).get(Region.ID), region.getId()));
+					}
+					break;
+				case DISTRICT:
+					final District district = currentUser.getDistrict();
+					if (district != null) {
+						filter = or(cb, filter, cb.equal(casePath.get(Case.DISTRICT).get(District.ID), district.getId()));
+					}
+					break;
+				case HEALTH_FACILITY:
+					final Facility healthFacility = currentUser.getHealthFacility();
+					if (healthFacility != null) {
+						filter = or(cb, filter, cb.equal(casePath.get(Case.HEALTH_FACILITY).get(Facility.ID), healthFacility.getId()));
+					}
+					break;
+				case COMMUNITY:
+					final Community community = currentUser.getCommunity();
+					if (community != null) {
+						filter = or(cb, filter, cb.equal(casePath.get(Case.COMMUNITY).get(Community.ID), community.getId()));
+					}
+					break;
+				case POINT_OF_ENTRY:
+					final PointOfEntry pointOfEntry = currentUser.getPointOfEntry();
+					if (pointOfEntry != null) {
+						filter = or(cb, filter, cb.equal(casePath.get(Case.POINT_OF_ENTRY).get(PointOfEntry.ID), pointOfEntry.getId()));
+					}
+					break;
+				case LABORATORY:
+					Subquery<Long> sampleCaseSubquery = cq.subquery(Long.class);
+					Root<Sample> sampleRoot = sampleCaseSubquery.from(Sample.class);
+					sampleCaseSubquery.where(sampleService.createUserFilterWithoutCase(cb, new SampleJoins(sampleRoot)));
+					sampleCaseSubquery.select(sampleRoot.get(Sample.ASSOCIATED_CASE).get(Case.ID));
+					filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(sampleCaseSubquery));
+					break;
+				default:
 				}
-				break;
-			case LABORATORY:
-				Subquery<Long> sampleCaseSubquery = cq.subquery(Long.class);
-				Root<Sample> sampleRoot = sampleCaseSubquery.from(Sample.class);
-				sampleCaseSubquery.where(sampleService.createUserFilterWithoutCase(cb, new SampleJoins(sampleRoot)));
-				sampleCaseSubquery.select(sampleRoot.get(Sample.ASSOCIATED_CASE).get(Case.ID));
-				filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(sampleCaseSubquery));
-				break;
-			default:
-			}
 
-			// get all cases based on the user's contact association
-			if (userFilterCriteria == null || !userFilterCriteria.isExcludeCasesFromContacts()) {
-				Subquery<Long> contactCaseSubquery = cq.subquery(Long.class);
-				Root<Contact> contactRoot = contactCaseSubquery.from(Contact.class);
-				contactCaseSubquery.where(contactService.createUserFilterWithoutCase(cb, cq, contactRoot));
-				contactCaseSubquery.select(contactRoot.get(Contact.CAZE).get(Case.ID));
-				filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(contactCaseSubquery));
+				// get all cases based on the user's contact association
+				if (includeCasesFromContacts) {
+					Subquery<Long> contactCaseSubquery = cq.subquery(Long.class);
+					Root<Contact> contactRoot = contactCaseSubquery.from(Contact.class);
+					contactCaseSubquery.where(contactService.createUserFilterWithoutCase(cb, cq, contactRoot));
+					contactCaseSubquery.select(contactRoot.get(Contact.CAZE).get(Case.ID));
+					filter = or(cb, filter, cb.in(casePath.get(Case.ID)).value(contactCaseSubquery));
+				}
 			}
 
 			// users can only be assigned to a task when they have also access to the case
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.symptoms.Symptoms;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Maintains the case statistics cube, a table holding the number of cases for each combination of disease, classification,
+ * outcome, sex, age, region, district, onset day and report day. {@link CaseStatisticsFacadeEjb} answers case counts from
+ * this table when the criteria only use these attributes.
+ * <p>
+ * The cube is rebuilt by {@link #refresh()} when the change dates or the number of cases indicate that the case data has
+ * changed since the last refresh. Until the first refresh after a server start, the cube is not used.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CaseStatisticsCube {
+
+	public static final String TABLE_NAME = "casestatisticscube";
+
+	public static final String DISEASE = "disease";
+	public static final String CASE_CLASSIFICATION = "caseclassification";
+	public static final String OUTCOME = "outcome";
+	public static final String SEX = "sex";
+	public static final String CASE_AGE = "caseage";
+	public static final String REGION_ID = "region_id";
+	public static final String DISTRICT_ID = "district_id";
+	public static final String ONSET_DATE = "onsetdate";
+	public static final String REPORT_DATE = "reportdate";
+	public static final String CASE_COUNT = "casecount";
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile Date refreshedAt;
+	/**
+	 * Latest change dates of cases, symptoms and persons and the number of cases at the time of the last refresh
+	 */
+	private volatile Object[] refreshedState;
+
+	/**
+	 * @return true if the cube has been built since the server was started
+	 */
+	public boolean isAvailable() {
+		return refreshedAt != null;
+	}
+
+	public Date getRefreshedAt() {
+		return refreshedAt;
+	}
+
+	/**
+	 * Rebuilds the cube if case, symptoms or person data has changed since the last refresh. Does nothing if another refresh
+	 * is still running.
+	 */
+	public void refresh() {
+
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			// determined before the rebuild, so changes made in the meantime trigger the next refresh
+			Object[] state = (Object[]) em
+				.createNativeQuery(
+					"SELECT (SELECT MAX(" + AbstractDomainObject.CHANGE_DATE + ") FROM " + Case.TABLE_NAME + "), (SELECT MAX("
+						+ AbstractDomainObject.CHANGE_DATE + ") FROM " + Symptoms.TABLE_NAME + "), (SELECT MAX("
+						+ AbstractDomainObject.CHANGE_DATE + ") FROM " + Person.TABLE_NAME + "), (SELECT COUNT(*) FROM " + Case.TABLE_NAME
+						+ ")")
+				.getSingleResult();
+
+			if (refreshedState != null && Arrays.equals(refreshedState, state)) {
+				return;
+			}
+
+			long start = System.currentTimeMillis();
+			em.createNativeQuery("DELETE FROM " + TABLE_NAME).executeUpdate();
+			int rowCount = em.createNativeQuery(buildRebuildQuery()).executeUpdate();
+
+			refreshedState = state;
+			refreshedAt = new Date();
+			logger.info("Rebuilt the case statistics cube with {} rows in {} ms", rowCount, System.currentTimeMillis() - start);
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	private static String buildRebuildQuery() {
+
+		String caseAlias = Case.TABLE_NAME + ".";
+		String onsetDay = "CAST(CAST(" + Symptoms.TABLE_NAME + "." + Symptoms.ONSET_DATE + " AS date) AS timestamp)";
+		String reportDay = "CAST(CAST(" + caseAlias + Case.REPORT_DATE + " AS date) AS timestamp)";
+		String groupedColumns = caseAlias + Case.DISEASE + ", " + caseAlias + Case.CASE_CLASSIFICATION + ", " + caseAlias + Case.OUTCOME + ", "
+			+ Person.TABLE_NAME + "." + Person.SEX + ", " + caseAlias + Case.CASE_AGE + ", " + caseAlias + Case.REGION + "_id, " + caseAlias
+			+ Case.DISTRICT + "_id, " + onsetDay + ", " + reportDay;
+
+		return "INSERT INTO " + TABLE_NAME + " (" + DISEASE + ", " + CASE_CLASSIFICATION + ", " + OUTCOME + ", " + SEX + ", " + CASE_AGE + ", "
+			+ REGION_ID + ", " + DISTRICT_ID + ", " + ONSET_DATE + ", " + REPORT_DATE + ", " + CASE_COUNT + ") SELECT " + groupedColumns
+			+ ", COUNT(*) FROM " + Case.TABLE_NAME + " LEFT JOIN " + Symptoms.TABLE_NAME + " ON " + caseAlias + Case.SYMPTOMS + "_id = "
+			+ Symptoms.TABLE_NAME + "." + Symptoms.ID + " LEFT JOIN " + Person.TABLE_NAME + " ON " + caseAlias + Case.PERSON + "_id = "
+			+ Person.TABLE_NAME + "." + Person.ID + " WHERE (" + caseAlias + Case.DELETED + " = false OR " + caseAlias + Case.DELETED
+			+ " IS NULL) GROUP BY " + groupedColumns;
+	}
+}
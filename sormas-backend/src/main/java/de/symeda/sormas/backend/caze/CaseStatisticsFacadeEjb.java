@@ -53,6 +53,7 @@ import de.symeda.sormas.api.statistics.StatisticsCaseSubAttribute;
 import de.symeda.sormas.api.statistics.StatisticsGroupingKey;
 import de.symeda.sormas.api.statistics.StatisticsHelper;
 import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.facility.Facility;
 import de.symeda.sormas.backend.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
@@ -76,6 +77,9 @@ import de.symeda.sormas.backend.util.ModelConstants;
 @Stateless(name = "CaseStatisticsFacade")
 public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 
+	private static final String GROUP_A_ALIAS = "groupA";
+	private static final String GROUP_B_ALIAS = "groupB";
+
 	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
 	private EntityManager em;
 
@@ -96,6 +100,8 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 	private CommunityFacadeEjbLocal communityFacade;
 	@EJB
 	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private CaseStatisticsCube caseStatisticsCube;
 
 	@SuppressWarnings("unchecked")
 	@Override
@@ -110,8 +116,12 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		Integer populationReferenceYear) {
 
 		// case counts
-		Pair<String, List<Object>> caseCountQueryAndParams =
-			buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		Pair<String, List<Object>> caseCountQueryAndParams;
+		if (caseStatisticsCube.isAvailable() && isCubeApplicable(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping)) {
+			caseCountQueryAndParams = buildCubeCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		} else {
+			caseCountQueryAndParams = buildCaseCountQuery(caseCriteria, rowGrouping, rowSubGrouping, columnGrouping, columnSubGrouping);
+		}
 
 		Query caseCountQuery = em.createNativeQuery(caseCountQueryAndParams.getKey().toString());
 		for (int i = 0; i < caseCountQueryAndParams.getValue().size(); i++) {
@@ -610,91 +620,8 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			extendFilterBuilderWithLike(caseFilterBuilder, Location.TABLE_NAME, Location.POSTAL_CODE, caseCriteria.getPersonPostcode());
 		}
 
-		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes()) || caseCriteria.isSexUnknown() != null) {
-			if (caseFilterBuilder.length() > 0) {
-				caseFilterBuilder.append(" AND ");
-			}
-
-			caseFilterBuilder.append("(");
-			StringBuilder subFilterBuilder = new StringBuilder();
-
-			if (CollectionUtils.isNotEmpty(caseCriteria.getSexes())) {
-				extendFilterBuilderWithSimpleValue(
-					subFilterBuilder,
-					filterBuilderParameters,
-					Person.TABLE_NAME,
-					Person.SEX,
-					caseCriteria.getSexes(),
-					entry -> entry.name());
-			}
-
-			if (caseCriteria.isSexUnknown() != null) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Person.TABLE_NAME)
-					.append(".")
-					.append(Person.SEX)
-					.append(" IS ")
-					.append(caseCriteria.isSexUnknown() == true ? "NULL" : "NOT NULL");
-			}
-
-			caseFilterBuilder.append(subFilterBuilder);
-			caseFilterBuilder.append(")");
-		}
-
-		if (CollectionUtils.isNotEmpty(caseCriteria.getAgeIntervals())) {
-			if (caseFilterBuilder.length() > 0) {
-				caseFilterBuilder.append(" AND ");
-			}
-
-			caseFilterBuilder.append("(");
-			StringBuilder subFilterBuilder = new StringBuilder();
-
-			Integer upperRangeBoundary = null;
-			boolean appendUnknown = false;
-			List<Integer> agesList = new ArrayList<Integer>();
-			for (IntegerRange range : caseCriteria.getAgeIntervals()) {
-				if (range.getTo() == null) {
-					if (range.getFrom() == null) {
-						appendUnknown = true;
-					} else {
-						upperRangeBoundary = range.getFrom();
-					}
-				} else {
-					agesList.addAll(IntStream.rangeClosed(range.getFrom(), range.getTo()).boxed().collect(Collectors.toList()));
-				}
-			}
-
-			if (agesList.size() > 0) {
-				extendFilterBuilderWithSimpleValue(
-					subFilterBuilder,
-					filterBuilderParameters,
-					Case.TABLE_NAME,
-					Case.CASE_AGE,
-					agesList,
-					value -> value);
-			}
-
-			if (upperRangeBoundary != null) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= ?").append(filterBuilderParameters.size() + 1);
-				filterBuilderParameters.add(upperRangeBoundary);
-			}
-
-			if (appendUnknown) {
-				if (subFilterBuilder.length() > 0) {
-					subFilterBuilder.append(" OR ");
-				}
-				subFilterBuilder.append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" IS NULL");
-			}
-
-			caseFilterBuilder.append(subFilterBuilder);
-			caseFilterBuilder.append(")");
-		}
-
+		extendFilterBuilderWithSex(caseFilterBuilder, filterBuilderParameters, caseCriteria, Person.TABLE_NAME, Person.SEX);
+		extendFilterBuilderWithAgeIntervals(caseFilterBuilder, filterBuilderParameters, caseCriteria, Case.TABLE_NAME, Case.CASE_AGE);
 		if (CollectionUtils.isNotEmpty(caseCriteria.getDiseases())) {
 			extendFilterBuilderWithSimpleValue(
 				caseFilterBuilder,
@@ -780,68 +707,370 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		}
 
 		//////////////
-		// 3. Add selected groupings
+		// 3. Add selected groupings and order results
 		/////////////
 
-		String groupingSelectQueryA = null, groupingSelectQueryB = null;
+		String groupingSelectQueryA = groupingA != null ? buildCaseGroupingSelectQuery(groupingA, subGroupingA, GROUP_A_ALIAS) : null;
+		String groupingSelectQueryB = groupingB != null ? buildCaseGroupingSelectQuery(groupingB, subGroupingB, GROUP_B_ALIAS) : null;
+
+		String query = buildGroupedCountQuery(
+			"COUNT(*)",
+			Case.TABLE_NAME + caseJoinBuilder + caseFilterBuilder,
+			groupingSelectQueryA,
+			groupingSelectQueryB);
+
+		return new ImmutablePair<String, List<Object>>(query, filterBuilderParameters);
+	}
+
+	/**
+	 * Builds the select, group by and order by parts around the given source and filter. The groupings are selected as
+	 * {@link #GROUP_A_ALIAS} and {@link #GROUP_B_ALIAS}; a missing grouping is selected as null.
+	 */
+	private String buildGroupedCountQuery(String countSelect, String fromAndFilter, String groupingSelectQueryA, String groupingSelectQueryB) {
+
 		StringBuilder caseGroupByBuilder = new StringBuilder();
 		StringBuilder orderByBuilder = new StringBuilder();
-		String groupAAlias = "groupA";
-		String groupBAlias = "groupB";
 
-		if (groupingA != null || groupingB != null) {
+		if (groupingSelectQueryA != null || groupingSelectQueryB != null) {
 			caseGroupByBuilder.append(" GROUP BY ");
 
-			if (groupingA != null) {
-				groupingSelectQueryA = buildCaseGroupingSelectQuery(groupingA, subGroupingA, groupAAlias);
-				caseGroupByBuilder.append(groupAAlias);
+			if (groupingSelectQueryA != null) {
+				caseGroupByBuilder.append(GROUP_A_ALIAS);
 			}
-			if (groupingB != null) {
-				groupingSelectQueryB = buildCaseGroupingSelectQuery(groupingB, subGroupingB, groupBAlias);
-				if (groupingA != null) {
+			if (groupingSelectQueryB != null) {
+				if (groupingSelectQueryA != null) {
 					caseGroupByBuilder.append(",");
 				}
-				caseGroupByBuilder.append(groupBAlias);
+				caseGroupByBuilder.append(GROUP_B_ALIAS);
 			}
 		}
 
-		//////////////
-		// 4. Order results
-		/////////////
-
 		orderByBuilder.append(" ORDER BY ");
-		if (groupingA != null) {
-			orderByBuilder.append(groupAAlias).append(" NULLS LAST");
+		if (groupingSelectQueryA != null) {
+			orderByBuilder.append(GROUP_A_ALIAS).append(" NULLS LAST");
 		}
-		if (groupingB != null) {
-			if (groupingA != null) {
+		if (groupingSelectQueryB != null) {
+			if (groupingSelectQueryA != null) {
 				orderByBuilder.append(",");
 			}
-			orderByBuilder.append(groupBAlias).append(" NULLS LAST");
+			orderByBuilder.append(GROUP_B_ALIAS).append(" NULLS LAST");
 		}
 
 		StringBuilder queryBuilder = new StringBuilder();
 
-		queryBuilder.append("SELECT COUNT(*) AS casecount ");
+		queryBuilder.append("SELECT ").append(countSelect).append(" AS casecount ");
 
 		if (groupingSelectQueryA != null) {
 			queryBuilder.append(", ").append(groupingSelectQueryA);
 		} else {
-			queryBuilder.append(", null\\:\\:text AS ").append(groupAAlias);
+			queryBuilder.append(", null\\:\\:text AS ").append(GROUP_A_ALIAS);
 		}
 		if (groupingSelectQueryB != null) {
 			queryBuilder.append(", ").append(groupingSelectQueryB);
 		} else {
-			queryBuilder.append(", null\\:\\:text AS ").append(groupBAlias);
+			queryBuilder.append(", null\\:\\:text AS ").append(GROUP_B_ALIAS);
 		}
 
-		queryBuilder.append(" FROM ").append(Case.TABLE_NAME).append(caseJoinBuilder).append(caseFilterBuilder).append(caseGroupByBuilder);
+		queryBuilder.append(" FROM ").append(fromAndFilter).append(caseGroupByBuilder);
 
-		if (groupingA != null || groupingB != null) {
+		if (groupingSelectQueryA != null || groupingSelectQueryB != null) {
 			queryBuilder.append(orderByBuilder);
 		}
 
-		return new ImmutablePair<String, List<Object>>(queryBuilder.toString(), filterBuilderParameters);
+		return queryBuilder.toString();
+	}
+
+	/**
+	 * @return true if the case count can be taken from the {@link CaseStatisticsCube}, i.e. the criteria and groupings only use
+	 *         attributes the cube holds and date ranges cover whole days
+	 */
+	public boolean isCubeApplicable(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB) {
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getPersonRegions())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getPersonDistricts())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getPersonCommunities())
+			|| StringUtils.isNotEmpty(caseCriteria.getPersonCity())
+			|| StringUtils.isNotEmpty(caseCriteria.getPersonPostcode())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getCommunities())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getHealthFacilities())
+			|| CollectionUtils.isNotEmpty(caseCriteria.getReportingUserRoles())) {
+			return false;
+		}
+
+		if (!coversWholeDays(caseCriteria.getOnsetDateFrom(), caseCriteria.getOnsetDateTo())
+			|| !coversWholeDays(caseCriteria.getReportDateFrom(), caseCriteria.getReportDateTo())) {
+			return false;
+		}
+
+		return isCubeGrouping(groupingA, subGroupingA) && isCubeGrouping(groupingB, subGroupingB);
+	}
+
+	private boolean coversWholeDays(Date from, Date to) {
+		return (from == null || from.equals(DateHelper.getStartOfDay(from))) && (to == null || to.equals(DateHelper.getEndOfDay(to)));
+	}
+
+	private boolean isCubeGrouping(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping) {
+
+		if (grouping == null) {
+			return true;
+		}
+
+		// has to match the groupings supported by buildCubeGroupingSelectQuery
+		switch (grouping) {
+		case SEX:
+		case DISEASE:
+		case CLASSIFICATION:
+		case OUTCOME:
+		case AGE_INTERVAL_1_YEAR:
+		case AGE_INTERVAL_5_YEARS:
+		case AGE_INTERVAL_CHILDREN_COARSE:
+		case AGE_INTERVAL_CHILDREN_FINE:
+		case AGE_INTERVAL_CHILDREN_MEDIUM:
+		case AGE_INTERVAL_BASIC:
+			return true;
+		case JURISDICTION:
+			return subGrouping == StatisticsCaseSubAttribute.REGION || subGrouping == StatisticsCaseSubAttribute.DISTRICT;
+		case ONSET_TIME:
+		case REPORT_TIME:
+			return subGrouping != null && subGrouping != StatisticsCaseSubAttribute.DATE_RANGE;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Builds SQL query string and list of parameters (for filters) that sums up the case counts of the {@link CaseStatisticsCube}.
+	 * Must only be used when {@link #isCubeApplicable} is true.
+	 */
+	public Pair<String, List<Object>> buildCubeCaseCountQuery(
+		StatisticsCaseCriteria caseCriteria,
+		StatisticsCaseAttribute groupingA,
+		StatisticsCaseSubAttribute subGroupingA,
+		StatisticsCaseAttribute groupingB,
+		StatisticsCaseSubAttribute subGroupingB) {
+
+		String cube = CaseStatisticsCube.TABLE_NAME;
+		StringBuilder filterBuilder = new StringBuilder();
+		List<Object> filterBuilderParameters = new ArrayList<Object>();
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetYears())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"YEAR",
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetYears(),
+				dateValue -> (dateValue.getValue()));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetQuarters())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"QUARTER",
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetQuarters(),
+				dateValue -> (dateValue.getValue()));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetMonths())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"MONTH",
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetMonths(),
+				dateValue -> (dateValue.ordinal() + 1));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetEpiWeeks())) {
+			extendFilterBuilderWithEpiWeek(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetEpiWeeks(),
+				value -> value.getWeek());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetQuartersOfYear())) {
+			extendFilterBuilderWithQuarterOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetQuartersOfYear(),
+				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetMonthsOfYear())) {
+			extendFilterBuilderWithMonthOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetMonthsOfYear(),
+				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOnsetEpiWeeksOfYear())) {
+			extendFilterBuilderWithEpiWeekOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.ONSET_DATE,
+				caseCriteria.getOnsetEpiWeeksOfYear(),
+				value -> value.getYear() * 100 + value.getWeek());
+		}
+		extendFilterBuilderWithDate(
+			filterBuilder,
+			filterBuilderParameters,
+			caseCriteria.getOnsetDateFrom(),
+			caseCriteria.getOnsetDateTo(),
+			cube,
+			CaseStatisticsCube.ONSET_DATE);
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportYears())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"YEAR",
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportYears(),
+				dateValue -> (dateValue.getValue()));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportQuarters())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"QUARTER",
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportQuarters(),
+				dateValue -> (dateValue.getValue()));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportMonths())) {
+			extendFilterBuilderWithDateElement(
+				filterBuilder,
+				filterBuilderParameters,
+				"MONTH",
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportMonths(),
+				dateValue -> (dateValue.ordinal() + 1));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportEpiWeeks())) {
+			extendFilterBuilderWithEpiWeek(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportEpiWeeks(),
+				value -> value.getWeek());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportQuartersOfYear())) {
+			extendFilterBuilderWithQuarterOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportQuartersOfYear(),
+				value -> value.getYear().getValue() * 10 + value.getQuarter().getValue());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportMonthsOfYear())) {
+			extendFilterBuilderWithMonthOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportMonthsOfYear(),
+				value -> value.getYear().getValue() * 100 + (value.getMonth().ordinal() + 1));
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getReportEpiWeeksOfYear())) {
+			extendFilterBuilderWithEpiWeekOfYear(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.REPORT_DATE,
+				caseCriteria.getReportEpiWeeksOfYear(),
+				value -> value.getYear() * 100 + value.getWeek());
+		}
+		extendFilterBuilderWithDate(
+			filterBuilder,
+			filterBuilderParameters,
+			caseCriteria.getReportDateFrom(),
+			caseCriteria.getReportDateTo(),
+			cube,
+			CaseStatisticsCube.REPORT_DATE);
+
+		extendFilterBuilderWithSex(filterBuilder, filterBuilderParameters, caseCriteria, cube, CaseStatisticsCube.SEX);
+		extendFilterBuilderWithAgeIntervals(filterBuilder, filterBuilderParameters, caseCriteria, cube, CaseStatisticsCube.CASE_AGE);
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getDiseases())) {
+			extendFilterBuilderWithSimpleValue(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.DISEASE,
+				caseCriteria.getDiseases(),
+				entry -> entry.name());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getClassifications())) {
+			extendFilterBuilderWithSimpleValue(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.CASE_CLASSIFICATION,
+				caseCriteria.getClassifications(),
+				entry -> entry.name());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getOutcomes())) {
+			extendFilterBuilderWithSimpleValue(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.OUTCOME,
+				caseCriteria.getOutcomes(),
+				entry -> entry.name());
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getRegions())) {
+			List<Long> regionIds = regionService.getIdsByReferenceDtos(caseCriteria.getRegions());
+			extendFilterBuilderWithSimpleValue(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.REGION_ID,
+				regionIds,
+				entry -> entry);
+		}
+		if (CollectionUtils.isNotEmpty(caseCriteria.getDistricts())) {
+			List<Long> districtIds = districtService.getIdsByReferenceDtos(caseCriteria.getDistricts());
+			extendFilterBuilderWithSimpleValue(
+				filterBuilder,
+				filterBuilderParameters,
+				cube,
+				CaseStatisticsCube.DISTRICT_ID,
+				districtIds,
+				entry -> entry);
+		}
+
+		if (filterBuilder.length() > 0) {
+			filterBuilder.insert(0, " WHERE ");
+		}
+
+		String groupingSelectQueryA = groupingA != null ? buildCubeGroupingSelectQuery(groupingA, subGroupingA, GROUP_A_ALIAS) : null;
+		String groupingSelectQueryB = groupingB != null ? buildCubeGroupingSelectQuery(groupingB, subGroupingB, GROUP_B_ALIAS) : null;
+
+		String query = buildGroupedCountQuery(
+			"COALESCE(SUM(" + cube + "." + CaseStatisticsCube.CASE_COUNT + "), 0)",
+			cube + filterBuilder,
+			groupingSelectQueryA,
+			groupingSelectQueryB);
+
+		return new ImmutablePair<String, List<Object>>(query, filterBuilderParameters);
 	}
 
 	/**
@@ -1094,6 +1323,107 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		filterBuilder.append(tableName).append(".").append(fieldName).append(" LIKE ").append("'%").append(filterValue).append("%'");
 	}
 
+	private void extendFilterBuilderWithSex(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		StatisticsCaseCriteria caseCriteria,
+		String tableName,
+		String fieldName) {
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getSexes()) || caseCriteria.isSexUnknown() != null) {
+			if (filterBuilder.length() > 0) {
+				filterBuilder.append(" AND ");
+			}
+
+			filterBuilder.append("(");
+			StringBuilder subFilterBuilder = new StringBuilder();
+
+			if (CollectionUtils.isNotEmpty(caseCriteria.getSexes())) {
+				extendFilterBuilderWithSimpleValue(
+					subFilterBuilder,
+					filterBuilderParameters,
+					tableName,
+					fieldName,
+					caseCriteria.getSexes(),
+					entry -> entry.name());
+			}
+
+			if (caseCriteria.isSexUnknown() != null) {
+				if (subFilterBuilder.length() > 0) {
+					subFilterBuilder.append(" OR ");
+				}
+				subFilterBuilder.append(tableName)
+					.append(".")
+					.append(fieldName)
+					.append(" IS ")
+					.append(caseCriteria.isSexUnknown() == true ? "NULL" : "NOT NULL");
+			}
+
+			filterBuilder.append(subFilterBuilder);
+			filterBuilder.append(")");
+		}
+	}
+
+	private void extendFilterBuilderWithAgeIntervals(
+		StringBuilder filterBuilder,
+		List<Object> filterBuilderParameters,
+		StatisticsCaseCriteria caseCriteria,
+		String tableName,
+		String fieldName) {
+
+		if (CollectionUtils.isNotEmpty(caseCriteria.getAgeIntervals())) {
+			if (filterBuilder.length() > 0) {
+				filterBuilder.append(" AND ");
+			}
+
+			filterBuilder.append("(");
+			StringBuilder subFilterBuilder = new StringBuilder();
+
+			Integer upperRangeBoundary = null;
+			boolean appendUnknown = false;
+			List<Integer> agesList = new ArrayList<Integer>();
+			for (IntegerRange range : caseCriteria.getAgeIntervals()) {
+				if (range.getTo() == null) {
+					if (range.getFrom() == null) {
+						appendUnknown = true;
+					} else {
+						upperRangeBoundary = range.getFrom();
+					}
+				} else {
+					agesList.addAll(IntStream.rangeClosed(range.getFrom(), range.getTo()).boxed().collect(Collectors.toList()));
+				}
+			}
+
+			if (agesList.size() > 0) {
+				extendFilterBuilderWithSimpleValue(
+					subFilterBuilder,
+					filterBuilderParameters,
+					tableName,
+					fieldName,
+					agesList,
+					value -> value);
+			}
+
+			if (upperRangeBoundary != null) {
+				if (subFilterBuilder.length() > 0) {
+					subFilterBuilder.append(" OR ");
+				}
+				subFilterBuilder.append(tableName).append(".").append(fieldName).append(" >= ?").append(filterBuilderParameters.size() + 1);
+				filterBuilderParameters.add(upperRangeBoundary);
+			}
+
+			if (appendUnknown) {
+				if (subFilterBuilder.length() > 0) {
+					subFilterBuilder.append(" OR ");
+				}
+				subFilterBuilder.append(tableName).append(".").append(fieldName).append(" IS NULL");
+			}
+
+			filterBuilder.append(subFilterBuilder);
+			filterBuilder.append(")");
+		}
+	}
+
 	private <T> StringBuilder extendFilterBuilderWithSimpleValue(
 		StringBuilder filterBuilder,
 		List<Object> filterBuilderParameters,
@@ -1298,61 +1628,13 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		case AGE_INTERVAL_CHILDREN_FINE:
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 		case AGE_INTERVAL_BASIC:
-			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, groupAlias);
+			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, Case.TABLE_NAME + "." + Case.CASE_AGE, groupAlias);
 			break;
 		case ONSET_TIME:
-			switch (subGrouping) {
-			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
-				break;
-			default:
-				throw new IllegalArgumentException(subGrouping.toString());
-			}
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, Symptoms.TABLE_NAME, Symptoms.ONSET_DATE, groupAlias);
 			break;
 		case REPORT_TIME:
-			switch (subGrouping) {
-			case YEAR:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "YEAR", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case QUARTER:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "QUARTER", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case MONTH:
-				extendGroupingBuilderWithDate(groupingSelectPartBuilder, "MONTH", Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case EPI_WEEK:
-				extendGroupingBuilderWithEpiWeek(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case QUARTER_OF_YEAR:
-				extendGroupingBuilderWithQuarterOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case MONTH_OF_YEAR:
-				extendGroupingBuilderWithMonthOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			case EPI_WEEK_OF_YEAR:
-				extendGroupingBuilderWithEpiWeekOfYear(groupingSelectPartBuilder, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
-				break;
-			default:
-				throw new IllegalArgumentException(subGrouping.toString());
-			}
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, Case.TABLE_NAME, Case.REPORT_DATE, groupAlias);
 			break;
 		case REPORTING_USER_ROLE:
 			groupingSelectPartBuilder.append(User.TABLE_NAME_USERROLES)
@@ -1367,6 +1649,90 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 		return groupingSelectPartBuilder.toString();
 	}
 
+	private String buildCubeGroupingSelectQuery(StatisticsCaseAttribute grouping, StatisticsCaseSubAttribute subGrouping, String groupAlias) {
+
+		String cube = CaseStatisticsCube.TABLE_NAME;
+		StringBuilder groupingSelectPartBuilder = new StringBuilder();
+		switch (grouping) {
+		case SEX:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCube.SEX).append(" AS ").append(groupAlias);
+			break;
+		case DISEASE:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCube.DISEASE).append(" AS ").append(groupAlias);
+			break;
+		case CLASSIFICATION:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCube.CASE_CLASSIFICATION).append(" AS ").append(groupAlias);
+			break;
+		case OUTCOME:
+			groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCube.OUTCOME).append(" AS ").append(groupAlias);
+			break;
+		case JURISDICTION: {
+			switch (subGrouping) {
+			case REGION:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCube.REGION_ID).append(" AS ").append(groupAlias);
+				break;
+			case DISTRICT:
+				groupingSelectPartBuilder.append(cube).append(".").append(CaseStatisticsCube.DISTRICT_ID).append(" AS ").append(groupAlias);
+				break;
+			default:
+				throw new IllegalArgumentException(subGrouping.toString());
+			}
+			break;
+		}
+		case AGE_INTERVAL_1_YEAR:
+		case AGE_INTERVAL_5_YEARS:
+		case AGE_INTERVAL_CHILDREN_COARSE:
+		case AGE_INTERVAL_CHILDREN_FINE:
+		case AGE_INTERVAL_CHILDREN_MEDIUM:
+		case AGE_INTERVAL_BASIC:
+			extendGroupingBuilderWithAgeInterval(groupingSelectPartBuilder, grouping, cube + "." + CaseStatisticsCube.CASE_AGE, groupAlias);
+			break;
+		case ONSET_TIME:
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, cube, CaseStatisticsCube.ONSET_DATE, groupAlias);
+			break;
+		case REPORT_TIME:
+			extendGroupingBuilderWithTime(groupingSelectPartBuilder, subGrouping, cube, CaseStatisticsCube.REPORT_DATE, groupAlias);
+			break;
+		default:
+			throw new IllegalArgumentException(grouping.toString());
+		}
+		return groupingSelectPartBuilder.toString();
+	}
+
+	private void extendGroupingBuilderWithTime(
+		StringBuilder groupingBuilder,
+		StatisticsCaseSubAttribute subGrouping,
+		String tableName,
+		String fieldName,
+		String groupAlias) {
+
+		switch (subGrouping) {
+		case YEAR:
+			extendGroupingBuilderWithDate(groupingBuilder, "YEAR", tableName, fieldName, groupAlias);
+			break;
+		case QUARTER:
+			extendGroupingBuilderWithDate(groupingBuilder, "QUARTER", tableName, fieldName, groupAlias);
+			break;
+		case MONTH:
+			extendGroupingBuilderWithDate(groupingBuilder, "MONTH", tableName, fieldName, groupAlias);
+			break;
+		case EPI_WEEK:
+			extendGroupingBuilderWithEpiWeek(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		case QUARTER_OF_YEAR:
+			extendGroupingBuilderWithQuarterOfYear(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		case MONTH_OF_YEAR:
+			extendGroupingBuilderWithMonthOfYear(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		case EPI_WEEK_OF_YEAR:
+			extendGroupingBuilderWithEpiWeekOfYear(groupingBuilder, tableName, fieldName, groupAlias);
+			break;
+		default:
+			throw new IllegalArgumentException(subGrouping.toString());
+		}
+	}
+
 	private void extendGroupingBuilderWithDate(
 		StringBuilder groupingBuilder,
 		String dateToExtract,
@@ -1431,16 +1797,18 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append(groupAlias);
 	}
 
-	private void extendGroupingBuilderWithAgeInterval(StringBuilder groupingBuilder, StatisticsCaseAttribute grouping, String groupAlias) {
+	private void extendGroupingBuilderWithAgeInterval(
+		StringBuilder groupingBuilder,
+		StatisticsCaseAttribute grouping,
+		String ageField,
+		String groupAlias) {
 
 		groupingBuilder.append("CASE ");
 		switch (grouping) {
 		case AGE_INTERVAL_1_YEAR:
 			for (int i = 0; i < 80; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
-					.append(".")
-					.append(Case.CASE_AGE)
+					.append(ageField)
 					.append(" = ")
 					.append(i < 10 ? "0" + i : i)
 					.append(" THEN ")
@@ -1451,24 +1819,22 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			break;
 		case AGE_INTERVAL_5_YEARS:
 			for (AgeGroup ageGroup : AgeGroup.values()) {
-				addAgeGroupToStringBuilder(groupingBuilder, ageGroup);
+				addAgeGroupToStringBuilder(groupingBuilder, ageField, ageGroup);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_COARSE:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 14);
+			addAgeIntervalToStringBuilder(groupingBuilder, ageField, 0, 14);
 			for (int i = 15; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageField, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageField, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_FINE:
 			for (int i = 0; i < 5; i++) {
 				groupingBuilder.append("WHEN ")
-					.append(Case.TABLE_NAME)
-					.append(".")
-					.append(Case.CASE_AGE)
+					.append(ageField)
 					.append(" = ")
 					.append(i)
 					.append(" THEN ")
@@ -1479,44 +1845,42 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 					.append("' ");
 			}
 			for (int i = 5; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageField, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageField, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_CHILDREN_MEDIUM:
 			for (int i = 0; i < 30; i += 5) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 4);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageField, i, 4);
 			}
 			for (int i = 30; i < 80; i += 10) {
-				addAgeIntervalToStringBuilder(groupingBuilder, i, 9);
+				addAgeIntervalToStringBuilder(groupingBuilder, ageField, i, 9);
 			}
 			break;
 		case AGE_INTERVAL_BASIC:
-			addAgeIntervalToStringBuilder(groupingBuilder, 0, 0);
-			addAgeIntervalToStringBuilder(groupingBuilder, 1, 3);
-			addAgeIntervalToStringBuilder(groupingBuilder, 5, 9);
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 15 THEN '15+' ");
+			addAgeIntervalToStringBuilder(groupingBuilder, ageField, 0, 0);
+			addAgeIntervalToStringBuilder(groupingBuilder, ageField, 1, 3);
+			addAgeIntervalToStringBuilder(groupingBuilder, ageField, 5, 9);
+			groupingBuilder.append("WHEN ").append(ageField).append(" >= 15 THEN '15+' ");
 			break;
 		default:
 			throw new IllegalArgumentException(grouping.toString());
 		}
 
 		if (grouping != StatisticsCaseAttribute.AGE_INTERVAL_BASIC && grouping != StatisticsCaseAttribute.AGE_INTERVAL_5_YEARS) {
-			groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE).append(" >= 80 THEN '80+' ");
+			groupingBuilder.append("WHEN ").append(ageField).append(" >= 80 THEN '80+' ");
 		}
 		groupingBuilder.append("ELSE NULL END AS " + groupAlias);
 	}
 
-	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, int number, int increase) {
+	private void addAgeIntervalToStringBuilder(StringBuilder groupingBuilder, String ageField, int number, int increase) {
 
 		String lowerNumberString = number < 10 ? "0" + number : String.valueOf(number);
 		String higherNumberString = number + increase < 10 ? "0" + (number + increase) : String.valueOf(number + increase);
 		groupingBuilder.append("WHEN ")
-			.append(Case.TABLE_NAME)
-			.append(".")
-			.append(Case.CASE_AGE)
+			.append(ageField)
 			.append(" BETWEEN ")
 			.append(number)
 			.append(" AND ")
@@ -1528,10 +1892,10 @@ public class CaseStatisticsFacadeEjb implements CaseStatisticsFacade {
 			.append("' ");
 	}
 
-	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, AgeGroup ageGroup) {
+	private void addAgeGroupToStringBuilder(StringBuilder groupingBuilder, String ageField, AgeGroup ageGroup) {
 
 		IntegerRange ageRange = ageGroup.toIntegerRange();
-		groupingBuilder.append("WHEN ").append(Case.TABLE_NAME).append(".").append(Case.CASE_AGE);
+		groupingBuilder.append("WHEN ").append(ageField);
 		if (ageRange.getTo() == null) {
 			groupingBuilder.append(" >= ").append(ageRange.getFrom());
 		} else {
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+
+/**
+ * The last epid number suffix assigned for an epid number prefix (country, region, district and year) and disease. The row
+ * is locked while a suffix is allocated, see {@link EpidNumberCounterService}.
+ */
+@Entity
+@Table(name = EpidNumberCounter.TABLE_NAME,
+	uniqueConstraints = @UniqueConstraint(columnNames = {
+		EpidNumberCounter.PREFIX,
+		EpidNumberCounter.DISEASE }))
+public class EpidNumberCounter extends AbstractDomainObject {
+
+	private static final long serialVersionUID = 4712399586623052881L;
+
+	public static final String TABLE_NAME = "epidnumbercounter";
+
+	public static final String PREFIX = "prefix";
+	public static final String DISEASE = "disease";
+	public static final String LAST_SUFFIX = "lastSuffix";
+
+	private String prefix;
+	private Disease disease;
+	private int lastSuffix;
+
+	@Column(nullable = false, length = COLUMN_LENGTH_DEFAULT)
+	public String getPrefix() {
+		return prefix;
+	}
+
+	public void setPrefix(String prefix) {
+		this.prefix = prefix;
+	}
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	public Disease getDisease() {
+		return disease;
+	}
+
+	public void setDisease(Disease disease) {
+		this.disease = disease;
+	}
+
+	@Column(nullable = false)
+	public int getLastSuffix() {
+		return lastSuffix;
+	}
+
+	public void setLastSuffix(int lastSuffix) {
+		this.lastSuffix = lastSuffix;
+	}
+}
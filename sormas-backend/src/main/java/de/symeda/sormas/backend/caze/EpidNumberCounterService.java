@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.LockModeType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+
+/**
+ * Serializes the allocation of epid number suffixes per prefix and disease. The suffix following the highest suffix of the
+ * existing cases is allocated while the {@link EpidNumberCounter} of the prefix and disease is locked, and the lock is held
+ * until the transaction that saves the case ends. Concurrent allocations for the same prefix and disease therefore see the
+ * number of the case saved before and never get the same suffix, while suffixes of deleted or renumbered cases are reused
+ * like before.
+ */
+@Stateless
+@LocalBean
+public class EpidNumberCounterService extends AbstractAdoService<EpidNumberCounter> {
+
+	public EpidNumberCounterService() {
+		super(EpidNumberCounter.class);
+	}
+
+	/**
+	 * Locks the counter of the prefix and disease until the current transaction ends and allocates the suffix following
+	 * {@code highestExistingSuffix}, which is only determined once the lock is held.
+	 * 
+	 * @return The allocated suffix or {@code null} if there is no counter for the prefix and disease yet.
+	 */
+	@TransactionAttribute(TransactionAttributeType.MANDATORY)
+	public Integer allocate(String prefix, Disease disease, IntSupplier highestExistingSuffix) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<EpidNumberCounter> cq = cb.createQuery(getElementClass());
+		Root<EpidNumberCounter> from = cq.from(getElementClass());
+		cq.where(buildFilter(cb, from, prefix, disease));
+
+		List<EpidNumberCounter> counters = em.createQuery(cq).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+		if (counters.isEmpty()) {
+			return null;
+		}
+
+		EpidNumberCounter counter = counters.get(0);
+		int suffix = highestExistingSuffix.getAsInt() + 1;
+		counter.setLastSuffix(suffix);
+		return suffix;
+	}
+
+	/**
+	 * Creates the counter of the prefix and disease. Fails if another transaction has created it in the meantime.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public void create(String prefix, Disease disease) {
+
+		EpidNumberCounter counter = new EpidNumberCounter();
+		counter.setPrefix(prefix);
+		counter.setDisease(disease);
+		persist(counter);
+		em.flush();
+	}
+
+	private Predicate buildFilter(CriteriaBuilder cb, Root<EpidNumberCounter> from, String prefix, Disease disease) {
+		return cb.and(cb.equal(from.get(EpidNumberCounter.PREFIX), prefix), cb.equal(from.get(EpidNumberCounter.DISEASE), disease));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<EpidNumberCounter, EpidNumberCounter> from) {
+		// A user should not query for this
+		throw new UnsupportedOperationException();
+	}
+}
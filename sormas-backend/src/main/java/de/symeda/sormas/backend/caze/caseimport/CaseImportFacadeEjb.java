@@ -65,13 +65,8 @@ import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
-import de.symeda.sormas.backend.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
-import de.symeda.sormas.backend.infrastructure.PointOfEntryFacadeEjb.PointOfEntryFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.ImportInfrastructureNameCache;
 import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
-import de.symeda.sormas.backend.region.AreaFacadeEjb.AreaFacadeEjbLocal;
-import de.symeda.sormas.backend.region.CommunityFacadeEjb.CommunityFacadeEjbLocal;
-import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
-import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
 import de.symeda.sormas.backend.sample.PathogenTestFacadeEjb.PathogenTestFacadeEjbLocal;
 import de.symeda.sormas.backend.sample.SampleFacadeEjb.SampleFacadeEjbLocal;
 import de.symeda.sormas.backend.user.UserFacadeEjb.UserFacadeEjbLocal;
@@ -97,17 +92,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 	@EJB
 	private UserFacadeEjbLocal userFacade;
 	@EJB
-	private AreaFacadeEjbLocal areaFacade;
-	@EJB
-	private RegionFacadeEjbLocal regionFacade;
-	@EJB
-	private DistrictFacadeEjbLocal districtFacade;
-	@EJB
-	private CommunityFacadeEjbLocal communityFacade;
-	@EJB
-	private FacilityFacadeEjbLocal facilityFacade;
-	@EJB
-	private PointOfEntryFacadeEjbLocal pointOfEntryFacade;
+	private ImportInfrastructureNameCache infrastructureNameCache;
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
@@ -395,8 +380,8 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath)) {
 						continue;
 					} else if (propertyType.isAssignableFrom(DistrictReferenceDto.class)) {
-						List<DistrictReferenceDto> district = districtFacade
-							.getByName(entry, ImportHelper.getRegionBasedOnDistrict(pd.getName(), caze, null, person, currentElement), false);
+						List<DistrictReferenceDto> district = infrastructureNameCache.getResolver()
+							.getDistrictsByName(entry, ImportHelper.getRegionBasedOnDistrict(pd.getName(), caze, null, person, currentElement));
 						if (district.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties
@@ -408,8 +393,8 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 							pd.getWriteMethod().invoke(currentElement, district.get(0));
 						}
 					} else if (propertyType.isAssignableFrom(CommunityReferenceDto.class)) {
-						List<CommunityReferenceDto> community = communityFacade
-							.getByName(entry, ImportHelper.getDistrictBasedOnCommunity(pd.getName(), caze, person, currentElement), false);
+						List<CommunityReferenceDto> community = infrastructureNameCache.getResolver()
+							.getCommunitiesByName(entry, ImportHelper.getDistrictBasedOnCommunity(pd.getName(), caze, person, currentElement));
 						if (community.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(
@@ -425,12 +410,12 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 					} else if (propertyType.isAssignableFrom(FacilityReferenceDto.class)) {
 						DataHelper.Pair<DistrictReferenceDto, CommunityReferenceDto> infrastructureData =
 							ImportHelper.getDistrictAndCommunityBasedOnFacility(pd.getName(), caze, person, currentElement);
-						List<FacilityReferenceDto> facilities = facilityFacade.getByNameAndType(
-							entry,
-							infrastructureData.getElement0(),
-							infrastructureData.getElement1(),
-							getTypeOfFacility(pd.getName(), currentElement),
-							false);
+						List<FacilityReferenceDto> facilities = infrastructureNameCache.getResolver()
+							.getFacilitiesByNameAndType(
+								entry,
+								infrastructureData.getElement0(),
+								infrastructureData.getElement1(),
+								getTypeOfFacility(pd.getName(), currentElement));
 
 						if (facilities.isEmpty()) {
 							if (infrastructureData.getElement1() != null) {
@@ -458,7 +443,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 							pd.getWriteMethod().invoke(currentElement, facilities.get(0));
 						}
 					} else if (propertyType.isAssignableFrom(PointOfEntryReferenceDto.class)) {
-						List<PointOfEntryReferenceDto> pointOfEntry = pointOfEntryFacade.getByName(entry, caze.getDistrict(), false);
+						List<PointOfEntryReferenceDto> pointOfEntry = infrastructureNameCache.getResolver().getPointsOfEntryByName(entry, caze.getDistrict());
 						if (pointOfEntry.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(
@@ -519,7 +504,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath)) {
 						continue;
 					} else if (propertyType.isAssignableFrom(FacilityReferenceDto.class)) {
-						List<FacilityReferenceDto> lab = facilityFacade.getLaboratoriesByName(entry, false);
+						List<FacilityReferenceDto> lab = infrastructureNameCache.getResolver().getLaboratoriesByName(entry);
 						if (lab.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -600,7 +585,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 			return true;
 		}
 		if (propertyType.isAssignableFrom(AreaReferenceDto.class)) {
-			List<AreaReferenceDto> areas = areaFacade.getByName(entry, false);
+			List<AreaReferenceDto> areas = infrastructureNameCache.getResolver().getAreasByName(entry);
 			if (areas.isEmpty()) {
 				throw new ImportErrorException(
 					I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -613,7 +598,7 @@ public class CaseImportFacadeEjb implements CaseImportFacade {
 			}
 		}
 		if (propertyType.isAssignableFrom(RegionReferenceDto.class)) {
-			List<RegionReferenceDto> region = regionFacade.getByName(entry, false);
+			List<RegionReferenceDto> region = infrastructureNameCache.getResolver().getRegionsByName(entry);
 			if (region.isEmpty()) {
 				throw new ImportErrorException(
 					I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
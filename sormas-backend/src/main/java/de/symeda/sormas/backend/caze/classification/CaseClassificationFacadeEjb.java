@@ -19,14 +19,18 @@ package de.symeda.sormas.backend.caze.classification;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseClassification;
@@ -57,11 +61,19 @@ import de.symeda.sormas.api.sample.PathogenTestDto;
 import de.symeda.sormas.api.sample.PathogenTestType;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
 import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseFacadeEjb;
+import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.person.PersonFacadeEjb;
 import de.symeda.sormas.backend.person.PersonFacadeEjb.PersonFacadeEjbLocal;
+import de.symeda.sormas.backend.sample.PathogenTest;
+import de.symeda.sormas.backend.sample.PathogenTestFacadeEjb;
+import de.symeda.sormas.backend.sample.PathogenTestService;
 
 /**
- * Stateless instead of Singleton. It's ok to have multiple instances with an
- * individual cache.
+ * Stateless instead of Singleton. The criteria are built once and shared by all
+ * instances, they are not changed after being built.
  * 
  * @author Martin Wahnschaffe
  */
@@ -70,18 +82,32 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 
 	@EJB
 	private PersonFacadeEjbLocal personFacade;
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private CaseFacadeEjbLocal caseFacade;
+	@EJB
+	private PathogenTestService pathogenTestService;
 
-	/** local cache */
-	private Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap = new HashMap<>();
+	/**
+	 * Shared cache. The criteria look up the getters of the properties they evaluate once and reuse them for all further
+	 * evaluations.
+	 */
+	private static final Map<Disease, DiseaseClassificationCriteriaDto> criteriaMap = new EnumMap<>(Disease.class);
+
+	static {
+		buildCriteria();
+	}
 
 	@Override
 	public CaseClassification getClassification(CaseDataDto caze, List<PathogenTestDto> sampleTests) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
 		PersonDto person = personFacade.getPersonByUuid(caze.getPerson().getUuid());
+		return getClassification(caze, person, sampleTests);
+	}
+
+	public CaseClassification getClassification(CaseDataDto caze, PersonDto person, List<PathogenTestDto> sampleTests) {
+
 		DiseaseClassificationCriteriaDto criteria = criteriaMap.get(caze.getDisease());
 
 		if (criteria != null && criteria.getConfirmedCriteria() != null && criteria.getConfirmedCriteria().eval(caze, person, sampleTests)) {
@@ -97,13 +123,46 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		}
 	}
 
+	/**
+	 * Evaluates the classification of the given cases and updates the cases whose system classification has changed with a
+	 * bulk update per classification. Runs in its own transaction, so only the cases of one chunk are locked at a time when
+	 * all cases are reclassified. The responsible supervisors are notified about each case whose classification has changed.
+	 * 
+	 * @return The number of cases with a changed system classification.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public int reclassifyCases(List<Long> caseIds) {
+
+		Map<Long, List<PathogenTest>> pathogenTestsByCase = pathogenTestService.getAllByCaseIds(caseIds);
+		Map<CaseClassification, List<Case>> changedCases = new EnumMap<>(CaseClassification.class);
+		List<Case> reclassifiedCases = new ArrayList<>();
+
+		for (Case caze : caseService.getByIdsForClassification(caseIds)) {
+			List<PathogenTestDto> sampleTests = pathogenTestsByCase.getOrDefault(caze.getId(), Collections.emptyList())
+				.stream()
+				.map(PathogenTestFacadeEjb::toDto)
+				.collect(Collectors.toList());
+			CaseClassification classification =
+				getClassification(CaseFacadeEjb.toDto(caze), PersonFacadeEjb.toDto(caze.getPerson()), sampleTests);
+
+			if (classification != caze.getSystemCaseClassification()) {
+				changedCases.computeIfAbsent(classification, c -> new ArrayList<>()).add(caze);
+				if (classification != caze.getCaseClassification()) {
+					reclassifiedCases.add(caze);
+				}
+			}
+		}
+
+		changedCases.forEach((classification, cases) -> caseService.updateSystemClassification(cases, classification));
+		// the cases carry their new classification after the update
+		reclassifiedCases.forEach(caze -> caseFacade.sendClassificationChangedMessages(caze));
+
+		return changedCases.values().stream().mapToInt(List::size).sum();
+	}
+
 	@Override
 	public List<DiseaseClassificationCriteriaDto> getAllSince(Date changeDate) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
 		List<DiseaseClassificationCriteriaDto> results = new ArrayList<>();
 		for (DiseaseClassificationCriteriaDto criteria : criteriaMap.values()) {
 			if (criteria.getChangeDate().after(changeDate)) {
@@ -117,10 +176,6 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 	@Override
 	public DiseaseClassificationCriteriaDto getByDisease(Disease disease) {
 
-		if (criteriaMap.isEmpty()) {
-			buildCriteria();
-		}
-
 		if (criteriaMap.containsKey(disease)) {
 			return criteriaMap.get(disease);
 		} else {
@@ -128,7 +183,7 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 		}
 	}
 
-	private void buildCriteria() {
+	private static void buildCriteria() {
 
 		ClassificationCriteriaDto suspect;
 		ClassificationCriteriaDto probable;
@@ -403,11 +458,11 @@ public class CaseClassificationFacadeEjb implements CaseClassificationFacade {
 			extracted(Disease.CONGENITAL_RUBELLA));
 	}
 
-	private ClassificationAllOfCriteriaDto extracted(Disease disease) {
+	private static ClassificationAllOfCriteriaDto extracted(Disease disease) {
 		return allOf(negativeTestResult(disease), otherPositiveTestResult(disease));
 	}
 
-	private void addCriteria(
+	private static void addCriteria(
 		Disease disease,
 		Date changeDate,
 		ClassificationCriteriaDto suspect,
@@ -17,10 +17,15 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.common;
 
+import java.io.Serializable;
 import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -39,6 +44,7 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.From;
+import javax.persistence.criteria.Order;
 import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
@@ -50,6 +56,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.caze.Case;
@@ -60,6 +69,11 @@ import de.symeda.sormas.backend.util.ModelConstants;
 
 public abstract class AbstractAdoService<ADO extends AbstractDomainObject> implements AdoService<ADO> {
 
+	/**
+	 * Column of aggregate roots that holds the latest change date of their owned parts
+	 */
+	public static final String AGGREGATE_CHANGE_DATE_COLUMN = "aggregatechangedate";
+
 	// protected to be used by implementations
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -243,6 +257,74 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		return createChangeDateFilter(cb, from, DateHelper.toTimestampUpper(date));
 	}
 
+	/**
+	 * Keyset filter that continues a synchronization run behind the position of {@code cursor}.
+	 * Has to be combined with {@link #orderBySyncCursor(CriteriaBuilder, From)}.
+	 */
+	public static Predicate createSyncCursorFilter(CriteriaBuilder cb, From<?, ? extends AbstractDomainObject> from, SyncCursor cursor) {
+
+		Path<Timestamp> changeDatePath = from.get(AbstractDomainObject.CHANGE_DATE);
+		return cb.or(
+			cb.greaterThan(changeDatePath, cursor.getChangeDate()),
+			cb.and(cb.equal(changeDatePath, cursor.getChangeDate()), cb.greaterThan(from.<Long> get(AbstractDomainObject.ID), cursor.getId())));
+	}
+
+	/**
+	 * Ascending order by {@code (changeDate, id)}: Entities changed during a synchronization run move to the end and are
+	 * delivered again instead of being skipped.
+	 */
+	public static List<Order> orderBySyncCursor(CriteriaBuilder cb, From<?, ? extends AbstractDomainObject> from) {
+		return Arrays.asList(cb.asc(from.get(AbstractDomainObject.CHANGE_DATE)), cb.asc(from.get(AbstractDomainObject.ID)));
+	}
+
+	/**
+	 * Converts one page of entities. The continuation token points behind the last entity, unless {@code page} is the last one.
+	 */
+	public static <E extends AbstractDomainObject, T extends Serializable> SyncPage<T> toSyncPage(
+		List<E> page,
+		Integer pageSize,
+		Function<E, T> converter) {
+
+		String continuationToken = null;
+		if (pageSize != null && page.size() >= pageSize) {
+			E last = page.get(page.size() - 1);
+			continuationToken = new SyncCursor(last.getChangeDate(), last.getId()).toToken();
+		}
+		return new SyncPage<>(page.stream().map(converter).collect(Collectors.toList()), continuationToken);
+	}
+
+	/**
+	 * Orders the entities by {@code (changeDate, id)} and cuts the list to {@code pageSize}. Used by services that merge
+	 * the results of several queries, each of which already respected {@code cursor} and {@code pageSize}.
+	 */
+	public static <T extends AbstractDomainObject> List<T> mergeSyncPages(Stream<T> entities, Integer pageSize) {
+
+		Stream<T> sorted =
+			entities.distinct().sorted(Comparator.comparing(AbstractDomainObject::getChangeDate).thenComparing(AbstractDomainObject::getId));
+		if (pageSize != null) {
+			sorted = sorted.limit(pageSize);
+		}
+		return sorted.collect(Collectors.toList());
+	}
+
+	/**
+	 * Keyset filter for exports sorted by {@code sortDate} and {@code id}, both descending.
+	 * 
+	 * @see ExportCursor
+	 */
+	public static Predicate createExportCursorFilter(
+		CriteriaBuilder cb,
+		Expression<? extends Date> sortDate,
+		Expression<Long> id,
+		ExportCursor after) {
+
+		if (after.getSortDate() == null) {
+			return cb.lessThan(id, after.getId());
+		}
+
+		return cb.or(cb.lessThan(sortDate, after.getSortDate()), cb.and(cb.equal(sortDate, after.getSortDate()), cb.lessThan(id, after.getId())));
+	}
+
 	public Predicate recentDateFilter(CriteriaBuilder cb, Date date, Path<Date> datePath, int amountOfDays) {
 		return date != null ? cb.between(datePath, DateHelper.subtractDays(date, amountOfDays), DateHelper.addDays(date, amountOfDays)) : null;
 	}
@@ -377,6 +459,77 @@ public abstract class AbstractAdoService<ADO extends AbstractDomainObject> imple
 		return cb.and(cb.greaterThan(path, date), cb.isNotNull(path));
 	}
 
+	/**
+	 * Raises the aggregate change date of an aggregate root to the latest change date of its owned parts, if one of them has
+	 * been changed after the root itself. Uses a bulk update, so the change date of the root stays untouched. Has to be
+	 * called after the parts have been flushed, because their change dates are assigned on flush.
+	 */
+	protected void updateAggregateChangeDate(String tableName, ADO root, Collection<? extends AbstractDomainObject> parts) {
+
+		Timestamp latestPartChangeDate =
+			parts.stream().map(AbstractDomainObject::getChangeDate).filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null);
+		if (latestPartChangeDate == null || root.getId() == null || !latestPartChangeDate.after(root.getChangeDate())) {
+			return;
+		}
+
+		em.createNativeQuery(
+			"UPDATE " + tableName + " SET " + AGGREGATE_CHANGE_DATE_COLUMN + " = ?1 WHERE id = ?2 AND (" + AGGREGATE_CHANGE_DATE_COLUMN
+				+ " IS NULL OR " + AGGREGATE_CHANGE_DATE_COLUMN + " < ?1)")
+			.setParameter(1, latestPartChangeDate)
+			.setParameter(2, root.getId())
+			.executeUpdate();
+	}
+
+	/**
+	 * @return Whether the attribute of the entity has been loaded in the current persistence context. Attributes that have
+	 *         not been loaded cannot have been changed.
+	 */
+	protected boolean isLoaded(Object entity, String attributeName) {
+		return entity != null && em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(entity, attributeName);
+	}
+
+	/**
+	 * Adds the part referenced by the attribute, if it has been loaded.
+	 * 
+	 * @return The added part or null
+	 */
+	protected <E, P extends AbstractDomainObject> P addLoadedPart(
+		Collection<AbstractDomainObject> parts,
+		E entity,
+		String attributeName,
+		Function<E, P> getter) {
+
+		if (isLoaded(entity, attributeName)) {
+			P part = getter.apply(entity);
+			if (part != null && em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(part)) {
+				parts.add(part);
+				return part;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the parts of the collection attribute, if it has been loaded.
+	 * 
+	 * @return The added parts
+	 */
+	protected <E, P extends AbstractDomainObject> Collection<P> addLoadedParts(
+		Collection<AbstractDomainObject> parts,
+		E entity,
+		String attributeName,
+		Function<E, ? extends Collection<P>> getter) {
+
+		if (isLoaded(entity, attributeName)) {
+			Collection<P> collection = getter.apply(entity);
+			if (collection != null) {
+				parts.addAll(collection);
+				return collection;
+			}
+		}
+		return Collections.emptyList();
+	}
+
 	/**
 	 * @return {@code true}, if the system itself is the executing user.
 	 */
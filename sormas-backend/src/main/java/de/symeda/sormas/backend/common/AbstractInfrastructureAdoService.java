@@ -3,7 +3,11 @@ package de.symeda.sormas.backend.common;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.persistence.EntityExistsException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
@@ -12,15 +16,54 @@ import javax.persistence.criteria.Root;
 
 public abstract class AbstractInfrastructureAdoService<ADO extends InfrastructureAdo> extends AbstractAdoService<ADO> {
 
+	/**
+	 * Counts the changes of infrastructure data made through the services, so caches of infrastructure data can tell
+	 * whether they are outdated
+	 */
+	private static final AtomicLong MODIFICATION_COUNT = new AtomicLong();
+
+	@Inject
+	private Event<InfrastructureChangeEvent> infrastructureChangeEvent;
+
 	public AbstractInfrastructureAdoService(Class<ADO> elementClass) {
 		super(elementClass);
 	}
 
+	public static long getModificationCount() {
+		return MODIFICATION_COUNT.get();
+	}
+
+	@Override
+	public void ensurePersisted(ADO ado) throws EntityExistsException {
+
+		MODIFICATION_COUNT.incrementAndGet();
+		super.ensurePersisted(ado);
+		infrastructureChangeEvent.fire(new InfrastructureChangeEvent(getElementClass()));
+	}
+
+	@Override
+	public void persist(ADO persistme) {
+
+		MODIFICATION_COUNT.incrementAndGet();
+		super.persist(persistme);
+		infrastructureChangeEvent.fire(new InfrastructureChangeEvent(getElementClass()));
+	}
+
+	@Override
+	public void delete(ADO deleteme) {
+
+		MODIFICATION_COUNT.incrementAndGet();
+		super.delete(deleteme);
+		infrastructureChangeEvent.fire(new InfrastructureChangeEvent(getElementClass()));
+	}
+
 	public void archive(ADO archiveme) {
 
+		MODIFICATION_COUNT.incrementAndGet();
 		archiveme.setArchived(true);
 		em.persist(archiveme);
 		em.flush();
+		infrastructureChangeEvent.fire(new InfrastructureChangeEvent(getElementClass()));
 	}
 
 	public Predicate createBasicFilter(CriteriaBuilder cb, Root<ADO> root) {
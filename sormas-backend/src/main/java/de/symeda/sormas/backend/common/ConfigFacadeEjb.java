@@ -66,12 +66,12 @@ public class ConfigFacadeEjb implements ConfigFacade {
 	public static final String APP_LEGACY_URL = "app.legacy.url";
 
 	public static final String FEATURE_AUTOMATIC_CASE_CLASSIFICATION = "feature.automaticcaseclassification";
+	public static final String FEATURE_CASE_ACCESS_INDEX = "feature.caseaccessindex";
 
 	public static final String TEMP_FILES_PATH = "temp.path";
 	public static final String GENERATED_FILES_PATH = "generated.path";
 	public static final String CUSTOM_FILES_PATH = "custom.path";
 	public static final String CSV_SEPARATOR = "csv.separator";
-	public static final String RSCRIPT_EXECUTABLE = "rscript.executable";
 
 	public static final String EMAIL_SENDER_ADDRESS = "email.sender.address";
 	public static final String EMAIL_SENDER_NAME = "email.sender.name";
@@ -81,6 +81,9 @@ public class ConfigFacadeEjb implements ConfigFacade {
 
 	public static final String NAME_SIMILARITY_THRESHOLD = "namesimilaritythreshold";
 	public static final String INFRASTRUCTURE_SYNC_THRESHOLD = "infrastructuresyncthreshold";
+	public static final String SYNC_PAGE_SIZE = "sync.pagesize";
+	public static final String EXPORT_BATCH_SIZE = "export.batchsize";
+	public static final String IMPORT_THREAD_COUNT = "import.threadcount";
 
 	public static final String INTERFACE_SYMPTOM_JOURNAL_URL = "interface.symptomjournal.url";
 	public static final String INTERFACE_SYMPTOM_JOURNAL_AUTH_URL = "interface.symptomjournal.authurl";
@@ -268,13 +271,13 @@ public class ConfigFacadeEjb implements ConfigFacade {
 	}
 
 	@Override
-	public String getRScriptExecutable() {
-		return getProperty(RSCRIPT_EXECUTABLE, null);
+	public boolean isFeatureAutomaticCaseClassification() {
+		return getBoolean(FEATURE_AUTOMATIC_CASE_CLASSIFICATION, true);
 	}
 
 	@Override
-	public boolean isFeatureAutomaticCaseClassification() {
-		return getBoolean(FEATURE_AUTOMATIC_CASE_CLASSIFICATION, true);
+	public boolean isFeatureCaseAccessIndex() {
+		return getBoolean(FEATURE_CASE_ACCESS_INDEX, false);
 	}
 
 	@Override
@@ -312,6 +315,21 @@ public class ConfigFacadeEjb implements ConfigFacade {
 		return getInt(INFRASTRUCTURE_SYNC_THRESHOLD, 1000);
 	}
 
+	@Override
+	public int getSyncPageSize() {
+		return getInt(SYNC_PAGE_SIZE, 500);
+	}
+
+	@Override
+	public int getExportBatchSize() {
+		return getInt(EXPORT_BATCH_SIZE, 1000);
+	}
+
+	@Override
+	public int getImportThreadCount() {
+		return getInt(IMPORT_THREAD_COUNT, 1);
+	}
+
 	@Override
 	public char getCsvSeparator() {
 
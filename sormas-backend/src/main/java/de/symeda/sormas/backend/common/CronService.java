@@ -34,11 +34,15 @@ import org.slf4j.LoggerFactory;
 import de.symeda.sormas.api.importexport.ImportExportUtils;
 import de.symeda.sormas.api.task.TaskType;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.auditlog.AuditLogWriter;
+import de.symeda.sormas.backend.caze.CaseAccessIndex;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
+import de.symeda.sormas.backend.caze.CaseStatisticsCube;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.contact.ContactFacadeEjb.ContactFacadeEjbLocal;
 import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
 import de.symeda.sormas.backend.feature.FeatureConfigurationFacadeEjb.FeatureConfigurationFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.InfrastructureSnapshot;
 import de.symeda.sormas.backend.report.WeeklyReportFacadeEjb.WeeklyReportFacadeEjbLocal;
 import de.symeda.sormas.backend.task.TaskFacadeEjb.TaskFacadeEjbLocal;
 
@@ -47,6 +51,9 @@ import de.symeda.sormas.backend.task.TaskFacadeEjb.TaskFacadeEjbLocal;
 public class CronService {
 
 	public static final int TASK_UPDATE_INTERVAL = 10;
+	public static final int CASE_STATISTICS_CUBE_REFRESH_INTERVAL = 15;
+	public static final int INFRASTRUCTURE_SNAPSHOT_REFRESH_INTERVAL = 10;
+	public static final int CASE_ACCESS_INDEX_CHECK_INTERVAL = 30;
 
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -64,12 +71,47 @@ public class CronService {
 	private CaseFacadeEjbLocal caseFacade;
 	@EJB
 	private EventFacadeEjbLocal eventFacade;
+	@EJB
+	private CaseStatisticsCube caseStatisticsCube;
+	@EJB
+	private InfrastructureSnapshot infrastructureSnapshot;
+	@EJB
+	private CaseAccessIndex caseAccessIndex;
+	@EJB
+	private AuditLogWriter auditLogWriter;
+	@EJB
+	private MessageDispatcher messageDispatcher;
 
 	@Schedule(hour = "*", minute = "*/" + TASK_UPDATE_INTERVAL, second = "0", persistent = false)
 	public void sendNewAndDueTaskMessages() {
 		taskFacade.sendNewAndDueTaskMessages();
 	}
 
+	@Schedule(hour = "*", minute = "*/" + CASE_STATISTICS_CUBE_REFRESH_INTERVAL, second = "30", persistent = false)
+	public void refreshCaseStatisticsCube() {
+		caseStatisticsCube.refresh();
+	}
+
+	@Schedule(hour = "*", minute = "*/" + INFRASTRUCTURE_SNAPSHOT_REFRESH_INTERVAL, second = "45", persistent = false)
+	public void refreshInfrastructureSnapshot() {
+		infrastructureSnapshot.refresh();
+	}
+
+	@Schedule(hour = "*", minute = "*/" + CASE_ACCESS_INDEX_CHECK_INTERVAL, second = "50", persistent = false)
+	public void checkCaseAccessIndex() {
+		caseAccessIndex.check();
+	}
+
+	@Schedule(hour = "*", minute = "*", second = "*/" + AuditLogWriter.FLUSH_INTERVAL_SECONDS, persistent = false)
+	public void flushAuditLog() {
+		auditLogWriter.flush();
+	}
+
+	@Schedule(hour = "*", minute = "*", second = "*/" + MessageDispatcher.DISPATCH_INTERVAL_SECONDS, persistent = false)
+	public void dispatchMessages() {
+		messageDispatcher.dispatch();
+	}
+
 	@Schedule(hour = "1", minute = "0", second = "0", persistent = false)
 	public void deleteAllExpiredFeatureConfigurations() {
 
@@ -20,7 +20,6 @@ package de.symeda.sormas.backend.common;
 import java.io.UnsupportedEncodingException;
 
 import javax.annotation.Resource;
-import javax.ejb.Asynchronous;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
@@ -49,7 +48,6 @@ public class EmailService {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
-	@Asynchronous
 	public void sendEmail(String recipient, String subject, String content) throws AddressException, MessagingException {
 
 		Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.mail.MessagingException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.nexmo.client.NexmoClientException;
+
+/**
+ * Sends the {@link OutboxMessage}s that are due. Called periodically by the {@link CronService}, so sending does not delay
+ * the transactions that request the messages.
+ * <p>
+ * All due messages of a channel for the same recipient are combined into one message. The number of messages sent per
+ * run is limited for each channel. Messages that could not be sent are tried again with exponential backoff, see
+ * {@link OutboxMessageService#markFailed(List, String, boolean)}.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class MessageDispatcher {
+
+	public static final int DISPATCH_INTERVAL_SECONDS = 30;
+
+	/**
+	 * Maximum number of emails sent per run
+	 */
+	private static final int MAX_EMAILS_PER_RUN = 50;
+	/**
+	 * Maximum number of SMS sent per run
+	 */
+	private static final int MAX_SMS_PER_RUN = 20;
+	/**
+	 * Maximum number of queued messages combined into the messages of one run
+	 */
+	private static final int MAX_MESSAGES_LOADED_PER_RUN = 1000;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@EJB
+	private OutboxMessageService outboxMessageService;
+	@EJB
+	private EmailService emailService;
+	@EJB
+	private SmsService smsService;
+
+	private final ReentrantLock dispatchLock = new ReentrantLock();
+
+	/**
+	 * Sends the due messages of all channels. Does nothing if the previous run is still sending.
+	 */
+	@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+	public void dispatch() {
+
+		if (!dispatchLock.tryLock()) {
+			return;
+		}
+
+		try {
+			dispatch(MessageType.EMAIL, MAX_EMAILS_PER_RUN);
+			dispatch(MessageType.SMS, MAX_SMS_PER_RUN);
+		} finally {
+			dispatchLock.unlock();
+		}
+	}
+
+	private void dispatch(MessageType messageType, int maxMessages) {
+
+		List<OutboxMessage> dueMessages = outboxMessageService.getDueMessages(messageType, new Date(), MAX_MESSAGES_LOADED_PER_RUN);
+		if (dueMessages.isEmpty()) {
+			return;
+		}
+
+		int sentCount = 0;
+		for (List<OutboxMessage> recipientMessages : groupByRecipient(dueMessages)) {
+			if (sentCount >= maxMessages) {
+				logger.info("Reached the limit of {} messages of type {}, remaining messages are sent with the next run", maxMessages, messageType);
+				break;
+			}
+
+			List<Long> ids = recipientMessages.stream().map(OutboxMessage::getId).collect(Collectors.toList());
+			try {
+				send(messageType, recipientMessages.get(0).getRecipientAddress(), buildSubject(recipientMessages), buildContent(recipientMessages));
+				outboxMessageService.deleteByIds(ids);
+			} catch (NotificationDeliveryFailedException e) {
+				logger.error("Sending {} message(s) of type {} failed: {}", ids.size(), messageType, e.getMessage(), e);
+				boolean retry = !(e.getCause() instanceof InvalidPhoneNumberException);
+				outboxMessageService.markFailed(ids, e.getCause().getMessage(), retry);
+			} catch (RuntimeException e) {
+				logger.error("Sending {} message(s) of type {} failed: {}", ids.size(), messageType, e.getMessage(), e);
+				outboxMessageService.markFailed(ids, e.getMessage(), true);
+			}
+			sentCount++;
+		}
+	}
+
+	/**
+	 * @return The messages grouped by recipient, in the order of the oldest message of each recipient.
+	 */
+	static Collection<List<OutboxMessage>> groupByRecipient(List<OutboxMessage> messages) {
+
+		Map<String, List<OutboxMessage>> messagesByRecipient = new LinkedHashMap<>();
+		for (OutboxMessage message : messages) {
+			messagesByRecipient.computeIfAbsent(message.getRecipientAddress(), k -> new ArrayList<>()).add(message);
+		}
+
+		return messagesByRecipient.values();
+	}
+
+	static String buildSubject(List<OutboxMessage> messages) {
+		return messages.stream().map(OutboxMessage::getSubject).distinct().collect(Collectors.joining(", "));
+	}
+
+	static String buildContent(List<OutboxMessage> messages) {
+		return messages.stream().map(OutboxMessage::getContent).collect(Collectors.joining("\n\n"));
+	}
+
+	private void send(MessageType messageType, String recipientAddress, String subject, String content)
+		throws NotificationDeliveryFailedException {
+
+		try {
+			if (messageType == MessageType.EMAIL) {
+				emailService.sendEmail(recipientAddress, subject, content);
+			} else if (messageType == MessageType.SMS) {
+				smsService.sendSms(recipientAddress, subject, content);
+			}
+		} catch (MessagingException e) {
+			throw new NotificationDeliveryFailedException("Email could not be sent due to an unexpected error.", MessageType.EMAIL, e);
+		} catch (IOException | NexmoClientException e) {
+			throw new NotificationDeliveryFailedException("SMS could not be sent due to an unexpected error.", MessageType.SMS, e);
+		} catch (InvalidPhoneNumberException e) {
+			throw new NotificationDeliveryFailedException("SMS could not be sent because of an invalid phone number.", MessageType.SMS, e);
+		}
+	}
+}
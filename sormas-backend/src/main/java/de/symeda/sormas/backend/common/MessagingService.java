@@ -17,18 +17,15 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.common;
 
-import java.io.IOException;
+import java.util.Date;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
-import javax.mail.MessagingException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.nexmo.client.NexmoClientException;
-
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.backend.user.User;
 import de.symeda.sormas.backend.user.UserService;
@@ -83,13 +80,14 @@ public class MessagingService {
 	@EJB
 	private UserService userService;
 	@EJB
-	private EmailService emailService;
-	@EJB
-	private SmsService smsService;
+	private OutboxMessageService outboxMessageService;
 
 	/**
 	 * Sends the message specified by the messageContent via mail and/or SMS, according to the messageTypes, to the specified recipient's
 	 * email address and/or phone number. Logs an error if the email address or phone number is not set.
+	 * <p>
+	 * The messages are stored as {@link OutboxMessage}s within the current transaction and sent by the {@link MessageDispatcher}
+	 * after it has been committed. Delivery failures are therefore handled by the dispatcher and no longer reported to the caller.
 	 */
 	public void sendMessage(User recipient, String subject, String messageContent, MessageType... messageTypes)
 		throws NotificationDeliveryFailedException {
@@ -108,19 +106,13 @@ public class MessagingService {
 			} else if (messageType == MessageType.SMS && DataHelper.isNullOrEmpty(phoneNumber)) {
 				logger.info(String.format("Tried to send an SMS to a user without a phone number (UUID: %s).", recipient.getUuid()));
 			} else {
-				try {
-					if (messageType == MessageType.EMAIL) {
-						emailService.sendEmail(emailAddress, subject, messageContent);
-					} else if (messageType == MessageType.SMS) {
-						smsService.sendSms(phoneNumber, subject, messageContent);
-					}
-				} catch (MessagingException e) {
-					throw new NotificationDeliveryFailedException("Email could not be sent due to an unexpected error.", MessageType.EMAIL, e);
-				} catch (IOException | NexmoClientException e) {
-					throw new NotificationDeliveryFailedException("SMS could not be sent due to an unexpected error.", MessageType.SMS, e);
-				} catch (InvalidPhoneNumberException e) {
-					throw new NotificationDeliveryFailedException("SMS could not be sent because of an invalid phone number.", MessageType.SMS, e);
-				}
+				OutboxMessage message = new OutboxMessage();
+				message.setMessageType(messageType);
+				message.setRecipientAddress(messageType == MessageType.EMAIL ? emailAddress : phoneNumber);
+				message.setSubject(subject);
+				message.setContent(messageContent);
+				message.setNextAttemptDate(new Date());
+				outboxMessageService.persist(message);
 			}
 		}
 	}
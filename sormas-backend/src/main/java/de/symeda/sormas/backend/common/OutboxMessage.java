@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_BIG;
+import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
+
+import java.util.Date;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+/**
+ * An email or SMS that has been requested by {@link MessagingService} and is waiting to be sent by the
+ * {@link MessageDispatcher}.
+ */
+@Entity
+public class OutboxMessage extends AbstractDomainObject {
+
+	private static final long serialVersionUID = -2367409823571256327L;
+
+	public static final String TABLE_NAME = "outboxmessage";
+
+	public static final String MESSAGE_TYPE = "messageType";
+	public static final String RECIPIENT_ADDRESS = "recipientAddress";
+	public static final String SUBJECT = "subject";
+	public static final String CONTENT = "content";
+	public static final String ATTEMPTS = "attempts";
+	public static final String NEXT_ATTEMPT_DATE = "nextAttemptDate";
+	public static final String LAST_ERROR = "lastError";
+
+	private MessageType messageType;
+	private String recipientAddress;
+	private String subject;
+	private String content;
+	private int attempts;
+	private Date nextAttemptDate;
+	private String lastError;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	public MessageType getMessageType() {
+		return messageType;
+	}
+
+	public void setMessageType(MessageType messageType) {
+		this.messageType = messageType;
+	}
+
+	/**
+	 * @return The email address or phone number of the recipient.
+	 */
+	@Column(nullable = false, length = COLUMN_LENGTH_DEFAULT)
+	public String getRecipientAddress() {
+		return recipientAddress;
+	}
+
+	public void setRecipientAddress(String recipientAddress) {
+		this.recipientAddress = recipientAddress;
+	}
+
+	@Column(length = COLUMN_LENGTH_DEFAULT)
+	public String getSubject() {
+		return subject;
+	}
+
+	public void setSubject(String subject) {
+		this.subject = subject;
+	}
+
+	@Column(length = COLUMN_LENGTH_BIG)
+	public String getContent() {
+		return content;
+	}
+
+	public void setContent(String content) {
+		this.content = content;
+	}
+
+	@Column(nullable = false)
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	/**
+	 * @return The date from which on the message is sent, {@code null} if the message could not be sent and will not be tried
+	 *         again.
+	 */
+	@Temporal(TemporalType.TIMESTAMP)
+	public Date getNextAttemptDate() {
+		return nextAttemptDate;
+	}
+
+	public void setNextAttemptDate(Date nextAttemptDate) {
+		this.nextAttemptDate = nextAttemptDate;
+	}
+
+	@Column(length = COLUMN_LENGTH_BIG)
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+}
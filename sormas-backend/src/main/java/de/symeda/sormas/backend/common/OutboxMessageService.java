@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_BIG;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.apache.commons.lang3.StringUtils;
+
+@Stateless
+@LocalBean
+public class OutboxMessageService extends AbstractAdoService<OutboxMessage> {
+
+	/**
+	 * Number of attempts after which a message is not tried again
+	 */
+	public static final int MAX_ATTEMPTS = 8;
+	/**
+	 * Delay before the first retry; doubled with every further attempt
+	 */
+	public static final long BASE_RETRY_DELAY = 60 * 1000L;
+
+	public OutboxMessageService() {
+		super(OutboxMessage.class);
+	}
+
+	/**
+	 * @return The messages of the given type that are due to be sent, oldest first.
+	 */
+	public List<OutboxMessage> getDueMessages(MessageType messageType, Date now, int maxResults) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<OutboxMessage> cq = cb.createQuery(getElementClass());
+		Root<OutboxMessage> from = cq.from(getElementClass());
+
+		cq.where(
+			cb.equal(from.get(OutboxMessage.MESSAGE_TYPE), messageType),
+			cb.lessThanOrEqualTo(from.get(OutboxMessage.NEXT_ATTEMPT_DATE), now));
+		cq.orderBy(cb.asc(from.get(AbstractDomainObject.CREATION_DATE)), cb.asc(from.get(AbstractDomainObject.ID)));
+
+		return em.createQuery(cq).setMaxResults(maxResults).getResultList();
+	}
+
+	public void deleteByIds(List<Long> ids) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaDelete<OutboxMessage> cd = cb.createCriteriaDelete(getElementClass());
+		Root<OutboxMessage> from = cd.from(getElementClass());
+		cd.where(from.get(AbstractDomainObject.ID).in(ids));
+
+		em.createQuery(cd).executeUpdate();
+	}
+
+	/**
+	 * Records a failed attempt to send the messages. They are tried again with exponential backoff until {@link #MAX_ATTEMPTS}
+	 * is reached or, if {@code retry} is false, not at all.
+	 */
+	public void markFailed(List<Long> ids, String error, boolean retry) {
+
+		Date now = new Date();
+		for (Long id : ids) {
+			OutboxMessage message = getById(id);
+			if (message != null) {
+				int attempts = message.getAttempts() + 1;
+				message.setAttempts(attempts);
+				message.setNextAttemptDate(retry && attempts < MAX_ATTEMPTS ? new Date(now.getTime() + getRetryDelay(attempts)) : null);
+				message.setLastError(StringUtils.abbreviate(error, COLUMN_LENGTH_BIG));
+			}
+		}
+	}
+
+	/**
+	 * @return The delay in milliseconds before the next attempt after {@code attempts} failed attempts.
+	 */
+	public static long getRetryDelay(int attempts) {
+		return BASE_RETRY_DELAY << Math.min(attempts - 1, MAX_ATTEMPTS);
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<OutboxMessage, OutboxMessage> from) {
+		// A user should not query for this
+		throw new UnsupportedOperationException();
+	}
+}
@@ -19,7 +19,6 @@ package de.symeda.sormas.backend.common;
 
 import java.io.IOException;
 
-import javax.ejb.Asynchronous;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
@@ -48,7 +47,6 @@ public class SmsService {
 	@EJB
 	private ConfigFacadeEjbLocal configFacade;
 
-	@Asynchronous
 	public void sendSms(String phoneNumber, String subject, String content) throws IOException, NexmoClientException, InvalidPhoneNumberException {
 
 		// Remove the initial + that indicates the beginning of the country code to match the Nexmo specification of allowed number formats
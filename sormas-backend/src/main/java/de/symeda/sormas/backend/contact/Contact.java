@@ -57,6 +57,7 @@ import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -133,6 +134,7 @@ public class Contact extends CoreAdo {
 	public static final String ADDITIONAL_DETAILS = "additionalDetails";
 	public static final String EPI_DATA = "epiData";
 	public static final String HEALTH_CONDITIONS = "healthConditions";
+	public static final String AGGREGATE_CHANGE_DATE = "aggregateChangeDate";
 
 	private Date reportDateTime;
 	private User reportingUser;
@@ -205,6 +207,7 @@ public class Contact extends CoreAdo {
 	private Set<Sample> samples;
 	private Set<Visit> visits = new HashSet<>();
 	private HealthConditions healthConditions;
+	private Timestamp aggregateChangeDate;
 
 	@ManyToOne(cascade = {})
 	@JoinColumn(nullable = false)
@@ -788,4 +791,18 @@ public class Contact extends CoreAdo {
 	public void setHealthConditions(HealthConditions healthConditions) {
 		this.healthConditions = healthConditions;
 	}
+
+	/**
+	 * The latest change date of the owned parts, like epi data or health conditions, if one of them has been changed after the entity itself.
+	 * Maintained by the service with a bulk update, so it is never written by the entity manager.
+	 */
+	@Column(insertable = false, updatable = false)
+	@AuditedIgnore
+	public Timestamp getAggregateChangeDate() {
+		return aggregateChangeDate;
+	}
+
+	public void setAggregateChangeDate(Timestamp aggregateChangeDate) {
+		this.aggregateChangeDate = aggregateChangeDate;
+	}
 }
@@ -19,6 +19,8 @@ package de.symeda.sormas.backend.contact;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.caze.MapCaseDto;
 import de.symeda.sormas.api.contact.ContactClassification;
@@ -46,6 +48,7 @@ import de.symeda.sormas.api.followup.FollowUpDto;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Validations;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.person.PersonReferenceDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
@@ -121,6 +124,7 @@ import javax.ejb.TransactionAttributeType;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -216,6 +220,18 @@ public class ContactFacadeEjb implements ContactFacade {
 		return contactService.getAllActiveContactsAfter(date).stream().map(c -> convertToDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPage<ContactDto> getAllActiveContactsAfter(Date date, String continuationToken, int pageSize) {
+
+		if (userService.getCurrentUser() == null) {
+			return new SyncPage<>(Collections.emptyList(), null);
+		}
+
+		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
+		List<Contact> contacts = contactService.getAllActiveContactsAfter(date, SyncCursor.fromToken(continuationToken), pageSize);
+		return AbstractAdoService.toSyncPage(contacts, pageSize, c -> convertToDto(c, pseudonymizer));
+	}
+
 	@Override
 	public List<ContactDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
@@ -356,6 +372,20 @@ public class ContactFacadeEjb implements ContactFacade {
 
 	@Override
 	public List<ContactExportDto> getExportList(ContactCriteria contactCriteria, int first, int max, Language userLanguage) {
+		return getExportList(contactCriteria, first, null, max, userLanguage);
+	}
+
+	@Override
+	public List<ContactExportDto> getExportList(ContactCriteria contactCriteria, ExportCursor after, int max, Language userLanguage) {
+		return getExportList(contactCriteria, null, after, max, userLanguage);
+	}
+
+	private List<ContactExportDto> getExportList(
+		ContactCriteria contactCriteria,
+		Integer first,
+		ExportCursor after,
+		int max,
+		Language userLanguage) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<ContactExportDto> cq = cb.createQuery(ContactExportDto.class);
@@ -435,13 +465,22 @@ public class ContactFacadeEjb implements ContactFacade {
 
 		Predicate filter = listCriteriaBuilder.buildContactFilter(contactCriteria, cb, contact, cq);
 
+		if (after != null) {
+			filter = AbstractAdoService
+				.and(cb, filter, AbstractAdoService.createExportCursorFilter(cb, contact.get(Contact.REPORT_DATE_TIME), contact.get(Contact.ID), after));
+		}
+
 		if (filter != null) {
 			cq.where(filter);
 		}
 
 		cq.orderBy(cb.desc(contact.get(Contact.REPORT_DATE_TIME)), cb.desc(contact.get(Contact.ID)));
 
-		List<ContactExportDto> exportContacts = em.createQuery(cq).setFirstResult(first).setMaxResults(max).getResultList();
+		TypedQuery<ContactExportDto> query = em.createQuery(cq);
+		if (first != null) {
+			query.setFirstResult(first);
+		}
+		List<ContactExportDto> exportContacts = query.setMaxResults(max).getResultList();
 
 		if (!exportContacts.isEmpty()) {
 			List<Long> exportContactIds = exportContacts.stream().map(e -> e.getId()).collect(Collectors.toList());
@@ -19,6 +19,7 @@ package de.symeda.sormas.backend.contact;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.EntityRelevanceStatus;
+import de.symeda.sormas.api.SyncCursor;
 import de.symeda.sormas.api.contact.ContactClassification;
 import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.ContactLogic;
@@ -38,9 +39,9 @@ import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.visit.VisitStatus;
 import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseAccessIndex;
 import de.symeda.sormas.backend.caze.CaseJoins;
 import de.symeda.sormas.backend.caze.CaseService;
-import de.symeda.sormas.backend.clinicalcourse.HealthConditionsService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
@@ -65,6 +66,8 @@ import org.apache.commons.collections.CollectionUtils;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -78,6 +81,7 @@ import javax.persistence.criteria.Subquery;
 import javax.validation.constraints.NotNull;
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
@@ -104,7 +108,7 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	@EJB
 	private EpiDataService epiDataService;
 	@EJB
-	private HealthConditionsService healthConditionsService;
+	private CaseAccessIndex caseAccessIndex;
 
 	public ContactService() {
 		super(Contact.class);
@@ -131,6 +135,16 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	}
 
 	public List<Contact> getAllActiveContactsAfter(Date date) {
+		return getAllActiveContactsAfter(date, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            Continue behind this position; {@code null} to start with the first page.
+	 * @param pageSize
+	 *            Maximum number of contacts to return; {@code null} for all.
+	 */
+	public List<Contact> getAllActiveContactsAfter(Date date, SyncCursor cursor, Integer pageSize) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Contact> cq = cb.createQuery(getElementClass());
@@ -148,11 +162,19 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
+		if (cursor != null) {
+			filter = AbstractAdoService.and(cb, filter, createSyncCursorFilter(cb, from, cursor));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Contact.CHANGE_DATE)));
+		cq.orderBy(orderBySyncCursor(cb, from));
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Contact> query = em.createQuery(cq);
+		if (pageSize != null) {
+			query.setMaxResults(pageSize);
+		}
+		return query.getResultList();
 	}
 
 	@Override
@@ -163,11 +185,27 @@ public class ContactService extends AbstractCoreAdoService<Contact> {
 	@Override
 	public Predicate createChangeDateFilter(CriteriaBuilder cb, From<?, Contact> from, Timestamp date) {
 
-		Predicate dateFilter = greaterThanAndNotNull(cb, from.get(AbstractDomainObject.CHANGE_DATE), date);
-		Predicate epiDataDateFilter = epiDataService.createChangeDateFilter(cb, from.join(Contact.EPI_DATA, JoinType.LEFT), date);
-		Predicate healthConditionsDateFilter =
-			healthConditionsService.createChangeDateFilter(cb, from.join(Contact.HEALTH_CONDITIONS, JoinType.LEFT), date);
-		return cb.or(dateFilter, epiDataDateFilter, healthConditionsDateFilter);
+		// changes of the epi data and health conditions are reflected by the aggregate change date
+		return cb.or(
+			greaterThanAndNotNull(cb, from.get(AbstractDomainObject.CHANGE_DATE), date),
+			greaterThanAndNotNull(cb, from.get(Contact.AGGREGATE_CHANGE_DATE), date));
+	}
+
+	@Override
+	public void ensurePersisted(Contact contact) throws EntityExistsException {
+
+		boolean isNew = contact.getId() == null;
+		Long previousCaseId = caseAccessIndex.getStoredCaseId(Contact.TABLE_NAME, Contact.CAZE, contact.getId());
+		super.ensurePersisted(contact);
+		if (!isNew) {
+			List<AbstractDomainObject> parts = new ArrayList<>();
+			if (isLoaded(contact, Contact.EPI_DATA)) {
+				epiDataService.addLoadedEpiDataParts(parts, contact.getEpiData());
+			}
+			addLoadedPart(parts, contact, Contact.HEALTH_CONDITIONS, Contact::getHealthConditions);
+			updateAggregateChangeDate(Contact.TABLE_NAME, contact, parts);
+		}
+		caseAccessIndex.updateCases(previousCaseId, contact.getCaze() != null ? contact.getCaze().getId() : null);
 	}
 
 	public List<String> getAllActiveUuids(User user) {
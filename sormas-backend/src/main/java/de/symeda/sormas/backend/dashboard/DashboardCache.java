@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+/**
+ * Keeps the results of dashboard queries for {@link #TIME_TO_LIVE_MILLIS}, so users refreshing the same dashboard do not
+ * run the same aggregation queries again. Callers are responsible for including everything that influences the result
+ * (e.g. the jurisdiction of the user) in the key.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class DashboardCache {
+
+	public static final long TIME_TO_LIVE_MILLIS = 30 * 1000;
+
+	/**
+	 * Expired entries are removed when this number of entries is exceeded
+	 */
+	private static final int CLEAN_UP_THRESHOLD = 1000;
+
+	private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Supplier<T> loader) {
+
+		long now = System.currentTimeMillis();
+		Entry entry = entries.get(key);
+		if (entry != null && now - entry.loadedAt < TIME_TO_LIVE_MILLIS) {
+			return (T) entry.value;
+		}
+
+		T value = loader.get();
+		if (entries.size() >= CLEAN_UP_THRESHOLD) {
+			entries.values().removeIf(e -> now - e.loadedAt >= TIME_TO_LIVE_MILLIS);
+		}
+		entries.put(key, new Entry(now, value));
+		return value;
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	private static final class Entry {
+
+		private final long loadedAt;
+		private final Object value;
+
+		Entry(long loadedAt, Object value) {
+			this.loadedAt = loadedAt;
+			this.value = value;
+		}
+	}
+}
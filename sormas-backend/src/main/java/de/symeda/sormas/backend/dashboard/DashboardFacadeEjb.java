@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.dashboard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
+import de.symeda.sormas.api.dashboard.DashboardFacade;
+import de.symeda.sormas.api.dashboard.EpiCurveGrouping;
+import de.symeda.sormas.api.person.PresentCondition;
+import de.symeda.sormas.api.sample.PathogenTestResultType;
+import de.symeda.sormas.api.user.JurisdictionLevel;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.caze.CaseUserFilterCriteria;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.contact.Contact;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.sample.SampleService;
+import de.symeda.sormas.backend.symptoms.Symptoms;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.user.UserService;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+@Stateless(name = "DashboardFacade")
+public class DashboardFacadeEjb implements DashboardFacade {
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private SampleService sampleService;
+	@EJB
+	private UserService userService;
+	@EJB
+	private DashboardCache dashboardCache;
+
+	@Override
+	public DashboardCaseStatisticDto getCaseStatistics(DashboardCriteria dashboardCriteria) {
+
+		return dashboardCache.get(Arrays.asList("caseStatistics", getJurisdictionKey(), dashboardCriteria), () -> {
+			CaseCriteria caseCriteria = buildCaseCriteria(dashboardCriteria, dashboardCriteria.getDateFrom(), dashboardCriteria.getDateTo());
+			CaseCriteria previousCaseCriteria =
+				buildCaseCriteria(dashboardCriteria, dashboardCriteria.getPreviousDateFrom(), dashboardCriteria.getPreviousDateTo());
+
+			Map<CaseClassification, Long> caseClassificationCount = new EnumMap<>(CaseClassification.class);
+			long caseCount = 0;
+			long fatalCount = 0;
+			for (Object[] result : getCaseCountsPerClassificationAndCondition(caseCriteria)) {
+				long count = (Long) result[4];
+				caseCount += count;
+				if (result[0] != null) {
+					caseClassificationCount.merge((CaseClassification) result[0], count, Long::sum);
+				}
+				if (wasFatal(result)) {
+					fatalCount += count;
+				}
+			}
+
+			long previousCaseCount = 0;
+			long previousFatalCount = 0;
+			for (Object[] result : getCaseCountsPerClassificationAndCondition(previousCaseCriteria)) {
+				long count = (Long) result[4];
+				previousCaseCount += count;
+				if (wasFatal(result)) {
+					previousFatalCount += count;
+				}
+			}
+
+			float fatalityRate = 100 * ((float) fatalCount / (float) (caseCount == 0 ? 1 : caseCount));
+			fatalityRate = Math.round(fatalityRate * 100) / 100f;
+
+			Map<PathogenTestResultType, Long> testResultCountByResultType;
+			if (caseCount > 0) {
+				testResultCountByResultType = sampleService.getNewTestResultCountByResultType(getCaseIds(caseCriteria));
+			} else {
+				testResultCountByResultType = new HashMap<>();
+			}
+
+			return new DashboardCaseStatisticDto(
+				caseCount,
+				previousCaseCount,
+				Collections.unmodifiableMap(caseClassificationCount),
+				fatalCount,
+				previousFatalCount,
+				fatalityRate,
+				Collections.unmodifiableMap(testResultCountByResultType));
+		});
+	}
+
+	@Override
+	public Map<Date, Map<CaseClassification, Long>> getEpiCurveSeriesElementsPerCaseClassification(DashboardCriteria dashboardCriteria) {
+
+		return dashboardCache.get(
+			Arrays.asList("epiCurvePerCaseClassification", getJurisdictionKey(), dashboardCriteria),
+			() -> getEpiCurveSeriesElements(dashboardCriteria, (caze, person) -> caze.get(Case.CASE_CLASSIFICATION)));
+	}
+
+	@Override
+	public Map<Date, Map<PresentCondition, Long>> getEpiCurveSeriesElementsPerPresentCondition(DashboardCriteria dashboardCriteria) {
+
+		return dashboardCache.get(
+			Arrays.asList("epiCurvePerPresentCondition", getJurisdictionKey(), dashboardCriteria),
+			() -> getEpiCurveSeriesElements(dashboardCriteria, (caze, person) -> person.get(Person.PRESENT_CONDITION)));
+	}
+
+	@Override
+	public long[] getCaseAndSourceCaseCount(DashboardCriteria dashboardCriteria) {
+
+		return dashboardCache.get(Arrays.asList("caseAndSourceCaseCount", getJurisdictionKey(), dashboardCriteria), () -> {
+			CaseCriteria caseCriteria = buildCaseCriteria(dashboardCriteria, dashboardCriteria.getDateFrom(), dashboardCriteria.getDateTo());
+			long caseCount = countCases(caseCriteria, false);
+			long casesFromContactsCount = caseCount == 0 ? 0 : countCases(caseCriteria, true);
+			return new long[] {
+				caseCount,
+				caseCount - casesFromContactsCount };
+		});
+	}
+
+	/**
+	 * @param resultingFromContact
+	 *            Whether only cases that resulted from a contact are counted
+	 */
+	private long countCases(CaseCriteria caseCriteria, boolean resultingFromContact) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> caze = cq.from(Case.class);
+
+		Predicate filter = createCaseFilter(cb, cq, caze, caseCriteria);
+		if (resultingFromContact) {
+			Subquery<Long> contactSubquery = cq.subquery(Long.class);
+			Root<Contact> contact = contactSubquery.from(Contact.class);
+			contactSubquery.select(contact.get(Contact.ID));
+			contactSubquery.where(cb.equal(contact.get(Contact.RESULTING_CASE), caze));
+			filter = AbstractAdoService.and(cb, filter, cb.exists(contactSubquery));
+		}
+		if (filter != null) {
+			cq.where(filter);
+		}
+
+		cq.select(cb.count(caze));
+		return em.createQuery(cq).getSingleResult();
+	}
+
+	/**
+	 * @return case counts grouped by case classification, present condition and cause of death disease of the person, and disease
+	 */
+	private List<Object[]> getCaseCountsPerClassificationAndCondition(CaseCriteria caseCriteria) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Join<Case, Person> person = caze.join(Case.PERSON, JoinType.LEFT);
+
+		Predicate filter = createCaseFilter(cb, cq, caze, caseCriteria);
+		if (filter != null) {
+			cq.where(filter);
+		}
+
+		cq.groupBy(
+			caze.get(Case.CASE_CLASSIFICATION),
+			person.get(Person.PRESENT_CONDITION),
+			person.get(Person.CAUSE_OF_DEATH_DISEASE),
+			caze.get(Case.DISEASE));
+		cq.multiselect(
+			caze.get(Case.CASE_CLASSIFICATION),
+			person.get(Person.PRESENT_CONDITION),
+			person.get(Person.CAUSE_OF_DEATH_DISEASE),
+			caze.get(Case.DISEASE),
+			cb.count(caze));
+
+		return em.createQuery(cq).getResultList();
+	}
+
+	private List<Long> getCaseIds(CaseCriteria caseCriteria) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+		Root<Case> caze = cq.from(Case.class);
+
+		Predicate filter = createCaseFilter(cb, cq, caze, caseCriteria);
+		if (filter != null) {
+			cq.where(filter);
+		}
+
+		cq.select(caze.get(Case.ID));
+		return em.createQuery(cq).getResultList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Map<Date, Map<T, Long>> getEpiCurveSeriesElements(
+		DashboardCriteria dashboardCriteria,
+		BiFunction<Root<Case>, Join<Case, Person>, Expression<T>> seriesExpression) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caze = cq.from(Case.class);
+		Join<Case, Symptoms> symptoms = caze.join(Case.SYMPTOMS, JoinType.LEFT);
+		Join<Case, Person> person = caze.join(Case.PERSON, JoinType.LEFT);
+
+		Expression<Date> caseDate;
+		NewCaseDateType newCaseDateType = dashboardCriteria.getNewCaseDateType();
+		if (newCaseDateType == null || newCaseDateType == NewCaseDateType.MOST_RELEVANT) {
+			caseDate = cb.coalesce(symptoms.<Date> get(Symptoms.ONSET_DATE), caze.<Date> get(Case.REPORT_DATE));
+		} else if (newCaseDateType == NewCaseDateType.ONSET) {
+			caseDate = symptoms.get(Symptoms.ONSET_DATE);
+		} else {
+			caseDate = caze.get(Case.REPORT_DATE);
+		}
+		// grouped by day in the database; weeks and months are summed up below
+		Expression<java.sql.Date> caseDay = caseDate.as(java.sql.Date.class);
+		Expression<T> series = seriesExpression.apply(caze, person);
+
+		Predicate filter = createCaseFilter(
+			cb,
+			cq,
+			caze,
+			buildCaseCriteria(dashboardCriteria, dashboardCriteria.getDateFrom(), dashboardCriteria.getDateTo()));
+		if (filter != null) {
+			cq.where(filter);
+		}
+
+		cq.groupBy(caseDay, series);
+		cq.multiselect(caseDay, series, cb.count(caze));
+
+		Map<Date, Map<T, Long>> seriesElements = new TreeMap<>();
+		for (Object[] result : em.createQuery(cq).getResultList()) {
+			if (result[0] == null) {
+				continue;
+			}
+			Date groupingDate = getStartOfGrouping((Date) result[0], dashboardCriteria.getEpiCurveGrouping());
+			seriesElements.computeIfAbsent(groupingDate, d -> new HashMap<>()).merge((T) result[1], (Long) result[2], Long::sum);
+		}
+
+		seriesElements.replaceAll((date, counts) -> Collections.unmodifiableMap(counts));
+		return Collections.unmodifiableMap(seriesElements);
+	}
+
+	private Predicate createCaseFilter(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<Case> caze, CaseCriteria caseCriteria) {
+
+		Predicate filter =
+			caseService.createUserFilter(cb, cq, caze, new CaseUserFilterCriteria().excludeSharedCases(true).excludeCasesFromContacts(true));
+		return AbstractAdoService.and(cb, filter, caseService.createCriteriaFilter(caseCriteria, cb, cq, caze));
+	}
+
+	private CaseCriteria buildCaseCriteria(DashboardCriteria dashboardCriteria, Date from, Date to) {
+
+		return new CaseCriteria().region(dashboardCriteria.getRegion())
+			.district(dashboardCriteria.getDistrict())
+			.disease(dashboardCriteria.getDisease())
+			.newCaseDateBetween(from, to, dashboardCriteria.getNewCaseDateType());
+	}
+
+	private Date getStartOfGrouping(Date date, EpiCurveGrouping epiCurveGrouping) {
+
+		if (epiCurveGrouping == EpiCurveGrouping.WEEK) {
+			return DateHelper.getStartOfWeek(date);
+		} else if (epiCurveGrouping == EpiCurveGrouping.MONTH) {
+			return DateHelper.getStartOfMonth(date);
+		} else {
+			return DateHelper.getStartOfDay(date);
+		}
+	}
+
+	/**
+	 * Same logic as {@link de.symeda.sormas.api.caze.DashboardCaseDto#wasFatal()}
+	 */
+	private static boolean wasFatal(Object[] caseCountResult) {
+
+		PresentCondition presentCondition = (PresentCondition) caseCountResult[1];
+		return presentCondition != null && presentCondition != PresentCondition.ALIVE && caseCountResult[2] == caseCountResult[3];
+	}
+
+	/**
+	 * Users with national jurisdiction see the same cases, unless they are limited to a disease or to port health cases. All other
+	 * users also see the cases they are responsible for, so their results are cached per user.
+	 */
+	private Object getJurisdictionKey() {
+
+		User currentUser = userService.getCurrentUser();
+		if (currentUser == null) {
+			return null;
+		}
+
+		if (currentUser.getJurisdictionLevel() == JurisdictionLevel.NATION
+			&& !currentUser.hasAnyUserRole(UserRole.REST_USER, UserRole.REST_EXTERNAL_VISITS_USER)) {
+			Disease limitedDisease = currentUser.getLimitedDisease();
+			return Arrays.asList(JurisdictionLevel.NATION, limitedDisease, UserRole.isPortHealthUser(currentUser.getUserRoles()));
+		}
+
+		return currentUser.getUuid();
+	}
+
+	@LocalBean
+	@Stateless
+	public static class DashboardFacadeEjbLocal extends DashboardFacadeEjb {
+
+	}
+}
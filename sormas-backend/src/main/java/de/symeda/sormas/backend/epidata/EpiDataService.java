@@ -32,6 +32,7 @@ import de.symeda.sormas.backend.common.AbstractDomainObject;
 import de.symeda.sormas.backend.location.Location;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 
 @Stateless
 @LocalBean
@@ -48,6 +49,26 @@ public class EpiDataService extends AbstractAdoService<EpiData> {
 		return epiData;
 	}
 
+	/**
+	 * Adds the epi data and its travels, burials and gatherings to the parts of an aggregate, as far as they have been
+	 * loaded.
+	 */
+	public void addLoadedEpiDataParts(Collection<AbstractDomainObject> parts, EpiData epiData) {
+
+		if (epiData == null || !em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(epiData)) {
+			return;
+		}
+
+		parts.add(epiData);
+		addLoadedParts(parts, epiData, EpiData.TRAVELS, EpiData::getTravels);
+		for (EpiDataBurial burial : addLoadedParts(parts, epiData, EpiData.BURIALS, EpiData::getBurials)) {
+			addLoadedPart(parts, burial, EpiDataBurial.BURIAL_ADDRESS, EpiDataBurial::getBurialAddress);
+		}
+		for (EpiDataGathering gathering : addLoadedParts(parts, epiData, EpiData.GATHERINGS, EpiData::getGatherings)) {
+			addLoadedPart(parts, gathering, EpiDataGathering.GATHERING_ADDRESS, EpiDataGathering::getGatheringAddress);
+		}
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<EpiData, EpiData> from) {
@@ -20,6 +20,7 @@ package de.symeda.sormas.backend.event;
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_BIG;
 import static de.symeda.sormas.api.EntityDto.COLUMN_LENGTH_DEFAULT;
 
+import java.sql.Timestamp;
 import java.util.Date;
 import java.util.List;
 
@@ -36,6 +37,7 @@ import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 
 import de.symeda.auditlog.api.Audited;
+import de.symeda.auditlog.api.AuditedIgnore;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.event.EventReferenceDto;
 import de.symeda.sormas.api.event.EventSourceType;
@@ -82,6 +84,7 @@ public class Event extends CoreAdo {
 	public static final String REPORT_LAT = "reportLat";
 	public static final String REPORT_LON = "reportLon";
 	public static final String ARCHIVED = "archived";
+	public static final String AGGREGATE_CHANGE_DATE = "aggregateChangeDate";
 
 	private EventStatus eventStatus;
 	private List<EventParticipant> eventPersons;
@@ -113,6 +116,7 @@ public class Event extends CoreAdo {
 	private boolean archived;
 
 	private List<Task> tasks;
+	private Timestamp aggregateChangeDate;
 
 	@Enumerated(EnumType.STRING)
 	@Column(nullable = false)
@@ -374,4 +378,17 @@ public class Event extends CoreAdo {
 		this.reportLatLonAccuracy = reportLatLonAccuracy;
 	}
 
+	/**
+	 * The latest change date of the owned parts, like the event location, if one of them has been changed after the entity itself.
+	 * Maintained by the service with a bulk update, so it is never written by the entity manager.
+	 */
+	@Column(insertable = false, updatable = false)
+	@AuditedIgnore
+	public Timestamp getAggregateChangeDate() {
+		return aggregateChangeDate;
+	}
+
+	public void setAggregateChangeDate(Timestamp aggregateChangeDate) {
+		this.aggregateChangeDate = aggregateChangeDate;
+	}
 }
@@ -32,6 +32,7 @@ import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -56,6 +57,7 @@ import de.symeda.sormas.api.facility.FacilityHelper;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Validations;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.user.UserRight;
 import de.symeda.sormas.api.utils.SortProperty;
@@ -63,6 +65,7 @@ import de.symeda.sormas.api.utils.ValidationRuntimeException;
 import de.symeda.sormas.backend.caze.Case;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb;
 import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.location.Location;
 import de.symeda.sormas.backend.person.Person;
 import de.symeda.sormas.backend.person.PersonFacadeEjb;
@@ -289,6 +292,24 @@ public class EventParticipantFacadeEjb implements EventParticipantFacade {
 		int first,
 		int max,
 		Language userLanguage) {
+		return getExportList(eventParticipantCriteria, first, null, max, userLanguage);
+	}
+
+	@Override
+	public List<EventParticipantExportDto> getExportList(
+		EventParticipantCriteria eventParticipantCriteria,
+		ExportCursor after,
+		int max,
+		Language userLanguage) {
+		return getExportList(eventParticipantCriteria, null, after, max, userLanguage);
+	}
+
+	private List<EventParticipantExportDto> getExportList(
+		EventParticipantCriteria eventParticipantCriteria,
+		Integer first,
+		ExportCursor after,
+		int max,
+		Language userLanguage) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<EventParticipantExportDto> cq = cb.createQuery(EventParticipantExportDto.class);
@@ -352,9 +373,18 @@ public class EventParticipantFacadeEjb implements EventParticipantFacade {
 			resultingCase.get(Case.UUID));
 
 		Predicate filter = eventParticipantService.buildCriteriaFilter(eventParticipantCriteria, cb, eventParticipant);
+		if (after != null) {
+			filter = AbstractAdoService.and(cb, filter, AbstractAdoService.createExportCursorFilter(cb, null, eventParticipant.get(EventParticipant.ID), after));
+		}
 		cq.where(filter);
+		// a stable order is needed to page through the export
+		cq.orderBy(cb.desc(eventParticipant.get(EventParticipant.ID)));
 
-		List<EventParticipantExportDto> eventParticipantResultList = em.createQuery(cq).setFirstResult(first).setMaxResults(max).getResultList();
+		TypedQuery<EventParticipantExportDto> query = em.createQuery(cq);
+		if (first != null) {
+			query.setFirstResult(first);
+		}
+		List<EventParticipantExportDto> eventParticipantResultList = query.setMaxResults(max).getResultList();
 
 		if (!eventParticipantResultList.isEmpty()) {
 
@@ -18,6 +18,7 @@
 package de.symeda.sormas.backend.event;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -27,6 +28,9 @@ import java.util.stream.Collectors;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.persistence.EntityExistsException;
 import javax.persistence.NoResultException;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -374,12 +378,40 @@ public class EventService extends AbstractCoreAdoService<Event> {
 	@Override
 	public Predicate createChangeDateFilter(CriteriaBuilder cb, From<?, Event> eventPath, Timestamp date) {
 
-		Predicate dateFilter = greaterThanAndNotNull(cb, eventPath.get(AbstractDomainObject.CHANGE_DATE), date);
+		// changes of the event location are reflected by the aggregate change date
+		return cb.or(
+			greaterThanAndNotNull(cb, eventPath.get(AbstractDomainObject.CHANGE_DATE), date),
+			greaterThanAndNotNull(cb, eventPath.get(Event.AGGREGATE_CHANGE_DATE), date));
+	}
 
-		Join<Event, Location> address = eventPath.join(Event.EVENT_LOCATION);
-		dateFilter = cb.or(dateFilter, greaterThanAndNotNull(cb, address.get(AbstractDomainObject.CHANGE_DATE), date));
+	/**
+	 * Archives up to maxCount events that, like their location, have not been changed since the given date. Runs in a
+	 * transaction of its own.
+	 *
+	 * @return The number of archived events
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public int archiveNotChangedSince(Timestamp notChangedSince, int maxCount) {
+
+		return em
+			.createNativeQuery(
+				"UPDATE " + Event.TABLE_NAME + " SET archived = true WHERE id IN (SELECT e.id FROM " + Event.TABLE_NAME + " e"
+					+ " WHERE e.archived = false AND e.changedate <= ?1 AND (e.aggregatechangedate IS NULL OR e.aggregatechangedate <= ?1) LIMIT ?2)")
+			.setParameter(1, notChangedSince)
+			.setParameter(2, maxCount)
+			.executeUpdate();
+	}
 
-		return dateFilter;
+	@Override
+	public void ensurePersisted(Event event) throws EntityExistsException {
+
+		boolean isNew = event.getId() == null;
+		super.ensurePersisted(event);
+		if (!isNew) {
+			List<AbstractDomainObject> parts = new ArrayList<>();
+			addLoadedPart(parts, event, Event.EVENT_LOCATION, Event::getEventLocation);
+			updateAggregateChangeDate(Event.TABLE_NAME, event, parts);
+		}
 	}
 
 	@Override
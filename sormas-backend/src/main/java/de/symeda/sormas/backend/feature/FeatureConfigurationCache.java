@@ -0,0 +1,232 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.feature;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.feature.FeatureType;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Keeps the state of all feature configurations in memory, so checking whether a feature is enabled does not need a query.
+ * The cache is invalidated by {@link FeatureConfigurationService} whenever a configuration is saved or deleted and once more when
+ * the transaction doing so has been completed. It is reloaded after
+ * {@link #TIME_TO_LIVE_MILLIS} at the latest, in case it was changed elsewhere.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class FeatureConfigurationCache {
+
+	public static final long TIME_TO_LIVE_MILLIS = 60 * 1000;
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	private volatile Snapshot snapshot;
+	/**
+	 * Incremented on every invalidation, so a snapshot that was loaded in the meantime is not kept
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	@Inject
+	private Event<Invalidation> invalidationEvent;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * @return true if the feature is disabled by at least one configuration, independent of region, district or disease
+	 */
+	public boolean isFeatureDisabled(FeatureType featureType) {
+		return getSnapshot().disabledFeatureTypes.contains(featureType);
+	}
+
+	/**
+	 * @return the enabled state of the configuration with exactly this region, district and disease; null if there is none
+	 */
+	public Boolean isEnabled(FeatureType featureType, String regionUuid, String districtUuid, Disease disease) {
+		return getSnapshot().enabledByKey.get(new Key(featureType, regionUuid, districtUuid, disease));
+	}
+
+	public Set<FeatureType> getEnabledFeatureTypes() {
+		return getSnapshot().enabledFeatureTypes;
+	}
+
+	/**
+	 * Discards the snapshot right away and once more when the current transaction has been completed, because a snapshot loaded
+	 * until then may be based on the configurations before the change or on a change that is rolled back.
+	 */
+	public void invalidate() {
+		clear();
+		invalidationEvent.fire(new Invalidation());
+	}
+
+	@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+	public void afterInvalidation(@Observes(during = TransactionPhase.AFTER_COMPLETION) Invalidation invalidation) {
+		clear();
+	}
+
+	private void clear() {
+		version.incrementAndGet();
+		snapshot = null;
+	}
+
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	private Snapshot getSnapshot() {
+
+		Snapshot currentSnapshot = snapshot;
+		if (currentSnapshot != null && System.currentTimeMillis() - currentSnapshot.loadedAt < TIME_TO_LIVE_MILLIS) {
+			hitCount.incrementAndGet();
+			return currentSnapshot;
+		}
+
+		missCount.incrementAndGet();
+		long loadedVersion = version.get();
+		currentSnapshot = load();
+		if (version.get() == loadedVersion) {
+			snapshot = currentSnapshot;
+		}
+		return currentSnapshot;
+	}
+
+	private Snapshot load() {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
+		Join<FeatureConfiguration, Region> region = root.join(FeatureConfiguration.REGION, JoinType.LEFT);
+		Join<FeatureConfiguration, District> district = root.join(FeatureConfiguration.DISTRICT, JoinType.LEFT);
+
+		cq.multiselect(
+			root.get(FeatureConfiguration.FEATURE_TYPE),
+			region.get(Region.UUID),
+			district.get(District.UUID),
+			root.get(FeatureConfiguration.DISEASE),
+			root.get(FeatureConfiguration.ENABLED));
+
+		List<Object[]> configurations = em.createQuery(cq).getResultList();
+
+		Map<Key, Boolean> enabledByKey = new HashMap<>();
+		Set<FeatureType> disabledFeatureTypes = EnumSet.noneOf(FeatureType.class);
+		Set<FeatureType> enabledFeatureTypes = EnumSet.noneOf(FeatureType.class);
+		for (Object[] configuration : configurations) {
+			FeatureType featureType = (FeatureType) configuration[0];
+			Boolean enabled = (Boolean) configuration[4];
+			enabledByKey.put(new Key(featureType, (String) configuration[1], (String) configuration[2], (Disease) configuration[3]), enabled);
+			if (Boolean.TRUE.equals(enabled)) {
+				enabledFeatureTypes.add(featureType);
+			} else if (Boolean.FALSE.equals(enabled)) {
+				disabledFeatureTypes.add(featureType);
+			}
+		}
+
+		return new Snapshot(
+			System.currentTimeMillis(),
+			enabledByKey,
+			Collections.unmodifiableSet(disabledFeatureTypes),
+			Collections.unmodifiableSet(enabledFeatureTypes));
+	}
+
+	public static final class Invalidation {
+	}
+
+	private static final class Snapshot {
+
+		private final long loadedAt;
+		private final Map<Key, Boolean> enabledByKey;
+		private final Set<FeatureType> disabledFeatureTypes;
+		private final Set<FeatureType> enabledFeatureTypes;
+
+		Snapshot(long loadedAt, Map<Key, Boolean> enabledByKey, Set<FeatureType> disabledFeatureTypes, Set<FeatureType> enabledFeatureTypes) {
+			this.loadedAt = loadedAt;
+			this.enabledByKey = enabledByKey;
+			this.disabledFeatureTypes = disabledFeatureTypes;
+			this.enabledFeatureTypes = enabledFeatureTypes;
+		}
+	}
+
+	private static final class Key {
+
+		private final FeatureType featureType;
+		private final String regionUuid;
+		private final String districtUuid;
+		private final Disease disease;
+
+		Key(FeatureType featureType, String regionUuid, String districtUuid, Disease disease) {
+			this.featureType = featureType;
+			this.regionUuid = regionUuid;
+			this.districtUuid = districtUuid;
+			this.disease = disease;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+			if (o == null || getClass() != o.getClass()) {
+				return false;
+			}
+			Key key = (Key) o;
+			return featureType == key.featureType
+				&& Objects.equals(regionUuid, key.regionUuid)
+				&& Objects.equals(districtUuid, key.districtUuid)
+				&& disease == key.disease;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(featureType, regionUuid, districtUuid, disease);
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
@@ -52,6 +53,8 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 	@EJB
 	private FeatureConfigurationService service;
 	@EJB
+	private FeatureConfigurationCache cache;
+	@EJB
 	private RegionService regionService;
 	@EJB
 	private DistrictService districtService;
@@ -227,15 +230,7 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 
 	@Override
 	public boolean isFeatureDisabled(FeatureType featureType) {
-
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<Long> cq = cb.createQuery(Long.class);
-		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
-
-		cq.where(cb.and(cb.equal(root.get(FeatureConfiguration.FEATURE_TYPE), featureType), cb.isFalse(root.get(FeatureConfiguration.ENABLED))));
-		cq.select(cb.count(root));
-
-		return em.createQuery(cq).getSingleResult() > 0;
+		return cache.isFeatureDisabled(featureType);
 	}
 
 	@Override
@@ -258,19 +253,13 @@ public class FeatureConfigurationFacadeEjb implements FeatureConfigurationFacade
 	@Override
 	public List<FeatureType> getActiveServerFeatureTypes() {
 
-		CriteriaBuilder cb = em.getCriteriaBuilder();
-		CriteriaQuery<FeatureType> cq = cb.createQuery(FeatureType.class);
-		Root<FeatureConfiguration> root = cq.from(FeatureConfiguration.class);
-
 		List<FeatureType> serverFeatures = FeatureType.getAllServerFeatures();
 		if (serverFeatures.isEmpty()) {
 			return null;
 		}
 
-		cq.where(cb.and(root.get(FeatureConfiguration.FEATURE_TYPE).in(serverFeatures), cb.isTrue(root.get(FeatureConfiguration.ENABLED))));
-		cq.select(root.get(FeatureConfiguration.FEATURE_TYPE));
-
-		return em.createQuery(cq).getResultList();
+		Set<FeatureType> enabledFeatureTypes = cache.getEnabledFeatureTypes();
+		return serverFeatures.stream().filter(enabledFeatureTypes::contains).collect(Collectors.toList());
 	}
 
 	public static FeatureConfigurationDto toDto(FeatureConfiguration source) {
@@ -5,8 +5,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
@@ -28,10 +30,31 @@ import de.symeda.sormas.backend.user.User;
 @LocalBean
 public class FeatureConfigurationService extends AbstractAdoService<FeatureConfiguration> {
 
+	@EJB
+	private FeatureConfigurationCache featureConfigurationCache;
+
 	public FeatureConfigurationService() {
 		super(FeatureConfiguration.class);
 	}
 
+	@Override
+	public void ensurePersisted(FeatureConfiguration configuration) throws EntityExistsException {
+		super.ensurePersisted(configuration);
+		featureConfigurationCache.invalidate();
+	}
+
+	@Override
+	public void persist(FeatureConfiguration configuration) {
+		super.persist(configuration);
+		featureConfigurationCache.invalidate();
+	}
+
+	@Override
+	public void delete(FeatureConfiguration configuration) {
+		super.delete(configuration);
+		featureConfigurationCache.invalidate();
+	}
+
 	public List<String> getDeletedUuids(Date since, User user) {
 
 		StringBuilder queryBuilder = new StringBuilder();
@@ -0,0 +1,420 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.importexport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Stateless;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVWriter;
+
+import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.CaseExportDto;
+import de.symeda.sormas.api.caze.CaseExportType;
+import de.symeda.sormas.api.caze.CaseJurisdictionDto;
+import de.symeda.sormas.api.i18n.Captions;
+import de.symeda.sormas.api.i18n.I18nProperties;
+import de.symeda.sormas.api.importexport.ExportCursor;
+import de.symeda.sormas.api.utils.CSVUtils;
+import de.symeda.sormas.api.utils.DataHelper;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.api.utils.fieldaccess.FieldAccessCheckers;
+import de.symeda.sormas.api.utils.fieldaccess.checkers.PersonalDataFieldAccessChecker;
+import de.symeda.sormas.api.utils.fieldaccess.checkers.SensitiveDataFieldAccessChecker;
+import de.symeda.sormas.api.utils.pseudonymization.Pseudonymizer;
+import de.symeda.sormas.api.utils.pseudonymization.ValuePseudonymizer;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseJoins;
+import de.symeda.sormas.backend.caze.CaseJurisdictionChecker;
+import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.common.AbstractAdoService;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
+import de.symeda.sormas.backend.epidata.EpiData;
+import de.symeda.sormas.backend.facility.Facility;
+import de.symeda.sormas.backend.hospitalization.Hospitalization;
+import de.symeda.sormas.backend.infrastructure.PointOfEntry;
+import de.symeda.sormas.backend.location.Location;
+import de.symeda.sormas.backend.person.Person;
+import de.symeda.sormas.backend.region.Community;
+import de.symeda.sormas.backend.region.District;
+import de.symeda.sormas.backend.region.Region;
+import de.symeda.sormas.backend.user.User;
+import de.symeda.sormas.backend.user.UserService;
+import de.symeda.sormas.backend.util.ModelConstants;
+
+/**
+ * Exports cases directly from the PostgreSQL database with COPY commands instead of building {@link CaseExportDto}s.
+ * Only the properties of {@link CaseExportDto} that are plain values of the case or its directly joined entities are
+ * supported, see {@link #isSupported(List)}. The rows are formatted and pseudonymized while they are streamed from the database.
+ */
+@Stateless
+@LocalBean
+public class CaseCopyExportService {
+
+	private static final String COPY_CASES =
+		"COPY (SELECT %s FROM %s WHERE cases.id IN (%s) ORDER BY cases.reportdate DESC, cases.id DESC) TO STDOUT WITH (FORMAT CSV)";
+
+	//@formatter:off
+	private static final String CASE_TABLES = Case.TABLE_NAME + " cases"
+		+ " LEFT JOIN " + Person.TABLE_NAME + " person ON cases.person_id = person.id"
+		+ " LEFT JOIN " + Location.TABLE_NAME + " address ON person.address_id = address.id"
+		+ " LEFT JOIN " + Region.TABLE_NAME + " addressregion ON address.region_id = addressregion.id"
+		+ " LEFT JOIN " + District.TABLE_NAME + " addressdistrict ON address.district_id = addressdistrict.id"
+		+ " LEFT JOIN " + Region.TABLE_NAME + " region ON cases.region_id = region.id"
+		+ " LEFT JOIN " + District.TABLE_NAME + " district ON cases.district_id = district.id"
+		+ " LEFT JOIN " + Community.TABLE_NAME + " community ON cases.community_id = community.id"
+		+ " LEFT JOIN " + Hospitalization.TABLE_NAME + " hospitalization ON cases.hospitalization_id = hospitalization.id"
+		+ " LEFT JOIN " + EpiData.TABLE_NAME + " epidata ON cases.epidata_id = epidata.id";
+	//@formatter:on
+
+	/**
+	 * SQL expressions of the supported {@link CaseExportDto} fields, the tables are joined in {@link #CASE_TABLES}.
+	 */
+	private static final Map<String, String> COLUMNS = new HashMap<>();
+	static {
+		COLUMNS.put("id", "cases.id");
+		COLUMNS.put("uuid", "cases.uuid");
+		COLUMNS.put("epidNumber", "cases.epidnumber");
+		COLUMNS.put("firstName", "person.firstname");
+		COLUMNS.put("lastName", "person.lastname");
+		COLUMNS.put("sex", "person.sex");
+		COLUMNS.put("pregnant", "cases.pregnant");
+		COLUMNS.put("trimester", "cases.trimester");
+		COLUMNS.put("postpartum", "cases.postpartum");
+		COLUMNS.put("reportDate", "cases.reportdate");
+		COLUMNS.put("region", "region.name");
+		COLUMNS.put("district", "district.name");
+		COLUMNS.put("community", "community.name");
+		COLUMNS.put("caseClassification", "cases.caseclassification");
+		COLUMNS.put("investigationStatus", "cases.investigationstatus");
+		COLUMNS.put("outcome", "cases.outcome");
+		COLUMNS.put("quarantine", "cases.quarantine");
+		COLUMNS.put("quarantineTypeDetails", "cases.quarantinetypedetails");
+		COLUMNS.put("quarantineFrom", "cases.quarantinefrom");
+		COLUMNS.put("quarantineTo", "cases.quarantineto");
+		// boolean properties of the export DTO are primitives, so null has to be exported as false
+		COLUMNS.put("quarantineOrderedVerbally", "COALESCE(cases.quarantineorderedverbally, false)");
+		COLUMNS.put("quarantineOrderedOfficialDocument", "COALESCE(cases.quarantineorderedofficialdocument, false)");
+		COLUMNS.put("quarantineOrderedVerballyDate", "cases.quarantineorderedverballydate");
+		COLUMNS.put("quarantineOrderedOfficialDocumentDate", "cases.quarantineorderedofficialdocumentdate");
+		COLUMNS.put("quarantineOfficialOrderSent", "COALESCE(cases.quarantineofficialordersent, false)");
+		COLUMNS.put("quarantineOfficialOrderSentDate", "cases.quarantineofficialordersentdate");
+		COLUMNS.put("quarantineExtended", "COALESCE(cases.quarantineextended, false)");
+		COLUMNS.put("admittedToHealthFacility", "hospitalization.admittedtohealthfacility");
+		COLUMNS.put("admissionDate", "hospitalization.admissiondate");
+		COLUMNS.put("dischargeDate", "hospitalization.dischargedate");
+		COLUMNS.put("leftAgainstAdvice", "hospitalization.leftagainstadvice");
+		COLUMNS.put("presentCondition", "person.presentcondition");
+		COLUMNS.put("deathDate", "person.deathdate");
+		COLUMNS.put("addressRegion", "addressregion.name");
+		COLUMNS.put("addressDistrict", "addressdistrict.name");
+		COLUMNS.put("city", "address.city");
+		COLUMNS.put("street", "address.street");
+		COLUMNS.put("houseNumber", "address.housenumber");
+		COLUMNS.put("additionalInformation", "address.additionalinformation");
+		COLUMNS.put("postalCode", "address.postalcode");
+		COLUMNS.put("traveled", "epidata.traveled");
+		COLUMNS.put("burialAttended", "epidata.burialattended");
+		COLUMNS.put("directContactConfirmedCase", "epidata.directcontactconfirmedcase");
+		COLUMNS.put("directContactProbableCase", "epidata.directcontactprobablecase");
+		COLUMNS.put("contactWithRodent", "epidata.rodents");
+		COLUMNS.put("vaccination", "cases.vaccination");
+		COLUMNS.put("vaccinationDoses", "cases.vaccinationdoses");
+		COLUMNS.put("vaccinationDate", "cases.vaccinationdate");
+		COLUMNS.put("vaccinationInfoSource", "cases.vaccinationinfosource");
+		COLUMNS.put("followUpStatus", "cases.followupstatus");
+		COLUMNS.put("followUpUntil", "cases.followupuntil");
+	}
+
+	@PersistenceContext(unitName = ModelConstants.PERSISTENCE_UNIT_NAME)
+	private EntityManager em;
+
+	@EJB
+	private CaseService caseService;
+	@EJB
+	private CaseJurisdictionChecker caseJurisdictionChecker;
+	@EJB
+	private UserService userService;
+	@EJB
+	private ConfigFacadeEjbLocal configFacade;
+
+	/**
+	 * @param properties
+	 *            field names of {@link CaseExportDto}
+	 * @return whether all of the properties can be exported with {@link #exportAsCsv}
+	 */
+	public static boolean isSupported(List<String> properties) {
+		return !properties.isEmpty() && COLUMNS.keySet().containsAll(properties);
+	}
+
+	/**
+	 * Writes the given properties of all cases matching the criteria as CSV rows without a header, sorted like the regular case export.
+	 * The cases are selected with the same user and criteria filters as the regular export in batches of
+	 * {@link ConfigFacadeEjbLocal#getExportBatchSize()}, each batch is then copied from the database in one go.
+	 * The writer is flushed but not closed.
+	 */
+	public void exportAsCsv(Writer writer, CaseCriteria caseCriteria, CaseExportType exportType, List<String> properties, Language userLanguage) {
+
+		if (!isSupported(properties)) {
+			throw new IllegalArgumentException("Properties can't be exported with COPY: " + properties);
+		}
+
+		List<CopyColumn> columns = new ArrayList<>();
+		FieldAccessCheckers fieldAccessCheckers = FieldAccessCheckers.withCheckers(
+			PersonalDataFieldAccessChecker.create(userService::hasRight),
+			SensitiveDataFieldAccessChecker.create(userService::hasRight));
+		String inaccessibleValue = I18nProperties.getCaption(Captions.inaccessibleValue);
+		for (String property : properties) {
+			columns.add(new CopyColumn(property, fieldAccessCheckers, inaccessibleValue));
+		}
+
+		Boolean previousCaseManagementDataCriteria = caseCriteria.getMustHaveCaseManagementData();
+		if (CaseExportType.CASE_MANAGEMENT == exportType) {
+			caseCriteria.setMustHaveCaseManagementData(Boolean.TRUE);
+		}
+
+		try {
+			CSVWriter csvWriter = CSVUtils.createCSVWriter(writer, configFacade.getCsvSeparator());
+			CSVParser copyParser = new CSVParserBuilder().build();
+			int batchSize = configFacade.getExportBatchSize();
+			ExportCursor after = null;
+			List<Object[]> batch;
+			do {
+				batch = getCaseJurisdictions(caseCriteria, after, batchSize);
+				if (batch.isEmpty()) {
+					break;
+				}
+
+				Map<Long, Boolean> casesInJurisdiction = new HashMap<>();
+				for (Object[] caseJurisdiction : batch) {
+					casesInJurisdiction.put(
+						(Long) caseJurisdiction[0],
+						caseJurisdictionChecker.isInJurisdictionOrOwned(
+							new CaseJurisdictionDto(
+								(String) caseJurisdiction[2],
+								(String) caseJurisdiction[3],
+								(String) caseJurisdiction[4],
+								(String) caseJurisdiction[5],
+								(String) caseJurisdiction[6],
+								(String) caseJurisdiction[7])));
+				}
+
+				copyOut(buildCopySql(properties, casesInJurisdiction.keySet()), row -> {
+					String[] values;
+					try {
+						values = copyParser.parseLine(new String(row, StandardCharsets.UTF_8));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+
+					// the first value is always the id of the case
+					boolean inJurisdiction = casesInJurisdiction.get(Long.valueOf(values[0]));
+					String[] fieldValues = new String[columns.size()];
+					for (int i = 0; i < columns.size(); i++) {
+						fieldValues[i] = columns.get(i).format(values[i + 1], inJurisdiction, userLanguage);
+					}
+					csvWriter.writeNext(fieldValues);
+				});
+
+				Object[] last = batch.get(batch.size() - 1);
+				after = new ExportCursor((Date) last[1], (Long) last[0]);
+			}
+			while (batch.size() == batchSize);
+
+			csvWriter.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			caseCriteria.setMustHaveCaseManagementData(previousCaseManagementDataCriteria);
+		}
+	}
+
+	/**
+	 * @return id, report date and the {@link CaseJurisdictionDto} values of the next batch of cases
+	 */
+	private List<Object[]> getCaseJurisdictions(CaseCriteria caseCriteria, ExportCursor after, int max) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<Case> caseRoot = cq.from(Case.class);
+		CaseJoins<Case> joins = new CaseJoins<>(caseRoot);
+
+		cq.multiselect(
+			caseRoot.get(Case.ID),
+			caseRoot.get(Case.REPORT_DATE),
+			joins.getReportingUser().get(User.UUID),
+			joins.getRegion().get(Region.UUID),
+			joins.getDistrict().get(District.UUID),
+			joins.getCommunity().get(Community.UUID),
+			joins.getFacility().get(Facility.UUID),
+			joins.getPointOfEntry().get(PointOfEntry.UUID));
+		cq.distinct(true);
+
+		Predicate filter = AbstractAdoService
+			.and(cb, caseService.createUserFilter(cb, cq, caseRoot), caseService.createCriteriaFilter(caseCriteria, cb, cq, caseRoot));
+		if (after != null) {
+			filter = AbstractAdoService
+				.and(cb, filter, AbstractAdoService.createExportCursorFilter(cb, caseRoot.get(Case.REPORT_DATE), caseRoot.get(Case.ID), after));
+		}
+		if (filter != null) {
+			cq.where(filter);
+		}
+		cq.orderBy(cb.desc(caseRoot.get(Case.REPORT_DATE)), cb.desc(caseRoot.get(Case.ID)));
+
+		return em.createQuery(cq).setHint(ModelConstants.HINT_HIBERNATE_READ_ONLY, true).setMaxResults(max).getResultList();
+	}
+
+	static Set<String> getSupportedProperties() {
+		return Collections.unmodifiableSet(COLUMNS.keySet());
+	}
+
+	static String buildCopySql(List<String> properties, Collection<Long> caseIds) {
+
+		StringBuilder selection = new StringBuilder("cases.id");
+		for (String property : properties) {
+			selection.append(", ").append(COLUMNS.get(property));
+		}
+
+		return String.format(COPY_CASES, selection, CASE_TABLES, caseIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+	}
+
+	/**
+	 * Runs a COPY command and passes each row to the consumer as soon as it is received from the database.
+	 */
+	private void copyOut(String sql, Consumer<byte[]> rowConsumer) {
+
+		Session session = em.unwrap(Session.class);
+		session.doWork(conn -> {
+			CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+			CopyOut copyOut = copyManager.copyOut(sql);
+			try {
+				byte[] row;
+				while ((row = copyOut.readFromCopy()) != null) {
+					rowConsumer.accept(row);
+				}
+			} catch (SQLException | RuntimeException e) {
+				if (copyOut.isActive()) {
+					copyOut.cancelCopy();
+				}
+				throw e;
+			}
+		});
+	}
+
+	/**
+	 * Formats the raw values of one {@link CaseExportDto} field like the regular export does.
+	 */
+	private static class CopyColumn {
+
+		private final Class<?> type;
+		private final boolean accessibleInJurisdiction;
+		private final boolean accessibleOutsideJurisdiction;
+		private final ValuePseudonymizer<?> valuePseudonymizer;
+		private final String inaccessibleValue;
+
+		CopyColumn(String property, FieldAccessCheckers fieldAccessCheckers, String inaccessibleValue) {
+
+			Field field;
+			try {
+				field = CaseExportDto.class.getDeclaredField(property);
+			} catch (NoSuchFieldException e) {
+				throw new IllegalArgumentException(e);
+			}
+
+			this.type = field.getType();
+			this.accessibleInJurisdiction = fieldAccessCheckers.isAccessible(field, true);
+			this.accessibleOutsideJurisdiction = fieldAccessCheckers.isAccessible(field, false);
+			this.inaccessibleValue = inaccessibleValue;
+
+			Pseudonymizer pseudonymizerAnnotation = field.getAnnotation(Pseudonymizer.class);
+			try {
+				this.valuePseudonymizer = pseudonymizerAnnotation != null ? pseudonymizerAnnotation.value().newInstance() : null;
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		String format(String value, boolean inJurisdiction, Language language) {
+
+			if (StringUtils.isEmpty(value)) {
+				return "";
+			}
+
+			if (!(inJurisdiction ? accessibleInJurisdiction : accessibleOutsideJurisdiction)) {
+				if (valuePseudonymizer != null) {
+					return (String) valuePseudonymizer.pseudonymize(value);
+				}
+				return type == String.class ? inaccessibleValue : "";
+			}
+
+			if (type.isEnum()) {
+				return I18nProperties.getEnumCaption(language, toEnum(value));
+			} else if (Date.class.isAssignableFrom(type)) {
+				Date date = value.length() == 10 ? java.sql.Date.valueOf(value) : Timestamp.valueOf(value);
+				return DateHelper.formatLocalDate(date, language);
+			} else if (type == boolean.class || type == Boolean.class) {
+				return DataHelper.parseBoolean("t".equals(value));
+			} else {
+				return value;
+			}
+		}
+
+		@SuppressWarnings({
+			"unchecked",
+			"rawtypes" })
+		private Enum<?> toEnum(String value) {
+
+			// enums that are not mapped with EnumType.STRING are stored by their ordinal
+			if (StringUtils.isNumeric(value)) {
+				return (Enum<?>) type.getEnumConstants()[Integer.parseInt(value)];
+			}
+			return Enum.valueOf((Class<Enum>) type, value);
+		}
+	}
+}
@@ -20,6 +20,8 @@ package de.symeda.sormas.backend.importexport;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -44,6 +46,9 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.CaseExportType;
 import de.symeda.sormas.api.importexport.DatabaseTable;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
 import de.symeda.sormas.api.importexport.ExportFacade;
@@ -100,6 +105,8 @@ public class ExportFacadeEjb implements ExportFacade {
 	private ExportConfigurationService exportConfigurationService;
 	@EJB
 	private DatabaseExportService databaseExportService;
+	@EJB
+	private CaseCopyExportService caseCopyExportService;
 
 	@Override
 	public String generateDatabaseExportArchive(List<DatabaseTable> databaseTables) throws ExportErrorException, IOException {
@@ -114,7 +121,7 @@ public class ExportFacadeEjb implements ExportFacade {
 
 		long startTime = System.currentTimeMillis();
 
-		Path zipPath = generateZipArchivePath();
+		Path zipPath = generateExportFilePath(".zip");
 
 		if (Files.exists(zipPath)) {
 			throw new IOException("File already exists: " + zipPath);
@@ -139,19 +146,49 @@ public class ExportFacadeEjb implements ExportFacade {
 		return zipPath.toString();
 	}
 
+	@Override
+	public String generateCaseCopyExport(CaseCriteria criteria, CaseExportType exportType, List<String> properties, Language userLanguage)
+		throws ExportErrorException, IOException {
+
+		Files.createDirectories(Paths.get(configFacade.getTempFilesPath()));
+
+		long startTime = System.currentTimeMillis();
+
+		Path csvPath = generateExportFilePath(".csv");
+
+		try (Writer writer = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
+			caseCopyExportService.exportAsCsv(writer, criteria, exportType, properties, userLanguage);
+		} catch (RuntimeException e) {
+			Files.deleteIfExists(csvPath);
+			throw e;
+		} catch (IOException e) {
+			Files.deleteIfExists(csvPath);
+			logger.error("Failed to generate a csv file for case export.");
+			throw new ExportErrorException();
+		}
+		logger.debug("generateCaseCopyExport() finished. {} columns, {} ms", properties.size(), System.currentTimeMillis() - startTime);
+
+		return csvPath.toString();
+	}
+
+	@Override
+	public boolean isCaseCopyExportSupported(List<String> properties) {
+		return CaseCopyExportService.isSupported(properties);
+	}
+
 	@Override
 	public String generateZipArchive(String date, int randomNumber) {
 
 		//XXX parameters are not respected
-		Path filePath = generateZipArchivePath();
+		Path filePath = generateExportFilePath(".zip");
 		return filePath.toString();
 	}
 
-	private Path generateZipArchivePath() {
+	private Path generateExportFilePath(String fileExtension) {
 
 		Path path = Paths.get(configFacade.getTempFilesPath());
 		String fileName = ImportExportUtils.TEMP_FILE_PREFIX + "_export_" + DateHelper.formatDateForExport(new Date()) + "_"
-			+ new Random().nextInt(Integer.MAX_VALUE) + ".zip";
+			+ new Random().nextInt(Integer.MAX_VALUE) + fileExtension;
 		Path filePath = path.resolve(fileName);
 		return filePath;
 	}
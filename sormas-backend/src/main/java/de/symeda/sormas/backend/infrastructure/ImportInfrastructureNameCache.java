@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.infrastructure;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureNameResolver;
+import de.symeda.sormas.backend.common.AbstractInfrastructureAdoService;
+import de.symeda.sormas.backend.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
+import de.symeda.sormas.backend.infrastructure.PointOfEntryFacadeEjb.PointOfEntryFacadeEjbLocal;
+import de.symeda.sormas.backend.region.AreaFacadeEjb.AreaFacadeEjbLocal;
+import de.symeda.sormas.backend.region.CommunityFacadeEjb.CommunityFacadeEjbLocal;
+import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
+import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
+
+/**
+ * Holds the {@link InfrastructureNameResolver} used by the backend importers, which are called once for each imported line.
+ * <p>
+ * A resolver is used for as long as an import is running, i.e. until no name has been resolved for
+ * {@link #MAX_IDLE_MILLIS}, or until infrastructure data is changed. Its hit and miss statistics are logged when it is
+ * replaced.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ImportInfrastructureNameCache {
+
+	private static final long MAX_IDLE_MILLIS = 60000;
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@EJB
+	private AreaFacadeEjbLocal areaFacade;
+	@EJB
+	private RegionFacadeEjbLocal regionFacade;
+	@EJB
+	private DistrictFacadeEjbLocal districtFacade;
+	@EJB
+	private CommunityFacadeEjbLocal communityFacade;
+	@EJB
+	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private PointOfEntryFacadeEjbLocal pointOfEntryFacade;
+
+	private InfrastructureNameResolver resolver;
+	private long resolverModificationCount;
+	private long lastUsed;
+
+	public synchronized InfrastructureNameResolver getResolver() {
+
+		long now = System.currentTimeMillis();
+		long modificationCount = AbstractInfrastructureAdoService.getModificationCount();
+		if (resolver != null && (resolverModificationCount != modificationCount || now - lastUsed > MAX_IDLE_MILLIS)) {
+			logger.info(
+				"Resolved infrastructure names of imports with {} hits and {} misses",
+				resolver.getHitCount(),
+				resolver.getMissCount());
+			resolver = null;
+		}
+
+		if (resolver == null) {
+			resolver = new InfrastructureNameResolver(
+				areaFacade::getAllActiveAsReference,
+				() -> regionFacade.getAllAfter(null),
+				() -> districtFacade.getAllAfter(null),
+				() -> communityFacade.getAllAfter(null),
+				() -> facilityFacade.getAllByRegionAfter(null, null),
+				() -> pointOfEntryFacade.getAllAfter(null));
+			resolverModificationCount = modificationCount;
+		}
+
+		lastUsed = now;
+		return resolver;
+	}
+}
@@ -5,6 +5,7 @@ import javax.ejb.Stateless;
 
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureFacade;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 import de.symeda.sormas.backend.caze.classification.CaseClassificationFacadeEjb.CaseClassificationFacadeEjbLocal;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
@@ -49,6 +50,8 @@ public class InfrastructureFacadeEjb implements InfrastructureFacade {
 	private ConfigFacadeEjbLocal configFacade;
 	@EJB
 	private FeatureConfigurationFacadeEjbLocal featureConfigurationFacade;
+	@EJB
+	private InfrastructureSnapshot infrastructureSnapshot;
 
 	@Override
 	public InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates) {
@@ -76,4 +79,21 @@ public class InfrastructureFacadeEjb implements InfrastructureFacade {
 
 		return sync;
 	}
+
+	@Override
+	public String getInfrastructureSnapshotVersion() {
+
+		InfrastructureSnapshotDto snapshot = infrastructureSnapshot.getSnapshot();
+		return snapshot != null ? snapshot.getVersion() : null;
+	}
+
+	@Override
+	public InfrastructureSnapshotDto getInfrastructureSnapshot() {
+		return infrastructureSnapshot.getSnapshot();
+	}
+
+	@Override
+	public InfrastructureSnapshotDto getInfrastructureSnapshotDiff(String sinceVersion) {
+		return infrastructureSnapshot.getDiff(sinceVersion);
+	}
 }
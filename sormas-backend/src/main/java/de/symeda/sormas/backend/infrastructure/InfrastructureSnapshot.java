@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.infrastructure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.EJB;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto.EntryType;
+import de.symeda.sormas.backend.facility.FacilityFacadeEjb.FacilityFacadeEjbLocal;
+import de.symeda.sormas.backend.facility.FacilityService;
+import de.symeda.sormas.backend.infrastructure.PointOfEntryFacadeEjb.PointOfEntryFacadeEjbLocal;
+import de.symeda.sormas.backend.region.CommunityFacadeEjb.CommunityFacadeEjbLocal;
+import de.symeda.sormas.backend.region.CommunityService;
+import de.symeda.sormas.backend.region.DistrictFacadeEjb.DistrictFacadeEjbLocal;
+import de.symeda.sormas.backend.region.DistrictService;
+import de.symeda.sormas.backend.region.RegionFacadeEjb.RegionFacadeEjbLocal;
+import de.symeda.sormas.backend.region.RegionService;
+import de.symeda.sormas.backend.user.UserFacadeEjb.UserFacadeEjbLocal;
+import de.symeda.sormas.backend.user.UserService;
+
+/**
+ * Maintains the infrastructure snapshot, a prebuilt and compressed package of all regions, districts, communities,
+ * facilities, points of entry and users that mobile devices download for their initial sync instead of requesting each
+ * type separately. See {@link InfrastructureSnapshotDto} for the format.
+ * <p>
+ * The snapshot is rebuilt by {@link #refresh()} when the change dates of the infrastructure data have moved since the last
+ * refresh. The version of a snapshot encodes these change dates, so it does not depend on the server start and the
+ * changes since any older version can be determined from the version alone. Devices that are one or more versions behind
+ * download a diff instead of the whole snapshot, see {@link #getDiff(String)}.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class InfrastructureSnapshot {
+
+	private static final String VERSION_SEPARATOR = "-";
+	private static final int VERSION_RADIX = 36;
+	/**
+	 * Maximum number of diffs kept for the current version
+	 */
+	private static final int MAX_CACHED_DIFFS = 20;
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final Logger logger = LoggerFactory.getLogger(getClass());
+
+	@EJB
+	private RegionService regionService;
+	@EJB
+	private DistrictService districtService;
+	@EJB
+	private CommunityService communityService;
+	@EJB
+	private FacilityService facilityService;
+	@EJB
+	private PointOfEntryService pointOfEntryService;
+	@EJB
+	private UserService userService;
+	@EJB
+	private RegionFacadeEjbLocal regionFacade;
+	@EJB
+	private DistrictFacadeEjbLocal districtFacade;
+	@EJB
+	private CommunityFacadeEjbLocal communityFacade;
+	@EJB
+	private FacilityFacadeEjbLocal facilityFacade;
+	@EJB
+	private PointOfEntryFacadeEjbLocal pointOfEntryFacade;
+	@EJB
+	private UserFacadeEjbLocal userFacade;
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+	private volatile InfrastructureSnapshotDto snapshot;
+	/**
+	 * Diffs to the current version by the version they start from, least recently used first
+	 */
+	private final Map<String, InfrastructureSnapshotDto> diffs =
+		Collections.synchronizedMap(new LinkedHashMap<String, InfrastructureSnapshotDto>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, InfrastructureSnapshotDto> eldest) {
+				return size() > MAX_CACHED_DIFFS;
+			}
+		});
+
+	/**
+	 * @return The current snapshot, built first if there is none yet. Null if another thread is building the first
+	 *         snapshot.
+	 */
+	public InfrastructureSnapshotDto getSnapshot() {
+
+		if (snapshot == null) {
+			refresh();
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @return The changes since the given version, labeled with the current version. Null if the given version is not valid
+	 *         or there is no current snapshot.
+	 */
+	public InfrastructureSnapshotDto getDiff(String sinceVersion) {
+
+		InfrastructureSnapshotDto current = getSnapshot();
+		Date[] sinceDates = sinceVersion != null ? decodeVersion(sinceVersion) : null;
+		if (current == null || sinceDates == null) {
+			return null;
+		}
+
+		String key = sinceVersion + VERSION_SEPARATOR + current.getVersion();
+		InfrastructureSnapshotDto diff = diffs.get(key);
+		if (diff == null) {
+			diff = new InfrastructureSnapshotDto(current.getVersion(), build(sinceDates));
+			diffs.put(key, diff);
+		}
+		return diff;
+	}
+
+	/**
+	 * Rebuilds the snapshot if infrastructure data has changed since the last refresh. Does nothing if another refresh is
+	 * still running.
+	 */
+	public void refresh() {
+
+		if (!refreshing.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			// determined before the rebuild, so changes made in the meantime are part of the next version
+			String version = encodeVersion(
+				regionService.getLatestChangeDate(),
+				districtService.getLatestChangeDate(),
+				communityService.getLatestChangeDate(),
+				facilityService.getLatestChangeDate(),
+				pointOfEntryService.getLatestChangeDate(),
+				userService.getLatestChangeDate());
+
+			if (snapshot != null && snapshot.getVersion().equals(version)) {
+				return;
+			}
+
+			long start = System.currentTimeMillis();
+			byte[] data = build(new Date[EntryType.values().length]);
+
+			snapshot = new InfrastructureSnapshotDto(version, data);
+			diffs.clear();
+			logger.info("Rebuilt the infrastructure snapshot {} with {} bytes in {} ms", version, data.length, System.currentTimeMillis() - start);
+		} finally {
+			refreshing.set(false);
+		}
+	}
+
+	/**
+	 * @param sinceDates
+	 *            The change date after which entries are included for each {@link EntryType}, null to include all
+	 */
+	private byte[] build(Date[] sinceDates) {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(new GZIPOutputStream(bytes))) {
+			generator.setRootValueSeparator(null);
+			write(generator, EntryType.REGION, regionFacade.getAllAfter(sinceDates[EntryType.REGION.ordinal()]));
+			write(generator, EntryType.DISTRICT, districtFacade.getAllAfter(sinceDates[EntryType.DISTRICT.ordinal()]));
+			write(generator, EntryType.COMMUNITY, communityFacade.getAllAfter(sinceDates[EntryType.COMMUNITY.ordinal()]));
+			write(generator, EntryType.FACILITY, facilityFacade.getAllByRegionAfter(null, sinceDates[EntryType.FACILITY.ordinal()]));
+			write(generator, EntryType.POINT_OF_ENTRY, pointOfEntryFacade.getAllAfter(sinceDates[EntryType.POINT_OF_ENTRY.ordinal()]));
+			write(generator, EntryType.USER, userFacade.getAllAfter(sinceDates[EntryType.USER.ordinal()]));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static void write(JsonGenerator generator, EntryType type, List<?> dtos) throws IOException {
+
+		for (Object dto : dtos) {
+			generator.writeStartObject();
+			generator.writeStringField("type", type.name());
+			generator.writeObjectField("data", dto);
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+		}
+	}
+
+	/**
+	 * @param changeDates
+	 *            The latest change date for each {@link EntryType}
+	 */
+	static String encodeVersion(Date... changeDates) {
+
+		StringBuilder version = new StringBuilder();
+		for (Date changeDate : changeDates) {
+			if (version.length() > 0) {
+				version.append(VERSION_SEPARATOR);
+			}
+			version.append(Long.toString(changeDate != null ? changeDate.getTime() : 0, VERSION_RADIX));
+		}
+		return version.toString();
+	}
+
+	/**
+	 * @return The latest change date for each {@link EntryType} or null if the version is not valid
+	 */
+	static Date[] decodeVersion(String version) {
+
+		String[] parts = version.split(VERSION_SEPARATOR);
+		if (parts.length != EntryType.values().length) {
+			return null;
+		}
+
+		Date[] changeDates = new Date[parts.length];
+		try {
+			for (int i = 0; i < parts.length; i++) {
+				long time = Long.parseLong(parts[i], VERSION_RADIX);
+				if (time < 0) {
+					return null;
+				}
+				changeDates[i] = time > 0 ? new Date(time) : null;
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		return changeDates;
+	}
+}
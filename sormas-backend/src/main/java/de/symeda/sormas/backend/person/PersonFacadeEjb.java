@@ -20,6 +20,8 @@ package de.symeda.sormas.backend.person;
 import com.auth0.jwt.internal.org.apache.commons.lang3.StringUtils;
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseOutcome;
@@ -223,6 +225,18 @@ public class PersonFacadeEjb implements PersonFacade {
 		return toPseudonymizedDtos(personService.getAllAfter(date, user));
 	}
 
+	@Override
+	public SyncPage<PersonDto> getPersonsAfter(Date date, String continuationToken, int pageSize) {
+		final User user = userService.getCurrentUser();
+		if (user == null) {
+			return new SyncPage<>(Collections.emptyList(), null);
+		}
+		final List<Person> persons = personService.getAllAfter(date, user, SyncCursor.fromToken(continuationToken), pageSize);
+		final Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
+		final List<Long> inJurisdictionIDs = personService.getInJurisdictionIDs(persons);
+		return AbstractAdoService.toSyncPage(persons, pageSize, p -> convertToDto(pseudonymizer, p, inJurisdictionIDs.contains(p.getId())));
+	}
+
 	@Override
 	public List<PersonDto> getByUuids(List<String> uuids) {
 		return toPseudonymizedDtos(personService.getByUuids(uuids));
@@ -19,7 +19,6 @@ package de.symeda.sormas.backend.person;
 
 import java.sql.Timestamp;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -30,6 +29,7 @@ import java.util.stream.Stream;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -44,6 +44,7 @@ import javax.persistence.criteria.Subquery;
 import org.apache.commons.lang3.StringUtils;
 
 import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.SyncCursor;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.person.PersonNameDto;
 import de.symeda.sormas.api.person.PersonSimilarityCriteria;
@@ -143,6 +144,19 @@ public class PersonService extends AbstractAdoService<Person> {
 
 	@Override
 	public List<Person> getAllAfter(Date date, User user) {
+		return getAllAfter(date, user, null, null);
+	}
+
+	/**
+	 * Each of the queries for the different ways a person is visible to the user is limited to {@code pageSize} on its
+	 * own, which is sufficient to determine the first {@code pageSize} persons of the merged result.
+	 * 
+	 * @param cursor
+	 *            Continue behind this position; {@code null} to start with the first page.
+	 * @param pageSize
+	 *            Maximum number of persons to return; {@code null} for all.
+	 */
+	public List<Person> getAllAfter(Date date, User user, SyncCursor cursor, Integer pageSize) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 
@@ -156,8 +170,12 @@ public class PersonService extends AbstractAdoService<Person> {
 			Predicate dateFilter = createChangeDateFilter(cb, personsRoot, DateHelper.toTimestampUpper(date));
 			lgaFilter = cb.and(lgaFilter, dateFilter);
 		}
+		if (cursor != null) {
+			lgaFilter = cb.and(lgaFilter, createSyncCursorFilter(cb, personsRoot, cursor));
+		}
 		personsQuery.where(lgaFilter);
-		List<Person> lgaResultList = em.createQuery(personsQuery).getResultList();
+		personsQuery.orderBy(orderBySyncCursor(cb, personsRoot));
+		List<Person> lgaResultList = getSyncResultList(personsQuery, pageSize);
 
 		// persons by case
 		CriteriaQuery<Person> casePersonsQuery = cb.createQuery(Person.class);
@@ -177,11 +195,15 @@ public class PersonService extends AbstractAdoService<Person> {
 				casePersonsFilter = cb.or(dateFilter, caseDateFilter);
 			}
 		}
+		if (cursor != null) {
+			casePersonsFilter = and(cb, casePersonsFilter, createSyncCursorFilter(cb, casePersonsSelect, cursor));
+		}
 		if (casePersonsFilter != null) {
 			casePersonsQuery.where(casePersonsFilter);
 		}
 		casePersonsQuery.distinct(true);
-		List<Person> casePersonsResultList = em.createQuery(casePersonsQuery).getResultList();
+		casePersonsQuery.orderBy(orderBySyncCursor(cb, casePersonsSelect));
+		List<Person> casePersonsResultList = getSyncResultList(casePersonsQuery, pageSize);
 
 		// persons by contact
 		CriteriaQuery<Person> contactPersonsQuery = cb.createQuery(Person.class);
@@ -196,11 +218,15 @@ public class PersonService extends AbstractAdoService<Person> {
 			Predicate contactDateFilter = contactService.createChangeDateFilter(cb, contactPersonsRoot, date);
 			contactPersonsFilter = cb.and(contactPersonsFilter, cb.or(dateFilter, contactDateFilter));
 		}
+		if (cursor != null) {
+			contactPersonsFilter = and(cb, contactPersonsFilter, createSyncCursorFilter(cb, contactPersonsSelect, cursor));
+		}
 		if (contactPersonsFilter != null) {
 			contactPersonsQuery.where(contactPersonsFilter);
 		}
 		contactPersonsQuery.distinct(true);
-		List<Person> contactPersonsResultList = em.createQuery(contactPersonsQuery).getResultList();
+		contactPersonsQuery.orderBy(orderBySyncCursor(cb, contactPersonsSelect));
+		List<Person> contactPersonsResultList = getSyncResultList(contactPersonsQuery, pageSize);
 
 		// persons by event participant
 		CriteriaQuery<Person> eventPersonsQuery = cb.createQuery(Person.class);
@@ -216,17 +242,28 @@ public class PersonService extends AbstractAdoService<Person> {
 				eventParticipantService.createChangeDateFilter(cb, eventPersonsRoot, DateHelper.toTimestampUpper(date));
 			eventPersonsFilter = cb.and(eventPersonsFilter, cb.or(dateFilter, eventParticipantDateFilter));
 		}
+		if (cursor != null) {
+			eventPersonsFilter = and(cb, eventPersonsFilter, createSyncCursorFilter(cb, eventPersonsSelect, cursor));
+		}
 		if (eventPersonsFilter != null) {
 			eventPersonsQuery.where(eventPersonsFilter);
 		}
 		eventPersonsQuery.distinct(true);
-		List<Person> eventPersonsResultList = em.createQuery(eventPersonsQuery).getResultList();
+		eventPersonsQuery.orderBy(orderBySyncCursor(cb, eventPersonsSelect));
+		List<Person> eventPersonsResultList = getSyncResultList(eventPersonsQuery, pageSize);
 
-		return Stream.of(lgaResultList, casePersonsResultList, contactPersonsResultList, eventPersonsResultList)
-			.flatMap(List<Person>::stream)
-			.distinct()
-			.sorted(Comparator.comparing(Person::getChangeDate))
-			.collect(Collectors.toList());
+		return mergeSyncPages(
+			Stream.of(lgaResultList, casePersonsResultList, contactPersonsResultList, eventPersonsResultList).flatMap(List<Person>::stream),
+			pageSize);
+	}
+
+	private List<Person> getSyncResultList(CriteriaQuery<Person> cq, Integer pageSize) {
+
+		TypedQuery<Person> query = em.createQuery(cq);
+		if (pageSize != null) {
+			query.setMaxResults(pageSize);
+		}
+		return query.getResultList();
 	}
 
 	public List<Long> getInJurisdictionIDs(final List<Person> selectedPersons) {
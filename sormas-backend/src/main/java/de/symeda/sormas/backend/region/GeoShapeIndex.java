@@ -0,0 +1,78 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.region;
+
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import de.symeda.sormas.api.region.GeoLatLon;
+
+/**
+ * Spatial index to find the shape that contains a coordinate.
+ * Only the shapes whose bounding box contains the coordinate are tested, using prepared geometries.
+ */
+public class GeoShapeIndex<T> {
+
+	private final STRtree tree = new STRtree();
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	public GeoShapeIndex(Map<T, ? extends Geometry> geometries) {
+
+		PreparedGeometryFactory preparedGeometryFactory = new PreparedGeometryFactory();
+		geometries.forEach(
+			(key, geometry) -> tree.insert(geometry.getEnvelopeInternal(), new IndexedShape<>(key, preparedGeometryFactory.create(geometry))));
+		tree.build();
+	}
+
+	/**
+	 * @return the key of the first shape that contains the coordinate or null
+	 */
+	@SuppressWarnings("unchecked")
+	public T getByCoord(GeoLatLon latLon) {
+
+		Coordinate coordinate = new Coordinate(latLon.getLon(), latLon.getLat());
+		Point point = null;
+		for (IndexedShape<T> shape : (List<IndexedShape<T>>) tree.query(new Envelope(coordinate))) {
+			if (point == null) {
+				point = geometryFactory.createPoint(coordinate);
+			}
+			if (shape.geometry.contains(point)) {
+				return shape.key;
+			}
+		}
+		return null;
+	}
+
+	private static class IndexedShape<T> {
+
+		private final T key;
+		private final PreparedGeometry geometry;
+
+		IndexedShape(T key, PreparedGeometry geometry) {
+			this.key = key;
+			this.geometry = geometry;
+		}
+	}
+}
@@ -23,8 +23,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.ejb.EJB;
@@ -68,11 +68,13 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	private Map<RegionReferenceDto, MultiPolygon> regionMultiPolygons = new HashMap<>();
 	private Map<RegionReferenceDto, GeoLatLon[][]> regionShapes = new HashMap<>();
+	private GeoShapeIndex<RegionReferenceDto> regionIndex = new GeoShapeIndex<>(regionMultiPolygons);
 
 	private GeoLatLon regionsCenter;
 
 	private Map<DistrictReferenceDto, MultiPolygon> districtMultiPolygons = new HashMap<>();
 	private Map<DistrictReferenceDto, GeoLatLon[][]> districtShapes = new HashMap<>();
+	private GeoShapeIndex<DistrictReferenceDto> districtIndex = new GeoShapeIndex<>(districtMultiPolygons);
 
 	private GeoLatLon[][] countryShape;
 
@@ -88,15 +90,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	@Override
 	public RegionReferenceDto getRegionByCoord(GeoLatLon latLon) {
-
-		for (Entry<RegionReferenceDto, MultiPolygon> regionMultiPolygon : regionMultiPolygons.entrySet()) {
-			if (regionMultiPolygon.getValue()
-				.contains(
-					GeometryFactory.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), regionMultiPolygon.getValue()))) {
-				return regionMultiPolygon.getKey();
-			}
-		}
-		return null;
+		return regionIndex.getByCoord(latLon);
 	}
 
 	@Override
@@ -144,16 +138,12 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 
 	@Override
 	public DistrictReferenceDto getDistrictByCoord(GeoLatLon latLon) {
+		return districtIndex.getByCoord(latLon);
+	}
 
-		for (Entry<DistrictReferenceDto, MultiPolygon> districtMultiPolygon : districtMultiPolygons.entrySet()) {
-			if (districtMultiPolygon.getValue()
-				.contains(
-					GeometryFactory
-						.createPointFromInternalCoord(new Coordinate(latLon.getLon(), latLon.getLat()), districtMultiPolygon.getValue()))) {
-				return districtMultiPolygon.getKey();
-			}
-		}
-		return null;
+	@Override
+	public List<DistrictReferenceDto> getDistrictsByCoords(List<GeoLatLon> latLons) {
+		return latLons.stream().map(districtIndex::getByCoord).collect(Collectors.toList());
 	}
 
 	@Override
@@ -263,6 +253,7 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 			throw new RuntimeException(e);
 		}
 
+		regionIndex = new GeoShapeIndex<>(regionMultiPolygons);
 		updateCenterOfAllRegions();
 	}
 
@@ -353,6 +344,8 @@ public class GeoShapeProviderEjb implements GeoShapeProvider {
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
+
+		districtIndex = new GeoShapeIndex<>(districtMultiPolygons);
 	}
 
 	private void buildCountryShape() {
@@ -1,7 +1,10 @@
 package de.symeda.sormas.backend.sample;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -77,6 +80,28 @@ public class AdditionalTestService extends AbstractAdoService<AdditionalTest> {
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * Loads the additional tests of several samples at once, e.g. for one batch of an export.
+	 * 
+	 * @return The additional tests of each sample, ordered by test date descending.
+	 */
+	public Map<Long, List<AdditionalTest>> getAllBySampleIds(List<Long> sampleIds) {
+
+		if (sampleIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<AdditionalTest> cq = cb.createQuery(getElementClass());
+		Root<AdditionalTest> from = cq.from(getElementClass());
+		Join<AdditionalTest, Sample> sampleJoin = from.join(AdditionalTest.SAMPLE);
+
+		cq.where(sampleJoin.get(Sample.ID).in(sampleIds));
+		cq.orderBy(cb.desc(from.get(AdditionalTest.TEST_DATE_TIME)));
+
+		return em.createQuery(cq).getResultList().stream().collect(Collectors.groupingBy(t -> t.getSample().getId()));
+	}
+
 	public List<AdditionalTest> getAllBySample(Sample sample) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -17,8 +17,11 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.sample;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
@@ -95,6 +98,29 @@ public class PathogenTestService extends AbstractCoreAdoService<PathogenTest> {
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * Loads the tests of several samples at once, e.g. for one batch of an export.
+	 * 
+	 * @return The tests of each sample, ordered by test date descending.
+	 */
+	public Map<Long, List<PathogenTest>> getAllBySampleIds(List<Long> sampleIds) {
+
+		if (sampleIds.isEmpty()) {
+			return Collections.emptyMap();
+		}
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<PathogenTest> cq = cb.createQuery(getElementClass());
+		Root<PathogenTest> from = cq.from(getElementClass());
+		from.fetch(PathogenTest.LAB, JoinType.LEFT);
+		Join<PathogenTest, Sample> sampleJoin = from.join(PathogenTest.SAMPLE);
+
+		cq.where(cb.and(createDefaultFilter(cb, from), sampleJoin.get(Sample.ID).in(sampleIds)));
+		cq.orderBy(cb.desc(from.get(PathogenTest.TEST_DATE_TIME)));
+
+		return em.createQuery(cq).getResultList().stream().collect(Collectors.groupingBy(t -> t.getSample().getId()));
+	}
+
 	public List<PathogenTest> getAllBySample(Sample sample) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -142,6 +168,27 @@ public class PathogenTestService extends AbstractCoreAdoService<PathogenTest> {
 		return em.createQuery(cq).getResultList();
 	}
 
+	/**
+	 * @return The pathogen tests of the given cases, grouped by the id of the case and each ordered by test date like
+	 *         {@link #getAllByCase(Case)}.
+	 */
+	public Map<Long, List<PathogenTest>> getAllByCaseIds(List<Long> caseIds) {
+
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Object[]> cq = cb.createQuery(Object[].class);
+		Root<PathogenTest> from = cq.from(getElementClass());
+		Join<PathogenTest, Sample> sampleJoin = from.join(PathogenTest.SAMPLE);
+
+		cq.multiselect(sampleJoin.get(Sample.ASSOCIATED_CASE).get(Case.ID), from);
+		cq.where(createDefaultFilter(cb, from), sampleJoin.get(Sample.ASSOCIATED_CASE).get(Case.ID).in(caseIds));
+		cq.orderBy(cb.desc(from.get(PathogenTest.TEST_DATE_TIME)));
+
+		return em.createQuery(cq)
+			.getResultList()
+			.stream()
+			.collect(Collectors.groupingBy(r -> (Long) r[0], Collectors.mapping(r -> (PathogenTest) r[1], Collectors.toList())));
+	}
+
 	public List<PathogenTest> getBySampleUuids(List<String> sampleUuids) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
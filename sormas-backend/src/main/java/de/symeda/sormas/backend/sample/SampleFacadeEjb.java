@@ -18,6 +18,8 @@
 package de.symeda.sormas.backend.sample;
 
 import de.symeda.sormas.api.DiseaseHelper;
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
@@ -27,6 +29,7 @@ import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
 import de.symeda.sormas.api.i18n.Validations;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.sample.PathogenTestResultType;
 import de.symeda.sormas.api.sample.SampleCriteria;
 import de.symeda.sormas.api.sample.SampleDto;
@@ -87,6 +90,7 @@ import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -182,6 +186,19 @@ public class SampleFacadeEjb implements SampleFacade {
 		return sampleService.getAllActiveSamplesAfter(date, user).stream().map(e -> convertToDto(e, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPage<SampleDto> getAllActiveSamplesAfter(Date date, String continuationToken, int pageSize) {
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return new SyncPage<>(Collections.emptyList(), null);
+		}
+
+		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
+		List<Sample> samples = sampleService.getAllActiveSamplesAfter(date, user, SyncCursor.fromToken(continuationToken), pageSize);
+		return AbstractAdoService.toSyncPage(samples, pageSize, e -> convertToDto(e, pseudonymizer));
+	}
+
 	@Override
 	public List<SampleDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
@@ -480,7 +497,12 @@ public class SampleFacadeEjb implements SampleFacade {
 		}
 	}
 
-	private List<SampleExportDto> getExportList(SampleCriteria sampleCriteria, CaseCriteria caseCriteria, int first, int max) {
+	private List<SampleExportDto> getExportList(
+		SampleCriteria sampleCriteria,
+		CaseCriteria caseCriteria,
+		Integer first,
+		ExportCursor after,
+		int max) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<SampleExportDto> cq = cb.createQuery(SampleExportDto.class);
@@ -600,17 +622,31 @@ public class SampleFacadeEjb implements SampleFacade {
 			filter = AbstractAdoService.and(cb, filter, cb.isFalse(sample.get(Sample.DELETED)));
 		}
 
+		if (after != null) {
+			filter = AbstractAdoService
+				.and(cb, filter, AbstractAdoService.createExportCursorFilter(cb, sample.get(Sample.REPORT_DATE_TIME), sample.get(Sample.ID), after));
+		}
+
 		if (filter != null) {
 			cq.where(filter);
 		}
 
 		cq.orderBy(cb.desc(sample.get(Sample.REPORT_DATE_TIME)), cb.desc(sample.get(Sample.ID)));
 
-		List<SampleExportDto> resultList = em.createQuery(cq).setFirstResult(first).setMaxResults(max).getResultList();
+		TypedQuery<SampleExportDto> query = em.createQuery(cq);
+		if (first != null) {
+			query.setFirstResult(first);
+		}
+		List<SampleExportDto> resultList = query.setMaxResults(max).getResultList();
 		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight, I18nProperties.getCaption(Captions.inaccessibleValue));
 
+		// load the tests of the whole batch at once instead of querying them per sample
+		List<Long> resultSampleIds = resultList.stream().map(SampleExportDto::getId).collect(Collectors.toList());
+		Map<Long, List<PathogenTest>> pathogenTestsBySample = pathogenTestService.getAllBySampleIds(resultSampleIds);
+		Map<Long, List<AdditionalTest>> additionalTestsBySample = additionalTestService.getAllBySampleIds(resultSampleIds);
+
 		for (SampleExportDto exportDto : resultList) {
-			List<PathogenTest> pathogenTests = pathogenTestService.getAllBySample(sampleService.getById(exportDto.getId()));
+			List<PathogenTest> pathogenTests = pathogenTestsBySample.getOrDefault(exportDto.getId(), Collections.emptyList());
 			int count = 0;
 			for (PathogenTest pathogenTest : pathogenTests) {
 				String lab = pathogenTest.getLab() != null
@@ -642,7 +678,7 @@ public class SampleFacadeEjb implements SampleFacade {
 				}
 			}
 
-			List<AdditionalTest> additionalTests = additionalTestService.getAllBySample(sampleService.getById(exportDto.getId()));
+			List<AdditionalTest> additionalTests = additionalTestsBySample.getOrDefault(exportDto.getId(), Collections.emptyList());
 			if (additionalTests.size() > 0) {
 				exportDto.setAdditionalTest(additionalTestFacade.toDto(additionalTests.get(0)));
 			}
@@ -667,12 +703,22 @@ public class SampleFacadeEjb implements SampleFacade {
 
 	@Override
 	public List<SampleExportDto> getExportList(SampleCriteria criteria, int first, int max) {
-		return getExportList(criteria, null, first, max);
+		return getExportList(criteria, null, first, null, max);
 	}
 
 	@Override
 	public List<SampleExportDto> getExportList(CaseCriteria criteria, int first, int max) {
-		return getExportList(null, criteria, first, max);
+		return getExportList(null, criteria, first, null, max);
+	}
+
+	@Override
+	public List<SampleExportDto> getExportList(SampleCriteria criteria, ExportCursor after, int max) {
+		return getExportList(criteria, null, null, after, max);
+	}
+
+	@Override
+	public List<SampleExportDto> getExportList(CaseCriteria criteria, ExportCursor after, int max) {
+		return getExportList(null, criteria, null, after, max);
 	}
 
 	@Override
@@ -18,6 +18,7 @@
 package de.symeda.sormas.backend.sample;
 
 import de.symeda.sormas.api.EntityRelevanceStatus;
+import de.symeda.sormas.api.SyncCursor;
 import de.symeda.sormas.api.sample.PathogenTestResultType;
 import de.symeda.sormas.api.sample.SampleAssociationType;
 import de.symeda.sormas.api.sample.SampleCriteria;
@@ -25,6 +26,7 @@ import de.symeda.sormas.api.sample.SpecimenCondition;
 import de.symeda.sormas.api.user.JurisdictionLevel;
 import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.caze.CaseAccessIndex;
 import de.symeda.sormas.backend.caze.CaseService;
 import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.AbstractCoreAdoService;
@@ -46,8 +48,10 @@ import org.apache.commons.collections.CollectionUtils;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
@@ -77,11 +81,21 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 	private PathogenTestService pathogenTestService;
 	@EJB
 	private AdditionalTestService additionalTestService;
+	@EJB
+	private CaseAccessIndex caseAccessIndex;
 
 	public SampleService() {
 		super(Sample.class);
 	}
 
+	@Override
+	public void ensurePersisted(Sample sample) throws EntityExistsException {
+
+		Long previousCaseId = caseAccessIndex.getStoredCaseId(Sample.TABLE_NAME, Sample.ASSOCIATED_CASE, sample.getId());
+		super.ensurePersisted(sample);
+		caseAccessIndex.updateCases(previousCaseId, sample.getAssociatedCase() != null ? sample.getAssociatedCase().getId() : null);
+	}
+
 	public List<Sample> findBy(SampleCriteria criteria, User user, String sortProperty, boolean ascending) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -113,6 +127,16 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 	}
 
 	public List<Sample> getAllActiveSamplesAfter(Date date, User user) {
+		return getAllActiveSamplesAfter(date, user, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            Continue behind this position; {@code null} to start with the first page.
+	 * @param pageSize
+	 *            Maximum number of samples to return; {@code null} for all.
+	 */
+	public List<Sample> getAllActiveSamplesAfter(Date date, User user, SyncCursor cursor, Integer pageSize) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Sample> cq = cb.createQuery(getElementClass());
@@ -130,11 +154,19 @@ public class SampleService extends AbstractCoreAdoService<Sample> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
+		if (cursor != null) {
+			filter = AbstractAdoService.and(cb, filter, createSyncCursorFilter(cb, from, cursor));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Sample.CHANGE_DATE)));
+		cq.orderBy(orderBySyncCursor(cb, from));
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Sample> query = em.createQuery(cq);
+		if (pageSize != null) {
+			query.setMaxResults(pageSize);
+		}
+		return query.getResultList();
 	}
 
 	public List<String> getAllActiveUuids(User user) {
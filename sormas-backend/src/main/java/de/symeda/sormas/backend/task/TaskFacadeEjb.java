@@ -17,6 +17,8 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.task;
 
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseJurisdictionDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactJurisdictionDto;
@@ -330,6 +332,19 @@ public class TaskFacadeEjb implements TaskFacade {
 		return taskService.getAllActiveTasksAfter(date, user).stream().map(c -> toDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPage<TaskDto> getAllActiveTasksAfter(Date date, String continuationToken, int pageSize) {
+
+		User user = userService.getCurrentUser();
+		if (user == null) {
+			return new SyncPage<>(Collections.emptyList(), null);
+		}
+
+		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
+		List<Task> tasks = taskService.getAllActiveTasksAfter(date, user, SyncCursor.fromToken(continuationToken), pageSize);
+		return AbstractAdoService.toSyncPage(tasks, pageSize, c -> toDto(c, pseudonymizer));
+	}
+
 	@Override
 	public long count(TaskCriteria taskCriteria) {
 
@@ -23,6 +23,7 @@ import java.util.List;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -32,6 +33,7 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import de.symeda.sormas.api.EntityRelevanceStatus;
+import de.symeda.sormas.api.SyncCursor;
 import de.symeda.sormas.api.task.TaskContext;
 import de.symeda.sormas.api.task.TaskCriteria;
 import de.symeda.sormas.api.task.TaskPriority;
@@ -66,6 +68,16 @@ public class TaskService extends AbstractAdoService<Task> {
 	}
 
 	public List<Task> getAllActiveTasksAfter(Date date, User user) {
+		return getAllActiveTasksAfter(date, user, null, null);
+	}
+
+	/**
+	 * @param cursor
+	 *            Continue behind this position; {@code null} to start with the first page.
+	 * @param pageSize
+	 *            Maximum number of tasks to return; {@code null} for all.
+	 */
+	public List<Task> getAllActiveTasksAfter(Date date, User user, SyncCursor cursor, Integer pageSize) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Task> cq = cb.createQuery(getElementClass());
@@ -83,11 +95,19 @@ public class TaskService extends AbstractAdoService<Task> {
 			filter = AbstractAdoService.and(cb, filter, dateFilter);
 		}
 
+		if (cursor != null) {
+			filter = AbstractAdoService.and(cb, filter, createSyncCursorFilter(cb, from, cursor));
+		}
+
 		cq.where(filter);
-		cq.orderBy(cb.desc(from.get(Task.CHANGE_DATE)));
+		cq.orderBy(orderBySyncCursor(cb, from));
 		cq.distinct(true);
 
-		return em.createQuery(cq).getResultList();
+		TypedQuery<Task> query = em.createQuery(cq);
+		if (pageSize != null) {
+			query.setMaxResults(pageSize);
+		}
+		return query.getResultList();
 	}
 
 	public List<String> getAllActiveUuids(User user) {
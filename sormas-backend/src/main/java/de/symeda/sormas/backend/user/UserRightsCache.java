@@ -0,0 +1,117 @@
+/*
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package de.symeda.sormas.backend.user;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.LocalBean;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+
+import de.symeda.sormas.api.user.UserRight;
+import de.symeda.sormas.api.user.UserRole;
+
+/**
+ * Keeps the effective user rights per combination of user roles, so they don't have to be built from the user role configurations
+ * for every right check. Invalidated by {@link UserRoleConfigService} whenever a user role configuration is saved or deleted and
+ * once more when the transaction doing so has been completed. Rights are rebuilt after {@link #TIME_TO_LIVE_MILLIS} at the latest, in case
+ * the configurations were changed elsewhere.
+ */
+@Singleton
+@LocalBean
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class UserRightsCache {
+
+	public static final long TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+	private final Map<Set<UserRole>, CachedUserRights> userRights = new ConcurrentHashMap<>();
+	/**
+	 * Incremented on every invalidation, so rights that were built in the meantime are not kept
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	@Inject
+	private Event<Invalidation> invalidationEvent;
+
+	/**
+	 * @return the immutable rights of the user roles, built with {@code loader} if they are not cached yet
+	 */
+	public Set<UserRight> getUserRights(Set<UserRole> userRoles, Function<Set<UserRole>, Set<UserRight>> loader) {
+
+		CachedUserRights cached = userRights.get(userRoles);
+		if (cached != null && System.currentTimeMillis() - cached.loadedAt < TIME_TO_LIVE_MILLIS) {
+			return cached.rights;
+		}
+
+		Set<UserRole> key = userRoles.isEmpty() ? EnumSet.noneOf(UserRole.class) : EnumSet.copyOf(userRoles);
+		long loadedVersion = version.get();
+		cached = new CachedUserRights(System.currentTimeMillis(), Collections.unmodifiableSet(EnumSet.copyOf(loader.apply(key))));
+		if (version.get() == loadedVersion) {
+			userRights.put(key, cached);
+			if (version.get() != loadedVersion) {
+				userRights.remove(key);
+			}
+		}
+
+		return cached.rights;
+	}
+
+	/**
+	 * Discards the cached rights right away and once more when the current transaction has been completed, because rights built
+	 * until then may be based on the configurations before the change or on a change that is rolled back.
+	 */
+	public void invalidate() {
+		clear();
+		invalidationEvent.fire(new Invalidation());
+	}
+
+	@TransactionAttribute(TransactionAttributeType.SUPPORTS)
+	public void afterInvalidation(@Observes(during = TransactionPhase.AFTER_COMPLETION) Invalidation invalidation) {
+		clear();
+	}
+
+	private void clear() {
+		version.incrementAndGet();
+		userRights.clear();
+	}
+
+	public static final class Invalidation {
+	}
+
+	private static final class CachedUserRights {
+
+		private final long loadedAt;
+		private final Set<UserRight> rights;
+
+		CachedUserRights(long loadedAt, Set<UserRight> rights) {
+			this.loadedAt = loadedAt;
+			this.rights = rights;
+		}
+	}
+}
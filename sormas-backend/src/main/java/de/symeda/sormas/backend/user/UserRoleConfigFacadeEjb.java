@@ -43,6 +43,8 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 	private UserRoleConfigService userRoleConfigService;
 	@EJB
 	private UserService userService;
+	@EJB
+	private UserRightsCache userRightsCache;
 
 	@Override
 	public List<UserRoleConfigDto> getAllAfter(Date since) {
@@ -92,6 +94,15 @@ public class UserRoleConfigFacadeEjb implements UserRoleConfigFacade {
 	@Override
 	public Set<UserRight> getEffectiveUserRights(UserRole... userRoles) {
 
+		Set<UserRole> userRoleSet = EnumSet.noneOf(UserRole.class);
+		Collections.addAll(userRoleSet, userRoles);
+
+		// copied because the cached rights are immutable
+		return EnumSet.copyOf(userRightsCache.getUserRights(userRoleSet, this::buildEffectiveUserRights));
+	}
+
+	private Set<UserRight> buildEffectiveUserRights(Set<UserRole> userRoles) {
+
 		Set<UserRight> userRights = EnumSet.noneOf(UserRight.class);
 
 		for (UserRole userRole : userRoles) {
@@ -21,9 +21,11 @@ import java.util.Date;
 import java.util.List;
 
 import javax.annotation.Resource;
+import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
+import javax.persistence.EntityExistsException;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
@@ -43,11 +45,31 @@ public class UserRoleConfigService extends AbstractAdoService<UserRoleConfig> {
 
 	@Resource
 	private SessionContext sessionContext;
+	@EJB
+	private UserRightsCache userRightsCache;
 
 	public UserRoleConfigService() {
 		super(UserRoleConfig.class);
 	}
 
+	@Override
+	public void ensurePersisted(UserRoleConfig userRoleConfig) throws EntityExistsException {
+		super.ensurePersisted(userRoleConfig);
+		userRightsCache.invalidate();
+	}
+
+	@Override
+	public void persist(UserRoleConfig userRoleConfig) {
+		super.persist(userRoleConfig);
+		userRightsCache.invalidate();
+	}
+
+	@Override
+	public void delete(UserRoleConfig userRoleConfig) {
+		super.delete(userRoleConfig);
+		userRightsCache.invalidate();
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Predicate createUserFilter(CriteriaBuilder cb, CriteriaQuery cq, From<UserRoleConfig, UserRoleConfig> from) {
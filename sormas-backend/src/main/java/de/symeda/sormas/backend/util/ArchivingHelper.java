@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.util;
+
+import java.util.function.IntUnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class ArchivingHelper {
+
+	public static final int CHUNK_SIZE = 1000;
+
+	private static final Logger logger = LoggerFactory.getLogger(ArchivingHelper.class);
+
+	private ArchivingHelper() {
+		// Hide Utility Class Constructor
+	}
+
+	/**
+	 * Archives entities chunk by chunk until a chunk is not full. Each chunk is expected to be archived in a transaction of
+	 * its own, so an interrupted run is resumed by the next one.
+	 *
+	 * @param archiveChunk
+	 *            Archives at most the given number of entities and returns how many it has archived
+	 * @return The number of archived entities
+	 */
+	public static int archiveInChunks(String entityName, int chunkSize, IntUnaryOperator archiveChunk) {
+
+		long start = System.currentTimeMillis();
+		int archivedCount = 0;
+		int chunkCount = 0;
+		int chunkArchivedCount;
+		do {
+			chunkArchivedCount = archiveChunk.applyAsInt(chunkSize);
+			archivedCount += chunkArchivedCount;
+			chunkCount++;
+			logger.debug("Archived {} {} so far", archivedCount, entityName);
+		} while (chunkArchivedCount >= chunkSize);
+
+		long duration = Math.max(System.currentTimeMillis() - start, 1);
+		logger.info(
+			"Archived {} {} in {} chunks in {} ms ({} per second)",
+			archivedCount,
+			entityName,
+			chunkCount,
+			duration,
+			archivedCount * 1000L / duration);
+		return archivedCount;
+	}
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2018 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.util;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.ReferenceDto;
+import de.symeda.sormas.api.utils.DataHelper;
+
+/**
+ * Fills the properties of one DTO class as described for {@link DtoHelper#fillDto(EntityDto, EntityDto, boolean)}. The
+ * properties, their getters and setters and how they are copied are determined once per class, so filling a DTO does not
+ * need any introspection or reflection.
+ */
+final class DtoCopier {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ConcurrentHashMap<Class<?>, DtoCopier> COPIERS = new ConcurrentHashMap<>();
+
+	private final List<CopiedProperty> properties;
+
+	private DtoCopier(List<CopiedProperty> properties) {
+		this.properties = Collections.unmodifiableList(properties);
+	}
+
+	static DtoCopier forClass(Class<?> dtoClass) {
+		return COPIERS.computeIfAbsent(dtoClass, DtoCopier::build);
+	}
+
+	/**
+	 * Drops the cached copiers, so they are determined again when a DTO class is filled the next time
+	 */
+	static void clearCache() {
+		COPIERS.clear();
+	}
+
+	private static DtoCopier build(Class<?> dtoClass) {
+
+		try {
+			List<CopiedProperty> properties = new ArrayList<>();
+			for (PropertyDescriptor pd : Introspector.getBeanInfo(dtoClass, EntityDto.class).getPropertyDescriptors()) {
+				// Skip properties without a read or write method
+				if (pd.getReadMethod() != null && pd.getWriteMethod() != null) {
+					properties.add(new CopiedProperty(pd));
+				}
+			}
+			return new DtoCopier(properties);
+		} catch (IntrospectionException | IllegalAccessException e) {
+			throw new RuntimeException("Exception when trying to fill dto: " + e.getMessage(), e);
+		}
+	}
+
+	@SuppressWarnings({
+		"unchecked",
+		"rawtypes" })
+	void fill(EntityDto target, EntityDto source, boolean overrideValues) throws Throwable {
+
+		for (CopiedProperty property : properties) {
+			Object targetValue = property.getter.invokeExact((Object) target);
+			Object sourceValue = property.getter.invokeExact((Object) source);
+
+			if (property.kind == PropertyKind.ENTITY) {
+
+				if (targetValue == null) {
+					targetValue = sourceValue.getClass().newInstance();
+					property.setter.invokeExact((Object) target, targetValue);
+				}
+
+				// entity: just fill the existing one with the source
+				forClass(targetValue.getClass()).fill((EntityDto) targetValue, (EntityDto) sourceValue, overrideValues);
+				continue;
+			}
+
+			boolean targetIsEmpty = targetValue == null || (property.kind == PropertyKind.COLLECTION && ((Collection<?>) targetValue).isEmpty());
+			boolean override = overrideValues && !property.reference;
+			// should we write into the target property?
+			if (!targetIsEmpty && !override) {
+				continue;
+			}
+
+			if (property.kind == PropertyKind.COLLECTION && sourceValue != null) {
+
+				if (targetValue == null) {
+					targetValue = sourceValue.getClass().newInstance();
+					property.setter.invokeExact((Object) target, targetValue);
+				}
+
+				Collection targetCollection = (Collection) targetValue;
+				targetCollection.clear();
+
+				for (Object sourceEntry : (Collection) sourceValue) {
+
+					if (sourceEntry instanceof EntityDto) {
+						EntityDto newEntry = ((EntityDto) sourceEntry).clone();
+						newEntry.setUuid(DataHelper.createUuid());
+						newEntry.setCreationDate(null);
+						forClass(newEntry.getClass()).fill(newEntry, (EntityDto) sourceEntry, true);
+						targetCollection.add(newEntry);
+					} else if (DataHelper.isValueType(sourceEntry.getClass()) || sourceEntry instanceof ReferenceDto) {
+						targetCollection.add(sourceEntry);
+					} else {
+						throw new UnsupportedOperationException(property.typeName + " is not supported as a list entry type.");
+					}
+				}
+
+			} else if (property.kind == PropertyKind.VALUE) {
+
+				property.setter.invokeExact((Object) target, sourceValue);
+
+			} else {
+
+				// Other objects are not supported
+				throw new UnsupportedOperationException(property.typeName + " is not supported as a property type.");
+			}
+		}
+	}
+
+	private enum PropertyKind {
+
+		/**
+		 * Nested DTO that is filled with the nested DTO of the source
+		 */
+		ENTITY,
+		/**
+		 * Collection of DTOs, values or references that is replaced by copies of the source entries
+		 */
+		COLLECTION,
+		/**
+		 * Value or reference that is copied as is
+		 */
+		VALUE,
+		UNSUPPORTED
+	}
+
+	private static final class CopiedProperty {
+
+		private final String typeName;
+		private final PropertyKind kind;
+		private final boolean reference;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		private CopiedProperty(PropertyDescriptor pd) throws IllegalAccessException {
+
+			Class<?> type = pd.getPropertyType();
+			this.typeName = type.getName();
+			this.reference = ReferenceDto.class.isAssignableFrom(type);
+			if (EntityDto.class.isAssignableFrom(type)) {
+				this.kind = PropertyKind.ENTITY;
+			} else if (Collection.class.isAssignableFrom(type)) {
+				this.kind = PropertyKind.COLLECTION;
+			} else if (DataHelper.isValueType(type) || reference) {
+				this.kind = PropertyKind.VALUE;
+			} else {
+				this.kind = PropertyKind.UNSUPPORTED;
+			}
+
+			this.getter = unreflect(pd.getReadMethod()).asType(GETTER_TYPE);
+			this.setter = unreflect(pd.getWriteMethod()).asType(SETTER_TYPE);
+		}
+
+		private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+
+			if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+				// Public methods inherited from a non-public class
+				method.setAccessible(true);
+			}
+			return MethodHandles.lookup().unreflect(method);
+		}
+	}
+}
@@ -17,15 +17,7 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.util;
 
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Collection;
-
 import de.symeda.sormas.api.EntityDto;
-import de.symeda.sormas.api.ReferenceDto;
-import de.symeda.sormas.api.utils.DataHelper;
 import de.symeda.sormas.api.utils.OutdatedEntityException;
 import de.symeda.sormas.backend.common.AbstractDomainObject;
 
@@ -55,86 +47,21 @@ public final class DtoHelper {
 	}
 
 	/**
+	 * Fills the empty properties of {@code target} with the values of {@code source}. Nested DTOs are filled recursively,
+	 * collections are replaced by copies of the source entries. The copy plan of each DTO class is only determined once, see
+	 * {@link DtoCopier}.
+	 * 
 	 * @param overrideValues
 	 *            Note: Existing references are NOT overridden
 	 */
-	@SuppressWarnings({
-		"unchecked",
-		"rawtypes" })
 	public static <T extends EntityDto> void fillDto(T target, T source, boolean overrideValues) {
 
 		try {
-			PropertyDescriptor[] pds = Introspector.getBeanInfo(target.getClass(), EntityDto.class).getPropertyDescriptors();
-
-			for (PropertyDescriptor pd : pds) {
-				// Skip properties without a read or write method
-				if (pd.getReadMethod() == null || pd.getWriteMethod() == null) {
-					continue;
-				}
-
-				Object targetValue = pd.getReadMethod().invoke(target);
-				Object sourceValue = pd.getReadMethod().invoke(source);
-
-				if (EntityDto.class.isAssignableFrom(pd.getPropertyType())) {
-
-					if (targetValue == null) {
-						targetValue = sourceValue.getClass().newInstance();
-						pd.getWriteMethod().invoke(target, targetValue);
-					}
-
-					// entity: just fill the existing one with the source
-					fillDto((EntityDto) targetValue, (EntityDto) sourceValue, overrideValues);
-				} else {
-					boolean targetIsEmpty =
-						targetValue == null || (Collection.class.isAssignableFrom(pd.getPropertyType()) && ((Collection<?>) targetValue).isEmpty());
-					boolean override = overrideValues && !ReferenceDto.class.isAssignableFrom(pd.getPropertyType());
-					// should we write into the target property?
-					if (targetIsEmpty || override) {
-
-						if (Collection.class.isAssignableFrom(pd.getPropertyType()) && sourceValue != null) {
-
-							if (targetValue == null) {
-								targetValue = sourceValue.getClass().newInstance();
-								pd.getWriteMethod().invoke(target, targetValue);
-							}
-
-							Collection targetCollection = (Collection) targetValue;
-							targetCollection.clear();
-
-							for (Object sourceEntry : (Collection) sourceValue) {
-
-								if (sourceEntry instanceof EntityDto) {
-									EntityDto newEntry = ((EntityDto) sourceEntry).clone();
-									newEntry.setUuid(DataHelper.createUuid());
-									newEntry.setCreationDate(null);
-									fillDto(newEntry, (EntityDto) sourceEntry, true);
-									targetCollection.add(newEntry);
-								} else if (DataHelper.isValueType(sourceEntry.getClass()) || sourceEntry instanceof ReferenceDto) {
-									targetCollection.add(sourceEntry);
-								} else {
-									throw new UnsupportedOperationException(
-										pd.getPropertyType().getName() + " is not supported as a list entry type.");
-								}
-							}
-
-						} else if (DataHelper.isValueType(pd.getPropertyType()) || ReferenceDto.class.isAssignableFrom(pd.getPropertyType())) {
-
-							pd.getWriteMethod().invoke(target, sourceValue);
-
-						} else {
-
-							// Other objects are not supported
-							throw new UnsupportedOperationException(pd.getPropertyType().getName() + " is not supported as a property type.");
-						}
-					}
-				}
-			}
-		} catch (IntrospectionException
-			| InvocationTargetException
-			| IllegalAccessException
-			| CloneNotSupportedException
-			| InstantiationException e) {
-			throw new RuntimeException("Exception when trying to fill dto: " + e.getMessage(), e.getCause());
+			DtoCopier.forClass(target.getClass()).fill(target, source, overrideValues);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException("Exception when trying to fill dto: " + e.getMessage(), e);
 		}
 	}
 }
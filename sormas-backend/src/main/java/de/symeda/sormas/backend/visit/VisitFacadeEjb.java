@@ -49,6 +49,8 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.symeda.sormas.api.SyncCursor;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseReferenceDto;
 import de.symeda.sormas.api.contact.ContactReferenceDto;
@@ -80,6 +82,7 @@ import de.symeda.sormas.backend.caze.CaseFacadeEjb;
 import de.symeda.sormas.backend.caze.CaseFacadeEjb.CaseFacadeEjbLocal;
 import de.symeda.sormas.backend.caze.CaseJurisdictionChecker;
 import de.symeda.sormas.backend.caze.CaseService;
+import de.symeda.sormas.backend.common.AbstractAdoService;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb.ConfigFacadeEjbLocal;
 import de.symeda.sormas.backend.common.MessageType;
 import de.symeda.sormas.backend.common.MessagingService;
@@ -159,6 +162,13 @@ public class VisitFacadeEjb implements VisitFacade {
 		return visitService.getAllActiveVisitsAfter(date).stream().map(c -> convertToDto(c, pseudonymizer)).collect(Collectors.toList());
 	}
 
+	@Override
+	public SyncPage<VisitDto> getAllActiveVisitsAfter(Date date, String continuationToken, int pageSize) {
+		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
+		List<Visit> visits = visitService.getAllActiveVisitsAfter(date, SyncCursor.fromToken(continuationToken), pageSize);
+		return AbstractAdoService.toSyncPage(visits, pageSize, c -> convertToDto(c, pseudonymizer));
+	}
+
 	@Override
 	public List<VisitDto> getByUuids(List<String> uuids) {
 		Pseudonymizer pseudonymizer = new Pseudonymizer(userService::hasRight);
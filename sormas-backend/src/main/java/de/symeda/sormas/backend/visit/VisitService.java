@@ -29,6 +29,7 @@ import java.util.stream.Collectors;
 import javax.ejb.EJB;
 import javax.ejb.LocalBean;
 import javax.ejb.Stateless;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Fetch;
@@ -39,6 +40,7 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
 import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.SyncCursor;
 import de.symeda.sormas.api.caze.CaseLogic;
 import de.symeda.sormas.api.contact.ContactLogic;
 import de.symeda.sormas.api.followup.FollowUpLogic;
@@ -119,14 +121,27 @@ public class VisitService extends AbstractAdoService<Visit> {
 	 */
 	public List<Visit> getAllActiveVisitsAfter(Date date) {
 		List<Visit> result = new ArrayList<>();
-		result.addAll(getAllActiveVisitsInContactsAfter(date));
+		result.addAll(getAllActiveVisitsInContactsAfter(date, null, null));
 		// include when case visits are implemented for the mobile app
 //		result.addAll(getAllActiveVisitsInCasesAfter(date));
 
 		return result.stream().distinct().sorted(Comparator.comparing(AbstractDomainObject::getId)).collect(Collectors.toList());
 	}
 
-	private List<Visit> getAllActiveVisitsInContactsAfter(Date date) {
+	/**
+	 * Keyset-paginated variant of {@link #getAllActiveVisitsAfter(Date)}.
+	 * 
+	 * @param cursor
+	 *            Continue behind this position; {@code null} to start with the first page.
+	 * @param pageSize
+	 *            Maximum number of visits to return; {@code null} for all.
+	 */
+	public List<Visit> getAllActiveVisitsAfter(Date date, SyncCursor cursor, Integer pageSize) {
+		// include case visits via mergeSyncPages when they are implemented for the mobile app
+		return getAllActiveVisitsInContactsAfter(date, cursor, pageSize);
+	}
+
+	private List<Visit> getAllActiveVisitsInContactsAfter(Date date, SyncCursor cursor, Integer pageSize) {
 
 		CriteriaBuilder cb = em.getCriteriaBuilder();
 		CriteriaQuery<Visit> visitsQuery = cb.createQuery(Visit.class);
@@ -143,12 +158,20 @@ public class VisitService extends AbstractAdoService<Visit> {
 			filter = and(cb, filter, createChangeDateFilter(cb, visitJoin, DateHelper.toTimestampUpper(date)));
 		}
 
+		if (cursor != null) {
+			filter = and(cb, filter, createSyncCursorFilter(cb, visitJoin, cursor));
+		}
+
 		visitsQuery.select(visitJoin);
 		visitsQuery.where(filter);
 		visitsQuery.distinct(true);
-		visitsQuery.orderBy(cb.asc(visitJoin.get(AbstractDomainObject.ID)));
+		visitsQuery.orderBy(orderBySyncCursor(cb, visitJoin));
 
-		return em.createQuery(visitsQuery).getResultList();
+		TypedQuery<Visit> query = em.createQuery(visitsQuery);
+		if (pageSize != null) {
+			query.setMaxResults(pageSize);
+		}
+		return query.getResultList();
 	}
 
 	private List<Visit> getAllActiveVisitsInCasesAfter(Date date) {
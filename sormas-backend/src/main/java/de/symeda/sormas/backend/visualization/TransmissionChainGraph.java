@@ -0,0 +1,658 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.visualization;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.contact.ContactProximity;
+
+/**
+ * The transmission chain network of persons linked by contacts, rendered as the JSON of a visNetwork htmlwidget.
+ * <p>
+ * Each person is a node, classified by its earliest case. Each contact is an edge from the person of the source case to the
+ * contact person. All data is held in primitive arrays, so networks with hundreds of thousands of contacts can be built
+ * without creating objects per contact.
+ * <p>
+ * Texts are written as <code>{key}</code> placeholders that are translated afterwards, see
+ * {@link VisualizationFacadeEjb#doI18n(String, de.symeda.sormas.api.Language)}.
+ */
+final class TransmissionChainGraph {
+
+	/**
+	 * Proximities of contacts with a high risk of transmission; shown as solid edges.
+	 */
+	static final Set<ContactProximity> HIGH_RISK_PROXIMITIES = EnumSet.of(
+		ContactProximity.FACE_TO_FACE_LONG,
+		ContactProximity.TOUCHED_FLUID,
+		ContactProximity.MEDICAL_UNSAFE,
+		ContactProximity.CLOTHES_OR_OTHER,
+		ContactProximity.PHYSICAL_CONTACT);
+
+	static final String HEALTHY_CLASS = "{Classification.HEALTHY}";
+
+	private static final CaseClassification[] CASE_CLASSES = {
+		CaseClassification.NOT_CLASSIFIED,
+		CaseClassification.SUSPECT,
+		CaseClassification.PROBABLE,
+		CaseClassification.CONFIRMED };
+
+	/**
+	 * See CountElementStyle and styles.css count-element; the first color is the one of {@link #HEALTHY_CLASS}.
+	 */
+	private static final String[] CLASS_COLORS = {
+		"#32CD32",
+		"#808080",
+		"#c8aa00",
+		"#be6900",
+		"#c80000" };
+
+	private static final String LEGEND_COLOR = "#0d0c0c";
+	private static final String HIDE_COLOR = "rgba(200,200,200,0.5)";
+	private static final String DEFAULT_FONT = "font-family:'Open Sans', sans-serif, 'Source Sans Pro'";
+	private static final String MAIN_STYLE = DEFAULT_FONT + "; color: #6591C4; ;font-weight: 600; font-size: 1.6em; text-align:center;";
+	private static final String SUBMAIN_STYLE = DEFAULT_FONT + "; text-align:center;";
+
+	private static final double DAMPING = 0.26;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final boolean hierarchical;
+
+	// nodes, by index of insertion
+	private final PersonIndex personIndex = new PersonIndex(INITIAL_CAPACITY);
+	private long[] personIds = new long[INITIAL_CAPACITY];
+	private String[] caseUuids = new String[INITIAL_CAPACITY];
+	private long[] caseReportDates = new long[INITIAL_CAPACITY];
+	private CaseClassification[] caseClassifications = new CaseClassification[INITIAL_CAPACITY];
+	private int nodeCount;
+
+	// edges, see #encodeEdge
+	private long[] edges = new long[INITIAL_CAPACITY];
+	private int edgeCount;
+
+	/**
+	 * @param hierarchical
+	 *            Whether the network is laid out in levels of transmission instead of by physics simulation.
+	 */
+	TransmissionChainGraph(boolean hierarchical) {
+		this.hierarchical = hierarchical;
+	}
+
+	/**
+	 * Adds the person as a node, without changing the case it is classified by.
+	 */
+	void addPerson(long personId) {
+		nodeIndex(personId);
+	}
+
+	/**
+	 * Adds the person as a node classified by the given case, unless a case reported earlier has been added for the person.
+	 */
+	void addCase(long personId, String caseUuid, Date reportDate, CaseClassification classification) {
+
+		int node = nodeIndex(personId);
+		long reportTime = reportDate != null ? reportDate.getTime() : Long.MAX_VALUE;
+
+		String currentUuid = caseUuids[node];
+		if (currentUuid == null
+			|| reportTime < caseReportDates[node]
+			|| reportTime == caseReportDates[node] && caseUuid.compareTo(currentUuid) < 0) {
+			caseUuids[node] = caseUuid;
+			caseReportDates[node] = reportTime;
+			caseClassifications[node] = classification;
+		}
+	}
+
+	/**
+	 * Adds a transmission from the person of a case to one of its contacts. Contacts of a person with itself are ignored.
+	 */
+	void addContact(long casePersonId, long contactPersonId, ContactProximity proximity) {
+
+		int from = nodeIndex(casePersonId);
+		int to = nodeIndex(contactPersonId);
+		if (from == to) {
+			return;
+		}
+
+		if (edgeCount == edges.length) {
+			edges = Arrays.copyOf(edges, edgeCount * 2);
+		}
+		edges[edgeCount++] = encodeEdge(from, to, HIGH_RISK_PROXIMITIES.contains(proximity));
+	}
+
+	boolean isEmpty() {
+		return nodeCount == 0;
+	}
+
+	/**
+	 * Sorted by from and to, the high risk contact of each pair of persons comes first.
+	 */
+	private static long encodeEdge(int from, int to, boolean highRisk) {
+		return (long) from << 33 | (long) to << 1 | (highRisk ? 0 : 1);
+	}
+
+	private static int edgeFrom(long edge) {
+		return (int) (edge >>> 33);
+	}
+
+	private static int edgeTo(long edge) {
+		return (int) (edge >>> 1) & Integer.MAX_VALUE;
+	}
+
+	private static boolean isHighRisk(long edge) {
+		return (edge & 1) == 0;
+	}
+
+	private int nodeIndex(long personId) {
+
+		int node = personIndex.get(personId);
+		if (node >= 0) {
+			return node;
+		}
+
+		if (nodeCount == personIds.length) {
+			int capacity = nodeCount * 2;
+			personIds = Arrays.copyOf(personIds, capacity);
+			caseUuids = Arrays.copyOf(caseUuids, capacity);
+			caseReportDates = Arrays.copyOf(caseReportDates, capacity);
+			caseClassifications = Arrays.copyOf(caseClassifications, capacity);
+		}
+
+		node = nodeCount++;
+		personIds[node] = personId;
+		personIndex.put(personId, node);
+		return node;
+	}
+
+	/**
+	 * @return The edges without duplicates, high risk contacts first. For each pair of persons only one edge is kept,
+	 *         preferring high risk contacts.
+	 */
+	private long[] getDistinctEdges() {
+
+		long[] sorted = Arrays.copyOf(edges, edgeCount);
+		Arrays.sort(sorted);
+
+		long[] distinct = new long[sorted.length];
+		int highRiskCount = 0;
+		int count = 0;
+		long previousPair = -1;
+		for (long edge : sorted) {
+			long pair = edge >>> 1;
+			if (pair != previousPair) {
+				distinct[count++] = edge;
+				if (isHighRisk(edge)) {
+					highRiskCount++;
+				}
+				previousPair = pair;
+			}
+		}
+
+		long[] result = new long[count];
+		int highRiskIndex = 0;
+		int lowRiskIndex = highRiskCount;
+		for (int i = 0; i < count; i++) {
+			if (isHighRisk(distinct[i])) {
+				result[highRiskIndex++] = distinct[i];
+			} else {
+				result[lowRiskIndex++] = distinct[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The node indexes ordered by person id.
+	 */
+	private int[] getNodeOrder() {
+
+		long[] sortedPersonIds = Arrays.copyOf(personIds, nodeCount);
+		Arrays.sort(sortedPersonIds);
+
+		int[] order = new int[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			order[i] = personIndex.get(sortedPersonIds[i]);
+		}
+		return order;
+	}
+
+	/**
+	 * Assigns each node the generation of transmission it belongs to: Persons that have not been infected by another person
+	 * in the network are on level 0, their contacts on level 1 and so on. Persons that are only reachable through a cycle
+	 * start a new tree of the forest.
+	 */
+	private int[] getLevels(long[] distinctEdges) {
+
+		// adjacency lists in compressed sparse row format
+		int[] offsets = new int[nodeCount + 1];
+		int[] inDegrees = new int[nodeCount];
+		for (long edge : distinctEdges) {
+			offsets[edgeFrom(edge) + 1]++;
+			inDegrees[edgeTo(edge)]++;
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] targets = new int[distinctEdges.length];
+		int[] fill = Arrays.copyOf(offsets, nodeCount);
+		for (long edge : distinctEdges) {
+			targets[fill[edgeFrom(edge)]++] = edgeTo(edge);
+		}
+
+		int[] levels = new int[nodeCount];
+		Arrays.fill(levels, -1);
+		int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		for (int node = 0; node < nodeCount; node++) {
+			if (inDegrees[node] == 0) {
+				levels[node] = 0;
+				queue[tail++] = node;
+			}
+		}
+
+		for (int root = 0;; root++) {
+			while (head < tail) {
+				int node = queue[head++];
+				for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+					int target = targets[i];
+					if (levels[target] < 0) {
+						levels[target] = levels[node] + 1;
+						queue[tail++] = target;
+					}
+				}
+			}
+
+			// the remaining nodes are only reachable through cycles
+			while (root < nodeCount && levels[root] >= 0) {
+				root++;
+			}
+			if (root == nodeCount) {
+				break;
+			}
+			levels[root] = 0;
+			queue[tail++] = root;
+		}
+
+		return levels;
+	}
+
+	/**
+	 * @return The index of the class of the node in {@link #getClassNames()}. Persons without a case and cases with other
+	 *         classifications count as healthy.
+	 */
+	private int getClassIndex(int node) {
+
+		if (caseUuids[node] != null) {
+			for (int i = 0; i < CASE_CLASSES.length; i++) {
+				if (CASE_CLASSES[i] == caseClassifications[node]) {
+					return i + 1;
+				}
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return The classes nodes are grouped by, in the order of {@link #CLASS_COLORS}.
+	 */
+	private static String[] getClassNames() {
+
+		String[] classNames = new String[CASE_CLASSES.length + 1];
+		classNames[0] = HEALTHY_CLASS;
+		for (int i = 0; i < CASE_CLASSES.length; i++) {
+			classNames[i + 1] = "{Classification." + CASE_CLASSES[i].name() + "}";
+		}
+		return classNames;
+	}
+
+	/**
+	 * @return The htmlwidget JSON of the network, as expected by visNetwork.js.
+	 */
+	String toJson() {
+
+		StringWriter writer = new StringWriter(64 * nodeCount + 32 * edgeCount + 4096);
+		try (JsonGenerator json = new JsonFactory().createGenerator(writer)) {
+			json.writeStartObject();
+			json.writeObjectFieldStart("x");
+			writeData(json);
+			writeOptions(json);
+			writeWidgetSettings(json);
+			json.writeEndObject();
+			json.writeArrayFieldStart("evals");
+			json.writeEndArray();
+			json.writeArrayFieldStart("jsHooks");
+			json.writeEndArray();
+			json.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Nodes and edges are written column by column, like R data frames.
+	 */
+	private void writeData(JsonGenerator json) throws IOException {
+
+		int[] nodeOrder = getNodeOrder();
+		long[] distinctEdges = getDistinctEdges();
+		String[] classNames = getClassNames();
+
+		json.writeObjectFieldStart("nodes");
+		json.writeArrayFieldStart("id");
+		for (int node : nodeOrder) {
+			json.writeNumber(personIds[node]);
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("uuid");
+		for (int node : nodeOrder) {
+			json.writeString(caseUuids[node]);
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("label");
+		for (int node : nodeOrder) {
+			String uuid = caseUuids[node];
+			json.writeString(uuid == null ? null : uuid.substring(0, Math.min(6, uuid.length())).toUpperCase());
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("Classification");
+		for (int node : nodeOrder) {
+			json.writeString(classNames[getClassIndex(node)]);
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("group");
+		for (int node : nodeOrder) {
+			json.writeString(classNames[getClassIndex(node)]);
+		}
+		json.writeEndArray();
+		if (hierarchical) {
+			int[] levels = getLevels(distinctEdges);
+			json.writeArrayFieldStart("level");
+			for (int node : nodeOrder) {
+				json.writeNumber(levels[node]);
+			}
+			json.writeEndArray();
+		}
+		json.writeEndObject();
+
+		json.writeObjectFieldStart("edges");
+		json.writeArrayFieldStart("from");
+		for (long edge : distinctEdges) {
+			json.writeNumber(personIds[edgeFrom(edge)]);
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("to");
+		for (long edge : distinctEdges) {
+			json.writeNumber(personIds[edgeTo(edge)]);
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("label");
+		for (long edge : distinctEdges) {
+			json.writeString(isHighRisk(edge) ? "1" : "2");
+		}
+		json.writeEndArray();
+		json.writeArrayFieldStart("dashes");
+		for (long edge : distinctEdges) {
+			json.writeBoolean(!isHighRisk(edge));
+		}
+		json.writeEndArray();
+		json.writeEndObject();
+
+		json.writeBooleanField("nodesToDataframe", true);
+		json.writeBooleanField("edgesToDataframe", true);
+
+		boolean[] usedClasses = new boolean[classNames.length];
+		for (int node = 0; node < nodeCount; node++) {
+			usedClasses[getClassIndex(node)] = true;
+		}
+		json.writeArrayFieldStart("groups");
+		for (int i = 0; i < classNames.length; i++) {
+			if (usedClasses[i]) {
+				json.writeString(classNames[i]);
+			}
+		}
+		json.writeEndArray();
+	}
+
+	private void writeOptions(JsonGenerator json) throws IOException {
+
+		json.writeObjectFieldStart("options");
+		json.writeStringField("width", "100%");
+		json.writeStringField("height", "100%");
+
+		json.writeObjectFieldStart("nodes");
+		json.writeStringField("shape", "dot");
+		json.writeEndObject();
+
+		json.writeObjectFieldStart("manipulation");
+		json.writeBooleanField("enabled", false);
+		json.writeEndObject();
+
+		json.writeObjectFieldStart("edges");
+		json.writeStringField("arrows", "to");
+		json.writeStringField("color", "black");
+		json.writeObjectFieldStart("smooth");
+		json.writeStringField("type", "continuous");
+		json.writeEndObject();
+		json.writeEndObject();
+
+		String[] classNames = getClassNames();
+		json.writeObjectFieldStart("groups");
+		for (int i = 0; i < classNames.length; i++) {
+			json.writeObjectFieldStart(classNames[i]);
+			json.writeNumberField("size", 10);
+			json.writeStringField("shape", "icon");
+			json.writeObjectFieldStart("icon");
+			json.writeStringField("face", "FontAwesome");
+			json.writeStringField("code", "f007");
+			json.writeStringField("color", CLASS_COLORS[i]);
+			json.writeEndObject();
+			json.writeEndObject();
+		}
+		json.writeEndObject();
+
+		json.writeObjectFieldStart("physics");
+		if (hierarchical) {
+			json.writeObjectFieldStart("hierarchicalRepulsion");
+			json.writeNumberField("damping", DAMPING);
+			json.writeEndObject();
+		} else {
+			json.writeStringField("solver", "barnesHut");
+			json.writeObjectFieldStart("barnesHut");
+			json.writeNumberField("damping", DAMPING);
+			json.writeNumberField("avoidOverlap", 0.2);
+			json.writeEndObject();
+		}
+		json.writeEndObject();
+
+		if (hierarchical) {
+			json.writeObjectFieldStart("layout");
+			json.writeObjectFieldStart("hierarchical");
+			json.writeBooleanField("enabled", true);
+			json.writeEndObject();
+			json.writeEndObject();
+		}
+
+		json.writeObjectFieldStart("interaction");
+		json.writeBooleanField("dragNodes", true);
+		json.writeBooleanField("dragView", true);
+		json.writeBooleanField("zoomView", true);
+		json.writeEndObject();
+
+		json.writeEndObject();
+	}
+
+	private void writeWidgetSettings(JsonGenerator json) throws IOException {
+
+		json.writeStringField("width", "100%");
+		json.writeNullField("height");
+		json.writeStringField("background", "white");
+
+		json.writeObjectFieldStart("main");
+		json.writeStringField("text", "{heading}");
+		json.writeStringField("style", MAIN_STYLE);
+		json.writeEndObject();
+		json.writeObjectFieldStart("submain");
+		json.writeStringField("text", "{subheading}");
+		json.writeStringField("style", SUBMAIN_STYLE);
+		json.writeEndObject();
+		json.writeNullField("footer");
+
+		json.writeObjectFieldStart("idselection");
+		json.writeBooleanField("enabled", false);
+		json.writeEndObject();
+
+		String[] classNames = getClassNames();
+		json.writeObjectFieldStart("byselection");
+		json.writeBooleanField("enabled", true);
+		json.writeStringField("variable", "Classification");
+		json.writeStringField("main", "{selectByClassification}");
+		json.writeStringField("style", "width: 150px; height: 26px");
+		json.writeArrayFieldStart("values");
+		for (String className : classNames) {
+			json.writeString(className);
+		}
+		json.writeEndArray();
+		json.writeBooleanField("multiple", false);
+		json.writeStringField("hideColor", HIDE_COLOR);
+		json.writeBooleanField("highlight", false);
+		json.writeEndObject();
+
+		json.writeObjectFieldStart("highlight");
+		json.writeBooleanField("enabled", true);
+		json.writeBooleanField("hoverNearest", false);
+		json.writeNumberField("degree", 1);
+		json.writeStringField("algorithm", "all");
+		json.writeStringField("hideColor", HIDE_COLOR);
+		json.writeBooleanField("labelOnly", true);
+		json.writeEndObject();
+
+		json.writeObjectFieldStart("legend");
+		json.writeNumberField("width", 0.2);
+		json.writeBooleanField("useGroups", false);
+		json.writeStringField("position", "left");
+		json.writeNumberField("ncol", 1);
+		json.writeNumberField("stepX", 100);
+		json.writeNumberField("stepY", 50);
+		json.writeBooleanField("zoom", true);
+		json.writeBooleanField("nodesToDataframe", false);
+		json.writeArrayFieldStart("nodes");
+		writeLegendNode(json, "{legend}", "f0c0", 0.1, LEGEND_COLOR);
+		for (int i = 0; i < classNames.length; i++) {
+			writeLegendNode(json, classNames[i], "f007", 25, CLASS_COLORS[i]);
+		}
+		writeLegendNode(json, "1 = {highRisk}", "f178", 25, LEGEND_COLOR);
+		writeLegendNode(json, "2 = {lowRisk}", "f178", 25, LEGEND_COLOR);
+		json.writeEndArray();
+		json.writeEndObject();
+	}
+
+	private static void writeLegendNode(JsonGenerator json, String label, String iconCode, double iconSize, String iconColor) throws IOException {
+
+		json.writeStartObject();
+		json.writeStringField("label", label);
+		json.writeStringField("shape", "icon");
+		json.writeObjectFieldStart("icon");
+		json.writeStringField("code", iconCode);
+		json.writeNumberField("size", iconSize);
+		json.writeStringField("color", iconColor);
+		json.writeEndObject();
+		json.writeEndObject();
+	}
+
+	/**
+	 * Maps person ids to node indexes. Open addressing with linear probing, so no boxed keys are created.
+	 */
+	private static final class PersonIndex {
+
+		private static final long EMPTY = Long.MIN_VALUE;
+
+		private long[] keys;
+		private int[] values;
+		private int size;
+
+		PersonIndex(int capacity) {
+			keys = new long[capacity];
+			values = new int[capacity];
+			Arrays.fill(keys, EMPTY);
+		}
+
+		/**
+		 * @return The node index of the person, -1 if the person has not been added.
+		 */
+		int get(long personId) {
+
+			int mask = keys.length - 1;
+			for (int slot = hash(personId) & mask;; slot = (slot + 1) & mask) {
+				if (keys[slot] == personId) {
+					return values[slot];
+				} else if (keys[slot] == EMPTY) {
+					return -1;
+				}
+			}
+		}
+
+		void put(long personId, int node) {
+
+			if (2 * (size + 1) > keys.length) {
+				rehash(keys.length * 2);
+			}
+
+			int mask = keys.length - 1;
+			int slot = hash(personId) & mask;
+			while (keys[slot] != EMPTY && keys[slot] != personId) {
+				slot = (slot + 1) & mask;
+			}
+			if (keys[slot] == EMPTY) {
+				size++;
+			}
+			keys[slot] = personId;
+			values[slot] = node;
+		}
+
+		private void rehash(int capacity) {
+
+			long[] oldKeys = keys;
+			int[] oldValues = values;
+			keys = new long[capacity];
+			values = new int[capacity];
+			Arrays.fill(keys, EMPTY);
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != EMPTY) {
+					put(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+
+		private static int hash(long key) {
+			long h = key * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ h >>> 32);
+		}
+	}
+}
@@ -51,4 +51,19 @@ CREATE TABLE auditlogentry_attributes (
 );
 ALTER TABLE auditlogentry_attributes OWNER TO sormas_user;
 
-INSERT INTO schema_version (version_number, comment) VALUES (2, 'Initial entity model');
\ No newline at end of file
+INSERT INTO schema_version (version_number, comment) VALUES (2, 'Initial entity model');
+-- 2020-09-28 Spool audit log entries in the transaction of the change
+CREATE TABLE auditlogentry_spool (
+  id bigint NOT NULL,
+  detection_ts timestamp without time zone NOT NULL,
+  changetype character varying(255) NOT NULL,
+  editinguser character varying(255),
+  clazz character varying(255),
+  uuid character varying(255),
+  transaction_id character varying(255) NOT NULL,
+  attributes text,
+  CONSTRAINT auditlogentry_spool_pkey PRIMARY KEY (id)
+);
+ALTER TABLE auditlogentry_spool OWNER TO sormas_user;
+
+INSERT INTO schema_version (version_number, comment) VALUES (3, 'Spool audit log entries in the transaction of the change');
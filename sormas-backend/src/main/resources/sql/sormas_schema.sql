@@ -5308,4 +5308,147 @@ ALTER TABLE location DROP COLUMN person_id;
 
 INSERT INTO schema_version (version_number, comment) VALUES (252, 'Add person_locations table and remove person reference from locations #2746');
 
+-- 2020-09-21 Pre-aggregated case statistics
+
+CREATE TABLE casestatisticscube(
+	disease varchar(255),
+	caseclassification varchar(255),
+	outcome varchar(255),
+	sex varchar(255),
+	caseage integer,
+	region_id bigint,
+	district_id bigint,
+	onsetdate timestamp,
+	reportdate timestamp,
+	casecount bigint NOT NULL
+);
+
+ALTER TABLE casestatisticscube OWNER TO sormas_user;
+CREATE INDEX idx_casestatisticscube_disease ON casestatisticscube (disease);
+
+INSERT INTO schema_version (version_number, comment) VALUES (253, 'Add pre-aggregated case statistics cube');
+
+-- 2020-09-22 Outbox for email and SMS notifications
+
+CREATE TABLE outboxmessage(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	messagetype varchar(255) not null,
+	recipientaddress varchar(512) not null,
+	subject varchar(512),
+	content varchar(4096),
+	attempts integer not null default 0,
+	nextattemptdate timestamp,
+	lasterror varchar(4096),
+	primary key(id)
+);
+
+ALTER TABLE outboxmessage OWNER TO sormas_user;
+CREATE INDEX idx_outboxmessage_messagetype_nextattemptdate ON outboxmessage (messagetype, nextattemptdate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (254, 'Add outbox for email and SMS notifications');
+
+-- 2020-09-23 Counters for epid number allocation
+
+CREATE TABLE epidnumbercounter(
+	id bigint not null,
+	uuid varchar(36) not null unique,
+	changedate timestamp not null,
+	creationdate timestamp not null,
+	prefix varchar(512) not null,
+	disease varchar(255) not null,
+	lastsuffix integer not null,
+	primary key(id),
+	unique(prefix, disease)
+);
+
+ALTER TABLE epidnumbercounter OWNER TO sormas_user;
+
+INSERT INTO schema_version (version_number, comment) VALUES (255, 'Add counters for epid number allocation');
+
+-- 2020-09-24 Aggregate change date of cases, contacts and events
+
+ALTER TABLE cases ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE cases_history ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE contact ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE contact_history ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE events ADD COLUMN aggregatechangedate timestamp;
+ALTER TABLE events_history ADD COLUMN aggregatechangedate timestamp;
+
+CREATE TEMP TABLE tmp_epidata_changedate AS
+SELECT epidata.id AS epidata_id, GREATEST(epidata.changedate,
+	(SELECT MAX(t.changedate) FROM epidatatravel t WHERE t.epidata_id = epidata.id),
+	(SELECT MAX(GREATEST(b.changedate, l.changedate)) FROM epidataburial b LEFT JOIN location l ON l.id = b.burialaddress_id WHERE b.epidata_id = epidata.id),
+	(SELECT MAX(GREATEST(g.changedate, l.changedate)) FROM epidatagathering g LEFT JOIN location l ON l.id = g.gatheringaddress_id WHERE g.epidata_id = epidata.id)) AS changedate
+FROM epidata;
+CREATE INDEX ON tmp_epidata_changedate (epidata_id);
+
+UPDATE cases SET aggregatechangedate = parts.changedate
+FROM (SELECT c.id, GREATEST(
+	(SELECT changedate FROM symptoms WHERE id = c.symptoms_id),
+	(SELECT changedate FROM hospitalization WHERE id = c.hospitalization_id),
+	(SELECT MAX(changedate) FROM previoushospitalization WHERE hospitalization_id = c.hospitalization_id),
+	(SELECT changedate FROM tmp_epidata_changedate WHERE epidata_id = c.epidata_id),
+	(SELECT changedate FROM therapy WHERE id = c.therapy_id),
+	(SELECT GREATEST(cc.changedate, hc.changedate) FROM clinicalcourse cc LEFT JOIN healthconditions hc ON hc.id = cc.healthconditions_id WHERE cc.id = c.clinicalcourse_id),
+	(SELECT changedate FROM maternalhistory WHERE id = c.maternalhistory_id),
+	(SELECT changedate FROM porthealthinfo WHERE id = c.porthealthinfo_id)) AS changedate FROM cases c) AS parts
+WHERE cases.id = parts.id AND parts.changedate > cases.changedate;
+
+UPDATE contact SET aggregatechangedate = parts.changedate
+FROM (SELECT c.id, GREATEST(
+	(SELECT changedate FROM tmp_epidata_changedate WHERE epidata_id = c.epidata_id),
+	(SELECT changedate FROM healthconditions WHERE id = c.healthconditions_id)) AS changedate FROM contact c) AS parts
+WHERE contact.id = parts.id AND parts.changedate > contact.changedate;
+
+UPDATE events SET aggregatechangedate = location.changedate
+FROM location
+WHERE location.id = events.eventlocation_id AND location.changedate > events.changedate;
+
+DROP TABLE tmp_epidata_changedate;
+
+CREATE INDEX idx_cases_changedate ON cases (changedate);
+CREATE INDEX idx_cases_aggregatechangedate ON cases (aggregatechangedate);
+CREATE INDEX idx_contact_changedate ON contact (changedate);
+CREATE INDEX idx_contact_aggregatechangedate ON contact (aggregatechangedate);
+CREATE INDEX idx_events_changedate ON events (changedate);
+CREATE INDEX idx_events_aggregatechangedate ON events (aggregatechangedate);
+
+INSERT INTO schema_version (version_number, comment) VALUES (256, 'Add aggregate change date to cases, contacts and events');
+
+-- 2020-09-25 Case access index
+
+CREATE TABLE caseaccess(
+	case_id bigint not null,
+	accesskey varchar(64) not null,
+	primary key(accesskey, case_id)
+);
+
+ALTER TABLE caseaccess OWNER TO sormas_user;
+CREATE INDEX idx_caseaccess_case_id ON caseaccess (case_id);
+
+INSERT INTO schema_version (version_number, comment) VALUES (257, 'Add case access index');
+
+-- 2020-09-26 Flattened campaign form values for the campaign diagrams
+
+CREATE TABLE campaignformdatavalue(
+	campaignformdata_id bigint not null,
+	fieldid varchar(255) not null,
+	numericvalue integer,
+	stringvalue text,
+	primary key(campaignformdata_id, fieldid)
+);
+
+ALTER TABLE campaignformdatavalue OWNER TO sormas_user;
+ALTER TABLE campaignformdatavalue ADD CONSTRAINT fk_campaignformdatavalue_campaignformdata_id FOREIGN KEY (campaignformdata_id) REFERENCES campaignformdata(id) ON DELETE CASCADE;
+
+INSERT INTO campaignformdatavalue (campaignformdata_id, fieldid, numericvalue, stringvalue)
+SELECT DISTINCT ON (campaignformdata.id, jsonData->>'id') campaignformdata.id, jsonData->>'id', cast_to_int(jsonData->>'value', NULL), jsonData->>'value'
+FROM campaignformdata, json_array_elements(formvalues) AS jsonData
+WHERE jsonData->>'id' IS NOT NULL AND jsonData->>'value' IS NOT NULL;
+
+INSERT INTO schema_version (version_number, comment) VALUES (258, 'Add flattened campaign form values');
+
 -- *** Insert new sql commands BEFORE this line ***
@@ -19,15 +19,17 @@ package de.symeda.auditlog.api;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
-import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertThat;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 
@@ -49,7 +51,11 @@ import de.symeda.auditlog.api.sample.SubClassEntity;
 import de.symeda.auditlog.api.sample.SuperClassEntity;
 import de.symeda.auditlog.api.sample.UnauditedMiddleClassEntity;
 import de.symeda.auditlog.api.value.ValueContainer;
+import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.backend.auditlog.AuditLogDateHelper;
+import de.symeda.sormas.backend.caze.Case;
+import de.symeda.sormas.backend.common.AbstractDomainObject;
+import de.symeda.sormas.backend.person.Person;
 
 public class AuditorTest {
 
@@ -265,28 +271,70 @@ public class AuditorTest {
 	}
 
 	@Test
-	public void testDetectAnnotationChangesFast() {
-
-		Auditor auditor = new Auditor();
+	public void testDetectAnnotationChangesWithCachedPlan() {
 
 		Entity entity = new Entity("uuid-1", false, "changed", 42);
 
-		// Unterschiedliche Initialisierungszeiten ausmerzen, indem inspectEntity einmal vorweg aufgerufen wird.
-		long t0 = System.nanoTime();
-		auditor.inspectEntity(entity);
-		long t1 = System.nanoTime() - t0;
-
-		// Hier ist der relevante Aufruf für den Test
-		ValueContainer annotationChanges = auditor.inspectEntity(entity);
-		long t2 = System.nanoTime() - t0 - t1;
+		// The first inspection builds the audit plan, the second one uses the cached plan
+		Auditor.clearAuditPlans();
+		SortedMap<String, String> uncachedAttributes = new Auditor().inspectEntity(entity).getAttributes();
+		SortedMap<String, String> annotationAttributes = new Auditor().inspectEntity(entity).getAttributes();
 
 		//sicherstellen, dass beide Varianten auch der Erwartung entsprechen (und nicht nur gleich leer sind)
-		final SortedMap<String, String> annotationAttributes = annotationChanges.getAttributes();
+		assertThat(annotationAttributes, is(equalTo(uncachedAttributes)));
 		assertThat(annotationAttributes.size(), is(3));
 		assertThat(annotationAttributes.get(Entity.FLAG), is(equalTo("false")));
 		assertThat(annotationAttributes.get(Entity.STRING), is(equalTo("changed")));
 		assertThat(annotationAttributes.get(Entity.INTEGER), is(equalTo("42")));
-		assertThat(t2, lessThan(1000_000L));
-		System.out.println("AuditorTest.testDetectAnnotationChangesFast(): t1= " + t1 + " nanos, t2= " + t2 + " nanos");
+	}
+
+	@Test
+	public void testDetectCaseGraphChangesWithCachedPlans() {
+
+		// The first run builds the audit plans of all classes in the graph, the second one uses the cached plans
+		Auditor.clearAuditPlans();
+		List<SortedMap<String, String>> uncachedAttributes = detectCaseGraphChanges();
+		List<SortedMap<String, String>> cachedAttributes = detectCaseGraphChanges();
+
+		assertThat(cachedAttributes, is(equalTo(uncachedAttributes)));
+	}
+
+	/**
+	 * Simulates saving a case with its person and the entities it owns: All entities are registered when loaded, the case is
+	 * changed and the changes of all entities are detected when saving.
+	 * 
+	 * @return The audited attributes of all entities after the change
+	 */
+	private List<SortedMap<String, String>> detectCaseGraphChanges() {
+
+		Person person = new Person();
+		person.setUuid("uuid-person");
+		Case caze = new Case();
+		caze.setUuid("uuid-case");
+		caze.setPerson(person);
+		caze.getSymptoms().setUuid("uuid-symptoms");
+		caze.getHospitalization().setUuid("uuid-hospitalization");
+		caze.getEpiData().setUuid("uuid-epidata");
+		caze.setCaseClassification(CaseClassification.SUSPECT);
+		List<AbstractDomainObject> graph = Arrays.asList(caze, person, caze.getSymptoms(), caze.getHospitalization(), caze.getEpiData());
+
+		Auditor auditor = new Auditor();
+		graph.forEach(auditor::register);
+
+		caze.setCaseClassification(CaseClassification.CONFIRMED);
+
+		List<SortedMap<String, String>> attributes = new ArrayList<>();
+		for (AbstractDomainObject entity : graph) {
+			ChangeEvent changeEvent = auditor.detectChanges(entity);
+			assertThat(changeEvent.getChangeType(), is(ChangeType.UPDATE));
+			if (entity == caze) {
+				assertThat(changeEvent.getNewValues().size(), is(1));
+				assertThat(changeEvent.getNewValues().get(Case.CASE_CLASSIFICATION), is("CONFIRMED"));
+			} else {
+				assertTrue(changeEvent.getNewValues().isEmpty());
+			}
+			attributes.add(auditor.inspectEntity(entity).getAttributes());
+		}
+		return attributes;
 	}
 }
@@ -41,6 +41,7 @@ import de.symeda.sormas.api.caze.CaseStatisticsFacade;
 import de.symeda.sormas.api.clinicalcourse.ClinicalCourseFacade;
 import de.symeda.sormas.api.clinicalcourse.ClinicalVisitFacade;
 import de.symeda.sormas.api.contact.ContactFacade;
+import de.symeda.sormas.api.dashboard.DashboardFacade;
 import de.symeda.sormas.api.disease.DiseaseConfigurationFacade;
 import de.symeda.sormas.api.disease.DiseaseFacade;
 import de.symeda.sormas.api.epidata.EpiDataFacade;
@@ -73,6 +74,7 @@ import de.symeda.sormas.api.user.UserFacade;
 import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.user.UserRoleConfigFacade;
 import de.symeda.sormas.api.visit.VisitFacade;
+import de.symeda.sormas.api.visualization.VisualizationFacade;
 import de.symeda.sormas.backend.action.ActionFacadeEjb;
 import de.symeda.sormas.backend.campaign.CampaignFacadeEjb.CampaignFacadeEjbLocal;
 import de.symeda.sormas.backend.campaign.data.CampaignFormDataFacadeEjb.CampaignFormDataFacadeEjbLocal;
@@ -91,6 +93,7 @@ import de.symeda.sormas.backend.contact.ContactService;
 import de.symeda.sormas.backend.disease.DiseaseConfiguration;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationFacadeEjb.DiseaseConfigurationFacadeEjbLocal;
 import de.symeda.sormas.backend.disease.DiseaseConfigurationService;
+import de.symeda.sormas.backend.dashboard.DashboardFacadeEjb.DashboardFacadeEjbLocal;
 import de.symeda.sormas.backend.disease.DiseaseFacadeEjb.DiseaseFacadeEjbLocal;
 import de.symeda.sormas.backend.epidata.EpiDataFacadeEjb;
 import de.symeda.sormas.backend.event.EventFacadeEjb.EventFacadeEjbLocal;
@@ -134,6 +137,7 @@ import de.symeda.sormas.backend.user.UserRoleConfigFacadeEjb.UserRoleConfigFacad
 import de.symeda.sormas.backend.user.UserService;
 import de.symeda.sormas.backend.visit.VisitFacadeEjb.VisitFacadeEjbLocal;
 import de.symeda.sormas.backend.visit.VisitService;
+import de.symeda.sormas.backend.visualization.VisualizationFacadeEjb.VisualizationFacadeEjbLocal;
 import info.novatec.beantest.api.BaseBeanTest;
 
 public class AbstractBeanTest extends BaseBeanTest {
@@ -399,6 +403,10 @@ public class AbstractBeanTest extends BaseBeanTest {
 		return getBean(DiseaseFacadeEjbLocal.class);
 	}
 
+	public DashboardFacade getDashboardFacade() {
+		return getBean(DashboardFacadeEjbLocal.class);
+	}
+
 	public FeatureConfigurationFacade getFeatureConfigurationFacade() {
 		return getBean(FeatureConfigurationFacadeEjbLocal.class);
 	}
@@ -433,6 +441,10 @@ public class AbstractBeanTest extends BaseBeanTest {
 
 	public CampaignDiagramDefinitionFacade getCampaignDiagramDefinitionFacade() {return getBean(CampaignDiagramDefinitionFacadeEjb.CampaignDiagramDefinitionFacadeEjbLocal.class);}
 
+	public VisualizationFacade getVisualizationFacade() {
+		return getBean(VisualizationFacadeEjbLocal.class);
+	}
+
 	protected UserDto useNationalUserLogin() {
 		UserDto natUser =
 			creator.createUser("", "", "", "Nat", "Usr", UserRole.NATIONAL_USER);
@@ -0,0 +1,60 @@
+package de.symeda.sormas.backend.auditlog;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.junit.Test;
+
+import de.symeda.auditlog.api.ChangeEvent;
+import de.symeda.auditlog.api.ChangeType;
+import de.symeda.auditlog.api.EntityId;
+import de.symeda.auditlog.api.TransactionId;
+import de.symeda.auditlog.api.UserId;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.caze.Case;
+
+public class AuditLogServiceBeanTest extends AbstractBeanTest {
+
+	/**
+	 * Every fired change is spooled, moving a batch writes the oldest spooled entries with their attributes to the audit log.
+	 */
+	@Test
+	public void testReceiveChanges() {
+
+		AuditLogWriter auditLogWriter = getBean(AuditLogWriter.class);
+		int queueSize = auditLogWriter.getQueueSize();
+
+		BeanManager beanManager = getBean(BeanManager.class);
+		TransactionId transactionId = new TransactionId();
+		for (int i = 0; i < 100; i++) {
+			beanManager.fireEvent(
+				new ChangeEvent(
+					new EntityId(Case.class, "uuid" + i),
+					Collections.singletonMap("attribute", "value" + i),
+					ChangeType.UPDATE,
+					LocalDateTime.now(),
+					new UserId("admin"),
+					transactionId));
+		}
+		assertEquals(queueSize + 100, auditLogWriter.getQueueSize());
+
+		assertEquals(60, auditLogWriter.moveBatch(60));
+		assertEquals(queueSize + 40, auditLogWriter.getQueueSize());
+
+		getEntityManager().clear();
+		List<AuditLogEntry> written =
+			getEntityManager().createQuery("SELECT e FROM AuditLogEntry e ORDER BY e.id", AuditLogEntry.class).getResultList();
+		assertEquals(60, written.size());
+		AuditLogEntry first = written.get(0);
+		assertEquals("uuid0", first.getUuid());
+		assertEquals(ChangeType.UPDATE, first.getChangeType());
+		assertEquals("admin", first.getEditingUser());
+		assertEquals(transactionId.getTransactionId(), first.getTransactionId());
+		assertEquals(Collections.singletonMap("attribute", "value0"), first.getAttributes());
+	}
+}
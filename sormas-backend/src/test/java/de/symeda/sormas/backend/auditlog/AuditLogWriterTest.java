@@ -0,0 +1,86 @@
+package de.symeda.sormas.backend.auditlog;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class AuditLogWriterTest {
+
+	@Test
+	public void testFlushMovesEntriesInBatches() {
+
+		RecordingAuditLogWriter writer = new RecordingAuditLogWriter();
+		List<AuditLogEntry> entries = createEntries(1200);
+		writer.spooled.addAll(entries);
+
+		writer.flush();
+		assertEquals(Arrays.asList(500, 500, 200), writer.batchSizes);
+		assertEquals(entries, writer.written);
+		assertEquals(0, writer.spooled.size());
+		assertEquals(1200, writer.getWrittenCount());
+	}
+
+	@Test
+	public void testFailedBatchStaysSpooledForTheNextFlush() {
+
+		RecordingAuditLogWriter writer = new RecordingAuditLogWriter();
+		List<AuditLogEntry> entries = createEntries(4);
+		writer.spooled.addAll(entries.subList(0, 3));
+
+		writer.failingMoves = 1;
+		writer.flush();
+		assertEquals(0, writer.written.size());
+		assertEquals(1, writer.getFailedFlushCount());
+		assertEquals(3, writer.spooled.size());
+
+		writer.spooled.add(entries.get(3));
+		writer.flush();
+		assertEquals(entries, writer.written);
+		assertEquals(0, writer.spooled.size());
+		assertEquals(4, writer.getWrittenCount());
+	}
+
+	private static List<AuditLogEntry> createEntries(int count) {
+
+		List<AuditLogEntry> entries = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			AuditLogEntry entry = new AuditLogEntry();
+			entry.setUuid("uuid" + i);
+			entries.add(entry);
+		}
+		return entries;
+	}
+
+	/**
+	 * Keeps the spool in memory, moving an entry only removes it from the spool when the move succeeds.
+	 */
+	private static class RecordingAuditLogWriter extends AuditLogWriter {
+
+		private final List<AuditLogEntry> spooled = new ArrayList<>();
+		private final List<AuditLogEntry> written = new ArrayList<>();
+		private final List<Integer> batchSizes = new ArrayList<>();
+		private int failingMoves;
+
+		@Override
+		protected int moveInNewTransaction(int maxEntries) {
+
+			if (failingMoves > 0) {
+				failingMoves--;
+				throw new IllegalStateException("Audit log database not available");
+			}
+
+			List<AuditLogEntry> batch = spooled.subList(0, Math.min(maxEntries, spooled.size()));
+			if (!batch.isEmpty()) {
+				batchSizes.add(batch.size());
+				written.addAll(batch);
+			}
+			int movedCount = batch.size();
+			batch.clear();
+			return movedCount;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package de.symeda.sormas.backend.campaign.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.campaign.CampaignReferenceDto;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramCriteria;
+import de.symeda.sormas.api.campaign.diagram.CampaignDiagramDataDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+
+public class CampaignDiagramDataCacheTest extends AbstractBeanTest {
+
+	@Test
+	public void testInvalidation() {
+
+		CampaignDiagramDataCache cache = getBean(CampaignDiagramDataCache.class);
+		CampaignDiagramCriteria criteria = new CampaignDiagramCriteria();
+		criteria.setCampaign(new CampaignReferenceDto("campaign"));
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(criteria, () -> load(loads));
+		cache.get(criteria, () -> load(loads));
+		assertEquals(1, loads.get());
+
+		cache.invalidate();
+		cache.get(criteria, () -> load(loads));
+		assertEquals(2, loads.get());
+
+		// cleared once more after the transaction that invalidated the cache has been completed
+		cache.afterInvalidation(new CampaignDiagramDataCache.Invalidation());
+		cache.get(criteria, () -> load(loads));
+		assertEquals(3, loads.get());
+
+		// data loaded while the cache is invalidated is not kept
+		cache.get(criteria, () -> {
+			cache.invalidate();
+			return load(loads);
+		});
+		cache.get(criteria, () -> load(loads));
+		assertEquals(5, loads.get());
+		cache.get(criteria, () -> load(loads));
+		assertEquals(5, loads.get());
+
+		// the diagram data is grouped by jurisdiction names
+		creator.createRegion("Region");
+		cache.get(criteria, () -> load(loads));
+		assertEquals(6, loads.get());
+	}
+
+	private static List<CampaignDiagramDataDto> load(AtomicInteger loads) {
+		loads.incrementAndGet();
+		return new ArrayList<>();
+	}
+}
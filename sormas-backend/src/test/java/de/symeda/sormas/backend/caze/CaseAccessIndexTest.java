@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.contact.ContactDto;
+import de.symeda.sormas.api.sample.SampleDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.common.ConfigFacadeEjb;
+
+public class CaseAccessIndexTest extends AbstractBeanTest {
+
+	@Test
+	public void testCaseAccessIndex() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX, "true");
+		try {
+			RDCF rdcf1 = creator.createRDCF("Region 1", "District 1", "Community 1", "Facility 1");
+			RDCF rdcf2 = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2");
+			UserDto supervisor = creator.createUser(rdcf2, "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+			CaseDataDto districtCase = creator.createCase(supervisor.toReference(), creator.createPerson("Case", "One").toReference(), rdcf1);
+			CaseDataDto contactCase = creator.createCase(supervisor.toReference(), creator.createPerson("Case", "Two").toReference(), rdcf2);
+			creator.createContact(
+				supervisor.toReference(),
+				null,
+				creator.createPerson("Contact", "One").toReference(),
+				contactCase,
+				new Date(),
+				null,
+				null,
+				null,
+				c -> {
+					c.setRegion(rdcf1.region);
+					c.setDistrict(rdcf1.district);
+				});
+			CaseDataDto otherCase = creator.createCase(supervisor.toReference(), creator.createPerson("Case", "Three").toReference(), rdcf2);
+
+			useSurveillanceOfficerLogin(rdcf1);
+			List<String> expectedUuids = getCaseFacade().getAllActiveUuids();
+			assertThat(expectedUuids, containsInAnyOrder(districtCase.getUuid(), contactCase.getUuid()));
+
+			// the index has been maintained while saving, but is only used once it has been checked
+			CaseAccessIndex caseAccessIndex = getBean(CaseAccessIndex.class);
+			assertFalse(caseAccessIndex.isAvailable());
+			assertEquals(0, caseAccessIndex.check());
+			assertTrue(caseAccessIndex.isAvailable());
+
+			// missing keys are repaired by the check
+			EntityManager em = getEntityManager();
+			em.getTransaction().begin();
+			em.createNativeQuery("DELETE FROM " + CaseAccess.TABLE_NAME).executeUpdate();
+			em.getTransaction().commit();
+			assertEquals(3, caseAccessIndex.check());
+			assertThat(getCaseFacade().getAllActiveUuids(), containsInAnyOrder(expectedUuids.toArray()));
+
+			// keys are updated when contacts are saved
+			creator.createContact(
+				supervisor.toReference(),
+				null,
+				creator.createPerson("Contact", "Two").toReference(),
+				otherCase,
+				new Date(),
+				null,
+				null,
+				null,
+				c -> {
+					c.setRegion(rdcf1.region);
+					c.setDistrict(rdcf1.district);
+				});
+			assertEquals(0, caseAccessIndex.check());
+			assertThat(getCaseFacade().getAllActiveUuids(), containsInAnyOrder(districtCase.getUuid(), contactCase.getUuid(), otherCase.getUuid()));
+		} finally {
+			MockProducer.getProperties().remove(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX);
+		}
+	}
+
+	@Test
+	public void testCaseAccessIndexWhenCaseOfContactOrSampleChanges() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX, "true");
+		try {
+			RDCF rdcf1 = creator.createRDCF("Region 1", "District 1", "Community 1", "Facility 1");
+			RDCF rdcf2 = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2");
+			UserDto supervisor = creator.createUser(rdcf2, "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+			CaseDataDto case1 = creator.createCase(supervisor.toReference(), creator.createPerson("Case", "One").toReference(), rdcf2);
+			CaseDataDto case2 = creator.createCase(supervisor.toReference(), creator.createPerson("Case", "Two").toReference(), rdcf2);
+			ContactDto contact = creator.createContact(
+				supervisor.toReference(),
+				null,
+				creator.createPerson("Contact", "One").toReference(),
+				case1,
+				new Date(),
+				null,
+				null,
+				null,
+				c -> {
+					c.setRegion(rdcf1.region);
+					c.setDistrict(rdcf1.district);
+				});
+			SampleDto sample = creator.createSample(case1.toReference(), supervisor.toReference(), rdcf2.facility);
+
+			CaseAccessIndex caseAccessIndex = getBean(CaseAccessIndex.class);
+			assertEquals(0, caseAccessIndex.check());
+
+			// the keys of the previous case are updated as well
+			contact.setCaze(case2.toReference());
+			getContactFacade().saveContact(contact);
+			assertEquals(0, caseAccessIndex.check());
+
+			sample = getSampleFacade().getSampleByUuid(sample.getUuid());
+			sample.setAssociatedCase(case2.toReference());
+			getSampleFacade().saveSample(sample);
+			assertEquals(0, caseAccessIndex.check());
+
+			useSurveillanceOfficerLogin(rdcf1);
+			assertThat(getCaseFacade().getAllActiveUuids(), contains(case2.getUuid()));
+		} finally {
+			MockProducer.getProperties().remove(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX);
+		}
+	}
+
+	@Test
+	public void testUpdateCaseKeepsExistingKeys() {
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX, "true");
+		try {
+			RDCF rdcf1 = creator.createRDCF("Region 1", "District 1", "Community 1", "Facility 1");
+			RDCF rdcf2 = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2");
+			UserDto supervisor = creator.createUser(rdcf2, "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+			CaseDataDto caze = creator.createCase(supervisor.toReference(), creator.createPerson("Case", "One").toReference(), rdcf2);
+			Case caseEntity = getCaseService().getByUuid(caze.getUuid());
+
+			// keys inserted by a concurrent update of the same case and a key that no longer applies
+			EntityManager em = getEntityManager();
+			em.getTransaction().begin();
+			em.createNativeQuery("INSERT INTO " + CaseAccess.TABLE_NAME + " (case_id, accesskey) VALUES (?1, ?2), (?1, ?3)")
+				.setParameter(1, caseEntity.getId())
+				.setParameter(2, CaseAccessIndex.CASE_REGION + caseEntity.getRegion().getId())
+				.setParameter(3, CaseAccessIndex.CONTACT_USER + 0)
+				.executeUpdate();
+			em.getTransaction().commit();
+
+			CaseAccessIndex caseAccessIndex = getBean(CaseAccessIndex.class);
+			caseAccessIndex.updateCase(caseEntity.getId());
+
+			@SuppressWarnings("unchecked")
+			List<String> keys = em.createNativeQuery("SELECT accesskey FROM " + CaseAccess.TABLE_NAME + " WHERE case_id = ?1")
+				.setParameter(1, caseEntity.getId())
+				.getResultList();
+			assertThat(
+				keys,
+				containsInAnyOrder(
+					CaseAccessIndex.CASE_REGION + caseEntity.getRegion().getId(),
+					CaseAccessIndex.CASE_DISTRICT + caseEntity.getDistrict().getId(),
+					CaseAccessIndex.CASE_COMMUNITY + caseEntity.getCommunity().getId(),
+					CaseAccessIndex.CASE_HEALTH_FACILITY + caseEntity.getHealthFacility().getId()));
+			assertEquals(0, caseAccessIndex.check());
+		} finally {
+			MockProducer.getProperties().remove(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX);
+		}
+	}
+
+	@Test
+	public void testCaseUserFilterWithIndex() {
+
+		RDCF rdcf1 = creator.createRDCF("Region 1", "District 1", "Community 1", "Facility 1");
+		RDCF rdcf2 = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2");
+		UserDto supervisor = creator.createUser(rdcf2, "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		for (int i = 0; i < 50; i++) {
+			CaseDataDto caze =
+				creator.createCase(supervisor.toReference(), creator.createPerson("Case", "No" + i).toReference(), i % 5 == 0 ? rdcf1 : rdcf2);
+			if (i % 2 == 0) {
+				creator.createContact(
+					supervisor.toReference(),
+					null,
+					creator.createPerson("Contact", "No" + i).toReference(),
+					caze,
+					new Date(),
+					null,
+					null,
+					null,
+					c -> {
+						c.setRegion(rdcf1.region);
+						c.setDistrict(rdcf1.district);
+					});
+			}
+		}
+		useSurveillanceOfficerLogin(rdcf1);
+
+		List<String> expectedUuids = getCaseFacade().getAllActiveUuids();
+
+		MockProducer.getProperties().setProperty(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX, "true");
+		try {
+			CaseAccessIndex caseAccessIndex = getBean(CaseAccessIndex.class);
+			caseAccessIndex.check();
+			assertTrue(caseAccessIndex.isAvailable());
+			assertThat(getCaseFacade().getAllActiveUuids(), containsInAnyOrder(expectedUuids.toArray()));
+		} finally {
+			MockProducer.getProperties().remove(ConfigFacadeEjb.FEATURE_CASE_ACCESS_INDEX);
+		}
+	}
+}
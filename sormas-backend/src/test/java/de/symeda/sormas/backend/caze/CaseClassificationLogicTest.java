@@ -18,11 +18,15 @@
 package de.symeda.sormas.backend.caze;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.jboss.weld.exceptions.UnsupportedOperationException;
 import org.junit.Before;
@@ -30,6 +34,7 @@ import org.junit.Test;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.caze.CaseOutcome;
 import de.symeda.sormas.api.caze.PlagueType;
@@ -41,10 +46,13 @@ import de.symeda.sormas.api.sample.PathogenTestResultType;
 import de.symeda.sormas.api.sample.PathogenTestType;
 import de.symeda.sormas.api.symptoms.SymptomState;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
+import de.symeda.sormas.api.user.UserRole;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.api.utils.YesNoUnknown;
 import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.auditlog.AuditLogWriter;
 import de.symeda.sormas.backend.common.ConfigFacadeEjb;
 
 public class CaseClassificationLogicTest extends AbstractBeanTest {
@@ -119,6 +127,59 @@ public class CaseClassificationLogicTest extends AbstractBeanTest {
 		assertEquals(CaseClassification.CONFIRMED, caze.getCaseClassification());
 	}
 
+	@Test
+	public void testReclassifyCases() {
+
+		CaseDataDto suspectCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		CaseDataDto confirmedCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		creator.createPathogenTest(confirmedCase, Disease.EVD, PathogenTestType.PCR_RT_PCR, PathogenTestResultType.POSITIVE);
+		CaseDataDto noCase = getCaseFacade().saveCase(buildSuspectCase(Disease.EVD));
+		noCase.setCaseClassification(CaseClassification.NO_CASE);
+		noCase = getCaseFacade().saveCase(noCase);
+		CaseDataDto otherDiseaseCase = getCaseFacade().saveCase(buildSuspectCase(Disease.CSM));
+
+		// Classifications that are outdated, e.g. because the criteria have changed
+		List<Case> cases = Arrays.asList(suspectCase.getUuid(), confirmedCase.getUuid(), otherDiseaseCase.getUuid())
+			.stream()
+			.map(uuid -> getCaseService().getByUuid(uuid))
+			.collect(Collectors.toList());
+		getCaseService().updateSystemClassification(cases, CaseClassification.NOT_CLASSIFIED);
+		getEntityManager().clear();
+
+		// The bulk updates bypass the entity listeners, so the audit log entries are fired explicitly
+		AuditLogWriter auditLogWriter = getBean(AuditLogWriter.class);
+		int auditQueueSize = auditLogWriter.getQueueSize();
+
+		assertEquals(2, getCaseFacade().reclassifyCases(new CaseCriteria().disease(Disease.EVD)));
+		getEntityManager().clear();
+
+		assertEquals(auditQueueSize + 2, auditLogWriter.getQueueSize());
+		Case reclassifiedCase = getCaseService().getByUuid(suspectCase.getUuid());
+		assertNotNull(reclassifiedCase.getAggregateChangeDate());
+		assertFalse(reclassifiedCase.getAggregateChangeDate().before(reclassifiedCase.getChangeDate()));
+
+		suspectCase = getCaseFacade().getCaseDataByUuid(suspectCase.getUuid());
+		assertEquals(CaseClassification.SUSPECT, suspectCase.getCaseClassification());
+		assertEquals(CaseClassification.SUSPECT, suspectCase.getSystemCaseClassification());
+		confirmedCase = getCaseFacade().getCaseDataByUuid(confirmedCase.getUuid());
+		assertEquals(CaseClassification.CONFIRMED, confirmedCase.getCaseClassification());
+		// Cases that are not a case according to the user are not reclassified
+		assertEquals(CaseClassification.NO_CASE, getCaseFacade().getCaseDataByUuid(noCase.getUuid()).getCaseClassification());
+		assertEquals(
+			CaseClassification.NOT_CLASSIFIED,
+			getCaseFacade().getCaseDataByUuid(otherDiseaseCase.getUuid()).getCaseClassification());
+	}
+
+	@Test(expected = java.lang.UnsupportedOperationException.class)
+	public void testReclassifyCasesRequiresBulkOperationsRight() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup");
+
+		getCaseFacade().reclassifyCases(new CaseCriteria().disease(Disease.EVD));
+	}
+
 	@Test
 	public void ruleOutFalsePositivesForEVD() {
 
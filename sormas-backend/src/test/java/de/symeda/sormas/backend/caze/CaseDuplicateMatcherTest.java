@@ -0,0 +1,203 @@
+package de.symeda.sormas.backend.caze;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.person.Sex;
+
+public class CaseDuplicateMatcherTest {
+
+	private static final long DAY = 24 * 60 * 60 * 1000L;
+
+	@Test
+	public void testSimilarity() {
+
+		assertThat(
+			CaseDuplicateMatcher.getTrigrams("Ab-c"),
+			containsInAnyOrder("  a", " ab", "ab ", "  c", " c "));
+		assertEquals(1f, CaseDuplicateMatcher.similarity(CaseDuplicateMatcher.getTrigrams("John Doe"), CaseDuplicateMatcher.getTrigrams("john  DOE")), 0);
+		// pg_trgm: select similarity('word', 'two words') = 0.363636
+		assertEquals(
+			0.363636f,
+			CaseDuplicateMatcher.similarity(CaseDuplicateMatcher.getTrigrams("word"), CaseDuplicateMatcher.getTrigrams("two words")),
+			0.000001f);
+		assertEquals(0f, CaseDuplicateMatcher.similarity(CaseDuplicateMatcher.getTrigrams(""), CaseDuplicateMatcher.getTrigrams("John")), 0);
+	}
+
+	@Test
+	public void testFindDuplicates() {
+
+		Date now = new Date();
+		CaseDuplicateMatcher.Candidate caze = candidate(1, now, Disease.EVD, 1L, now, "John", "Doe", Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate duplicate = candidate(2, new Date(now.getTime() + 1), Disease.EVD, 1L, now, "John", "Doe", Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate otherDisease =
+			candidate(3, new Date(now.getTime() + 2), Disease.CHOLERA, 1L, now, "John", "Doe", Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate otherRegion = candidate(4, new Date(now.getTime() + 3), Disease.EVD, 2L, now, "John", "Doe", Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate tooLate =
+			candidate(5, new Date(now.getTime() + 4), Disease.EVD, 1L, new Date(now.getTime() + 31 * DAY), "John", "Doe", Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate otherPerson =
+			candidate(6, new Date(now.getTime() + 5), Disease.EVD, 1L, now, "John", "Doe", Sex.FEMALE, 1990);
+		CaseDuplicateMatcher.Candidate otherName = candidate(7, new Date(now.getTime() + 6), Disease.EVD, 1L, now, "Max", "Smith", Sex.MALE, 1980);
+
+		List<CaseDuplicateMatcher.Candidate> cases = Arrays.asList(caze, duplicate, otherDisease, otherRegion, tooLate, otherPerson, otherName);
+
+		List<String> duplicates = toStrings(new CaseDuplicateMatcher(0.65, false).findDuplicates(cases, cases));
+		assertThat(duplicates, contains("1-2"));
+
+		duplicates = toStrings(new CaseDuplicateMatcher(0.65, true).findDuplicates(cases, cases));
+		assertThat(duplicates, containsInAnyOrder("2-4", "1-2", "1-4"));
+
+		assertThat(new CaseDuplicateMatcher(0.65, false).findDuplicates(Arrays.asList(duplicate), cases), empty());
+	}
+
+	@Test
+	public void testFindDuplicatesWithMissingNames() {
+
+		Date now = new Date();
+		CaseDuplicateMatcher.Candidate caze = candidate(1, now, Disease.EVD, 1L, now, "John", null, Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate sameFirstName = candidate(2, new Date(now.getTime() + 1), Disease.EVD, 1L, now, "John", null, Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate nullLastName = candidate(3, new Date(now.getTime() + 2), Disease.EVD, 1L, now, "John", "Null", Sex.MALE, 1980);
+		CaseDuplicateMatcher.Candidate noName = candidate(4, new Date(now.getTime() + 3), Disease.EVD, 1L, now, null, null, Sex.MALE, 1980);
+
+		assertThat(caze.getNameTrigrams(), empty());
+		List<CaseDuplicateMatcher.Candidate> cases = Arrays.asList(caze, sameFirstName, nullLastName, noName);
+		assertThat(new CaseDuplicateMatcher(0.65, false).findDuplicates(cases, cases), empty());
+	}
+
+	@Test
+	public void testFindDuplicatesEqualsPairwiseComparison() {
+
+		Random random = new Random(42);
+		String[] firstNames = {
+			"John",
+			"Jon",
+			"Johnny",
+			"Anna",
+			"Ana",
+			"Hannah",
+			"Max",
+			"Maximilian" };
+		String[] lastNames = {
+			"Doe",
+			"Do",
+			"Miller",
+			"Müller",
+			"Mueller",
+			"Smith",
+			"Schmidt" };
+		Disease[] diseases = {
+			Disease.EVD,
+			Disease.CHOLERA,
+			null };
+		long start = System.currentTimeMillis();
+
+		List<CaseDuplicateMatcher.Candidate> cases = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			cases.add(
+				new CaseDuplicateMatcher.Candidate(
+					i,
+					new Date(start + random.nextInt(1000)),
+					diseases[random.nextInt(diseases.length)],
+					random.nextInt(4) == 0 ? null : (long) random.nextInt(3),
+					random.nextInt(20) == 0 ? null : new Date(start + random.nextInt(90) * DAY),
+					random.nextBoolean() ? null : new Date(start + random.nextInt(90) * DAY),
+					firstNames[random.nextInt(firstNames.length)],
+					lastNames[random.nextInt(lastNames.length)],
+					random.nextInt(3) == 0 ? null : Sex.values()[random.nextInt(2)],
+					random.nextInt(3) == 0 ? null : 1 + random.nextInt(2),
+					1,
+					1980 + random.nextInt(2)));
+		}
+		List<CaseDuplicateMatcher.Candidate> selectedCases = cases.subList(0, 200);
+
+		for (double threshold : new double[] {
+			0.3,
+			0.5,
+			0.65,
+			0.9 }) {
+			for (boolean ignoreRegion : new boolean[] {
+				false,
+				true }) {
+				CaseDuplicateMatcher matcher = new CaseDuplicateMatcher(threshold, ignoreRegion);
+
+				List<String> expected = new ArrayList<>();
+				for (CaseDuplicateMatcher.Candidate caze : selectedCases) {
+					for (CaseDuplicateMatcher.Candidate other : cases) {
+						if (matcher.isDuplicate(caze, other)) {
+							expected.add(caze.getId() + "-" + other.getId());
+						}
+					}
+				}
+
+				List<String> duplicates = toStrings(matcher.findDuplicates(selectedCases, cases));
+				assertThat(duplicates, containsInAnyOrder(expected.toArray()));
+			}
+		}
+	}
+
+	@Test
+	public void testFindDuplicatesMatchesPairwiseComparison() {
+
+		// One block with names that rarely share trigrams, so the blocking does not help and only the prefix filtering counts
+		Random random = new Random(42);
+		Date now = new Date();
+		List<CaseDuplicateMatcher.Candidate> cases = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			cases.add(candidate(i, new Date(now.getTime() + i), Disease.EVD, 1L, now, randomName(random), randomName(random), Sex.MALE, 1980));
+		}
+		CaseDuplicateMatcher matcher = new CaseDuplicateMatcher(0.65, false);
+
+		// The pairwise comparison is what the self-join of the cases table did before
+		List<String> expected = new ArrayList<>();
+		for (CaseDuplicateMatcher.Candidate caze : cases) {
+			for (CaseDuplicateMatcher.Candidate other : cases) {
+				if (matcher.isDuplicate(caze, other)) {
+					expected.add(caze.getId() + "-" + other.getId());
+				}
+			}
+		}
+
+		List<String> duplicates = toStrings(matcher.findDuplicates(cases, cases));
+		assertEquals(expected.size(), duplicates.size());
+		assertThat(duplicates, containsInAnyOrder(expected.toArray()));
+	}
+
+	private String randomName(Random random) {
+
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < 6; i++) {
+			name.append((char) ('a' + random.nextInt(26)));
+		}
+		return name.toString();
+	}
+
+	private CaseDuplicateMatcher.Candidate candidate(
+		long id,
+		Date creationDate,
+		Disease disease,
+		Long regionId,
+		Date reportDate,
+		String firstName,
+		String lastName,
+		Sex sex,
+		Integer birthdateYYYY) {
+		return new CaseDuplicateMatcher.Candidate(id, creationDate, disease, regionId, reportDate, null, firstName, lastName, sex, 1, 1, birthdateYYYY);
+	}
+
+	private List<String> toStrings(List<long[]> idPairs) {
+		return idPairs.stream().map(p -> p[0] + "-" + p[1]).collect(Collectors.toList());
+	}
+}
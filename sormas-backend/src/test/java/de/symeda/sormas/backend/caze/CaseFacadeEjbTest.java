@@ -17,9 +17,11 @@
  *******************************************************************************/
 package de.symeda.sormas.backend.caze;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -43,6 +45,7 @@ import org.junit.rules.ExpectedException;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.CaseDataDto;
@@ -65,6 +68,7 @@ import de.symeda.sormas.api.epidata.EpiDataTravelDto;
 import de.symeda.sormas.api.event.EventReferenceDto;
 import de.symeda.sormas.api.facility.FacilityReferenceDto;
 import de.symeda.sormas.api.hospitalization.PreviousHospitalizationDto;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.person.PersonReferenceDto;
 import de.symeda.sormas.api.person.PresentCondition;
@@ -707,6 +711,83 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(0, getCaseFacade().getArchivedUuidsSince(testStartDate).size());
 	}
 
+	@Test
+	public void testGetAllActiveCasesPaged() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		for (int i = 0; i < 5; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			creator.createCase(
+				user.toReference(),
+				cazePerson.toReference(),
+				Disease.EVD,
+				CaseClassification.PROBABLE,
+				InvestigationStatus.PENDING,
+				new Date(),
+				rdcf);
+		}
+
+		List<String> syncedUuids = new ArrayList<>();
+		int pageCount = 0;
+		String continuationToken = null;
+		do {
+			SyncPage<CaseDataDto> page = getCaseFacade().getAllActiveCasesAfter(null, continuationToken, 2);
+			assertThat(page.getElements().size(), lessThanOrEqualTo(2));
+			page.getElements().forEach(c -> syncedUuids.add(c.getUuid()));
+			continuationToken = page.getContinuationToken();
+			pageCount++;
+		}
+		while (continuationToken != null);
+
+		assertEquals(3, pageCount);
+		assertThat(syncedUuids, hasSize(5));
+		assertThat(syncedUuids, containsInAnyOrder(getCaseFacade().getAllActiveUuids().toArray()));
+	}
+
+	@Test
+	public void testGetExportListWithCursor() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		// several cases share the same report date so the id has to be used to continue the export
+		Date reportDate = DateHelper.subtractDays(new Date(), 1);
+		for (int i = 0; i < 5; i++) {
+			PersonDto cazePerson = creator.createPerson("Case", "Person" + i);
+			creator.createCase(
+				user.toReference(),
+				cazePerson.toReference(),
+				Disease.EVD,
+				CaseClassification.PROBABLE,
+				InvestigationStatus.PENDING,
+				i < 3 ? reportDate : new Date(),
+				rdcf);
+		}
+
+		List<String> exportedUuids = new ArrayList<>();
+		ExportCursor after = null;
+		List<CaseExportDto> batch;
+		do {
+			batch = getCaseFacade().getExportList(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, after, 2, null, Language.EN);
+			assertThat(batch.size(), lessThanOrEqualTo(2));
+			batch.forEach(c -> exportedUuids.add(c.getUuid()));
+			if (!batch.isEmpty()) {
+				CaseExportDto last = batch.get(batch.size() - 1);
+				after = new ExportCursor(last.getReportDate(), last.getId());
+			}
+		}
+		while (batch.size() == 2);
+
+		List<String> offsetUuids = getCaseFacade().getExportList(new CaseCriteria(), CaseExportType.CASE_SURVEILLANCE, 0, 100, null, Language.EN)
+			.stream()
+			.map(CaseExportDto::getUuid)
+			.collect(Collectors.toList());
+		assertEquals(offsetUuids, exportedUuids);
+		assertThat(exportedUuids, hasSize(5));
+	}
+
 	@Test
 	public void testGetAllActiveCasesIncludeExtendedChangeDateFiltersSample() throws InterruptedException {
 
@@ -820,6 +901,33 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertEquals(1, getCaseFacade().getAllActiveCasesAfter(date, true).size());
 	}
 
+	@Test
+	public void testGetAllActiveCasesAfterSymptomsChange() throws InterruptedException {
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = useSurveillanceOfficerLogin(rdcf);
+
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		Date date = new Date();
+		//the delay is needed in order to ensure the time difference between the date and the symptoms update
+		Thread.sleep(10L);
+		assertEquals(0, getCaseFacade().getAllActiveCasesAfter(date).size());
+
+		// changes of owned parts are found through the aggregate change date of the case
+		caze = getCaseFacade().getCaseDataByUuid(caze.getUuid());
+		caze.getSymptoms().setPatientIllLocation("new Location");
+		getCaseFacade().saveCase(caze);
+
+		assertEquals(1, getCaseFacade().getAllActiveCasesAfter(date).size());
+	}
+
 	@Test
 	public void testGenerateEpidNumber() {
 
@@ -873,6 +981,38 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 
 	}
 
+	@Test
+	public void testGenerateEpidNumberContinuesExistingNumbers() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		UserDto user = creator.createUser(
+			rdcf.region.getUuid(),
+			rdcf.district.getUuid(),
+			rdcf.facility.getUuid(),
+			"Surv",
+			"Sup",
+			UserRole.SURVEILLANCE_SUPERVISOR,
+			UserRole.ADMIN);
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+
+		// Epid number entered before any number has been generated for the prefix
+		CaseDataDto caze = creator.createCase(user.toReference(), cazePerson.toReference(), rdcf);
+		caze.setEpidNumber("COU-REG-DIS-00-041");
+		getCaseFacade().saveCase(caze);
+
+		CaseDataDto secondCaze = creator.createCase(user.toReference(), cazePerson.toReference(), rdcf);
+		secondCaze.setEpidNumber("COU-REG-DIS-00-");
+		secondCaze = getCaseFacade().saveCase(secondCaze);
+
+		assertEquals("COU-REG-DIS-00-042", secondCaze.getEpidNumber());
+
+		CaseDataDto thirdCaze = creator.createCase(user.toReference(), cazePerson.toReference(), rdcf);
+		thirdCaze.setEpidNumber("COU-REG-DIS-00-");
+		thirdCaze = getCaseFacade().saveCase(thirdCaze);
+
+		assertEquals("COU-REG-DIS-00-043", thirdCaze.getEpidNumber());
+	}
+
 	@Test
 	public void testMergeCase() {
 
@@ -1117,6 +1257,24 @@ public class CaseFacadeEjbTest extends AbstractBeanTest {
 		assertTrue(cut.isArchived(case2.getUuid()));
 	}
 
+	@Test
+	public void testArchiveAllArchivableCasesInChunks() {
+
+		RDCFEntities rdcf = creator.createRDCFEntities();
+		UserReferenceDto user = creator.createUser(rdcf).toReference();
+		PersonReferenceDto person = creator.createPerson("Walter", "Schuster").toReference();
+		CaseDataDto case1 = creator.createCase(user, person, rdcf);
+		CaseDataDto case2 = creator.createCase(user, person, rdcf);
+		CaseDataDto case3 = creator.createCase(user, person, rdcf);
+
+		// the last chunk is not full
+		CaseFacadeEjbLocal cut = getBean(CaseFacadeEjbLocal.class);
+		cut.archiveAllArchivableCases(70, LocalDate.now().plusDays(71), 2);
+		assertTrue(cut.isArchived(case1.getUuid()));
+		assertTrue(cut.isArchived(case2.getUuid()));
+		assertTrue(cut.isArchived(case3.getUuid()));
+	}
+
 	@Test
 	public void testCreateInvestigationTask() {
 
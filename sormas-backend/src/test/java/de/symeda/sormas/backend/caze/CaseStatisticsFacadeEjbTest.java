@@ -1,13 +1,23 @@
 package de.symeda.sormas.backend.caze;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.Test;
 
 import de.symeda.sormas.api.Disease;
@@ -15,6 +25,7 @@ import de.symeda.sormas.api.IntegerRange;
 import de.symeda.sormas.api.Year;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseOutcome;
 import de.symeda.sormas.api.caze.InvestigationStatus;
 import de.symeda.sormas.api.infrastructure.PopulationDataDto;
 import de.symeda.sormas.api.person.ApproximateAgeType;
@@ -28,8 +39,10 @@ import de.symeda.sormas.api.statistics.StatisticsCaseCriteria;
 import de.symeda.sormas.api.statistics.StatisticsCaseSubAttribute;
 import de.symeda.sormas.api.user.UserDto;
 import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.backend.AbstractBeanTest;
 import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.caze.CaseStatisticsFacadeEjb.CaseStatisticsFacadeEjbLocal;
 import de.symeda.sormas.backend.util.DateHelper8;
 
 public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
@@ -162,4 +175,232 @@ public class CaseStatisticsFacadeEjbTest extends AbstractBeanTest {
 		// List should have one entry
 		assertEquals(Integer.valueOf(12214), results.get(0).getPopulation());
 	}
+
+	@Test
+	public void testIsCubeApplicable() {
+
+		CaseStatisticsFacadeEjbLocal caseStatisticsFacade = getBean(CaseStatisticsFacadeEjbLocal.class);
+
+		StatisticsCaseCriteria criteria = new StatisticsCaseCriteria();
+		criteria.regions(Arrays.asList(new RegionReferenceDto("region")));
+		criteria.addAgeIntervals(Arrays.asList(new IntegerRange(10, 40)));
+		assertTrue(
+			caseStatisticsFacade
+				.isCubeApplicable(criteria, StatisticsCaseAttribute.JURISDICTION, StatisticsCaseSubAttribute.DISTRICT, StatisticsCaseAttribute.SEX, null));
+		assertFalse(
+			caseStatisticsFacade
+				.isCubeApplicable(criteria, StatisticsCaseAttribute.JURISDICTION, StatisticsCaseSubAttribute.FACILITY, null, null));
+		assertFalse(caseStatisticsFacade.isCubeApplicable(criteria, StatisticsCaseAttribute.REPORTING_USER_ROLE, null, null, null));
+
+		Date now = new Date();
+		criteria.dateRange(DateHelper.getStartOfDay(now), DateHelper.getEndOfDay(now), StatisticsCaseAttribute.REPORT_TIME);
+		assertTrue(caseStatisticsFacade.isCubeApplicable(criteria, null, null, null, null));
+		criteria.dateRange(DateHelper.getStartOfDay(now), now, StatisticsCaseAttribute.REPORT_TIME);
+		assertFalse(caseStatisticsFacade.isCubeApplicable(criteria, null, null, null, null));
+
+		criteria = new StatisticsCaseCriteria();
+		criteria.setPersonCity("City");
+		assertFalse(caseStatisticsFacade.isCubeApplicable(criteria, null, null, null, null));
+
+		criteria = new StatisticsCaseCriteria();
+		assertFalse(
+			caseStatisticsFacade.isCubeApplicable(criteria, StatisticsCaseAttribute.PLACE_OF_RESIDENCE, StatisticsCaseSubAttribute.PERSON_REGION, null, null));
+		assertFalse(caseStatisticsFacade.isCubeApplicable(criteria, StatisticsCaseAttribute.ONSET_TIME, StatisticsCaseSubAttribute.DATE_RANGE, null, null));
+		assertTrue(caseStatisticsFacade.isCubeApplicable(criteria, StatisticsCaseAttribute.REPORT_TIME, StatisticsCaseSubAttribute.EPI_WEEK, null, null));
+	}
+
+	@Test
+	public void testQueryCaseCountWithCube() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		creator.createCase(
+			user.toReference(),
+			creator.createPerson("Case", "Person").toReference(),
+			Disease.EVD,
+			CaseClassification.PROBABLE,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+
+		refreshCube();
+
+		StatisticsCaseCriteria criteria = new StatisticsCaseCriteria();
+
+		// answered by the cube
+		List<StatisticsCaseCountDto> results = getCaseStatisticsFacade()
+			.queryCaseCount(criteria, StatisticsCaseAttribute.JURISDICTION, StatisticsCaseSubAttribute.REGION, null, null, false, false, null);
+		assertEquals(1, results.size());
+		assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+
+		// not held by the cube, so answered from the case data
+		results = getCaseStatisticsFacade().queryCaseCount(
+			criteria,
+			StatisticsCaseAttribute.PLACE_OF_RESIDENCE,
+			StatisticsCaseSubAttribute.PERSON_REGION,
+			null,
+			null,
+			false,
+			false,
+			null);
+		assertEquals(1, results.size());
+		assertEquals(Integer.valueOf(1), results.get(0).getCaseCount());
+	}
+
+	@Test
+	public void testCubeMatchesCaseData() {
+
+		RDCF rdcf1 = creator.createRDCF("Region 1", "District 1", "Community 1", "Facility 1");
+		RDCF rdcf2 = creator.createRDCF("Region 2", "District 2", "Community 2", "Facility 2");
+		UserDto user = creator
+			.createUser(rdcf1.region.getUuid(), rdcf1.district.getUuid(), rdcf1.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+
+		Date today = DateHelper.addSeconds(DateHelper.getStartOfDay(new Date()), 12 * 60 * 60);
+		createCase(user, rdcf1, Disease.EVD, CaseClassification.PROBABLE, CaseOutcome.NO_OUTCOME, Sex.MALE, 1980, today);
+		createCase(user, rdcf1, Disease.EVD, CaseClassification.CONFIRMED, CaseOutcome.DECEASED, Sex.FEMALE, 2015, today);
+		Date tenDaysAgo = DateHelper.subtractDays(today, 10);
+		Date fortyDaysAgo = DateHelper.subtractDays(today, 40);
+		Date lastYear = DateHelper.subtractDays(today, 400);
+		createCase(user, rdcf1, Disease.CSM, CaseClassification.SUSPECT, CaseOutcome.RECOVERED, null, null, tenDaysAgo);
+		createCase(user, rdcf2, Disease.EVD, CaseClassification.PROBABLE, CaseOutcome.NO_OUTCOME, Sex.FEMALE, 1950, fortyDaysAgo);
+		createCase(user, rdcf2, Disease.CSM, CaseClassification.CONFIRMED, CaseOutcome.NO_OUTCOME, Sex.MALE, 2001, lastYear);
+		// deleted cases are not counted, archived cases are
+		CaseDataDto deletedCase =
+			createCase(user, rdcf2, Disease.EVD, CaseClassification.CONFIRMED, CaseOutcome.NO_OUTCOME, Sex.MALE, 1990, today);
+		getCaseFacade().deleteCase(deletedCase.getUuid());
+		CaseDataDto archivedCase =
+			createCase(user, rdcf1, Disease.EVD, CaseClassification.SUSPECT, CaseOutcome.NO_OUTCOME, Sex.MALE, 1970, today);
+		getCaseFacade().archiveOrDearchiveCase(archivedCase.getUuid(), true);
+
+		refreshCube();
+
+		List<StatisticsCaseCriteria> criteriaList = new ArrayList<>();
+		criteriaList.add(new StatisticsCaseCriteria());
+		criteriaList.add(new StatisticsCaseCriteria().diseases(Arrays.asList(Disease.EVD)));
+		criteriaList.add(new StatisticsCaseCriteria().regions(Arrays.asList(new RegionReferenceDto(rdcf1.region.getUuid()))));
+		criteriaList.add(new StatisticsCaseCriteria().sexes(Arrays.asList(Sex.FEMALE)).addAgeIntervals(Arrays.asList(new IntegerRange(0, 40))));
+		criteriaList.add(
+			new StatisticsCaseCriteria().classifications(Arrays.asList(CaseClassification.PROBABLE, CaseClassification.CONFIRMED))
+				.outcomes(Arrays.asList(CaseOutcome.NO_OUTCOME)));
+		criteriaList.add(
+			new StatisticsCaseCriteria().dateRange(
+				DateHelper.getStartOfDay(DateHelper.subtractDays(today, 50)),
+				DateHelper.getEndOfDay(today),
+				StatisticsCaseAttribute.REPORT_TIME));
+
+		List<Object[]> groupings = Arrays.asList(
+			new Object[] {
+				null,
+				null,
+				null,
+				null },
+			new Object[] {
+				StatisticsCaseAttribute.JURISDICTION,
+				StatisticsCaseSubAttribute.REGION,
+				StatisticsCaseAttribute.SEX,
+				null },
+			new Object[] {
+				StatisticsCaseAttribute.JURISDICTION,
+				StatisticsCaseSubAttribute.DISTRICT,
+				StatisticsCaseAttribute.DISEASE,
+				null },
+			new Object[] {
+				StatisticsCaseAttribute.CLASSIFICATION,
+				null,
+				StatisticsCaseAttribute.OUTCOME,
+				null },
+			new Object[] {
+				StatisticsCaseAttribute.AGE_INTERVAL_5_YEARS,
+				null,
+				null,
+				null },
+			new Object[] {
+				StatisticsCaseAttribute.REPORT_TIME,
+				StatisticsCaseSubAttribute.EPI_WEEK_OF_YEAR,
+				StatisticsCaseAttribute.DISEASE,
+				null },
+			new Object[] {
+				StatisticsCaseAttribute.ONSET_TIME,
+				StatisticsCaseSubAttribute.MONTH_OF_YEAR,
+				StatisticsCaseAttribute.REPORT_TIME,
+				StatisticsCaseSubAttribute.YEAR });
+
+		CaseStatisticsFacadeEjbLocal caseStatisticsFacade = getBean(CaseStatisticsFacadeEjbLocal.class);
+		for (StatisticsCaseCriteria criteria : criteriaList) {
+			for (Object[] grouping : groupings) {
+				StatisticsCaseAttribute groupingA = (StatisticsCaseAttribute) grouping[0];
+				StatisticsCaseSubAttribute subGroupingA = (StatisticsCaseSubAttribute) grouping[1];
+				StatisticsCaseAttribute groupingB = (StatisticsCaseAttribute) grouping[2];
+				StatisticsCaseSubAttribute subGroupingB = (StatisticsCaseSubAttribute) grouping[3];
+				assertTrue(caseStatisticsFacade.isCubeApplicable(criteria, groupingA, subGroupingA, groupingB, subGroupingB));
+
+				List<String> caseDataCounts =
+					queryCounts(caseStatisticsFacade.buildCaseCountQuery(criteria, groupingA, subGroupingA, groupingB, subGroupingB));
+				List<String> cubeCounts =
+					queryCounts(caseStatisticsFacade.buildCubeCaseCountQuery(criteria, groupingA, subGroupingA, groupingB, subGroupingB));
+				assertThat(Arrays.toString(grouping), cubeCounts, containsInAnyOrder(caseDataCounts.toArray()));
+			}
+		}
+	}
+
+	private CaseDataDto createCase(
+		UserDto user,
+		RDCF rdcf,
+		Disease disease,
+		CaseClassification classification,
+		CaseOutcome outcome,
+		Sex sex,
+		Integer birthYear,
+		Date reportAndOnsetDate) {
+
+		PersonDto person = creator.createPerson("Case", "Person", sex, birthYear, 1, 1);
+		return creator.createCase(
+			user.toReference(),
+			person.toReference(),
+			disease,
+			classification,
+			InvestigationStatus.PENDING,
+			reportAndOnsetDate,
+			rdcf,
+			c -> c.setOutcome(outcome));
+	}
+
+	private void refreshCube() {
+
+		// the cube table is created by the schema update, which is not run for the tests
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		em.createNativeQuery(
+			"CREATE TABLE IF NOT EXISTS " + CaseStatisticsCube.TABLE_NAME
+				+ "(disease varchar(255), caseclassification varchar(255), outcome varchar(255), sex varchar(255), caseage integer,"
+				+ " region_id bigint, district_id bigint, onsetdate timestamp, reportdate timestamp, casecount bigint NOT NULL)")
+			.executeUpdate();
+		em.getTransaction().commit();
+
+		CaseStatisticsCube caseStatisticsCube = getBean(CaseStatisticsCube.class);
+		caseStatisticsCube.refresh();
+		assertTrue(caseStatisticsCube.isAvailable());
+	}
+
+	/**
+	 * @return The rows of the count query as "count|group A|group B", with numbers compared by their value
+	 */
+	@SuppressWarnings("unchecked")
+	private List<String> queryCounts(Pair<String, List<Object>> queryAndParams) {
+
+		Query query = getEntityManager().createNativeQuery(queryAndParams.getKey());
+		for (int i = 0; i < queryAndParams.getValue().size(); i++) {
+			query.setParameter(i + 1, queryAndParams.getValue().get(i));
+		}
+
+		List<String> counts = new ArrayList<>();
+		for (Object[] row : (List<Object[]>) query.getResultList()) {
+			counts.add(
+				Arrays.stream(row)
+					.map(value -> value instanceof Number ? String.valueOf(((Number) value).longValue()) : String.valueOf(value))
+					.collect(Collectors.joining("|")));
+		}
+		return counts;
+	}
 }
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.caze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+
+/**
+ * Allocates suffixes from several threads, each with its own entity manager and transaction, which the bean tests can not
+ * provide.
+ */
+public class EpidNumberCounterServiceTest {
+
+	private static final String PREFIX = "COU-REG-DIS-20-";
+	private static final int THREADS = 8;
+	private static final int ALLOCATIONS_PER_THREAD = 25;
+
+	private EntityManagerFactory emf;
+
+	@Before
+	public void createEntityManagerFactory() {
+		// A database of its own, so the schema of the bean tests running in the same JVM is not dropped
+		emf = Persistence.createEntityManagerFactory(
+			"beanTestPU",
+			Collections.singletonMap("javax.persistence.jdbc.url", "jdbc:h2:mem:epidnumbercounter;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000"));
+	}
+
+	@After
+	public void closeEntityManagerFactory() {
+		emf.close();
+	}
+
+	@Test
+	public void testAllocateWithoutCounter() {
+		inTransaction(service -> assertNull(service.allocate(PREFIX, Disease.EVD, () -> 0)));
+	}
+
+	@Test
+	public void testConcurrentAllocation() throws Exception {
+
+		inTransaction(service -> service.create(PREFIX, Disease.EVD));
+
+		// The suffixes of the saved cases, a suffix is added before the transaction that allocated it commits
+		Set<Integer> suffixes = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < ALLOCATIONS_PER_THREAD; j++) {
+						inTransaction(service -> {
+							Integer suffix = service
+								.allocate(PREFIX, Disease.EVD, () -> suffixes.stream().mapToInt(Integer::intValue).max().orElse(0));
+							assertTrue("Suffix " + suffix + " allocated twice", suffixes.add(suffix));
+						});
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(IntStream.rangeClosed(1, THREADS * ALLOCATIONS_PER_THREAD).boxed().collect(Collectors.toSet()), suffixes);
+
+		// The suffix of a deleted case is allocated again
+		suffixes.remove(THREADS * ALLOCATIONS_PER_THREAD);
+		inTransaction(
+			service -> assertEquals(
+				Integer.valueOf(THREADS * ALLOCATIONS_PER_THREAD),
+				service.allocate(PREFIX, Disease.EVD, () -> suffixes.stream().mapToInt(Integer::intValue).max().orElse(0))));
+	}
+
+	private void inTransaction(Consumer<EpidNumberCounterService> work) {
+
+		EntityManager em = emf.createEntityManager();
+		try {
+			em.getTransaction().begin();
+			work.accept(new TestEpidNumberCounterService(em));
+			em.getTransaction().commit();
+		} finally {
+			if (em.getTransaction().isActive()) {
+				em.getTransaction().rollback();
+			}
+			em.close();
+		}
+	}
+
+	private static class TestEpidNumberCounterService extends EpidNumberCounterService {
+
+		TestEpidNumberCounterService(EntityManager em) {
+			this.em = em;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.mail.MessagingException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class MessageDispatcherTest {
+
+	@InjectMocks
+	private MessageDispatcher messageDispatcher;
+
+	@Mock
+	private OutboxMessageService outboxMessageService;
+	@Mock
+	private EmailService emailService;
+	@Mock
+	private SmsService smsService;
+
+	private long nextId;
+
+	@Before
+	public void setUp() {
+		MockitoAnnotations.initMocks(this);
+		nextId = 1;
+	}
+
+	@Test
+	public void testDispatchDeletesSentMessages() throws Exception {
+
+		OutboxMessage first = createMessage(MessageType.EMAIL, "a@sormas.org", "Subject 1", "Content 1");
+		OutboxMessage second = createMessage(MessageType.EMAIL, "b@sormas.org", "Subject 2", "Content 2");
+		OutboxMessage third = createMessage(MessageType.EMAIL, "a@sormas.org", "Subject 3", "Content 3");
+		mockDueMessages(MessageType.EMAIL, Arrays.asList(first, second, third));
+		mockDueMessages(MessageType.SMS, Collections.<OutboxMessage> emptyList());
+
+		messageDispatcher.dispatch();
+
+		// Messages for the same recipient are combined
+		verify(emailService).sendEmail("a@sormas.org", "Subject 1, Subject 3", "Content 1\n\nContent 3");
+		verify(emailService).sendEmail("b@sormas.org", "Subject 2", "Content 2");
+		verify(outboxMessageService).deleteByIds(Arrays.asList(first.getId(), third.getId()));
+		verify(outboxMessageService).deleteByIds(Arrays.asList(second.getId()));
+		verify(outboxMessageService, never()).markFailed(anyListOf(Long.class), anyString(), anyBoolean());
+		verify(smsService, never()).sendSms(anyString(), anyString(), anyString());
+	}
+
+	@Test
+	public void testDispatchMarksFailedMessages() throws Exception {
+
+		OutboxMessage failingEmail = createMessage(MessageType.EMAIL, "a@sormas.org", "Subject 1", "Content 1");
+		OutboxMessage email = createMessage(MessageType.EMAIL, "b@sormas.org", "Subject 2", "Content 2");
+		OutboxMessage invalidSms = createMessage(MessageType.SMS, "+49000", "Subject 3", "Content 3");
+		mockDueMessages(MessageType.EMAIL, Arrays.asList(failingEmail, email));
+		mockDueMessages(MessageType.SMS, Arrays.asList(invalidSms));
+		doThrow(new MessagingException("Connection refused")).when(emailService).sendEmail(eq("a@sormas.org"), anyString(), anyString());
+		doThrow(new InvalidPhoneNumberException("Invalid phone number", null)).when(smsService).sendSms(eq("+49000"), anyString(), anyString());
+
+		messageDispatcher.dispatch();
+
+		// Failed messages are tried again later, a failure does not stop the other messages
+		verify(outboxMessageService).markFailed(Arrays.asList(failingEmail.getId()), "Connection refused", true);
+		verify(outboxMessageService).deleteByIds(Arrays.asList(email.getId()));
+		// Invalid phone numbers are not tried again
+		verify(outboxMessageService).markFailed(Arrays.asList(invalidSms.getId()), "Invalid phone number", false);
+		verify(outboxMessageService, never()).deleteByIds(Arrays.asList(failingEmail.getId()));
+		verify(outboxMessageService, never()).deleteByIds(Arrays.asList(invalidSms.getId()));
+	}
+
+	@Test
+	public void testDispatchLimitsMessagesPerRun() throws Exception {
+
+		List<OutboxMessage> emails = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			emails.add(createMessage(MessageType.EMAIL, "user" + i + "@sormas.org", "Subject", "Content"));
+		}
+		List<OutboxMessage> sms = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			sms.add(createMessage(MessageType.SMS, "+49" + i, "Subject", "Content"));
+		}
+		mockDueMessages(MessageType.EMAIL, emails);
+		mockDueMessages(MessageType.SMS, sms);
+
+		messageDispatcher.dispatch();
+
+		verify(emailService, times(50)).sendEmail(anyString(), anyString(), anyString());
+		verify(smsService, times(20)).sendSms(anyString(), anyString(), anyString());
+		verify(outboxMessageService, times(70)).deleteByIds(anyListOf(Long.class));
+		// The remaining messages stay queued for the next run
+		verify(emailService, never()).sendEmail(eq("user50@sormas.org"), anyString(), anyString());
+		verify(smsService, never()).sendSms(eq("+4920"), anyString(), anyString());
+	}
+
+	private void mockDueMessages(MessageType messageType, List<OutboxMessage> messages) {
+		when(outboxMessageService.getDueMessages(eq(messageType), any(Date.class), anyInt())).thenReturn(messages);
+	}
+
+	private OutboxMessage createMessage(MessageType messageType, String recipientAddress, String subject, String content) {
+
+		OutboxMessage message = new OutboxMessage();
+		message.setId(nextId++);
+		message.setMessageType(messageType);
+		message.setRecipientAddress(recipientAddress);
+		message.setSubject(subject);
+		message.setContent(content);
+		return message;
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+import de.symeda.sormas.backend.user.User;
+
+public class MessagingServiceTest extends AbstractBeanTest {
+
+	@Test
+	public void testSendMessageQueuesMessages() throws NotificationDeliveryFailedException {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto senderDto = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		UserDto recipientDto =
+			creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Case", "Sup", UserRole.CASE_SUPERVISOR);
+		recipientDto.setUserEmail("case.sup@sormas.org");
+		recipientDto.setPhone("+49123456789");
+		getUserFacade().saveUser(recipientDto);
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup");
+
+		User sender = getUserService().getByUuid(senderDto.getUuid());
+		User recipient = getUserService().getByUuid(recipientDto.getUuid());
+		MessagingService messagingService = getBean(MessagingService.class);
+		OutboxMessageService outboxMessageService = getBean(OutboxMessageService.class);
+
+		messagingService.sendMessage(recipient, "Subject 1", "Content 1", MessageType.EMAIL, MessageType.SMS);
+		messagingService.sendMessage(recipient, "Subject 2", "Content 2", MessageType.EMAIL);
+		// Users that initiated an action are not notified
+		messagingService.sendMessage(sender, "Subject 3", "Content 3", MessageType.EMAIL);
+
+		List<OutboxMessage> emails = outboxMessageService.getDueMessages(MessageType.EMAIL, new Date(), 100);
+		List<OutboxMessage> sms = outboxMessageService.getDueMessages(MessageType.SMS, new Date(), 100);
+		assertThat(emails, hasSize(2));
+		assertThat(sms, hasSize(1));
+		assertEquals("+49123456789", sms.get(0).getRecipientAddress());
+
+		// Both emails are sent as one message
+		List<List<OutboxMessage>> emailsByRecipient = new ArrayList<>(MessageDispatcher.groupByRecipient(emails));
+		assertThat(emailsByRecipient, hasSize(1));
+		assertEquals("Subject 1, Subject 2", MessageDispatcher.buildSubject(emailsByRecipient.get(0)));
+		assertEquals("Content 1\n\nContent 2", MessageDispatcher.buildContent(emailsByRecipient.get(0)));
+
+		// Failed messages are not due until the retry delay has passed
+		List<Long> emailIds = emails.stream().map(OutboxMessage::getId).collect(Collectors.toList());
+		outboxMessageService.markFailed(emailIds, "Connection refused", true);
+		OutboxMessage failedEmail = outboxMessageService.getById(emailIds.get(0));
+		assertThat(failedEmail.getAttempts(), is(1));
+		assertTrue(failedEmail.getNextAttemptDate().after(new Date()));
+		assertThat(outboxMessageService.getDueMessages(MessageType.EMAIL, new Date(), 100), empty());
+
+		outboxMessageService.deleteByIds(emailIds);
+		assertThat(outboxMessageService.getDueMessages(MessageType.EMAIL, DateHelper.addDays(new Date(), 365), 100), empty());
+	}
+
+	@Test
+	public void testRetryDelay() {
+
+		assertEquals(OutboxMessageService.BASE_RETRY_DELAY, OutboxMessageService.getRetryDelay(1));
+		assertEquals(2 * OutboxMessageService.BASE_RETRY_DELAY, OutboxMessageService.getRetryDelay(2));
+		assertEquals(4 * OutboxMessageService.BASE_RETRY_DELAY, OutboxMessageService.getRetryDelay(3));
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.dashboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Disease;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.contact.ContactDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
+import de.symeda.sormas.api.dashboard.EpiCurveGrouping;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.DateHelper;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.MockProducer;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+public class DashboardFacadeEjbTest extends AbstractBeanTest {
+
+	@Test
+	public void testGetCaseStatistics() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup");
+
+		Date today = new Date();
+		Date previousDay = DateHelper.subtractDays(today, 10);
+		createCase(user, rdcf, CaseClassification.CONFIRMED, today);
+		createCase(user, rdcf, CaseClassification.CONFIRMED, today);
+		createCase(user, rdcf, CaseClassification.SUSPECT, today);
+		createCase(user, rdcf, CaseClassification.CONFIRMED, previousDay);
+
+		DashboardCriteria dashboardCriteria = new DashboardCriteria().disease(Disease.EVD)
+			.newCaseDateType(NewCaseDateType.REPORT)
+			.dateBetween(DateHelper.getStartOfDay(today), DateHelper.getEndOfDay(today))
+			.previousDateBetween(DateHelper.getStartOfDay(previousDay), DateHelper.getEndOfDay(previousDay));
+
+		DashboardCaseStatisticDto caseStatistics = getDashboardFacade().getCaseStatistics(dashboardCriteria);
+		assertEquals(3, caseStatistics.getCaseCount());
+		assertEquals(1, caseStatistics.getPreviousCaseCount());
+		assertEquals(Long.valueOf(2), caseStatistics.getCaseClassificationCount().get(CaseClassification.CONFIRMED));
+		assertEquals(Long.valueOf(1), caseStatistics.getCaseClassificationCount().get(CaseClassification.SUSPECT));
+		assertNull(caseStatistics.getCaseClassificationCount().get(CaseClassification.PROBABLE));
+		assertEquals(0, caseStatistics.getFatalCount());
+	}
+
+	@Test
+	public void testGetEpiCurveSeriesElementsPerCaseClassification() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup");
+
+		Date today = new Date();
+		Date yesterday = DateHelper.subtractDays(today, 1);
+		createCase(user, rdcf, CaseClassification.CONFIRMED, today);
+		createCase(user, rdcf, CaseClassification.PROBABLE, today);
+		createCase(user, rdcf, CaseClassification.CONFIRMED, yesterday);
+
+		DashboardCriteria dashboardCriteria = new DashboardCriteria().disease(Disease.EVD)
+			.newCaseDateType(NewCaseDateType.REPORT)
+			.epiCurveGrouping(EpiCurveGrouping.DAY)
+			.dateBetween(DateHelper.getStartOfDay(yesterday), DateHelper.getEndOfDay(today));
+
+		Map<Date, Map<CaseClassification, Long>> caseCounts = getDashboardFacade().getEpiCurveSeriesElementsPerCaseClassification(dashboardCriteria);
+		assertEquals(2, caseCounts.size());
+		assertEquals(Long.valueOf(1), caseCounts.get(DateHelper.getStartOfDay(today)).get(CaseClassification.CONFIRMED));
+		assertEquals(Long.valueOf(1), caseCounts.get(DateHelper.getStartOfDay(today)).get(CaseClassification.PROBABLE));
+		assertEquals(Long.valueOf(1), caseCounts.get(DateHelper.getStartOfDay(yesterday)).get(CaseClassification.CONFIRMED));
+	}
+
+	@Test
+	public void testGetCaseAndSourceCaseCount() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		when(MockProducer.getPrincipal().getName()).thenReturn("SurvSup");
+
+		Date today = new Date();
+		CaseDataDto sourceCase = createCase(user, rdcf, CaseClassification.CONFIRMED, today);
+		createCase(user, rdcf, CaseClassification.SUSPECT, today);
+		CaseDataDto resultingCase = createCase(user, rdcf, CaseClassification.CONFIRMED, today);
+		createCase(user, rdcf, CaseClassification.CONFIRMED, DateHelper.subtractDays(today, 10));
+
+		ContactDto contact = creator.createContact(user.toReference(), creator.createPerson("Contact", "Person").toReference(), sourceCase);
+		contact.setResultingCase(resultingCase.toReference());
+		getContactFacade().saveContact(contact);
+
+		DashboardCriteria dashboardCriteria = new DashboardCriteria().disease(Disease.EVD)
+			.newCaseDateType(NewCaseDateType.REPORT)
+			.dateBetween(DateHelper.getStartOfDay(today), DateHelper.getEndOfDay(today));
+
+		long[] caseAndSourceCaseCount = getDashboardFacade().getCaseAndSourceCaseCount(dashboardCriteria);
+		assertEquals(3, caseAndSourceCaseCount[0]);
+		assertEquals(2, caseAndSourceCaseCount[1]);
+	}
+
+	private CaseDataDto createCase(UserDto user, RDCF rdcf, CaseClassification caseClassification, Date reportDate) {
+
+		PersonDto cazePerson = creator.createPerson("Case", "Person");
+		return creator.createCase(user.toReference(), cazePerson.toReference(), Disease.EVD, caseClassification, InvestigationStatus.PENDING, reportDate, rdcf);
+	}
+}
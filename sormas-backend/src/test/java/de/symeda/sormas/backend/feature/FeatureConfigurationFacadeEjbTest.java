@@ -1,12 +1,17 @@
 package de.symeda.sormas.backend.feature;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.List;
 
 import org.junit.Test;
 
 import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.feature.FeatureConfigurationCriteria;
 import de.symeda.sormas.api.feature.FeatureConfigurationIndexDto;
 import de.symeda.sormas.api.feature.FeatureType;
 import de.symeda.sormas.api.person.PersonReferenceDto;
@@ -35,4 +40,38 @@ public class FeatureConfigurationFacadeEjbTest extends AbstractBeanTest {
 		List<TaskDto> caseTasks = getTaskFacade().getAllPendingByCase(caze.toReference());
 		assertEquals(0, caseTasks.size());
 	}
+
+	@Test
+	public void testFeatureConfigurationCacheIsInvalidated() {
+
+		FeatureConfigurationCache cache = getBean(FeatureConfigurationCache.class);
+
+		assertFalse(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.WEEKLY_REPORTING));
+		assertFalse(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.WEEKLY_REPORTING));
+		assertThat(cache.getHitCount(), greaterThanOrEqualTo(1L));
+
+		FeatureConfigurationIndexDto featureConfiguration =
+			new FeatureConfigurationIndexDto(DataHelper.createUuid(), null, null, null, null, null, false, null);
+		getFeatureConfigurationFacade().saveFeatureConfiguration(featureConfiguration, FeatureType.WEEKLY_REPORTING);
+		assertTrue(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.WEEKLY_REPORTING));
+		assertFalse(getFeatureConfigurationFacade().getActiveServerFeatureTypes().contains(FeatureType.WEEKLY_REPORTING));
+
+		getFeatureConfigurationFacade().deleteAllFeatureConfigurations(new FeatureConfigurationCriteria().featureType(FeatureType.WEEKLY_REPORTING));
+		assertFalse(getFeatureConfigurationFacade().isFeatureDisabled(FeatureType.WEEKLY_REPORTING));
+	}
+
+	@Test
+	public void testFeatureConfigurationCacheIsInvalidatedAfterTransaction() {
+
+		FeatureConfigurationCache cache = getBean(FeatureConfigurationCache.class);
+		cache.isFeatureDisabled(FeatureType.WEEKLY_REPORTING);
+		long missCount = cache.getMissCount();
+
+		// a snapshot loaded before the transaction that changed the configurations was completed is not kept
+		cache.afterInvalidation(new FeatureConfigurationCache.Invalidation());
+		cache.isFeatureDisabled(FeatureType.WEEKLY_REPORTING);
+		assertEquals(missCount + 1, cache.getMissCount());
+		cache.isFeatureDisabled(FeatureType.WEEKLY_REPORTING);
+		assertEquals(missCount + 1, cache.getMissCount());
+	}
 }
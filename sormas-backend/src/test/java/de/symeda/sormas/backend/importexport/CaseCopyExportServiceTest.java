@@ -0,0 +1,85 @@
+package de.symeda.sormas.backend.importexport;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.caze.CaseCriteria;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseExportDto;
+import de.symeda.sormas.api.caze.CaseExportType;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
+
+/**
+ * @see CaseCopyExportService
+ */
+public class CaseCopyExportServiceTest extends AbstractBeanTest {
+
+	/**
+	 * Assure, that every supported property is a field of {@link CaseExportDto}.
+	 */
+	@Test
+	public void testSupportedPropertiesExist() {
+
+		for (String property : CaseCopyExportService.getSupportedProperties()) {
+			try {
+				CaseExportDto.class.getDeclaredField(property);
+			} catch (NoSuchFieldException e) {
+				fail(String.format("%s has no field %s", CaseExportDto.class.getSimpleName(), property));
+			}
+		}
+	}
+
+	@Test
+	public void testIsSupported() {
+
+		assertTrue(CaseCopyExportService.isSupported(Arrays.asList("uuid", "firstName", "reportDate", "quarantineExtended")));
+		assertFalse(CaseCopyExportService.isSupported(Arrays.asList("uuid", CaseDataDto.SYMPTOMS)));
+		assertFalse(CaseCopyExportService.isSupported(Collections.emptyList()));
+	}
+
+	@Test
+	public void testBuildCopySql() {
+
+		String sql = CaseCopyExportService.buildCopySql(Arrays.asList("uuid", "addressRegion"), Arrays.asList(3L, 1L));
+
+		assertThat(sql, containsString("SELECT cases.id, cases.uuid, addressregion.name FROM cases"));
+		assertThat(sql, containsString("WHERE cases.id IN (3,1)"));
+	}
+
+	/**
+	 * The export temporarily restricts the criteria to cases with case management data. H2 does not support COPY, so the
+	 * export fails after the first batch of cases has been selected, which must not leave the criteria changed.
+	 */
+	@Test
+	public void testExportAsCsvRestoresCaseCriteria() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = creator
+			.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Surv", "Sup", UserRole.SURVEILLANCE_SUPERVISOR);
+		CaseDataDto caze = creator.createCase(user.toReference(), creator.createPerson().toReference(), rdcf);
+		creator.createPrescription(caze);
+
+		CaseCriteria caseCriteria = new CaseCriteria();
+		try {
+			getBean(CaseCopyExportService.class)
+				.exportAsCsv(new StringWriter(), caseCriteria, CaseExportType.CASE_MANAGEMENT, Arrays.asList("uuid"), Language.EN);
+			fail("COPY is not supported by H2");
+		} catch (RuntimeException e) {
+			assertNull(caseCriteria.getMustHaveCaseManagementData());
+		}
+	}
+}
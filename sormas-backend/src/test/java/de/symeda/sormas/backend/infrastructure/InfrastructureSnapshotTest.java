@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.infrastructure;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCFEntities;
+import de.symeda.sormas.backend.facility.Facility;
+
+public class InfrastructureSnapshotTest extends AbstractBeanTest {
+
+	@Test
+	public void testSnapshotAndDiff() throws IOException {
+
+		RDCFEntities rdcf = creator.createRDCFEntities("Region", "District", "Community", "Facility");
+		InfrastructureSnapshot infrastructureSnapshot = getBean(InfrastructureSnapshot.class);
+		infrastructureSnapshot.refresh();
+
+		InfrastructureSnapshotDto snapshot = infrastructureSnapshot.getSnapshot();
+		assertThat(
+			readEntries(snapshot),
+			hasItems(
+				"REGION " + rdcf.region.getUuid(),
+				"DISTRICT " + rdcf.district.getUuid(),
+				"COMMUNITY " + rdcf.community.getUuid(),
+				"FACILITY " + rdcf.facility.getUuid()));
+
+		// nothing has changed
+		infrastructureSnapshot.refresh();
+		assertSame(snapshot, infrastructureSnapshot.getSnapshot());
+
+		Facility facility = creator.createFacility("Facility 2", rdcf.region, rdcf.district, rdcf.community);
+		infrastructureSnapshot.refresh();
+		InfrastructureSnapshotDto newSnapshot = infrastructureSnapshot.getSnapshot();
+		assertNotEquals(snapshot.getVersion(), newSnapshot.getVersion());
+		assertThat(readEntries(newSnapshot), hasItems("FACILITY " + facility.getUuid()));
+
+		InfrastructureSnapshotDto diff = infrastructureSnapshot.getDiff(snapshot.getVersion());
+		assertEquals(newSnapshot.getVersion(), diff.getVersion());
+		assertThat(readEntries(diff), contains("FACILITY " + facility.getUuid()));
+		assertSame(diff, infrastructureSnapshot.getDiff(snapshot.getVersion()));
+		assertThat(readEntries(infrastructureSnapshot.getDiff(newSnapshot.getVersion())), not(hasItems("FACILITY " + facility.getUuid())));
+
+		assertNull(infrastructureSnapshot.getDiff("invalid"));
+	}
+
+	@Test
+	public void testVersion() {
+
+		Date[] changeDates = new Date[] {
+			new Date(1000),
+			null,
+			new Date(1590000000000L),
+			new Date(2),
+			null,
+			new Date(3) };
+		String version = InfrastructureSnapshot.encodeVersion(changeDates);
+
+		assertArrayEquals(changeDates, InfrastructureSnapshot.decodeVersion(version));
+		assertNull(InfrastructureSnapshot.decodeVersion("1-2-3"));
+		assertNull(InfrastructureSnapshot.decodeVersion("1-2-3-4-5-x!"));
+		assertNull(InfrastructureSnapshot.decodeVersion(""));
+	}
+
+	private static List<String> readEntries(InfrastructureSnapshotDto snapshot) throws IOException {
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		List<String> entries = new ArrayList<>();
+		try (BufferedReader reader =
+			new BufferedReader(new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(snapshot.getData())), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				JsonNode entry = objectMapper.readTree(line);
+				entries.add(entry.get("type").asText() + " " + entry.get("data").get("uuid").asText());
+			}
+		}
+		return entries;
+	}
+}
@@ -0,0 +1,113 @@
+package de.symeda.sormas.backend.region;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+import de.symeda.sormas.api.region.GeoLatLon;
+
+public class GeoShapeIndexTest {
+
+	private final GeometryFactory geometryFactory = new GeometryFactory();
+
+	@Test
+	public void testGetByCoord() {
+
+		Map<String, Polygon> shapes = new HashMap<>();
+		shapes.put("west", square(0, 0, 10));
+		shapes.put("east", square(10, 0, 10));
+		shapes.put("island", square(30, 30, 1));
+
+		GeoShapeIndex<String> index = new GeoShapeIndex<>(shapes);
+
+		assertEquals("west", index.getByCoord(new GeoLatLon(5, 5)));
+		assertEquals("east", index.getByCoord(new GeoLatLon(5, 15)));
+		assertEquals("island", index.getByCoord(new GeoLatLon(30.5, 30.5)));
+		assertNull(index.getByCoord(new GeoLatLon(20, 20)));
+		assertNull(new GeoShapeIndex<String>(new HashMap<>()).getByCoord(new GeoLatLon(5, 5)));
+	}
+
+	@Test
+	public void testGetByCoordWithShapefile() throws Exception {
+
+		Map<Integer, MultiPolygon> districts = loadDistricts();
+		GeoShapeIndex<Integer> index = new GeoShapeIndex<>(districts);
+
+		// The linear search over all shapes is what every lookup did before the index was introduced
+		for (GeoLatLon latLon : randomCoords(districts, 500)) {
+			Point point = geometryFactory.createPoint(new Coordinate(latLon.getLon(), latLon.getLat()));
+
+			boolean contained = districts.values().stream().anyMatch(d -> d.contains(point));
+			Integer district = index.getByCoord(latLon);
+			if (contained) {
+				assertNotNull(district);
+				assertTrue(districts.get(district).contains(point));
+			} else {
+				assertNull(district);
+			}
+		}
+	}
+
+	private Map<Integer, MultiPolygon> loadDistricts() throws Exception {
+
+		Map<Integer, MultiPolygon> districts = new HashMap<>();
+		ShapefileDataStore dataStore = new ShapefileDataStore(getClass().getClassLoader().getResource("shapefiles/nigeria/districts.shp"));
+		SimpleFeatureIterator iterator = dataStore.getFeatureSource().getFeatures().features();
+		while (iterator.hasNext()) {
+			MultiPolygon multiPolygon = (MultiPolygon) iterator.next().getDefaultGeometryProperty().getValue();
+			if (multiPolygon != null) {
+				districts.put(districts.size(), multiPolygon);
+			}
+		}
+		iterator.close();
+		dataStore.dispose();
+		return districts;
+	}
+
+	/**
+	 * @return random coordinates within the bounds of the shapes
+	 */
+	private List<GeoLatLon> randomCoords(Map<Integer, MultiPolygon> shapes, int count) {
+
+		Envelope bounds = new Envelope();
+		for (MultiPolygon shape : shapes.values()) {
+			bounds.expandToInclude(shape.getEnvelopeInternal());
+		}
+
+		Random random = new Random(1);
+		List<GeoLatLon> coords = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			double lon = bounds.getMinX() + random.nextDouble() * bounds.getWidth();
+			double lat = bounds.getMinY() + random.nextDouble() * bounds.getHeight();
+			coords.add(new GeoLatLon(lat, lon));
+		}
+		return coords;
+	}
+
+	private Polygon square(double lat, double lon, double size) {
+		return geometryFactory.createPolygon(
+			new Coordinate[] {
+				new Coordinate(lon, lat),
+				new Coordinate(lon + size, lat),
+				new Coordinate(lon + size, lat + size),
+				new Coordinate(lon, lat + size),
+				new Coordinate(lon, lat) });
+	}
+}
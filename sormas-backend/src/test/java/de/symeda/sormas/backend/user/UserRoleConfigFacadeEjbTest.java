@@ -4,8 +4,10 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.collection.IsEmptyCollection;
 import org.junit.Test;
@@ -45,6 +47,36 @@ public class UserRoleConfigFacadeEjbTest extends AbstractBeanTest {
 		Set<UserRight> expectedUserRights = new HashSet<UserRight>(Arrays.asList(UserRight.CASE_CREATE, UserRight.CASE_EDIT));
 		expectedUserRights.addAll(UserRole.NATIONAL_OBSERVER.getDefaultUserRights());
 		assertThat(mixedUserRights, is(expectedUserRights));
+
+		// 5. back to defaults after the configuration is deleted
+		getUserRoleConfigFacade().deleteUserRoleConfig(userRoleConfig);
+		supervisorRights = getUserRoleConfigFacade().getEffectiveUserRights(UserRole.SURVEILLANCE_SUPERVISOR);
+		assertThat(supervisorRights, is(UserRole.SURVEILLANCE_SUPERVISOR.getDefaultUserRights()));
+	}
+
+	@Test
+	public void testUserRightsCacheInvalidation() {
+
+		final UserRightsCache userRightsCache = getBean(UserRightsCache.class);
+		final AtomicInteger loads = new AtomicInteger();
+		Set<UserRole> userRoles = EnumSet.of(UserRole.SURVEILLANCE_SUPERVISOR);
+
+		userRightsCache.getUserRights(userRoles, roles -> {
+			loads.incrementAndGet();
+			return EnumSet.of(UserRight.CASE_VIEW);
+		});
+		assertThat(userRightsCache.getUserRights(userRoles, roles -> EnumSet.of(UserRight.CASE_EDIT)), is(EnumSet.of(UserRight.CASE_VIEW)));
+		assertThat(loads.get(), is(1));
+
+		// rights built while the cache is invalidated are returned, but not kept
+		assertThat(userRightsCache.getUserRights(userRoles, roles -> {
+			userRightsCache.invalidate();
+			return EnumSet.of(UserRight.CASE_EDIT);
+		}), is(EnumSet.of(UserRight.CASE_EDIT)));
+		assertThat(userRightsCache.getUserRights(userRoles, roles -> EnumSet.of(UserRight.CASE_CREATE)), is(EnumSet.of(UserRight.CASE_CREATE)));
+
+		userRightsCache.invalidate();
+		assertThat(userRightsCache.getUserRights(userRoles, roles -> EnumSet.of(UserRight.CASE_DELETE)), is(EnumSet.of(UserRight.CASE_DELETE)));
 	}
 
 	// not testable, because history tables don't work with H2
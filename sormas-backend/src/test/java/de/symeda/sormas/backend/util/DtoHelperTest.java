@@ -6,10 +6,15 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseDataDto;
 import de.symeda.sormas.api.clinicalcourse.HealthConditionsDto;
 import de.symeda.sormas.api.epidata.EpiDataBurialDto;
@@ -185,4 +190,46 @@ public class DtoHelperTest extends AbstractBeanTest {
 			assertEquals(2, targetDto.getRequestedPathogenTests().size());
 		}
 	}
+
+	@Test
+	public void testFillDtoWithCachedCopiers() throws IOException {
+
+		PersonDto sourcePerson = PersonDto.build();
+		sourcePerson.setFirstName("First");
+		sourcePerson.setLastName("Last");
+		sourcePerson.getAddress().setCity("City");
+		CaseDataDto sourceCase = CaseDataDto.build(sourcePerson.toReference(), Disease.EVD);
+		sourceCase.getSymptoms().setFever(SymptomState.YES);
+		sourceCase.getEpiData().getBurials().add(EpiDataBurialDto.build());
+
+		PersonDto targetPerson = PersonDto.build();
+		CaseDataDto targetCase = CaseDataDto.build(targetPerson.toReference(), null);
+
+		ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		String targetPersonJson = mapper.writeValueAsString(targetPerson);
+		String targetCaseJson = mapper.writeValueAsString(targetCase);
+
+		// The first fill determines the copiers of all DTO classes in the graph, the second one uses the cached copiers
+		DtoCopier.clearCache();
+		PersonDto uncachedPerson = mapper.readValue(targetPersonJson, PersonDto.class);
+		CaseDataDto uncachedCase = mapper.readValue(targetCaseJson, CaseDataDto.class);
+		DtoHelper.fillDto(uncachedPerson, sourcePerson, false);
+		DtoHelper.fillDto(uncachedCase, sourceCase, false);
+
+		PersonDto cachedPerson = mapper.readValue(targetPersonJson, PersonDto.class);
+		CaseDataDto cachedCase = mapper.readValue(targetCaseJson, CaseDataDto.class);
+		DtoHelper.fillDto(cachedPerson, sourcePerson, false);
+		DtoHelper.fillDto(cachedCase, sourceCase, false);
+
+		assertEquals("Last", cachedPerson.getLastName());
+		assertEquals("City", cachedPerson.getAddress().getCity());
+		assertEquals(Disease.EVD, cachedCase.getDisease());
+		assertEquals(SymptomState.YES, cachedCase.getSymptoms().getFever());
+		assertEquals(1, cachedCase.getEpiData().getBurials().size());
+
+		// Copied collection entries get a new uuid each time
+		cachedCase.getEpiData().getBurials().get(0).setUuid(uncachedCase.getEpiData().getBurials().get(0).getUuid());
+		assertEquals(mapper.writeValueAsString(uncachedPerson), mapper.writeValueAsString(cachedPerson));
+		assertEquals(mapper.writeValueAsString(uncachedCase), mapper.writeValueAsString(cachedCase));
+	}
 }
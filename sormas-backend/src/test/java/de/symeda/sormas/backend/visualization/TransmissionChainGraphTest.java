@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * SORMAS® - Surveillance Outbreak Response Management & Analysis System
+ * Copyright © 2016-2020 Helmholtz-Zentrum für Infektionsforschung GmbH (HZI)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <https://www.gnu.org/licenses/>.
+ *******************************************************************************/
+package de.symeda.sormas.backend.visualization;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.contact.ContactProximity;
+import de.symeda.sormas.backend.PerformanceTest;
+
+public class TransmissionChainGraphTest {
+
+	@Test
+	public void testToJson() throws IOException {
+
+		TransmissionChainGraph graph = new TransmissionChainGraph(false);
+		assertTrue(graph.isEmpty());
+
+		// the earliest case of a person is used
+		graph.addCase(1, "abcdefgh-case1", new Date(2000), CaseClassification.CONFIRMED);
+		graph.addCase(1, "bcdefghi-case2", new Date(1000), CaseClassification.SUSPECT);
+		graph.addPerson(2);
+		graph.addContact(1, 2, ContactProximity.AEROSOL);
+		graph.addContact(1, 2, ContactProximity.PHYSICAL_CONTACT);
+		graph.addPerson(3);
+		graph.addContact(1, 3, null);
+		graph.addContact(1, 1, ContactProximity.PHYSICAL_CONTACT);
+		graph.addCase(4, "defghijk-case4", null, CaseClassification.PROBABLE);
+		graph.addContact(4, 1, ContactProximity.TOUCHED_FLUID);
+		assertFalse(graph.isEmpty());
+
+		JsonNode x = new ObjectMapper().readTree(graph.toJson()).get("x");
+
+		JsonNode nodes = x.get("nodes");
+		assertThat(toList(nodes.get("id")), contains("1", "2", "3", "4"));
+		assertThat(toList(nodes.get("uuid")), contains("bcdefghi-case2", "null", "null", "defghijk-case4"));
+		assertThat(toList(nodes.get("label")), contains("BCDEFG", "null", "null", "DEFGHI"));
+		assertThat(
+			toList(nodes.get("Classification")),
+			contains("{Classification.SUSPECT}", TransmissionChainGraph.HEALTHY_CLASS, TransmissionChainGraph.HEALTHY_CLASS, "{Classification.PROBABLE}"));
+		assertThat(toList(x.get("groups")), contains(TransmissionChainGraph.HEALTHY_CLASS, "{Classification.SUSPECT}", "{Classification.PROBABLE}"));
+
+		// duplicates and contacts with the person itself are removed, high risk contacts come first
+		JsonNode edges = x.get("edges");
+		assertThat(toList(edges.get("from")), contains("1", "4", "1"));
+		assertThat(toList(edges.get("to")), contains("2", "1", "3"));
+		assertThat(toList(edges.get("label")), contains("1", "1", "2"));
+		assertThat(toList(edges.get("dashes")), contains("false", "false", "true"));
+
+		assertThat(x.get("options").get("physics").get("solver").asText(), is("barnesHut"));
+		assertTrue(x.get("footer").isNull());
+	}
+
+	@Test
+	public void testHierarchicalLevels() throws IOException {
+
+		TransmissionChainGraph graph = new TransmissionChainGraph(true);
+		graph.addContact(1, 2, null);
+		graph.addContact(2, 3, null);
+		graph.addContact(1, 3, null);
+		// a cycle that is not reachable from a person without infector
+		graph.addContact(4, 5, null);
+		graph.addContact(5, 4, null);
+
+		JsonNode x = new ObjectMapper().readTree(graph.toJson()).get("x");
+
+		assertThat(toList(x.get("nodes").get("level")), contains("0", "1", "1", "0", "1"));
+		assertTrue(x.get("options").get("layout").get("hierarchical").get("enabled").asBoolean());
+	}
+
+	@Test
+	public void testBuildLargeGraph() throws IOException {
+		buildRandomGraph(20_000, 12_000);
+	}
+
+	/**
+	 * The transmission chain has to stay fast for countries with 500k contacts.
+	 */
+	@Test(timeout = 60_000)
+	@Category(PerformanceTest.class)
+	public void testBuildGraphWith500kContacts() throws IOException {
+		buildRandomGraph(500_000, 300_000);
+	}
+
+	private static void buildRandomGraph(int contactCount, int personCount) throws IOException {
+
+		Random random = new Random(1);
+		ContactProximity[] proximities = ContactProximity.values();
+
+		TransmissionChainGraph graph = new TransmissionChainGraph(true);
+		for (int i = 0; i < contactCount; i++) {
+			long casePersonId = random.nextInt(personCount / 10);
+			long contactPersonId = random.nextInt(personCount);
+			graph.addCase(casePersonId, "case-" + casePersonId, null, CaseClassification.CONFIRMED);
+			graph.addPerson(contactPersonId);
+			graph.addContact(casePersonId, contactPersonId, proximities[random.nextInt(proximities.length)]);
+		}
+		String json = graph.toJson();
+
+		JsonNode x = new ObjectMapper().readTree(json).get("x");
+		int nodeCount = x.get("nodes").get("id").size();
+		assertEquals(nodeCount, x.get("nodes").get("level").size());
+		assertTrue(nodeCount > personCount / 2);
+		assertTrue(x.get("edges").get("from").size() > contactCount * 9 / 10);
+	}
+
+	private static List<String> toList(JsonNode array) {
+
+		List<String> values = new ArrayList<>();
+		array.forEach(value -> values.add(value.asText()));
+		return values;
+	}
+}
@@ -1,99 +1,73 @@
 package de.symeda.sormas.backend.visualization;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.endsWith;
-import static org.hamcrest.Matchers.hasSize;
-import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.UncheckedIOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.Date;
 
-import org.hamcrest.Matchers;
-import org.junit.Ignore;
-import org.junit.Rule;
 import org.junit.Test;
-import org.junit.rules.TemporaryFolder;
 
+import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.Language;
+import de.symeda.sormas.api.caze.CaseClassification;
+import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.InvestigationStatus;
+import de.symeda.sormas.api.contact.ContactProximity;
+import de.symeda.sormas.api.person.PersonDto;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.backend.AbstractBeanTest;
+import de.symeda.sormas.backend.TestDataCreator.RDCF;
 
-public class VisualizationFacadeEjbTest { // extends AbstractBeanTest {
-
-	@Rule
-	public TemporaryFolder temp = new TemporaryFolder();
+public class VisualizationFacadeEjbTest extends AbstractBeanTest {
 
 	@Test
-	@Ignore
-	public void testStaticBuildTransmissionChainJson() {
-
-		// FIXME depends on local database
-
-		List<Long> contactIds = Arrays.asList(30481L, 30478L);
-
-		String[] rscriptExecutableLocs = {
-			"C:\\Program Files\\R\\R-3.6.2\\bin\\Rscript.exe",
-			"C:\\Program Files\\R\\R-3.6.3\\bin\\Rscript.exe" };
-
-		Optional<String> rscriptExecutable = Arrays.stream(rscriptExecutableLocs).filter(p -> Files.isExecutable(Paths.get(p))).findFirst();
-
-		rscriptExecutable.ifPresent(r -> {
-
-			Path domainXmlPath = writeDomainXml();
-
-			String result = VisualizationFacadeEjb.buildTransmissionChainJson(r, temp.getRoot().toPath(), domainXmlPath, contactIds, Language.EN);
-			assertThat(result, startsWith("{"));
-			assertThat(result, endsWith("}"));
-		});
+	public void testBuildTransmissionChainJson() {
+
+		RDCF rdcf = creator.createRDCF("Region", "District", "Community", "Facility");
+		UserDto user = useNationalUserLogin();
+
+		PersonDto casePerson = creator.createPerson("Case", "Person");
+		CaseDataDto caze = creator.createCase(
+			user.toReference(),
+			casePerson.toReference(),
+			Disease.EVD,
+			CaseClassification.CONFIRMED,
+			InvestigationStatus.PENDING,
+			new Date(),
+			rdcf);
+		PersonDto contactPerson = creator.createPerson("Contact", "Person");
+		creator.createContact(
+			user.toReference(),
+			null,
+			contactPerson.toReference(),
+			caze,
+			new Date(),
+			null,
+			null,
+			null,
+			c -> c.setContactProximity(ContactProximity.PHYSICAL_CONTACT));
+
+		String json = getVisualizationFacade().buildTransmissionChainJson(null, null, Collections.singleton(Disease.EVD), Language.EN);
+
+		assertThat(json, startsWith("{\"x\":"));
+		assertThat(json, containsString("\"uuid\":[\"" + caze.getUuid() + "\",null]"));
+		assertThat(json, containsString("\"label\":[\"1\"]"));
+		assertThat(json, containsString("Disease network diagram"));
+		assertThat(json, not(containsString("{heading}")));
+
+		assertNull(getVisualizationFacade().buildTransmissionChainJson(null, null, Collections.singleton(Disease.CHOLERA), Language.EN));
 	}
 
 	@Test
-	public void testExtractJson() {
-		String json = VisualizationFacadeEjb.extractJson(
-			"<!DOCTYPE html>\r\n" + "<html>\r\n" + "<head>\r\n" + "<meta charset=\"utf-8\"/>\r\n" + "<style>body{background-color:white;}</style>\r\n"
-				+ "<script src=\"result_files/htmlwidgets-1.5.1/htmlwidgets.js\"></script>\r\n"
-				+ "<link href=\"result_files/vis-4.20.1/vis.css\" rel=\"stylesheet\" />\r\n" + "</head>\r\n" + "<body>\r\n"
-				+ "<div id=\"htmlwidget_container\">\r\n"
-				+ "  <div id=\"htmlwidget-b9f896960aa32dc1f3e5\" style=\"width:90%;height:700px;\" class=\"visNetwork html-widget\"></div>\r\n"
-				+ "</div>\r\n" + "<script type=\"application/json\" data-for=\"htmlwidget-b9f896960aa32dc1f3e5\">{\"x\":\"a\\/b\"}</script>\r\n"
-				+ "</body>\r\n" + "</html>",
-			Language.EN);
-		assertThat(json, is("{\"x\":\"a\\/b\"}"));
-	}
-
-	@Test
-	public void testReadDbConection() throws IOException {
-
-		Path domainXmlPath = writeDomainXml();
-
-		Map<String, String> dbProperties =
-			VisualizationFacadeEjb.getConnectionPoolProperties(domainXmlPath, VisualizationFacadeEjb.SORMAS_DATA_POOL_JNDI);
-		assertThat(dbProperties.entrySet(), hasSize(5));
-		assertThat(dbProperties, Matchers.hasEntry("user", "sormas_user"));
-		assertThat(dbProperties, Matchers.hasEntry("password", "sormas_user"));
-		assertThat(dbProperties, Matchers.hasEntry("portNumber", "5432"));
-		assertThat(dbProperties, Matchers.hasEntry("databaseName", "sormas_db"));
-		assertThat(dbProperties, Matchers.hasEntry("serverName", "localhost"));
-	}
-
-	private Path writeDomainXml() {
-		try {
-			Path domPath = Files.createTempFile(temp.getRoot().toPath(), "domain", ".xml");
+	public void testDoI18n() {
 
-			try (InputStream in = getClass().getResourceAsStream("/domain.xml")) {
-				Files.copy(in, domPath, StandardCopyOption.REPLACE_EXISTING);
-			}
-			return domPath;
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
-		}
+		assertEquals(
+			"{\"text\":\"Disease network diagram\",\"group\":\"Confirmed case\",\"other\":\"{unknown}\"}",
+			VisualizationFacadeEjb.doI18n("{\"text\":\"{heading}\",\"group\":\"{Classification.CONFIRMED}\",\"other\":\"{unknown}\"}", Language.EN));
 	}
 }
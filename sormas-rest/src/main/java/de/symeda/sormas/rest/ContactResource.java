@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.contact.ContactDto;
 
 /**
@@ -51,8 +54,18 @@ public class ContactResource extends EntityDtoResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<ContactDto> getAllContacts(@PathParam("since") long since) {
-		return FacadeProvider.getContactFacade().getAllActiveContactsAfter(new Date(since));
+	public StreamingOutput getAllContacts(@PathParam("since") long since) {
+		return streamSyncPages(
+			(continuationToken, size) -> FacadeProvider.getContactFacade().getAllActiveContactsAfter(new Date(since), continuationToken, size));
+	}
+
+	@GET
+	@Path("/all/{since}/paged")
+	public SyncPage<ContactDto> getAllContactsPaged(
+		@PathParam("since") long since,
+		@QueryParam("size") Integer size,
+		@QueryParam("continuationToken") String continuationToken) {
+		return FacadeProvider.getContactFacade().getAllActiveContactsAfter(new Date(since), continuationToken, getSyncPageSize(size));
 	}
 
 	@POST
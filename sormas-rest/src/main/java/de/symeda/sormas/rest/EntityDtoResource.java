@@ -1,51 +1,148 @@
 package de.symeda.sormas.rest;
 
+import java.io.Serializable;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import javax.ejb.EJB;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Providers;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.symeda.sormas.api.EntityDto;
+import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.utils.OutdatedEntityException;
 
 public abstract class EntityDtoResource {
 
+	/**
+	 * Maximum number of pushed DTOs that are saved in one transaction
+	 */
+	private static final int PUSH_CHUNK_SIZE = 100;
+
 	private final Logger logger = LoggerFactory.getLogger(getClass());
 
 	@EJB
 	private TransactionWrapper transactionWrapper;
 
+	@Context
+	private Providers providers;
+
+	/**
+	 * Saves the DTOs in chunks of {@link #PUSH_CHUNK_SIZE}, each in one transaction. When saving a DTO of a chunk fails, the
+	 * DTOs before it are saved in one transaction again, the failed DTO in its own transaction and the remaining DTOs as
+	 * another chunk. The results are the same as if each DTO was saved in its own transaction.
+	 */
 	protected <T extends Object> List<PushResult> savePushedDto(List<T> dtos, Function<T, T> saveEntityDto) {
 
 		List<PushResult> results = new ArrayList<>(dtos.size());
-		for (T dto : dtos) {
-			PushResult result;
-			try {
-				dto = transactionWrapper.execute(saveEntityDto, dto);
-				result = PushResult.OK;
-			} catch (Exception e) {
-				String errorMessage = createErrorMessage(dto);
-				errorMessage += e.getMessage();
-				if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
-					logger.warn(errorMessage, e);
-					result = PushResult.TOO_OLD;
-				} else {
-					logger.error(errorMessage, e);
-					result = PushResult.ERROR;
-				}
-			}
-			results.add(result);
+		for (int i = 0; i < dtos.size(); i += PUSH_CHUNK_SIZE) {
+			savePushedChunk(dtos.subList(i, Math.min(i + PUSH_CHUNK_SIZE, dtos.size())), saveEntityDto, results);
 		}
 		return results;
 	}
 
+	private <T> void savePushedChunk(List<T> dtos, Function<T, T> saveEntityDto, List<PushResult> results) {
+
+		if (dtos.size() <= 1) {
+			dtos.forEach(dto -> results.add(savePushedDto(dto, saveEntityDto)));
+			return;
+		}
+
+		int[] savedCount = {
+			0 };
+		try {
+			transactionWrapper.executeAll(dto -> {
+				T savedDto = saveEntityDto.apply(dto);
+				savedCount[0]++;
+				return savedDto;
+			}, dtos);
+			dtos.forEach(dto -> results.add(PushResult.OK));
+		} catch (Exception e) {
+			int failedIndex = savedCount[0];
+			if (failedIndex >= dtos.size()) {
+				// failed on commit, the failed DTO is unknown
+				dtos.forEach(dto -> results.add(savePushedDto(dto, saveEntityDto)));
+			} else {
+				savePushedChunk(dtos.subList(0, failedIndex), saveEntityDto, results);
+				results.add(savePushedDto(dtos.get(failedIndex), saveEntityDto));
+				savePushedChunk(dtos.subList(failedIndex + 1, dtos.size()), saveEntityDto, results);
+			}
+		}
+	}
+
+	private <T> PushResult savePushedDto(T dto, Function<T, T> saveEntityDto) {
+
+		try {
+			transactionWrapper.execute(saveEntityDto, dto);
+			return PushResult.OK;
+		} catch (Exception e) {
+			String errorMessage = createErrorMessage(dto);
+			errorMessage += e.getMessage();
+			if (e instanceof OutdatedEntityException || ExceptionUtils.getRootCause(e) instanceof OutdatedEntityException) {
+				logger.warn(errorMessage, e);
+				return PushResult.TOO_OLD;
+			} else {
+				logger.error(errorMessage, e);
+				return PushResult.ERROR;
+			}
+		}
+	}
+
+	/**
+	 * Writes all elements delivered by {@code pageLoader} as one JSON array. The pages are requested one after another
+	 * and each DTO is written as soon as its page arrives, so only a single page is held in memory at once. Each page is
+	 * loaded in a new transaction, so the entities of the pages already written are not kept in the persistence context of
+	 * the request's transaction.
+	 *
+	 * @param pageLoader
+	 *            Loads the page for the given continuation token ({@code null} for the first page) and page size.
+	 */
+	protected <T extends Serializable> StreamingOutput streamSyncPages(BiFunction<String, Integer, SyncPage<T>> pageLoader) {
+
+		int pageSize = FacadeProvider.getConfigFacade().getSyncPageSize();
+		ObjectMapper objectMapper =
+			providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE).getContext(ObjectMapper.class);
+		return output -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+				generator.writeStartArray();
+				String continuationToken = null;
+				do {
+					SyncPage<T> page = transactionWrapper.execute(token -> pageLoader.apply(token, pageSize), continuationToken);
+					for (T element : page.getElements()) {
+						generator.writeObject(element);
+					}
+					generator.flush();
+					continuationToken = page.getContinuationToken();
+				}
+				while (continuationToken != null);
+				generator.writeEndArray();
+			}
+		};
+	}
+
+	/**
+	 * @param pageSize
+	 *            {@code null} to use the configured default.
+	 */
+	protected int getSyncPageSize(Integer pageSize) {
+		return pageSize != null && pageSize > 0 ? pageSize : FacadeProvider.getConfigFacade().getSyncPageSize();
+	}
+
 	protected <T extends Object> String createErrorMessage(T dto) {
 
 		final EntityDto entityDto = (EntityDto) dto;
@@ -1,13 +1,23 @@
 package de.symeda.sormas.rest;
 
 import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.infrastructure.InfrastructureChangeDatesDto;
+import de.symeda.sormas.api.infrastructure.InfrastructureSnapshotDto;
 import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 
 @Path("/infrastructure")
@@ -17,9 +27,69 @@ import de.symeda.sormas.api.infrastructure.InfrastructureSyncDto;
 	"REST_USER" })
 public class InfrastructureResource {
 
+	public static final String SNAPSHOT_MEDIA_TYPE = "application/x-ndjson";
+
 	@POST
 	@Path("/sync")
 	public InfrastructureSyncDto getInfrastructureSyncData(InfrastructureChangeDatesDto changeDates) {
 		return FacadeProvider.getInfrastructureFacade().getInfrastructureSyncData(changeDates);
 	}
+
+	/**
+	 * The complete infrastructure snapshot. Answers with 304 if the version sent as If-None-Match is still current.
+	 */
+	@GET
+	@Path("/snapshot")
+	@Produces(SNAPSHOT_MEDIA_TYPE)
+	public Response getInfrastructureSnapshot(@Context Request request) {
+
+		String version = FacadeProvider.getInfrastructureFacade().getInfrastructureSnapshotVersion();
+		if (version == null) {
+			return Response.status(Status.SERVICE_UNAVAILABLE).build();
+		}
+
+		ResponseBuilder notModified = request.evaluatePreconditions(new EntityTag(version));
+		if (notModified != null) {
+			return notModified.build();
+		}
+
+		return toResponse(FacadeProvider.getInfrastructureFacade().getInfrastructureSnapshot());
+	}
+
+	/**
+	 * The infrastructure data changed since the given snapshot version. Answers with 304 if the version is still current and
+	 * with 404 if it is not valid, in which case the complete snapshot has to be loaded.
+	 */
+	@GET
+	@Path("/snapshot/diff")
+	@Produces(SNAPSHOT_MEDIA_TYPE)
+	public Response getInfrastructureSnapshotDiff(@QueryParam("since") String sinceVersion) {
+
+		String version = FacadeProvider.getInfrastructureFacade().getInfrastructureSnapshotVersion();
+		if (version == null) {
+			return Response.status(Status.SERVICE_UNAVAILABLE).build();
+		}
+		if (version.equals(sinceVersion)) {
+			return Response.notModified(new EntityTag(version)).build();
+		}
+
+		InfrastructureSnapshotDto diff = FacadeProvider.getInfrastructureFacade().getInfrastructureSnapshotDiff(sinceVersion);
+		if (diff == null) {
+			return Response.status(Status.NOT_FOUND).build();
+		}
+
+		return toResponse(diff);
+	}
+
+	private static Response toResponse(InfrastructureSnapshotDto snapshot) {
+
+		if (snapshot == null) {
+			return Response.status(Status.SERVICE_UNAVAILABLE).build();
+		}
+
+		return Response.ok(snapshot.getData(), SNAPSHOT_MEDIA_TYPE)
+			.tag(new EntityTag(snapshot.getVersion()))
+			.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+			.build();
+	}
 }
@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.sample.SampleDto;
 
 @Path("/samples")
@@ -43,8 +46,18 @@ public class SampleResource extends EntityDtoResource {
 
 	@GET
 	@Path("/all/{since}")
-	public List<SampleDto> getAllSamples(@PathParam("since") long since) {
-		return FacadeProvider.getSampleFacade().getAllActiveSamplesAfter(new Date(since));
+	public StreamingOutput getAllSamples(@PathParam("since") long since) {
+		return streamSyncPages(
+			(continuationToken, size) -> FacadeProvider.getSampleFacade().getAllActiveSamplesAfter(new Date(since), continuationToken, size));
+	}
+
+	@GET
+	@Path("/all/{since}/paged")
+	public SyncPage<SampleDto> getAllSamplesPaged(
+		@PathParam("since") long since,
+		@QueryParam("size") Integer size,
+		@QueryParam("continuationToken") String continuationToken) {
+		return FacadeProvider.getSampleFacade().getAllActiveSamplesAfter(new Date(since), continuationToken, getSyncPageSize(size));
 	}
 
 	@POST
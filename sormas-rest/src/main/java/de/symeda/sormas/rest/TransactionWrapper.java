@@ -1,9 +1,13 @@
 package de.symeda.sormas.rest;
 
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import javax.annotation.Resource;
 import javax.annotation.security.PermitAll;
 import javax.ejb.LocalBean;
+import javax.ejb.SessionContext;
 import javax.ejb.Stateless;
 import javax.ejb.TransactionAttribute;
 import javax.ejb.TransactionAttributeType;
@@ -23,6 +27,9 @@ import javax.ejb.TransactionAttributeType;
 @PermitAll
 public class TransactionWrapper {
 
+	@Resource
+	private SessionContext sessionContext;
+
 	/**
 	 * Calls the passed function in a new JTA transaction.
 	 * 
@@ -37,4 +44,26 @@ public class TransactionWrapper {
 
 		return function.apply(data);
 	}
+
+	/**
+	 * Calls the passed function for all elements of {@code data} in one new JTA transaction. If the function fails for one of
+	 * the elements, the transaction is rolled back, so none of the elements are processed.
+	 * 
+	 * @param function
+	 *            The business logic to be executed for each element.
+	 * @param data
+	 *            The data to be processed.
+	 * @return The return values of {@code function}, in the order of {@code data}.
+	 */
+	@TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+	public <T, R> List<R> executeAll(Function<T, R> function, List<T> data) {
+
+		try {
+			return data.stream().map(function).collect(Collectors.toList());
+		} catch (RuntimeException e) {
+			// application exceptions like ValidationRuntimeException do not roll back by themselves
+			sessionContext.setRollbackOnly();
+			throw e;
+		}
+	}
 }
@@ -27,10 +27,13 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.PushResult;
+import de.symeda.sormas.api.SyncPage;
 import de.symeda.sormas.api.visit.VisitDto;
 
 /**
@@ -54,9 +57,18 @@ public class VisitResource extends EntityDtoResource {
 	 */
 	@GET
 	@Path("/all/{since}")
-	public List<VisitDto> getAllVisits(@PathParam("since") long since) {
+	public StreamingOutput getAllVisits(@PathParam("since") long since) {
+		return streamSyncPages(
+			(continuationToken, size) -> FacadeProvider.getVisitFacade().getAllActiveVisitsAfter(new Date(since), continuationToken, size));
+	}
 
-		return FacadeProvider.getVisitFacade().getAllActiveVisitsAfter(new Date(since));
+	@GET
+	@Path("/all/{since}/paged")
+	public SyncPage<VisitDto> getAllVisitsPaged(
+		@PathParam("since") long since,
+		@QueryParam("size") Integer size,
+		@QueryParam("continuationToken") String continuationToken) {
+		return FacadeProvider.getVisitFacade().getAllActiveVisitsAfter(new Date(since), continuationToken, getSyncPageSize(size));
 	}
 
 	@POST
@@ -51,6 +51,7 @@ import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.Descriptions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.region.DistrictReferenceDto;
 import de.symeda.sormas.api.region.RegionReferenceDto;
@@ -302,8 +303,9 @@ public class CaseContactsView extends AbstractCaseView {
 			StreamResource extendedExportStreamResource = DownloadUtil.createCsvExportStreamResource(
 				ContactExportDto.class,
 				null,
-				(Integer start, Integer max) -> FacadeProvider.getContactFacade()
-					.getExportList(grid.getCriteria(), start, max, I18nProperties.getUserLanguage()),
+				(ExportCursor after, Integer max) -> FacadeProvider.getContactFacade()
+					.getExportList(grid.getCriteria(), after, max, I18nProperties.getUserLanguage()),
+				exportRow -> new ExportCursor(exportRow.getReportDate(), exportRow.getId()),
 				(propertyId, type) -> {
 					String caption = I18nProperties.getPrefixCaption(
 						ContactExportDto.I18N_PREFIX,
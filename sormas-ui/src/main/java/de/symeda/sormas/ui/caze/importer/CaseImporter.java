@@ -113,111 +113,118 @@ public class CaseImporter extends DataImporter {
 			writeImportError(values, importResult.getMessage());
 			return ImportLineResult.ERROR;
 		} else if (importResult.isDuplicate()) {
-			CaseImportEntities entities = importResult.getImportEntities();
-			CaseDataDto importCase = entities.getCaze();
-			PersonDto importPerson = entities.getPerson();
-
-			String selectedPersonUuid = null;
-			String selectedCaseUuid = null;
-
-			CaseImportConsumer consumer = new CaseImportConsumer();
-			ImportSimilarityResultOption resultOption = null;
-
-			CaseImportLock personSelectLock = new CaseImportLock();
-			// We need to pause the current thread to prevent the import from continuing until the user has acted
-			synchronized (personSelectLock) {
-				// Call the logic that allows the user to handle the similarity; once this has been done, the LOCK should be notified
-				// to allow the importer to resume
-				handlePersonSimilarity(importPerson, result -> consumer.onImportResult(result, personSelectLock));
-
-				try {
-					if (!personSelectLock.wasNotified) {
-						personSelectLock.wait();
-					}
-				} catch (InterruptedException e) {
-					logger.error("InterruptedException when trying to perform LOCK.wait() in case import: " + e.getMessage());
-					throw e;
+			// Only one line at a time asks the user how to handle its similarities
+			synchronized (userInteractionLock) {
+				if (isImportCanceled()) {
+					return ImportLineResult.SKIPPED;
 				}
 
-				if (consumer.result != null) {
-					resultOption = consumer.result.getResultOption();
-				}
+				CaseImportEntities entities = importResult.getImportEntities();
+				CaseDataDto importCase = entities.getCaze();
+				PersonDto importPerson = entities.getPerson();
 
-				// If the user picked an existing person, override the case person with it
-				if (ImportSimilarityResultOption.PICK.equals(resultOption)) {
-					selectedPersonUuid = consumer.result.getMatchingPerson().getUuid();
-					// Reset the importResult option for case selection
-					resultOption = null;
-				}
-			}
+				String selectedPersonUuid = null;
+				String selectedCaseUuid = null;
 
-			if (ImportSimilarityResultOption.SKIP.equals(resultOption)) {
-				return ImportLineResult.SKIPPED;
-			} else {
-				final CaseImportLock caseSelectLock = new CaseImportLock();
-				synchronized (caseSelectLock) {
-					// Retrieve all similar cases from the database
-					CaseCriteria caseCriteria = new CaseCriteria().disease(importCase.getDisease()).region(importCase.getRegion());
-					CaseSimilarityCriteria criteria =
-						new CaseSimilarityCriteria().personUuid(selectedPersonUuid != null ? selectedPersonUuid : importPerson.getUuid())
-							.caseCriteria(caseCriteria)
-							.reportDate(importCase.getReportDate());
-
-					List<CaseIndexDto> similarCases = caseFacade.getSimilarCases(criteria);
-
-					if (similarCases.size() > 0) {
-						// Call the logic that allows the user to handle the similarity; once this has been done, the LOCK should be notified
-						// to allow the importer to resume
-						if (selectedPersonUuid != null) {
-							importPerson = personFacade.getPersonByUuid(selectedPersonUuid);
+				CaseImportConsumer consumer = new CaseImportConsumer();
+				ImportSimilarityResultOption resultOption = null;
+
+				CaseImportLock personSelectLock = new CaseImportLock();
+				// We need to pause the current thread to prevent the import from continuing until the user has acted
+				synchronized (personSelectLock) {
+					// Call the logic that allows the user to handle the similarity; once this has been done, the LOCK should be notified
+					// to allow the importer to resume
+					handlePersonSimilarity(importPerson, result -> consumer.onImportResult(result, personSelectLock));
+
+					try {
+						if (!personSelectLock.wasNotified) {
+							personSelectLock.wait();
 						}
+					} catch (InterruptedException e) {
+						logger.error("InterruptedException when trying to perform LOCK.wait() in case import: " + e.getMessage());
+						throw e;
+					}
+
+					if (consumer.result != null) {
+						resultOption = consumer.result.getResultOption();
+					}
 
-						handleCaseSimilarity(
-							new CaseImportSimilarityInput(importCase, importPerson, similarCases),
-							result -> consumer.onImportResult(result, caseSelectLock));
+					// If the user picked an existing person, override the case person with it
+					if (ImportSimilarityResultOption.PICK.equals(resultOption)) {
+						selectedPersonUuid = consumer.result.getMatchingPerson().getUuid();
+						// Reset the importResult option for case selection
+						resultOption = null;
+					}
+				}
 
-						try {
-							if (!caseSelectLock.wasNotified) {
-								caseSelectLock.wait();
+				if (ImportSimilarityResultOption.SKIP.equals(resultOption)) {
+					return ImportLineResult.SKIPPED;
+				} else {
+					final CaseImportLock caseSelectLock = new CaseImportLock();
+					synchronized (caseSelectLock) {
+						// Retrieve all similar cases from the database
+						CaseCriteria caseCriteria = new CaseCriteria().disease(importCase.getDisease()).region(importCase.getRegion());
+						CaseSimilarityCriteria criteria =
+							new CaseSimilarityCriteria().personUuid(selectedPersonUuid != null ? selectedPersonUuid : importPerson.getUuid())
+								.caseCriteria(caseCriteria)
+								.reportDate(importCase.getReportDate());
+
+						List<CaseIndexDto> similarCases = caseFacade.getSimilarCases(criteria);
+
+						if (similarCases.size() > 0) {
+							// Call the logic that allows the user to handle the similarity; once this has been done, the LOCK should be notified
+							// to allow the importer to resume
+							if (selectedPersonUuid != null) {
+								importPerson = personFacade.getPersonByUuid(selectedPersonUuid);
 							}
-						} catch (InterruptedException e) {
-							logger.error("InterruptedException when trying to perform LOCK.wait() in case import: " + e.getMessage());
-							throw e;
-						}
 
-						if (consumer.result != null) {
-							resultOption = consumer.result.getResultOption();
-						}
+							handleCaseSimilarity(
+								new CaseImportSimilarityInput(importCase, importPerson, similarCases),
+								result -> consumer.onImportResult(result, caseSelectLock));
+
+							try {
+								if (!caseSelectLock.wasNotified) {
+									caseSelectLock.wait();
+								}
+							} catch (InterruptedException e) {
+								logger.error("InterruptedException when trying to perform LOCK.wait() in case import: " + e.getMessage());
+								throw e;
+							}
 
-						// If the user chose to override an existing case with the imported case, insert the new data into the existing case and associate the imported samples with it
-						if (resultOption == ImportSimilarityResultOption.OVERRIDE && consumer.result.getMatchingCase() != null) {
-							selectedCaseUuid = consumer.result.getMatchingCase().getUuid();
+							if (consumer.result != null) {
+								resultOption = consumer.result.getResultOption();
+							}
+
+							// If the user chose to override an existing case with the imported case, insert the new data into the existing case and associate the imported samples with it
+							if (resultOption == ImportSimilarityResultOption.OVERRIDE && consumer.result.getMatchingCase() != null) {
+								selectedCaseUuid = consumer.result.getMatchingCase().getUuid();
+							}
 						}
 					}
 				}
-			}
 
-			if (resultOption == ImportSimilarityResultOption.SKIP) {
-				consumer.result = null;
-				return ImportLineResult.SKIPPED;
-			} else if (resultOption == ImportSimilarityResultOption.PICK) {
-				consumer.result = null;
-				return ImportLineResult.DUPLICATE;
-			} else if (resultOption == ImportSimilarityResultOption.CANCEL) {
-				cancelImport();
-				return ImportLineResult.SKIPPED;
-			} else {
-				ImportLineResultDto<CaseImportEntities> saveResult;
-				if (selectedPersonUuid != null || selectedCaseUuid != null) {
-					saveResult =
-						caseImportFacade.updateCaseWithImportData(selectedPersonUuid, selectedCaseUuid, values, entityClasses, entityPropertyPaths);
+				if (resultOption == ImportSimilarityResultOption.SKIP) {
+					consumer.result = null;
+					return ImportLineResult.SKIPPED;
+				} else if (resultOption == ImportSimilarityResultOption.PICK) {
+					consumer.result = null;
+					return ImportLineResult.DUPLICATE;
+				} else if (resultOption == ImportSimilarityResultOption.CANCEL) {
+					cancelImport();
+					return ImportLineResult.SKIPPED;
 				} else {
-					saveResult = caseImportFacade.saveImportedEntities(entities);
-				}
+					ImportLineResultDto<CaseImportEntities> saveResult;
+					if (selectedPersonUuid != null || selectedCaseUuid != null) {
+						saveResult =
+							caseImportFacade.updateCaseWithImportData(selectedPersonUuid, selectedCaseUuid, values, entityClasses, entityPropertyPaths);
+					} else {
+						saveResult = caseImportFacade.saveImportedEntities(entities);
+					}
 
-				if (saveResult.isError()) {
-					writeImportError(values, importResult.getMessage());
-					return ImportLineResult.ERROR;
+					if (saveResult.isError()) {
+						writeImportError(values, importResult.getMessage());
+						return ImportLineResult.ERROR;
+					}
 				}
 			}
 		}
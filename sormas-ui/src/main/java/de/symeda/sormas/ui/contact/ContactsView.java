@@ -52,6 +52,7 @@ import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.Descriptions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
@@ -216,8 +217,9 @@ public class ContactsView extends AbstractView {
 				StreamResource extendedExportStreamResource = DownloadUtil.createCsvExportStreamResource(
 					ContactExportDto.class,
 					null,
-					(Integer start, Integer max) -> FacadeProvider.getContactFacade()
-						.getExportList(grid.getCriteria(), start, max, I18nProperties.getUserLanguage()),
+					(ExportCursor after, Integer max) -> FacadeProvider.getContactFacade()
+						.getExportList(grid.getCriteria(), after, max, I18nProperties.getUserLanguage()),
+					exportRow -> new ExportCursor(exportRow.getReportDate(), exportRow.getId()),
 					(propertyId, type) -> {
 						String caption = I18nProperties.getPrefixCaption(
 							ContactExportDto.I18N_PREFIX,
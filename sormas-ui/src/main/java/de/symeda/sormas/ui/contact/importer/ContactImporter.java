@@ -141,58 +141,28 @@ public class ContactImporter extends DataImporter {
 		// If the contact still does not have any import errors, search for persons similar to the contact person in the database and,
 		// if there are any, display a window to resolve the conflict to the user
 		if (!contactHasImportError) {
-			try {
-				ContactImportConsumer consumer = new ContactImportConsumer();
-				ImportSimilarityResultOption resultOption = null;
-
-				ContactImportLock personSelectLock = new ContactImportLock();
-				// We need to pause the current thread to prevent the import from continuing until the user has acted
-				synchronized (personSelectLock) {
-					// Call the logic that allows the user to handle the similarity; once this has been done, the LOCK should be notified
-					// to allow the importer to resume
-					handleSimilarity(newPerson, result -> {
-						consumer.onImportResult(result, personSelectLock);
-					});
-
-					try {
-						if (!personSelectLock.wasNotified) {
-							personSelectLock.wait();
-						}
-					} catch (InterruptedException e) {
-						logger.error("InterruptedException when trying to perform LOCK.wait() in contact import: " + e.getMessage());
-						throw e;
-					}
-
-					if (consumer.result != null) {
-						resultOption = consumer.result.getResultOption();
-					}
-
-					// If the user picked an existing person, override the contact person with it
-					if (ImportSimilarityResultOption.PICK.equals(resultOption)) {
-						newPerson = FacadeProvider.getPersonFacade().getPersonByUuid(consumer.result.getMatchingPerson().getUuid());
-					}
-				}
-
-				// Determine the import result and, if there was no duplicate, the user did not skip over the contact 
-				// or an existing person was picked, save the contact and person to the database
-				if (contactHasImportError) {
-					return ImportLineResult.ERROR;
-				} else if (ImportSimilarityResultOption.SKIP.equals(resultOption)) {
+			// Only one line at a time asks the user how to handle its similarities
+			synchronized (userInteractionLock) {
+				if (isImportCanceled()) {
 					return ImportLineResult.SKIPPED;
-				} else {
-					final PersonDto savedPerson = FacadeProvider.getPersonFacade().savePerson(newPerson);
-					newContactTemp.setPerson(savedPerson.toReference());
-
-					ContactDto newContact = newContactTemp;
+				}
 
-					final ContactImportLock contactSelectLock = new ContactImportLock();
-					synchronized (contactSelectLock) {
+				try {
+					ContactImportConsumer consumer = new ContactImportConsumer();
+					ImportSimilarityResultOption resultOption = null;
 
-						handleContactSimilarity(newContactTemp, savedPerson, result -> consumer.onImportResult(result, contactSelectLock));
+					ContactImportLock personSelectLock = new ContactImportLock();
+					// We need to pause the current thread to prevent the import from continuing until the user has acted
+					synchronized (personSelectLock) {
+						// Call the logic that allows the user to handle the similarity; once this has been done, the LOCK should be notified
+						// to allow the importer to resume
+						handleSimilarity(newPerson, result -> {
+							consumer.onImportResult(result, personSelectLock);
+						});
 
 						try {
-							if (!contactSelectLock.wasNotified) {
-								contactSelectLock.wait();
+							if (!personSelectLock.wasNotified) {
+								personSelectLock.wait();
 							}
 						} catch (InterruptedException e) {
 							logger.error("InterruptedException when trying to perform LOCK.wait() in contact import: " + e.getMessage());
@@ -203,19 +173,56 @@ public class ContactImporter extends DataImporter {
 							resultOption = consumer.result.getResultOption();
 						}
 
+						// If the user picked an existing person, override the contact person with it
 						if (ImportSimilarityResultOption.PICK.equals(resultOption)) {
-							newContact = FacadeProvider.getContactFacade().getContactByUuid(consumer.result.getMatchingContact().getUuid());
+							newPerson = FacadeProvider.getPersonFacade().getPersonByUuid(consumer.result.getMatchingPerson().getUuid());
 						}
 					}
 
-					FacadeProvider.getContactFacade().saveContact(newContact, false);
+					// Determine the import result and, if there was no duplicate, the user did not skip over the contact 
+					// or an existing person was picked, save the contact and person to the database
+					if (contactHasImportError) {
+						return ImportLineResult.ERROR;
+					} else if (ImportSimilarityResultOption.SKIP.equals(resultOption)) {
+						return ImportLineResult.SKIPPED;
+					} else {
+						final PersonDto savedPerson = FacadeProvider.getPersonFacade().savePerson(newPerson);
+						newContactTemp.setPerson(savedPerson.toReference());
+
+						ContactDto newContact = newContactTemp;
 
-					consumer.result = null;
-					return ImportLineResult.SUCCESS;
+						final ContactImportLock contactSelectLock = new ContactImportLock();
+						synchronized (contactSelectLock) {
+
+							handleContactSimilarity(newContactTemp, savedPerson, result -> consumer.onImportResult(result, contactSelectLock));
+
+							try {
+								if (!contactSelectLock.wasNotified) {
+									contactSelectLock.wait();
+								}
+							} catch (InterruptedException e) {
+								logger.error("InterruptedException when trying to perform LOCK.wait() in contact import: " + e.getMessage());
+								throw e;
+							}
+
+							if (consumer.result != null) {
+								resultOption = consumer.result.getResultOption();
+							}
+
+							if (ImportSimilarityResultOption.PICK.equals(resultOption)) {
+								newContact = FacadeProvider.getContactFacade().getContactByUuid(consumer.result.getMatchingContact().getUuid());
+							}
+						}
+
+						FacadeProvider.getContactFacade().saveContact(newContact, false);
+
+						consumer.result = null;
+						return ImportLineResult.SUCCESS;
+					}
+				} catch (ValidationRuntimeException e) {
+					writeImportError(values, e.getMessage());
+					return ImportLineResult.ERROR;
 				}
-			} catch (ValidationRuntimeException e) {
-				writeImportError(values, e.getMessage());
-				return ImportLineResult.ERROR;
 			}
 		} else {
 			return ImportLineResult.ERROR;
@@ -322,11 +329,9 @@ public class ContactImporter extends DataImporter {
 					if (executeDefaultInvokings(pd, currentElement, entry, entryHeaderPath)) {
 						continue;
 					} else if (propertyType.isAssignableFrom(DistrictReferenceDto.class)) {
-						List<DistrictReferenceDto> district = FacadeProvider.getDistrictFacade()
-							.getByName(
-								entry,
-								ImporterPersonHelper.getRegionBasedOnDistrict(pd.getName(), null, contact, person, currentElement),
-								false);
+						List<DistrictReferenceDto> district = infrastructureNameResolver.getDistrictsByName(
+							entry,
+							ImporterPersonHelper.getRegionBasedOnDistrict(pd.getName(), null, contact, person, currentElement));
 						if (district.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties
@@ -339,7 +344,7 @@ public class ContactImporter extends DataImporter {
 						}
 					} else if (propertyType.isAssignableFrom(CommunityReferenceDto.class)) {
 						List<CommunityReferenceDto> community =
-							FacadeProvider.getCommunityFacade().getByName(entry, ImporterPersonHelper.getPersonDistrict(pd.getName(), person), false);
+							infrastructureNameResolver.getCommunitiesByName(entry, ImporterPersonHelper.getPersonDistrict(pd.getName(), person));
 						if (community.isEmpty()) {
 							throw new ImportErrorException(
 								I18nProperties.getValidationError(
@@ -355,13 +360,11 @@ public class ContactImporter extends DataImporter {
 					} else if (propertyType.isAssignableFrom(FacilityReferenceDto.class)) {
 						Pair<DistrictReferenceDto, CommunityReferenceDto> infrastructureData =
 							ImporterPersonHelper.getPersonDistrictAndCommunity(pd.getName(), person);
-						List<FacilityReferenceDto> facility = FacadeProvider.getFacilityFacade()
-							.getByNameAndType(
-								entry,
-								infrastructureData.getElement0(),
-								infrastructureData.getElement1(),
-								getTypeOfFacility(pd.getName(), currentElement),
-								false);
+						List<FacilityReferenceDto> facility = infrastructureNameResolver.getFacilitiesByNameAndType(
+							entry,
+							infrastructureData.getElement0(),
+							infrastructureData.getElement1(),
+							getTypeOfFacility(pd.getName(), currentElement));
 						if (facility.isEmpty()) {
 							if (infrastructureData.getElement1() != null) {
 								throw new ImportErrorException(
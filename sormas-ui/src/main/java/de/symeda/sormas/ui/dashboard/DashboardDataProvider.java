@@ -19,17 +19,16 @@ package de.symeda.sormas.ui.dashboard;
 
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.caze.CaseCriteria;
-import de.symeda.sormas.api.caze.DashboardCaseDto;
 import de.symeda.sormas.api.caze.NewCaseDateType;
 import de.symeda.sormas.api.contact.DashboardContactDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
 import de.symeda.sormas.api.disease.DiseaseBurdenDto;
 import de.symeda.sormas.api.event.DashboardEventDto;
 import de.symeda.sormas.api.event.EventCriteria;
@@ -60,12 +59,12 @@ public class DashboardDataProvider {
 	private List<DashboardContactDto> previousContacts = new ArrayList<>();
 
 	// disease specific
-	private List<DashboardCaseDto> cases = new ArrayList<>();
-	private List<DashboardCaseDto> previousCases = new ArrayList<>();
+	private long caseCount;
+	private long newSourceCaseCount;
+	private DashboardCaseStatisticDto caseStatistics;
 	private Long outbreakDistrictCount = 0L;
 	private String lastReportedDistrict = "";
 	private List<DashboardEventDto> events = new ArrayList<>();
-	private List<DashboardEventDto> previousEvents = new ArrayList<>();
 	private Map<PathogenTestResultType, Long> testResultCountByResultType;
 	private Map<EventStatus, Long> eventCountByStatus;
 	private List<DashboardTestResultDto> testResults = new ArrayList<>();
@@ -96,20 +95,21 @@ public class DashboardDataProvider {
 			// Cases
 			CaseCriteria caseCriteria = new CaseCriteria();
 			caseCriteria.region(region).district(district).disease(disease).newCaseDateBetween(fromDate, toDate, NewCaseDateType.MOST_RELEVANT);
-			setCases(FacadeProvider.getCaseFacade().getCasesForDashboard(caseCriteria));
 			setLastReportedDistrict(FacadeProvider.getCaseFacade().getLastReportedDistrictName(caseCriteria, true, true));
 
-			caseCriteria.newCaseDateBetween(previousFromDate, previousToDate, NewCaseDateType.MOST_RELEVANT);
-			setPreviousCases(FacadeProvider.getCaseFacade().getCasesForDashboard(caseCriteria));
-
-			if (getDashboardType() != DashboardType.CONTACTS) {
-				if (getCases().size() > 0) {
-					setTestResultCountByResultType(
-						FacadeProvider.getSampleFacade()
-							.getNewTestResultCountByResultType(getCases().stream().map(c -> c.getId()).collect(Collectors.toList())));
-				} else {
-					setTestResultCountByResultType(new HashMap<>());
-				}
+			DashboardCriteria dashboardCriteria = new DashboardCriteria().region(region)
+				.district(district)
+				.disease(disease)
+				.newCaseDateType(NewCaseDateType.MOST_RELEVANT)
+				.dateBetween(fromDate, toDate)
+				.previousDateBetween(previousFromDate, previousToDate);
+			if (getDashboardType() == DashboardType.CONTACTS) {
+				long[] caseAndSourceCaseCount = FacadeProvider.getDashboardFacade().getCaseAndSourceCaseCount(dashboardCriteria);
+				setCaseCount(caseAndSourceCaseCount[0]);
+				setNewSourceCaseCount(caseAndSourceCaseCount[1]);
+			} else {
+				setCaseStatistics(FacadeProvider.getDashboardFacade().getCaseStatistics(dashboardCriteria));
+				setTestResultCountByResultType(getCaseStatistics().getTestResultCountByResultType());
 			}
 		}
 
@@ -117,15 +117,10 @@ public class DashboardDataProvider {
 			return;
 		}
 
-		// Events
+		// Events; the individual events are only needed for the markers on the map, the statistics use the counts by status
 		EventCriteria eventCriteria = new EventCriteria();
 		eventCriteria.region(region).district(district).disease(disease).reportedBetween(fromDate, toDate);
 		setEvents(FacadeProvider.getEventFacade().getNewEventsForDashboard(eventCriteria));
-
-		eventCriteria.reportedBetween(previousFromDate, previousToDate);
-		setPreviousEvents(FacadeProvider.getEventFacade().getNewEventsForDashboard(eventCriteria));
-
-		eventCriteria.reportedBetween(fromDate, toDate);
 		setEventCountByStatus(FacadeProvider.getEventFacade().getEventCountByStatus(eventCriteria));
 
 		// Test results
@@ -140,36 +135,36 @@ public class DashboardDataProvider {
 					new OutbreakCriteria().region(region).district(district).disease(disease).reportedBetween(fromDate, toDate)));
 	}
 
-	public List<DashboardCaseDto> getCases() {
-		return cases;
+	public long getCaseCount() {
+		return caseCount;
 	}
 
-	public void setCases(List<DashboardCaseDto> cases) {
-		this.cases = cases;
+	public void setCaseCount(long caseCount) {
+		this.caseCount = caseCount;
 	}
 
-	public List<DashboardCaseDto> getPreviousCases() {
-		return previousCases;
+	public long getNewSourceCaseCount() {
+		return newSourceCaseCount;
 	}
 
-	public void setPreviousCases(List<DashboardCaseDto> previousCases) {
-		this.previousCases = previousCases;
+	public void setNewSourceCaseCount(long newSourceCaseCount) {
+		this.newSourceCaseCount = newSourceCaseCount;
 	}
 
-	public List<DashboardEventDto> getEvents() {
-		return events;
+	public DashboardCaseStatisticDto getCaseStatistics() {
+		return caseStatistics;
 	}
 
-	public void setEvents(List<DashboardEventDto> events) {
-		this.events = events;
+	public void setCaseStatistics(DashboardCaseStatisticDto caseStatistics) {
+		this.caseStatistics = caseStatistics;
 	}
 
-	public List<DashboardEventDto> getPreviousEvents() {
-		return previousEvents;
+	public List<DashboardEventDto> getEvents() {
+		return events;
 	}
 
-	public void setPreviousEvents(List<DashboardEventDto> previousEvents) {
-		this.previousEvents = previousEvents;
+	public void setEvents(List<DashboardEventDto> events) {
+		this.events = events;
 	}
 
 	public Map<EventStatus, Long> getEventCountByStatus() {
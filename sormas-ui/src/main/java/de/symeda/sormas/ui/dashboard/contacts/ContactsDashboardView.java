@@ -31,7 +31,6 @@ import com.vaadin.ui.HorizontalLayout;
 import com.vaadin.ui.Label;
 import com.vaadin.ui.VerticalLayout;
 
-import de.symeda.sormas.api.ConfigFacade;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
@@ -124,9 +123,7 @@ public class ContactsDashboardView extends AbstractDashboardView {
 
 		// add network diagram
 		if (UserProvider.getCurrent().hasUserRight(UserRight.DASHBOARD_CONTACT_VIEW_TRANSMISSION_CHAINS)) {
-			networkDiagramComponent = Optional.of(FacadeProvider.getConfigFacade())
-				.map(ConfigFacade::getRScriptExecutable)
-				.map(x -> new DashboardNetworkComponent(dashboardDataProvider));
+			networkDiagramComponent = Optional.of(new DashboardNetworkComponent(dashboardDataProvider));
 
 			networkDiagramRowLayout = createNetworkDiagramRowLayout();
 			rowsLayout.addComponent(networkDiagramRowLayout);
@@ -217,14 +214,8 @@ public class ContactsDashboardView extends AbstractDashboardView {
 		maxLabel.setValue(I18nProperties.getString(Strings.max) + ": " + maxContactCount);
 		avgLabel.setValue(I18nProperties.getString(Strings.average) + ": " + avgContactCount);
 
-		List<String> caseUuids = dashboardDataProvider.getCases().stream().map(dto -> dto.getUuid()).collect(Collectors.toList());
-		int nonSourceCases = 0;
-		if (!caseUuids.isEmpty()) {
-			nonSourceCases = FacadeProvider.getContactFacade().getNonSourceCaseCountForDashboard(caseUuids);
-		}
-
-		int newSourceCases = caseUuids.size() - nonSourceCases;
-		int newSourceCasesPercentage = newSourceCases == 0 ? 0 : (int) ((newSourceCases * 100.0f) / caseUuids.size());
+		long newSourceCases = dashboardDataProvider.getNewSourceCaseCount();
+		int newSourceCasesPercentage = newSourceCases == 0 ? 0 : (int) ((newSourceCases * 100.0f) / dashboardDataProvider.getCaseCount());
 
 		sourceCasesLabel.setValue(newSourceCases + " (" + newSourceCasesPercentage + " %)");
 	}
@@ -17,7 +17,6 @@
  *******************************************************************************/
 package de.symeda.sormas.ui.dashboard.surveillance;
 
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -32,7 +31,7 @@ import com.vaadin.ui.Layout;
 
 import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.caze.CaseClassification;
-import de.symeda.sormas.api.caze.DashboardCaseDto;
+import de.symeda.sormas.api.dashboard.DashboardCaseStatisticDto;
 import de.symeda.sormas.api.event.EventStatus;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.Descriptions;
@@ -371,33 +370,26 @@ public class DiseaseStatisticsComponent extends CustomLayout {
 	}
 
 	private void updateCaseComponent(Disease disease) {
-		List<DashboardCaseDto> cases = dashboardDataProvider.getCases();
+		DashboardCaseStatisticDto caseStatistics = dashboardDataProvider.getCaseStatistics();
 
 		//caseDiseaseLabel.setValue("(" + disease.toString() + ")");
-		caseCountLabel.setValue(Integer.toString(cases.size()).toString());
-
-		int confirmedCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.CONFIRMED).count();
-		caseClassificationConfirmed.updateCountLabel(confirmedCasesCount);
-		int probableCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.PROBABLE).count();
-		caseClassificationProbable.updateCountLabel(probableCasesCount);
-		int suspectCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.SUSPECT).count();
-		caseClassificationSuspect.updateCountLabel(suspectCasesCount);
-		int notACaseCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.NO_CASE).count();
-		caseClassificationNotACase.updateCountLabel(notACaseCasesCount);
-		int notYetClassifiedCasesCount = (int) cases.stream().filter(c -> c.getCaseClassification() == CaseClassification.NOT_CLASSIFIED).count();
-		caseClassificationNotYetClassified.updateCountLabel(notYetClassifiedCasesCount);
+		caseCountLabel.setValue(Long.toString(caseStatistics.getCaseCount()));
+
+		Map<CaseClassification, Long> caseClassificationCount = caseStatistics.getCaseClassificationCount();
+		caseClassificationConfirmed.updateCountLabel(caseClassificationCount.getOrDefault(CaseClassification.CONFIRMED, 0L).toString());
+		caseClassificationProbable.updateCountLabel(caseClassificationCount.getOrDefault(CaseClassification.PROBABLE, 0L).toString());
+		caseClassificationSuspect.updateCountLabel(caseClassificationCount.getOrDefault(CaseClassification.SUSPECT, 0L).toString());
+		caseClassificationNotACase.updateCountLabel(caseClassificationCount.getOrDefault(CaseClassification.NO_CASE, 0L).toString());
+		caseClassificationNotYetClassified
+			.updateCountLabel(caseClassificationCount.getOrDefault(CaseClassification.NOT_CLASSIFIED, 0L).toString());
 	}
 
 	private void updateCaseFatalityComponent(Disease disease) {
-		List<DashboardCaseDto> newCases = dashboardDataProvider.getCases();
-		List<DashboardCaseDto> previousCases = dashboardDataProvider.getPreviousCases();
-
-		int casesCount = newCases.size();
-		Long fatalCasesCount = newCases.stream().filter((c) -> c.wasFatal()).count();
-		long previousFatalCasesCount = previousCases.stream().filter((c) -> c.wasFatal()).count();
-		long fatalCasesGrowth = fatalCasesCount - previousFatalCasesCount;
-		float fatalityRate = 100 * ((float) fatalCasesCount / (float) (casesCount == 0 ? 1 : casesCount));
-		fatalityRate = Math.round(fatalityRate * 100) / 100f;
+		DashboardCaseStatisticDto caseStatistics = dashboardDataProvider.getCaseStatistics();
+
+		Long fatalCasesCount = caseStatistics.getFatalCount();
+		long fatalCasesGrowth = fatalCasesCount - caseStatistics.getPreviousFatalCount();
+		float fatalityRate = caseStatistics.getFatalityRate();
 
 		// count
 		// current
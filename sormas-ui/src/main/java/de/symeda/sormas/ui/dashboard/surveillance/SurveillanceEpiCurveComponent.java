@@ -20,6 +20,7 @@ package de.symeda.sormas.ui.dashboard.surveillance;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,15 +29,15 @@ import com.vaadin.v7.ui.OptionGroup;
 
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.caze.CaseClassification;
-import de.symeda.sormas.api.caze.CaseCriteria;
 import de.symeda.sormas.api.caze.NewCaseDateType;
+import de.symeda.sormas.api.dashboard.DashboardCriteria;
+import de.symeda.sormas.api.dashboard.EpiCurveGrouping;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.person.PresentCondition;
 import de.symeda.sormas.api.utils.DateHelper;
 import de.symeda.sormas.ui.dashboard.DashboardDataProvider;
 import de.symeda.sormas.ui.dashboard.diagram.AbstractEpiCurveComponent;
-import de.symeda.sormas.ui.dashboard.diagram.EpiCurveGrouping;
 import de.symeda.sormas.ui.utils.CssStyles;
 import de.symeda.sormas.ui.utils.DateFormatHelper;
 
@@ -136,26 +137,16 @@ public class SurveillanceEpiCurveComponent extends AbstractEpiCurveComponent {
 			int[] suspectNumbers = new int[newLabels.size()];
 			int[] notYetClassifiedNumbers = new int[newLabels.size()];
 
-			for (int i = 0; i < filteredDates.size(); i++) {
-				Date date = filteredDates.get(i);
-
-				CaseCriteria caseCriteria = new CaseCriteria().disease(dashboardDataProvider.getDisease())
-					.region(dashboardDataProvider.getRegion())
-					.district(dashboardDataProvider.getDistrict());
-				if (epiCurveGrouping == EpiCurveGrouping.DAY) {
-					caseCriteria.newCaseDateBetween(DateHelper.getStartOfDay(date), DateHelper.getEndOfDay(date), NewCaseDateType.MOST_RELEVANT);
-				} else if (epiCurveGrouping == EpiCurveGrouping.WEEK) {
-					caseCriteria.newCaseDateBetween(DateHelper.getStartOfWeek(date), DateHelper.getEndOfWeek(date), NewCaseDateType.MOST_RELEVANT);
-				} else {
-					caseCriteria.newCaseDateBetween(DateHelper.getStartOfMonth(date), DateHelper.getEndOfMonth(date), NewCaseDateType.MOST_RELEVANT);
-				}
+			Map<Date, Map<CaseClassification, Long>> caseCounts =
+				FacadeProvider.getDashboardFacade().getEpiCurveSeriesElementsPerCaseClassification(buildDashboardCriteria(filteredDates));
 
-				Map<CaseClassification, Long> caseCounts = FacadeProvider.getCaseFacade().getCaseCountPerClassification(caseCriteria, true, true);
+			for (int i = 0; i < filteredDates.size(); i++) {
+				Map<CaseClassification, Long> dateCaseCounts = caseCounts.getOrDefault(getStartOfGrouping(filteredDates.get(i)), new HashMap<>());
 
-				Long confirmedCount = caseCounts.get(CaseClassification.CONFIRMED);
-				Long probableCount = caseCounts.get(CaseClassification.PROBABLE);
-				Long suspectCount = caseCounts.get(CaseClassification.SUSPECT);
-				Long notYetClassifiedCount = caseCounts.get(CaseClassification.NOT_CLASSIFIED);
+				Long confirmedCount = dateCaseCounts.get(CaseClassification.CONFIRMED);
+				Long probableCount = dateCaseCounts.get(CaseClassification.PROBABLE);
+				Long suspectCount = dateCaseCounts.get(CaseClassification.SUSPECT);
+				Long notYetClassifiedCount = dateCaseCounts.get(CaseClassification.NOT_CLASSIFIED);
 				confirmedNumbers[i] = confirmedCount != null ? confirmedCount.intValue() : 0;
 				probableNumbers[i] = probableCount != null ? probableCount.intValue() : 0;
 				suspectNumbers[i] = suspectCount != null ? suspectCount.intValue() : 0;
@@ -208,24 +199,14 @@ public class SurveillanceEpiCurveComponent extends AbstractEpiCurveComponent {
 			int[] aliveNumbers = new int[newLabels.size()];
 			int[] deadNumbers = new int[newLabels.size()];
 
-			for (int i = 0; i < filteredDates.size(); i++) {
-				Date date = filteredDates.get(i);
+			Map<Date, Map<PresentCondition, Long>> caseCounts =
+				FacadeProvider.getDashboardFacade().getEpiCurveSeriesElementsPerPresentCondition(buildDashboardCriteria(filteredDates));
 
-				CaseCriteria caseCriteria = new CaseCriteria().disease(dashboardDataProvider.getDisease())
-					.region(dashboardDataProvider.getRegion())
-					.district(dashboardDataProvider.getDistrict());
-				if (epiCurveGrouping == EpiCurveGrouping.DAY) {
-					caseCriteria.newCaseDateBetween(DateHelper.getStartOfDay(date), DateHelper.getEndOfDay(date), NewCaseDateType.MOST_RELEVANT);
-				} else if (epiCurveGrouping == EpiCurveGrouping.WEEK) {
-					caseCriteria.newCaseDateBetween(DateHelper.getStartOfWeek(date), DateHelper.getEndOfWeek(date), NewCaseDateType.MOST_RELEVANT);
-				} else {
-					caseCriteria.newCaseDateBetween(DateHelper.getStartOfMonth(date), DateHelper.getEndOfMonth(date), NewCaseDateType.MOST_RELEVANT);
-				}
-
-				Map<PresentCondition, Long> caseCounts = FacadeProvider.getCaseFacade().getCaseCountPerPersonCondition(caseCriteria, true, true);
+			for (int i = 0; i < filteredDates.size(); i++) {
+				Map<PresentCondition, Long> dateCaseCounts = caseCounts.getOrDefault(getStartOfGrouping(filteredDates.get(i)), new HashMap<>());
 
-				Long aliveCount = caseCounts.get(PresentCondition.ALIVE);
-				Long deadCount = caseCounts.get(PresentCondition.DEAD);
+				Long aliveCount = dateCaseCounts.get(PresentCondition.ALIVE);
+				Long deadCount = dateCaseCounts.get(PresentCondition.DEAD);
 				aliveNumbers[i] = aliveCount != null ? aliveCount.intValue() : 0;
 				deadNumbers[i] = deadCount != null ? deadCount.intValue() : 0;
 			}
@@ -255,4 +236,41 @@ public class SurveillanceEpiCurveComponent extends AbstractEpiCurveComponent {
 
 		epiCurveChart.setHcjs(hcjs.toString());
 	}
+
+	/**
+	 * @return criteria covering the whole days, weeks or months of the given dates
+	 */
+	private DashboardCriteria buildDashboardCriteria(List<Date> filteredDates) {
+
+		DashboardCriteria dashboardCriteria = new DashboardCriteria().disease(dashboardDataProvider.getDisease())
+			.region(dashboardDataProvider.getRegion())
+			.district(dashboardDataProvider.getDistrict())
+			.newCaseDateType(NewCaseDateType.MOST_RELEVANT)
+			.epiCurveGrouping(epiCurveGrouping);
+
+		if (!filteredDates.isEmpty()) {
+			Date firstDate = filteredDates.get(0);
+			Date lastDate = filteredDates.get(filteredDates.size() - 1);
+			if (epiCurveGrouping == EpiCurveGrouping.DAY) {
+				dashboardCriteria.dateBetween(DateHelper.getStartOfDay(firstDate), DateHelper.getEndOfDay(lastDate));
+			} else if (epiCurveGrouping == EpiCurveGrouping.WEEK) {
+				dashboardCriteria.dateBetween(DateHelper.getStartOfWeek(firstDate), DateHelper.getEndOfWeek(lastDate));
+			} else {
+				dashboardCriteria.dateBetween(DateHelper.getStartOfMonth(firstDate), DateHelper.getEndOfMonth(lastDate));
+			}
+		}
+
+		return dashboardCriteria;
+	}
+
+	private Date getStartOfGrouping(Date date) {
+
+		if (epiCurveGrouping == EpiCurveGrouping.DAY) {
+			return DateHelper.getStartOfDay(date);
+		} else if (epiCurveGrouping == EpiCurveGrouping.WEEK) {
+			return DateHelper.getStartOfWeek(date);
+		} else {
+			return DateHelper.getStartOfMonth(date);
+		}
+	}
 }
@@ -13,10 +13,16 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -40,6 +46,7 @@ import de.symeda.sormas.api.i18n.Strings;
 import de.symeda.sormas.api.i18n.Validations;
 import de.symeda.sormas.api.importexport.ImportExportUtils;
 import de.symeda.sormas.api.importexport.InvalidColumnException;
+import de.symeda.sormas.api.infrastructure.InfrastructureNameResolver;
 import de.symeda.sormas.api.region.AreaReferenceDto;
 import de.symeda.sormas.api.region.RegionReferenceDto;
 import de.symeda.sormas.api.user.UserDto;
@@ -58,11 +65,19 @@ import de.symeda.sormas.ui.utils.VaadinUiUtil;
  * 2) Read the header row(s) from the CSV and build a list of properties based on its columns
  * 3) Insert every line of data into the object using a callback
  * 4) Present the result of the import and, if errors occurred, an error report file to the user
+ * 
+ * Step 3 can be done for several lines at once by a pool of import threads, see {@link #getImportThreadCount()}. The
+ * results and import errors of the lines are still reported in the order of the import file.
  */
 public abstract class DataImporter {
 
 	protected static final String ERROR_COLUMN_NAME = I18nProperties.getCaption(Captions.importErrorDescription);
 
+	/**
+	 * The number of lines per import thread that are read ahead of the oldest line that has not been imported yet.
+	 */
+	private static final int MAX_PENDING_LINES_PER_THREAD = 10;
+
 	protected final Logger logger = LoggerFactory.getLogger(getClass());
 
 	/**
@@ -86,14 +101,34 @@ public abstract class DataImporter {
 	/**
 	 * Whether the import should be canceled after the current line.
 	 */
-	private boolean cancelAfterCurrent;
+	private volatile boolean cancelAfterCurrent;
 	/**
 	 * Whether or not the current import has resulted in at least one error.
 	 */
-	private boolean hasImportError;
+	private volatile boolean hasImportError;
+	/**
+	 * The import errors of the line imported by the current thread. They are written to the error report once the lines
+	 * before it have been reported.
+	 */
+	private final ThreadLocal<List<String[]>> currentLineImportErrors = new ThreadLocal<>();
+	/**
+	 * Held while the user is asked how to handle a line, so only one line at a time does so when lines are imported by
+	 * several threads.
+	 */
+	protected final Object userInteractionLock = new Object();
 
 	protected UserReferenceDto currentUser;
 	private CSVWriter errorReportCsvWriter;
+	/**
+	 * Resolves the names of infrastructure data in the import file; holds the infrastructure data for the duration of the import.
+	 */
+	protected final InfrastructureNameResolver infrastructureNameResolver = new InfrastructureNameResolver(
+		() -> FacadeProvider.getAreaFacade().getAllActiveAsReference(),
+		() -> FacadeProvider.getRegionFacade().getAllAfter(null),
+		() -> FacadeProvider.getDistrictFacade().getAllAfter(null),
+		() -> FacadeProvider.getCommunityFacade().getAllAfter(null),
+		() -> FacadeProvider.getFacilityFacade().getAllByRegionAfter(null, null),
+		() -> FacadeProvider.getPointOfEntryFacade().getAllAfter(null));
 
 	public DataImporter(File inputFile, boolean hasEntityClassRow, UserReferenceDto currentUser) {
 		this.inputFile = inputFile;
@@ -214,6 +249,7 @@ public abstract class DataImporter {
 		Date methodDate = new Date();
 
 		CSVReader csvReader = null;
+		ExecutorService importExecutor = null;
 		try {
 			csvReader = CSVUtils
 				.createCSVReader(new InputStreamReader(new FileInputStream(inputFile), "UTF-8"), FacadeProvider.getConfigFacade().getCsvSeparator());
@@ -243,23 +279,58 @@ public abstract class DataImporter {
 			}
 			errorReportCsvWriter.writeNext(columnNames);
 
-			// Read and import all lines from the import file
+			// Read and import all lines from the import file; with several import threads, the lines are read ahead while
+			// the previous ones are imported and reported in the order of the file once they are done
+			int threadCount = Math.max(getImportThreadCount(), 1);
+			int maxPendingLines = threadCount * MAX_PENDING_LINES_PER_THREAD;
+			Deque<Future<ImportedLine>> pendingLines = new ArrayDeque<>();
+			if (threadCount > 1) {
+				importExecutor = Executors.newFixedThreadPool(threadCount);
+			}
+
 			String[] nextLine = csvReader.readNext();
 			int lineCounter = 0;
-			while (nextLine != null) {
-				ImportLineResult lineResult = importDataFromCsvLine(nextLine, entityClasses, entityProperties, entityPropertyPaths, lineCounter == 0);
-				logger.debug("runImport - line " + lineCounter);
-				if (importedLineCallback != null) {
-					importedLineCallback.accept(lineResult);
-				}
-				if (cancelAfterCurrent) {
-					break;
+			int importedLineCount = 0;
+			while (nextLine != null && !cancelAfterCurrent) {
+				final String[] values = nextLine;
+				final boolean firstLine = lineCounter == 0;
+				if (importExecutor != null) {
+					pendingLines.add(
+						importExecutor.submit(() -> importLine(values, entityClasses, entityProperties, entityPropertyPaths, firstLine)));
+					while (!pendingLines.isEmpty() && (pendingLines.size() >= maxPendingLines || pendingLines.peek().isDone())) {
+						reportLine(getImportedLine(pendingLines.poll()));
+						importedLineCount++;
+					}
+				} else {
+					reportLine(importLine(values, entityClasses, entityProperties, entityPropertyPaths, firstLine));
+					importedLineCount++;
 				}
+				logger.debug("runImport - line " + importedLineCount);
 				nextLine = csvReader.readNext();
 			}
+			if (cancelAfterCurrent) {
+				// Lines that have not been started yet are not imported anymore; the lines that are already being imported are
+				// finished and reported
+				for (Future<ImportedLine> pendingLine : pendingLines) {
+					pendingLine.cancel(false);
+				}
+			}
+			while (!pendingLines.isEmpty()) {
+				Future<ImportedLine> pendingLine = pendingLines.poll();
+				if (!pendingLine.isCancelled()) {
+					reportLine(getImportedLine(pendingLine));
+					importedLineCount++;
+				}
+			}
 
+			long duration = Math.max(new Date().getTime() - methodDate.getTime(), 1);
 			logger.debug("runImport - done");
-			logger.debug("import took - " + (new Date().getTime() - methodDate.getTime()) / 1000d);
+			logger.debug(
+				"import took - " + duration / 1000d + " with " + threadCount + " threads (" + importedLineCount * 1000L / duration
+					+ " lines per second)");
+			logger.debug(
+				"runImport - resolved infrastructure names with " + infrastructureNameResolver.getHitCount() + " hits and "
+					+ infrastructureNameResolver.getMissCount() + " misses");
 
 			if (cancelAfterCurrent) {
 				if (!hasImportError) {
@@ -273,6 +344,9 @@ public abstract class DataImporter {
 				return ImportResultStatus.COMPLETED;
 			}
 		} finally {
+			if (importExecutor != null) {
+				importExecutor.shutdownNow();
+			}
 			if (csvReader != null) {
 				csvReader.close();
 			}
@@ -283,10 +357,76 @@ public abstract class DataImporter {
 		}
 	}
 
+	/**
+	 * Imports a line, collecting its import errors instead of writing them to the error report.
+	 */
+	private ImportedLine importLine(
+		String[] values,
+		String[] entityClasses,
+		String[] entityProperties,
+		String[][] entityPropertyPaths,
+		boolean firstLine)
+		throws IOException, InvalidColumnException, InterruptedException {
+
+		List<String[]> importErrors = new ArrayList<>();
+		currentLineImportErrors.set(importErrors);
+		try {
+			return new ImportedLine(
+				importDataFromCsvLine(values, entityClasses, entityProperties, entityPropertyPaths, firstLine),
+				importErrors);
+		} finally {
+			currentLineImportErrors.remove();
+		}
+	}
+
+	private ImportedLine getImportedLine(Future<ImportedLine> pendingLine)
+		throws IOException, InvalidColumnException, InterruptedException {
+
+		try {
+			return pendingLine.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof InvalidColumnException) {
+				throw (InvalidColumnException) cause;
+			} else if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else {
+				throw new RuntimeException(cause);
+			}
+		}
+	}
+
+	private void reportLine(ImportedLine importedLine) {
+
+		for (String[] importError : importedLine.importErrors) {
+			hasImportError = true;
+			errorReportCsvWriter.writeNext(importError);
+		}
+		if (importedLineCallback != null) {
+			importedLineCallback.accept(importedLine.result);
+		}
+	}
+
+	/**
+	 * @return The number of threads that import lines at the same time. Lines that are imported at the same time are not
+	 *         recognized as similar to each other.
+	 */
+	protected int getImportThreadCount() {
+		return FacadeProvider.getConfigFacade().getImportThreadCount();
+	}
+
 	public void cancelImport() {
 		cancelAfterCurrent = true;
 	}
 
+	protected boolean isImportCanceled() {
+		return cancelAfterCurrent;
+	}
+
 	protected Writer createErrorReportWriter() throws IOException {
 		File errorReportFile = new File(errorReportFilePath.toString());
 		if (errorReportFile.exists()) {
@@ -390,7 +530,7 @@ public abstract class DataImporter {
 			return true;
 		}
 		if (propertyType.isAssignableFrom(AreaReferenceDto.class)) {
-			List<AreaReferenceDto> areas = FacadeProvider.getAreaFacade().getByName(entry, false);
+			List<AreaReferenceDto> areas = infrastructureNameResolver.getAreasByName(entry);
 			if (areas.isEmpty()) {
 				throw new ImportErrorException(
 					I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -403,7 +543,7 @@ public abstract class DataImporter {
 			}
 		}
 		if (propertyType.isAssignableFrom(RegionReferenceDto.class)) {
-			List<RegionReferenceDto> region = FacadeProvider.getRegionFacade().getByName(entry, false);
+			List<RegionReferenceDto> region = infrastructureNameResolver.getRegionsByName(entry);
 			if (region.isEmpty()) {
 				throw new ImportErrorException(
 					I18nProperties.getValidationError(Validations.importEntryDoesNotExist, entry, buildEntityProperty(entryHeaderPath)));
@@ -497,14 +637,32 @@ public abstract class DataImporter {
 	}
 
 	protected void writeImportError(String[] errorLine, String message) throws IOException {
-		hasImportError = true;
 		List<String> errorLineAsList = new ArrayList<>();
 		errorLineAsList.add(message);
 		errorLineAsList.addAll(Arrays.asList(errorLine));
-		errorReportCsvWriter.writeNext(errorLineAsList.toArray(new String[errorLineAsList.size()]));
+		String[] importError = errorLineAsList.toArray(new String[errorLineAsList.size()]);
+
+		List<String[]> importErrors = currentLineImportErrors.get();
+		if (importErrors != null) {
+			importErrors.add(importError);
+		} else {
+			hasImportError = true;
+			errorReportCsvWriter.writeNext(importError);
+		}
 	}
 
 	protected String buildEntityProperty(String[] entityPropertyPath) {
 		return String.join(".", entityPropertyPath);
 	}
+
+	private static class ImportedLine {
+
+		private final ImportLineResult result;
+		private final List<String[]> importErrors;
+
+		private ImportedLine(ImportLineResult result, List<String[]> importErrors) {
+			this.result = result;
+			this.importErrors = importErrors;
+		}
+	}
 }
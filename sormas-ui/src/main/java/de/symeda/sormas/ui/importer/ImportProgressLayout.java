@@ -17,6 +17,9 @@
  *******************************************************************************/
 package de.symeda.sormas.ui.importer;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.vaadin.server.ThemeResource;
 import com.vaadin.shared.ui.ContentMode;
 import com.vaadin.ui.Alignment;
@@ -46,6 +49,7 @@ public class ImportProgressLayout extends VerticalLayout {
 	private Label importErrorsLabel;
 	private Label importSkipsLabel;
 	private Label importDuplicatesLabel;
+	private Label throughputLabel;
 	private Button closeCancelButton;
 	private HorizontalLayout infoLayout;
 	private Label infoLabel;
@@ -59,12 +63,17 @@ public class ImportProgressLayout extends VerticalLayout {
 	private ClickListener cancelListener;
 
 	// Counts
-	private int processedImportsCount;
-	private int successfulImportsCount;
-	private int importErrorsCount;
-	private int importSkipsCount;
-	private int importDuplicatesCount;
+	private final AtomicInteger processedImportsCount = new AtomicInteger();
+	private final AtomicInteger successfulImportsCount = new AtomicInteger();
+	private final AtomicInteger importErrorsCount = new AtomicInteger();
+	private final AtomicInteger importSkipsCount = new AtomicInteger();
+	private final AtomicInteger importDuplicatesCount = new AtomicInteger();
 	private int totalCount;
+	private final long startTime = System.currentTimeMillis();
+	/**
+	 * Whether the components are about to be updated with the current counts
+	 */
+	private final AtomicBoolean progressUpdatePending = new AtomicBoolean();
 
 	private UI currentUI;
 
@@ -115,6 +124,9 @@ public class ImportProgressLayout extends VerticalLayout {
 		importSkipsLabel = new Label(String.format(I18nProperties.getCaption(Captions.importSkips), 0));
 		CssStyles.style(importSkipsLabel, CssStyles.LABEL_MINOR);
 		progressInfoLayout.addComponent(importSkipsLabel);
+		throughputLabel = new Label(String.format(I18nProperties.getCaption(Captions.importThroughput), 0));
+		CssStyles.style(throughputLabel, CssStyles.LABEL_MINOR);
+		progressInfoLayout.addComponent(throughputLabel);
 		addComponent(progressInfoLayout);
 		setComponentAlignment(progressInfoLayout, Alignment.TOP_RIGHT);
 
@@ -146,28 +158,41 @@ public class ImportProgressLayout extends VerticalLayout {
 	}
 
 	public void updateProgress(ImportLineResult result) {
-		currentUI.access(new Runnable() {
-
-			@Override
-			public void run() {
-				processedImportsCount++;
-				if (result == ImportLineResult.SUCCESS) {
-					successfulImportsCount++;
-					successfulImportsLabel.setValue(String.format(I18nProperties.getCaption(Captions.importImports), successfulImportsCount));
-				} else if (result == ImportLineResult.ERROR) {
-					importErrorsCount++;
-					importErrorsLabel.setValue(String.format(I18nProperties.getCaption(Captions.importErrors), importErrorsCount));
-				} else if (result == ImportLineResult.SKIPPED) {
-					importSkipsCount++;
-					importSkipsLabel.setValue(String.format(I18nProperties.getCaption(Captions.importSkips), importSkipsCount));
-				} else if (result == ImportLineResult.DUPLICATE) {
-					importDuplicatesCount++;
-					importDuplicatesLabel.setValue(String.format(I18nProperties.getCaption(Captions.importDuplicates), importDuplicatesCount));
+
+		processedImportsCount.incrementAndGet();
+		if (result == ImportLineResult.SUCCESS) {
+			successfulImportsCount.incrementAndGet();
+		} else if (result == ImportLineResult.ERROR) {
+			importErrorsCount.incrementAndGet();
+		} else if (result == ImportLineResult.SKIPPED) {
+			importSkipsCount.incrementAndGet();
+		} else if (result == ImportLineResult.DUPLICATE) {
+			importDuplicatesCount.incrementAndGet();
+		}
+
+		// Lines processed until the UI is accessed are displayed at once
+		if (progressUpdatePending.compareAndSet(false, true)) {
+			currentUI.access(new Runnable() {
+
+				@Override
+				public void run() {
+					progressUpdatePending.set(false);
+					int processedCount = processedImportsCount.get();
+					successfulImportsLabel
+						.setValue(String.format(I18nProperties.getCaption(Captions.importImports), successfulImportsCount.get()));
+					importErrorsLabel.setValue(String.format(I18nProperties.getCaption(Captions.importErrors), importErrorsCount.get()));
+					importSkipsLabel.setValue(String.format(I18nProperties.getCaption(Captions.importSkips), importSkipsCount.get()));
+					importDuplicatesLabel
+						.setValue(String.format(I18nProperties.getCaption(Captions.importDuplicates), importDuplicatesCount.get()));
+					processedImportsLabel
+						.setValue(String.format(I18nProperties.getCaption(Captions.importProcessed), processedCount, totalCount));
+					long duration = Math.max(System.currentTimeMillis() - startTime, 1);
+					throughputLabel
+						.setValue(String.format(I18nProperties.getCaption(Captions.importThroughput), processedCount * 1000L / duration));
+					progressBar.setValue((float) processedCount / (float) totalCount);
 				}
-				processedImportsLabel.setValue(String.format(I18nProperties.getCaption(Captions.importProcessed), processedImportsCount, totalCount));
-				progressBar.setValue((float) processedImportsCount / (float) totalCount);
-			}
-		});
+			});
+		}
 	}
 
 	public void makeClosable(Runnable closeCallback) {
@@ -153,13 +153,13 @@ public class InfrastructureImporter extends DataImporter {
 						List<DistrictReferenceDto> district;
 						switch (type) {
 						case COMMUNITY:
-							district = FacadeProvider.getDistrictFacade().getByName(value, ((CommunityDto) newEntityDto).getRegion(), false);
+							district = infrastructureNameResolver.getDistrictsByName(value, ((CommunityDto) newEntityDto).getRegion());
 							break;
 						case FACILITY:
-							district = FacadeProvider.getDistrictFacade().getByName(value, ((FacilityDto) newEntityDto).getRegion(), false);
+							district = infrastructureNameResolver.getDistrictsByName(value, ((FacilityDto) newEntityDto).getRegion());
 							break;
 						case POINT_OF_ENTRY:
-							district = FacadeProvider.getDistrictFacade().getByName(value, ((PointOfEntryDto) newEntityDto).getRegion(), false);
+							district = infrastructureNameResolver.getDistrictsByName(value, ((PointOfEntryDto) newEntityDto).getRegion());
 							break;
 						default:
 							throw new UnsupportedOperationException(
@@ -182,7 +182,7 @@ public class InfrastructureImporter extends DataImporter {
 						List<CommunityReferenceDto> community;
 						switch (type) {
 						case FACILITY:
-							community = FacadeProvider.getCommunityFacade().getByName(value, ((FacilityDto) newEntityDto).getDistrict(), false);
+							community = infrastructureNameResolver.getCommunitiesByName(value, ((FacilityDto) newEntityDto).getDistrict());
 							break;
 						default:
 							throw new UnsupportedOperationException(
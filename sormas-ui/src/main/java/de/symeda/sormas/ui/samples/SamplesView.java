@@ -35,6 +35,7 @@ import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.i18n.Captions;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.sample.AdditionalTestDto;
 import de.symeda.sormas.api.sample.SampleDto;
@@ -94,8 +95,9 @@ public class SamplesView extends AbstractView {
 			StreamResource extendedExportStreamResource = DownloadUtil.createCsvExportStreamResource(
 				SampleExportDto.class,
 				null,
-				(Integer start, Integer max) -> FacadeProvider.getSampleFacade()
-					.getExportList(sampleListComponent.getGrid().getCriteria(), start, max),
+				(ExportCursor after, Integer max) -> FacadeProvider.getSampleFacade()
+					.getExportList(sampleListComponent.getGrid().getCriteria(), after, max),
+				exportRow -> new ExportCursor(exportRow.getSampleReportDate(), exportRow.getId()),
 				(propertyId, type) -> {
 					String caption = I18nProperties.getPrefixCaption(
 						SampleExportDto.I18N_PREFIX,
@@ -28,6 +28,7 @@ import de.symeda.sormas.api.epidata.EpiDataDto;
 import de.symeda.sormas.api.hospitalization.HospitalizationDto;
 import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.symptoms.SymptomsDto;
@@ -39,11 +40,26 @@ public class CaseDownloadUtil {
 		CaseExportType exportType,
 		ExportConfigurationDto exportConfiguration) {
 
+		// custom exports that only contain plain case data can be copied directly from the database
+		if (exportConfiguration != null
+			&& FacadeProvider.getExportFacade()
+				.isCaseCopyExportSupported(DownloadUtil.getExportProperties(CaseExportDto.class, exportType, exportConfiguration))) {
+			return DownloadUtil.createCsvFileExportStreamResource(
+				CaseExportDto.class,
+				exportType,
+				properties -> FacadeProvider.getExportFacade()
+					.generateCaseCopyExport(criteria, exportType, properties, I18nProperties.getUserLanguage()),
+				CaseDownloadUtil::captionProvider,
+				DownloadUtil.createFileNameWithCurrentDate("sormas_cases_", ".csv"),
+				exportConfiguration);
+		}
+
 		return DownloadUtil.createCsvExportStreamResource(
 			CaseExportDto.class,
 			exportType,
-			(Integer start, Integer max) -> FacadeProvider.getCaseFacade()
-				.getExportList(criteria, exportType, start, max, exportConfiguration, I18nProperties.getUserLanguage()),
+			(ExportCursor after, Integer max) -> FacadeProvider.getCaseFacade()
+				.getExportList(criteria, exportType, after, max, exportConfiguration, I18nProperties.getUserLanguage()),
+			exportRow -> new ExportCursor(exportRow.getReportDate(), exportRow.getId()),
 			CaseDownloadUtil::captionProvider,
 			DownloadUtil.createFileNameWithCurrentDate("sormas_cases_", ".csv"),
 			exportConfiguration);
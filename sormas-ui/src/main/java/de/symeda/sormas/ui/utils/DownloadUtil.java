@@ -34,8 +34,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
@@ -43,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -90,6 +93,7 @@ import de.symeda.sormas.api.i18n.I18nProperties;
 import de.symeda.sormas.api.i18n.Strings;
 import de.symeda.sormas.api.importexport.DatabaseTable;
 import de.symeda.sormas.api.importexport.ExportConfigurationDto;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.importexport.ExportProperty;
 import de.symeda.sormas.api.importexport.ExportTarget;
 import de.symeda.sormas.api.infrastructure.PopulationDataDto;
@@ -520,19 +524,7 @@ public final class DownloadUtil {
 						.getVisitSummaryExportList(contactCriteria, startIndex, DETAILED_EXPORT_STEP_SIZE, I18nProperties.getUserLanguage());
 				}
 			}
-		},
-			e -> {
-				// TODO This currently requires the user to click the "Export" button again or reload the page
-				//  as the UI
-				// is not automatically updated; this should be changed once Vaadin push is enabled (see #516)
-				VaadinSession.getCurrent()
-					.access(
-						() -> new Notification(
-							I18nProperties.getString(Strings.headingExportFailed),
-							I18nProperties.getString(Strings.messageExportFailed),
-							Type.ERROR_MESSAGE,
-							false).show(Page.getCurrent()));
-			}), exportFileName);
+		}, e -> showExportFailedNotification()), exportFileName);
 		extendedStreamResource.setMIMEType("text/csv");
 		extendedStreamResource.setCacheTime(0);
 		return extendedStreamResource;
@@ -546,6 +538,50 @@ public final class DownloadUtil {
 		String exportFileName,
 		ExportConfigurationDto exportConfiguration) {
 
+		return createCsvExportStreamResource(exportRowClass, exportType, () -> {
+			AtomicInteger startIndex = new AtomicInteger();
+			return previousRows -> exportRowsSupplier.apply(startIndex.getAndAdd(DETAILED_EXPORT_STEP_SIZE), DETAILED_EXPORT_STEP_SIZE);
+		}, propertyIdCaptionFunction, exportFileName, exportConfiguration);
+	}
+
+	/**
+	 * Exports the rows batch by batch, each batch starting after the {@link ExportCursor} of the last row of the previous batch.
+	 * Unlike offset based paging, the database does not have to skip all previously exported rows for each batch.
+	 */
+	public static <T> StreamResource createCsvExportStreamResource(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		BiFunction<ExportCursor, Integer, List<T>> exportRowsSupplier,
+		Function<T, ExportCursor> exportCursorProvider,
+		BiFunction<String, Class<?>, String> propertyIdCaptionFunction,
+		String exportFileName,
+		ExportConfigurationDto exportConfiguration) {
+
+		int batchSize = FacadeProvider.getConfigFacade().getExportBatchSize();
+		return createCsvExportStreamResource(exportRowClass, exportType, () -> previousRows -> {
+			if (previousRows == null) {
+				return exportRowsSupplier.apply(null, batchSize);
+			} else if (previousRows.size() < batchSize) {
+				return Collections.emptyList();
+			} else {
+				return exportRowsSupplier.apply(exportCursorProvider.apply(previousRows.get(previousRows.size() - 1)), batchSize);
+			}
+		}, propertyIdCaptionFunction, exportFileName, exportConfiguration);
+	}
+
+	/**
+	 * @param exportBatchLoaderFactory
+	 *            creates a new loader for each download; the loader is called with the previously exported batch ({@code null} for the
+	 *            first one) and returns the next batch, or an empty list when all rows have been exported
+	 */
+	private static <T> StreamResource createCsvExportStreamResource(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		Supplier<Function<List<T>, List<T>>> exportBatchLoaderFactory,
+		BiFunction<String, Class<?>, String> propertyIdCaptionFunction,
+		String exportFileName,
+		ExportConfigurationDto exportConfiguration) {
+
 		StreamResource extendedStreamResource = new StreamResource(() -> {
 
 			return new DelayedInputStream((out) -> {
@@ -588,25 +624,11 @@ public final class DownloadUtil {
 						}
 					}
 
-					String[] fieldValues = new String[readMethods.size()];
-					for (int i = 0; i < readMethods.size(); i++) {
-						final Method method = readMethods.get(i);
-						// field caption
-						String propertyId = method.getName().startsWith("get") ? method.getName().substring(3) : method.getName().substring(2);
-						if (method.isAnnotationPresent(ExportProperty.class)) {
-							// TODO not sure why we are using the export property name to get the caption here
-							final ExportProperty exportProperty = method.getAnnotation(ExportProperty.class);
-							if (!exportProperty.combined()) {
-								propertyId = exportProperty.value();
-							}
-						}
-						propertyId = Character.toLowerCase(propertyId.charAt(0)) + propertyId.substring(1);
-						fieldValues[i] = propertyIdCaptionFunction.apply(propertyId, method.getReturnType());
-					}
+					String[] fieldValues = getPropertyCaptions(readMethods, propertyIdCaptionFunction);
 					writer.writeNext(fieldValues);
 
-					int startIndex = 0;
-					List<T> exportRows = exportRowsSupplier.apply(startIndex, DETAILED_EXPORT_STEP_SIZE);
+					Function<List<T>, List<T>> exportBatchLoader = exportBatchLoaderFactory.get();
+					List<T> exportRows = exportBatchLoader.apply(null);
 					Language userLanguage = I18nProperties.getUserLanguage();
 					while (!exportRows.isEmpty()) {
 						try {
@@ -661,32 +683,110 @@ public final class DownloadUtil {
 						}
 
 						writer.flush();
-						startIndex += DETAILED_EXPORT_STEP_SIZE;
-						exportRows = exportRowsSupplier.apply(startIndex, DETAILED_EXPORT_STEP_SIZE);
+						exportRows = exportBatchLoader.apply(exportRows);
 					}
 				} catch (Exception e) {
 					LoggerFactory.getLogger(DownloadUtil.class).error(e.getMessage(), e);
 					throw new RuntimeException(e);
 				}
-			},
-				e -> {
-					// TODO This currently requires the user to click the "Export" button again or reload the page
-					//  as the UI
-					// is not automatically updated; this should be changed once Vaadin push is enabled (see #516)
-					VaadinSession.getCurrent()
-						.access(
-							() -> new Notification(
-								I18nProperties.getString(Strings.headingExportFailed),
-								I18nProperties.getString(Strings.messageExportFailed),
-								Type.ERROR_MESSAGE,
-								false).show(Page.getCurrent()));
-				});
+			}, e -> showExportFailedNotification());
 		}, exportFileName);
 		extendedStreamResource.setMIMEType("text/csv");
 		extendedStreamResource.setCacheTime(0);
 		return extendedStreamResource;
 	}
 
+	/**
+	 * Creates a CSV export for which the server writes all rows to a file in one go, see {@link ExportFileGenerator}.
+	 * Sub entities are not supported, so the generator receives the property names of the top-level columns only.
+	 */
+	public static <T> StreamResource createCsvFileExportStreamResource(
+		Class<T> exportRowClass,
+		Enum<?> exportType,
+		ExportFileGenerator exportFileGenerator,
+		BiFunction<String, Class<?>, String> propertyIdCaptionFunction,
+		String exportFileName,
+		ExportConfigurationDto exportConfiguration) {
+
+		StreamResource streamResource = new StreamResource(() -> {
+
+			return new DelayedInputStream((out) -> {
+				try (CSVWriter writer = CSVUtils.createCSVWriter(
+					new OutputStreamWriter(out, StandardCharsets.UTF_8.name()),
+					FacadeProvider.getConfigFacade().getCsvSeparator())) {
+
+					List<Method> readMethods = getExportRowClassReadMethods(exportRowClass, exportType, exportConfiguration);
+					String exportFilePath =
+						exportFileGenerator.generate(readMethods.stream().map(DownloadUtil::getPropertyName).collect(Collectors.toList()));
+
+					writer.writeNext(getPropertyCaptions(readMethods, propertyIdCaptionFunction));
+					writer.flush();
+					// the file is already formatted as CSV by the server
+					Files.copy(Paths.get(exportFilePath), out);
+				} catch (Exception e) {
+					LoggerFactory.getLogger(DownloadUtil.class).error(e.getMessage(), e);
+					throw new RuntimeException(e);
+				}
+			}, e -> showExportFailedNotification());
+		}, exportFileName);
+		streamResource.setMIMEType("text/csv");
+		streamResource.setCacheTime(0);
+		return streamResource;
+	}
+
+	/**
+	 * @return the property names of the columns that would be exported for the export row class
+	 */
+	public static List<String> getExportProperties(Class<?> exportRowClass, Enum<?> exportType, ExportConfigurationDto exportConfiguration) {
+		return getExportRowClassReadMethods(exportRowClass, exportType, exportConfiguration).stream()
+			.map(DownloadUtil::getPropertyName)
+			.collect(Collectors.toList());
+	}
+
+	private static String getPropertyName(Method readMethod) {
+		String propertyName = readMethod.getName().startsWith("get") ? readMethod.getName().substring(3) : readMethod.getName().substring(2);
+		return Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1);
+	}
+
+	/**
+	 * @return the header row of a CSV export with the given columns
+	 */
+	private static String[] getPropertyCaptions(List<Method> readMethods, BiFunction<String, Class<?>, String> propertyIdCaptionFunction) {
+
+		String[] captions = new String[readMethods.size()];
+		for (int i = 0; i < readMethods.size(); i++) {
+			captions[i] = getPropertyCaption(readMethods.get(i), propertyIdCaptionFunction);
+		}
+		return captions;
+	}
+
+	private static String getPropertyCaption(Method method, BiFunction<String, Class<?>, String> propertyIdCaptionFunction) {
+
+		String propertyId = method.getName().startsWith("get") ? method.getName().substring(3) : method.getName().substring(2);
+		if (method.isAnnotationPresent(ExportProperty.class)) {
+			// TODO not sure why we are using the export property name to get the caption here
+			final ExportProperty exportProperty = method.getAnnotation(ExportProperty.class);
+			if (!exportProperty.combined()) {
+				propertyId = exportProperty.value();
+			}
+		}
+		propertyId = Character.toLowerCase(propertyId.charAt(0)) + propertyId.substring(1);
+		return propertyIdCaptionFunction.apply(propertyId, method.getReturnType());
+	}
+
+	private static void showExportFailedNotification() {
+		// TODO This currently requires the user to click the "Export" button again or reload the page
+		//  as the UI
+		// is not automatically updated; this should be changed once Vaadin push is enabled (see #516)
+		VaadinSession.getCurrent()
+			.access(
+				() -> new Notification(
+					I18nProperties.getString(Strings.headingExportFailed),
+					I18nProperties.getString(Strings.messageExportFailed),
+					Type.ERROR_MESSAGE,
+					false).show(Page.getCurrent()));
+	}
+
 	private static <T> List<Method> getExportRowClassReadMethods(
 		Class<T> exportRowClass,
 		Enum<?> exportType,
@@ -766,4 +866,13 @@ public final class DownloadUtil {
 	public static String createFileNameWithCurrentDate(String fileNamePrefix, String fileExtension) {
 		return fileNamePrefix + DateHelper.formatDateForExport(new Date()) + fileExtension;
 	}
+
+	/**
+	 * Generates a CSV file without header row on the server and returns its path.
+	 */
+	@FunctionalInterface
+	public interface ExportFileGenerator {
+
+		String generate(List<String> properties) throws ExportErrorException, IOException;
+	}
 }
@@ -31,6 +31,7 @@ import de.symeda.sormas.api.event.EventParticipantCriteria;
 import de.symeda.sormas.api.event.EventParticipantDto;
 import de.symeda.sormas.api.event.EventParticipantExportDto;
 import de.symeda.sormas.api.i18n.I18nProperties;
+import de.symeda.sormas.api.importexport.ExportCursor;
 import de.symeda.sormas.api.location.LocationDto;
 import de.symeda.sormas.api.person.PersonDto;
 
@@ -41,8 +42,9 @@ public class EventParticipantDownloadUtil {
 		return DownloadUtil.createCsvExportStreamResource(
 			EventParticipantExportDto.class,
 			null,
-			(Integer start, Integer max) -> FacadeProvider.getEventParticipantFacade()
-				.getExportList(criteria, start, max, I18nProperties.getUserLanguage()),
+			(ExportCursor after, Integer max) -> FacadeProvider.getEventParticipantFacade()
+				.getExportList(criteria, after, max, I18nProperties.getUserLanguage()),
+			exportRow -> new ExportCursor(null, exportRow.getId()),
 			EventParticipantDownloadUtil::captionProvider,
 			DownloadUtil.createFileNameWithCurrentDate("sormas_eventParticipants_", ".csv"),
 			null);
@@ -0,0 +1,151 @@
+package de.symeda.sormas.ui.importer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.opencsv.CSVReader;
+
+import de.symeda.sormas.api.FacadeProvider;
+import de.symeda.sormas.api.importexport.InvalidColumnException;
+import de.symeda.sormas.api.user.UserDto;
+import de.symeda.sormas.api.user.UserRole;
+import de.symeda.sormas.api.utils.CSVUtils;
+import de.symeda.sormas.ui.AbstractBeanTest;
+import de.symeda.sormas.ui.TestDataCreator;
+import de.symeda.sormas.ui.TestDataCreator.RDCF;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataImporterTest extends AbstractBeanTest {
+
+	@Test
+	public void testImportErrorsInLineOrderWithSeveralThreads() throws IOException, InvalidColumnException, InterruptedException {
+
+		RDCF rdcf = new TestDataCreator().createRDCF("Default Region", "Default District", "Default Community", "Default Facility");
+		UserDto user = creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Default", "User", UserRole.ADMIN);
+
+		List<String> lines = new ArrayList<>();
+		lines.add("name");
+		for (int i = 0; i < 40; i++) {
+			lines.add("line" + i);
+		}
+		File csvFile = File.createTempFile("sormas_data_import_test", ".csv");
+		csvFile.deleteOnExit();
+		Files.write(csvFile.toPath(), lines, StandardCharsets.UTF_8);
+
+		StringWriter errorReport = new StringWriter();
+		DataImporter importer = new DataImporter(csvFile, false, user.toReference()) {
+
+			@Override
+			protected int getImportThreadCount() {
+				return 4;
+			}
+
+			@Override
+			protected ImportLineResult importDataFromCsvLine(
+				String[] values,
+				String[] entityClasses,
+				String[] entityProperties,
+				String[][] entityPropertyPaths,
+				boolean firstLine)
+				throws IOException, InterruptedException {
+
+				int lineNumber = Integer.parseInt(values[0].substring("line".length()));
+				// later lines are done first
+				Thread.sleep((40 - lineNumber) % 5);
+				if (lineNumber % 2 == 0) {
+					writeImportError(values, "Error in " + values[0]);
+					return ImportLineResult.ERROR;
+				}
+				return ImportLineResult.SUCCESS;
+			}
+
+			@Override
+			protected Writer createErrorReportWriter() {
+				return errorReport;
+			}
+		};
+
+		assertEquals(ImportResultStatus.COMPLETED_WITH_ERRORS, importer.runImport());
+
+		try (CSVReader reader =
+			CSVUtils.createCSVReader(new StringReader(errorReport.toString()), FacadeProvider.getConfigFacade().getCsvSeparator())) {
+			// header
+			reader.readNext();
+			for (int i = 0; i < 40; i += 2) {
+				String[] errorLine = reader.readNext();
+				assertEquals("Error in line" + i, errorLine[0]);
+				assertEquals("line" + i, errorLine[1]);
+			}
+			assertNull(reader.readNext());
+		}
+	}
+
+	@Test
+	public void testCancelDiscardsPendingLinesWithSeveralThreads() throws IOException, InvalidColumnException, InterruptedException {
+
+		RDCF rdcf = new TestDataCreator().createRDCF("Default Region", "Default District", "Default Community", "Default Facility");
+		UserDto user = creator.createUser(rdcf.region.getUuid(), rdcf.district.getUuid(), rdcf.facility.getUuid(), "Default", "User", UserRole.ADMIN);
+
+		List<String> lines = new ArrayList<>();
+		lines.add("name");
+		for (int i = 0; i < 200; i++) {
+			lines.add("line" + i);
+		}
+		File csvFile = File.createTempFile("sormas_data_import_test", ".csv");
+		csvFile.deleteOnExit();
+		Files.write(csvFile.toPath(), lines, StandardCharsets.UTF_8);
+
+		AtomicInteger startedLineCount = new AtomicInteger();
+		DataImporter importer = new DataImporter(csvFile, false, user.toReference()) {
+
+			@Override
+			protected int getImportThreadCount() {
+				return 4;
+			}
+
+			@Override
+			protected ImportLineResult importDataFromCsvLine(
+				String[] values,
+				String[] entityClasses,
+				String[] entityProperties,
+				String[][] entityPropertyPaths,
+				boolean firstLine)
+				throws IOException, InterruptedException {
+
+				startedLineCount.incrementAndGet();
+				if (firstLine) {
+					cancelImport();
+				} else {
+					Thread.sleep(50);
+				}
+				return ImportLineResult.SUCCESS;
+			}
+
+			@Override
+			protected Writer createErrorReportWriter() {
+				return new StringWriter();
+			}
+		};
+
+		assertEquals(ImportResultStatus.CANCELED, importer.runImport());
+		// only the lines that were already being imported when the import was canceled are finished
+		assertThat(startedLineCount.get(), lessThanOrEqualTo(8));
+	}
+}
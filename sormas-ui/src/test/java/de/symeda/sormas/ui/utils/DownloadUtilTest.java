@@ -1,9 +1,16 @@
 package de.symeda.sormas.ui.utils;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
@@ -17,10 +24,13 @@ import de.symeda.sormas.api.Disease;
 import de.symeda.sormas.api.FacadeProvider;
 import de.symeda.sormas.api.caze.CaseClassification;
 import de.symeda.sormas.api.caze.CaseDataDto;
+import de.symeda.sormas.api.caze.CaseExportDto;
+import de.symeda.sormas.api.caze.CaseExportType;
 import de.symeda.sormas.api.caze.InvestigationStatus;
 import de.symeda.sormas.api.contact.ContactCriteria;
 import de.symeda.sormas.api.contact.ContactDto;
 import de.symeda.sormas.api.followup.FollowUpLogic;
+import de.symeda.sormas.api.importexport.ExportConfigurationDto;
 import de.symeda.sormas.api.person.PersonDto;
 import de.symeda.sormas.api.symptoms.SymptomState;
 import de.symeda.sormas.api.user.UserDto;
@@ -103,4 +113,33 @@ public class DownloadUtilTest extends AbstractBeanTest {
 				+ "\",\"Available and cooperative\",\"\",\"" + shortDate + "\",\"Available and " + "cooperative\",\"\"\n",
 			IOUtils.toString(stream, StandardCharsets.UTF_8.name()));
 	}
+
+	@Test
+	public void testCreateCsvFileExportStreamResource() throws IOException {
+
+		ExportConfigurationDto exportConfiguration = ExportConfigurationDto.build(null);
+		exportConfiguration.setProperties(new HashSet<>(Arrays.asList(CaseDataDto.UUID, PersonDto.FIRST_NAME)));
+		List<List<String>> generatedProperties = new ArrayList<>();
+
+		StreamResource caseExport = DownloadUtil.createCsvFileExportStreamResource(
+			CaseExportDto.class,
+			CaseExportType.CASE_SURVEILLANCE,
+			properties -> {
+				generatedProperties.add(properties);
+				// the server writes the rows without a header
+				File exportFile = File.createTempFile("sormas_case_copy_export_test", ".csv");
+				exportFile.deleteOnExit();
+				Files.write(exportFile.toPath(), Collections.singletonList("\"ABC\",\"John\""), StandardCharsets.UTF_8);
+				return exportFile.getPath();
+			},
+			(propertyId, type) -> propertyId + "Caption",
+			"test_case_export.csv",
+			exportConfiguration);
+
+		Assert.assertEquals("test_case_export.csv", caseExport.getStream().getFileName());
+		Assert.assertEquals(
+			"\"uuidCaption\",\"firstNameCaption\"\n\"ABC\",\"John\"\n",
+			IOUtils.toString(caseExport.getStream().getStream(), StandardCharsets.UTF_8.name()));
+		Assert.assertEquals(Collections.singletonList(Arrays.asList(CaseDataDto.UUID, PersonDto.FIRST_NAME)), generatedProperties);
+	}
 }